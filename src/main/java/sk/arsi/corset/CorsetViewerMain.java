@@ -2,9 +2,12 @@ package sk.arsi.corset;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sk.arsi.corset.export.PngRasterExporter;
+import sk.arsi.corset.layout.FlatLayoutEngine;
 import sk.arsi.corset.model.PanelCurves;
 import sk.arsi.corset.svg.*;
 
+import java.io.File;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
@@ -13,14 +16,63 @@ public final class CorsetViewerMain {
 
     private static final Logger LOG = LoggerFactory.getLogger(CorsetViewerMain.class);
 
+    private static final String USAGE = "Usage: java -jar corset-viewer.jar <pattern.svg>"
+            + " [--png <out.png> [--mode TOP|WAIST|BOTTOM] [--dpi <n>] [--allowance <mm>]"
+            + " [--notches <count>] [--notch-length <mm>] [--tolerance <mm>]]";
+
     public static void main(String[] args) throws Exception {
-        if (args.length != 1) {
-            System.err.println("Usage: java -jar corset-viewer.jar <pattern.svg>");
+        if (args.length < 1 || args.length % 2 != 1) {
+            System.err.println(USAGE);
             System.exit(2);
         }
 
         Path svgPath = Path.of(args[0]);
 
+        // Optional headless PNG preview
+        File pngFile = null;
+        PngRasterExporter.Options pngOptions = PngRasterExporter.Options.defaults();
+        int notchCount = 0;
+        double notchLengthMm = 4.0;
+        try {
+            for (int i = 1; i < args.length; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--png":
+                        pngFile = new File(value);
+                        break;
+                    case "--mode":
+                        pngOptions = pngOptions.withMode(FlatLayoutEngine.Mode.valueOf(value.toUpperCase()));
+                        break;
+                    case "--dpi":
+                        pngOptions = pngOptions.withDpi(Double.parseDouble(value));
+                        break;
+                    case "--allowance":
+                        pngOptions = pngOptions.withAllowanceMm(Double.parseDouble(value));
+                        break;
+                    case "--notches":
+                        notchCount = Integer.parseInt(value);
+                        break;
+                    case "--notch-length":
+                        notchLengthMm = Double.parseDouble(value);
+                        break;
+                    case "--tolerance":
+                        pngOptions = pngOptions.withToleranceMm(Double.parseDouble(value));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            pngOptions = pngOptions.withNotches(notchCount, notchLengthMm);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        if (pngFile != null) {
+            // Java2D only, no display needed
+            System.setProperty("java.awt.headless", "true");
+        }
+
         SvgLoader loader = new SvgLoader();
         SvgDocument doc = loader.load(svgPath);
         
@@ -54,5 +106,10 @@ public final class CorsetViewerMain {
         }
 
         LOG.info("OK. Loaded {} panels.", Integer.valueOf(panels.size()));
+
+        if (pngFile != null) {
+            PngRasterExporter.exportPng(panels, pngOptions, pngFile);
+            LOG.info("Wrote {} ({} layout, {} dpi)", pngFile, pngOptions.getMode(), pngOptions.getDpi());
+        }
     }
 }
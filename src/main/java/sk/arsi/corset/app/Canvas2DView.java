@@ -1,49 +1,82 @@
 package sk.arsi.corset.app;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
-import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.Slider;
 import javafx.scene.control.Spinner;
 import javafx.scene.control.SpinnerValueFactory;
+import javafx.scene.control.Tooltip;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Background;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.text.Text;
+import javafx.stage.Window;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sk.arsi.corset.export.CutterExporter;
+import sk.arsi.corset.export.ExportJob;
+import sk.arsi.corset.export.MatchedNotchGenerator;
+import sk.arsi.corset.export.NotchPair;
+import sk.arsi.corset.export.PathDataEncoder;
 import sk.arsi.corset.export.SvgExporter;
+import sk.arsi.corset.layout.ChainLayoutEngine;
+import sk.arsi.corset.layout.FlatLayoutEngine;
+import sk.arsi.corset.measure.FittingSolver;
 import sk.arsi.corset.measure.MeasurementUtils;
+import sk.arsi.corset.measure.ResizeSensitivity;
+import sk.arsi.corset.measure.ResizeSweepCache;
 import sk.arsi.corset.measure.SeamMeasurementData;
 import sk.arsi.corset.measure.SeamMeasurementService;
+import sk.arsi.corset.model.Bounds2D;
 import sk.arsi.corset.model.Curve2D;
 import sk.arsi.corset.model.PanelCurves;
 import sk.arsi.corset.model.PanelId;
 import sk.arsi.corset.model.Pt;
+import sk.arsi.corset.nesting.MarkerLayout;
+import sk.arsi.corset.nesting.MarkerSvgExporter;
+import sk.arsi.corset.nesting.NestingEngine;
+import sk.arsi.corset.nesting.NestingPart;
 import sk.arsi.corset.resize.PanelResizer;
 import sk.arsi.corset.resize.ResizeMode;
+import sk.arsi.corset.resize.ResizeSpec;
 import sk.arsi.corset.svg.PathSampler;
 import sk.arsi.corset.svg.SvgDocument;
 import sk.arsi.corset.util.SeamAllowanceComputer;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public final class Canvas2DView {
 
@@ -57,6 +90,18 @@ public final class Canvas2DView {
         BOTTOM
     }
 
+    /**
+     * Stacked layers, bottom to top. Each has its own dirty flag so an
+     * interaction repaints only what it affects. The static layers are tiled
+     * and cached across pans; the measurement layer is a few scene nodes.
+     */
+    private enum Layer {
+        GEOMETRY, // axes, panel edges, seams
+        OVERLAYS, // allowances, notches
+        HIGHLIGHT, // seam tolerance highlights
+        MEASUREMENT // measurement line, HUD text
+    }
+
     /**
      * Snapshot for undo history (future feature). Stores the base geometry and
      * UI state at a point in time.
@@ -66,11 +111,13 @@ public final class Canvas2DView {
         private final List<PanelCurves> panelsOriginal;
         private final ResizeMode resizeMode;
         private final double resizeDeltaMm;
+        private final ResizeSpec zoneSpec;
 
-        private Snapshot(List<PanelCurves> panelsOriginal, ResizeMode resizeMode, double resizeDeltaMm) {
+        private Snapshot(List<PanelCurves> panelsOriginal, ResizeMode resizeMode, double resizeDeltaMm, ResizeSpec zoneSpec) {
             this.panelsOriginal = panelsOriginal;
             this.resizeMode = resizeMode;
             this.resizeDeltaMm = resizeDeltaMm;
+            this.zoneSpec = zoneSpec;
         }
     }
 
@@ -81,6 +128,8 @@ public final class Canvas2DView {
         private final double pivotY;
         private final double tx;
         private final double ty;
+        private final double cos;
+        private final double sin;
 
         private Transform2D(double angleRad, double pivotX, double pivotY, double tx, double ty) {
             this.angleRad = angleRad;
@@ -88,27 +137,42 @@ public final class Canvas2DView {
             this.pivotY = pivotY;
             this.tx = tx;
             this.ty = ty;
+            this.cos = Math.cos(angleRad);
+            this.sin = Math.sin(angleRad);
+        }
+
+        private double applyX(double x, double y) {
+            return pivotX + cos * (x - pivotX) - sin * (y - pivotY) + tx;
+        }
+
+        private double applyY(double x, double y) {
+            return pivotY + sin * (x - pivotX) + cos * (y - pivotY) + ty;
         }
 
         private Pt apply(Pt p) {
             if (p == null) {
                 return null;
             }
-            double x = p.getX();
-            double y = p.getY();
-
-            double dx = x - pivotX;
-            double dy = y - pivotY;
+            return new Pt(applyX(p.getX(), p.getY()), applyY(p.getX(), p.getY()));
+        }
 
-            double cos = Math.cos(angleRad);
-            double sin = Math.sin(angleRad);
+        /**
+         * Transform a curve into a world-space render path (null if the curve
+         * has fewer than 2 points).
+         */
+        private RenderPath toRenderPath(Curve2D c) {
+            if (c == null || c.getPoints() == null) {
+                return null;
+            }
+            return toRenderPath(c.getPoints());
+        }
 
-            double rx = cos * dx - sin * dy;
-            double ry = sin * dx + cos * dy;
+        private RenderPath toRenderPath(List<Pt> pts) {
+            return RenderPath.of(pts, angleRad, pivotX, pivotY, tx, ty);
+        }
 
-            double outX = pivotX + rx + tx;
-            double outY = pivotY + ry + ty;
-            return new Pt(outX, outY);
+        private Bounds2D bounds(PanelCurves panel) {
+            return panel.getBounds(angleRad, pivotX, pivotY, tx, ty);
         }
     }
 
@@ -118,94 +182,74 @@ public final class Canvas2DView {
         private final Transform2D transform;
         private final Color color;
 
+        // World-space render cache, rebuilt with the layout
+        private final RenderPath top;
+        private final RenderPath bottom;
+        private final RenderPath waist;
+        private final RenderPath seamToPrevUp;
+        private final RenderPath seamToPrevDown;
+        private final RenderPath seamToNextUp;
+        private final RenderPath seamToNextDown;
+        private final double waistY;
+        // world-space bounds of all panel curves
+        private final Bounds2D bounds;
+        private double allowanceDistance;
+        private List<RenderPath> allowancePaths;
+
         private RenderedPanel(PanelCurves panel, Transform2D transform, Color color) {
             this.panel = panel;
             this.transform = transform;
             this.color = color;
-        }
-    }
-
-    private static final class Bounds {
-
-        private final double minX;
-        private final double minY;
-        private final double maxX;
-        private final double maxY;
-
-        private Bounds(double minX, double minY, double maxX, double maxY) {
-            this.minX = minX;
-            this.minY = minY;
-            this.maxX = maxX;
-            this.maxY = maxY;
-        }
-    }
-
-    private static final class BoundsAcc {
-
-        private double minX;
-        private double minY;
-        private double maxX;
-        private double maxY;
-
-        private BoundsAcc(double minX, double minY, double maxX, double maxY) {
-            this.minX = minX;
-            this.minY = minY;
-            this.maxX = maxX;
-            this.maxY = maxY;
+            this.top = transform.toRenderPath(panel.getTop());
+            this.bottom = transform.toRenderPath(panel.getBottom());
+            this.waist = transform.toRenderPath(panel.getWaist());
+            this.seamToPrevUp = transform.toRenderPath(panel.getSeamToPrevUp());
+            this.seamToPrevDown = transform.toRenderPath(panel.getSeamToPrevDown());
+            this.seamToNextUp = transform.toRenderPath(panel.getSeamToNextUp());
+            this.seamToNextDown = transform.toRenderPath(panel.getSeamToNextDown());
+            this.waistY = MeasurementUtils.computePanelWaistY0(panel.getWaist());
+            this.bounds = transform.bounds(panel);
+            this.allowanceDistance = Double.NaN;
+            this.allowancePaths = Collections.emptyList();
+        }
+
+        /**
+         * World-space allowance offset curves of the internal seams, rebuilt
+         * only when the distance changes.
+         */
+        private List<RenderPath> allowancePaths(double distance) {
+            if (Double.compare(distance, allowanceDistance) != 0) {
+                List<RenderPath> paths = new ArrayList<>(4);
+                addAllowancePath(paths, panel.getSeamToPrevUp(), distance);
+                addAllowancePath(paths, panel.getSeamToPrevDown(), distance);
+                addAllowancePath(paths, panel.getSeamToNextUp(), distance);
+                addAllowancePath(paths, panel.getSeamToNextDown(), distance);
+                allowancePaths = paths;
+                allowanceDistance = distance;
+            }
+            return allowancePaths;
         }
 
-        private void addCurve(Curve2D c, Transform2D t) {
-            if (c == null || c.getPoints() == null) {
+        private void addAllowancePath(List<RenderPath> out, Curve2D seamCurve, double distance) {
+            if (seamCurve == null || !SeamAllowanceComputer.shouldGenerateAllowance(seamCurve.getId())) {
                 return;
             }
-            List<Pt> pts = c.getPoints();
-            for (int i = 0; i < pts.size(); i++) {
-                Pt p = pts.get(i);
-                if (p == null) {
-                    continue;
-                }
-
-                Pt q = t.apply(p);
-                if (q == null) {
-                    continue;
-                }
-
-                double x = q.getX();
-                double y = q.getY();
-                if (!Double.isFinite(x) || !Double.isFinite(y)) {
-                    continue;
-                }
-
-                if (x < minX) {
-                    minX = x;
-                }
-                if (y < minY) {
-                    minY = y;
-                }
-                if (x > maxX) {
-                    maxX = x;
-                }
-                if (y > maxY) {
-                    maxY = y;
-                }
+            // Offset curve in panel-local coordinates (shared with the exporters)
+            RenderPath path = transform.toRenderPath(SeamAllowanceComputer.getOffsetCurve(seamCurve, panel, distance));
+            if (path != null) {
+                out.add(path);
             }
         }
-
-        private boolean isValid() {
-            return Double.isFinite(minX) && Double.isFinite(minY) && Double.isFinite(maxX) && Double.isFinite(maxY)
-                    && minX <= maxX && minY <= maxY;
-        }
     }
 
-    // --- Safety ---
-    private static final double MAX_CANVAS_TEXTURE_DIM = 16000.0; // safety under 16384 GPU limit
-
     // --- Measurement line rendering ---
     private static final double MEASUREMENT_LINE_EXTENT = 10000.0; // extent for horizontal measurement line
     // Minimum dyMm threshold to show measurement line. Values smaller than this are too close
     // to the waist and would clutter the display. 0.1mm is chosen as it's below the practical
     // precision of corset measurements while keeping the display clean.
     private static final double MIN_DY_FOR_MEASUREMENT_LINE = 0.1;
+    // culling margin in screen pixels, at least half the widest stroke
+    private static final double CULL_MARGIN_PX = 4.0;
 
     // --- Default slider range when panels are empty or invalid ---
     private static final double DEFAULT_MIN_DY = -200.0;
@@ -221,15 +265,28 @@ public final class Canvas2DView {
     // These should match the parameters used in PatternExtractor
     private static final double RESIZE_FLATNESS_MM = 0.5;
     private static final double RESIZE_RESAMPLE_STEP_MM = 0.0;
-
-    private final Canvas canvas;
+    // Precomputed resize sweep grid: every SWEEP_STEP_MM over +-SWEEP_RANGE_MM
+    private static final double SWEEP_RANGE_MM = 40.0;
+    private static final double SWEEP_STEP_MM = 1.0;
+
+    // GEOMETRY, OVERLAYS, HIGHLIGHT: cached tiles, only exposed or invalidated tiles are rasterized
+    private final Map<Layer, TiledLayer> tiledLayers;
+    // MEASUREMENT layer: plain nodes repositioned per frame
+    private final Pane measurementPane;
+    private final Line measurementLine;
+    private final Text modeText;
+    private final Text statsText;
+    private final EnumSet<Layer> dirtyLayers;
+    // paints dirty layers at most once per pulse
+    private final RedrawScheduler redrawScheduler;
+    private boolean showFrameStats; // debug overlay, toggled with D
     private final BorderPane root;
     private final HBox toolbar;
     private final VBox toolbarBottomContainer;
     private final HBox toolbarBottomRow1;
     private final HBox toolbarBottomRow2;
 
-    // host pane for canvas so we bind to center area size (prevents huge textures)
+    // host pane for the layers; its size is the viewport
     private final StackPane canvasHost;
 
     // measurement UI - now in toolbar
@@ -249,6 +306,20 @@ public final class Canvas2DView {
     private final ComboBox<ResizeMode> resizeModeCombo;
     private double resizeDeltaMm;
     private ResizeMode resizeMode;
+    // Additional per-zone deltas applied together with resizeMode/resizeDeltaMm
+    private ResizeSpec zoneSpec;
+    private final Label zoneSpecLabel;
+
+    // Linearized what-if estimates: when enabled, resize controls only update
+    // the prediction and the exact resize runs on Apply
+    private final CheckBox estimateOnlyCheckBox;
+    private final Label predictedLabel;
+    private ResizeSensitivity sensitivity;
+
+    // Precomputed resize sweep: scrubbing the delta within the grid is a lookup
+    private final CheckBox sweepCheckBox;
+    private ResizeSweepCache sweepCache;
+    private ResizeSweepCache.Entry sweepEntry; // entry backing current panels, or null
 
     private List<PanelCurves> panelsOriginal; // original panels before resizing
     private List<PanelCurves> panels; // effective panels after resizing
@@ -273,6 +344,7 @@ public final class Canvas2DView {
 
     // WAIST mode spacing in "world mm"
     private double waistGapMm;
+    private final FlatLayoutEngine flatLayout;
 
     // Measurement: height offset from waist in mm
     private double dyMm;
@@ -283,21 +355,60 @@ public final class Canvas2DView {
     private Spinner<Integer> notchCountSpinner;
     private Spinner<Double> notchLengthSpinner;
     private CheckBox showNotchesCheckBox;
+    private CheckBox matchNotchesCheckBox;
+    private CheckBox compactPathsCheckBox;
+    private Button btnExportAll;
+    private ProgressBar exportProgressBar;
+    private Button btnNest;
+    // last nesting options, offered again by the next "Nest marker..."
+    private NestingOptionsDialog.NestRequest nestRequest
+            = new NestingOptionsDialog.NestRequest(NestingEngine.Options.defaults(), true);
+
+    private final ExecutorService exportExec = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "svg-export-job");
+        t.setDaemon(true);
+        return t;
+    });
 
     // Cached notches for preview
     private List<sk.arsi.corset.export.PanelNotches> cachedNotches;
+    // seam pairs behind cachedNotches when seams are matched, else null
+    private List<NotchPair> cachedNotchPairs;
     private int cachedNotchCount = -1;
     private double cachedNotchLength = -1.0;
 
     public Canvas2DView() {
-        this.canvas = new Canvas(1200, 700);
+        this.tiledLayers = new EnumMap<>(Layer.class);
+        this.dirtyLayers = EnumSet.allOf(Layer.class);
+        this.redrawScheduler = new RedrawScheduler(this::paintDirtyLayers);
+        for (Layer layer : EnumSet.of(Layer.GEOMETRY, Layer.OVERLAYS, Layer.HIGHLIGHT)) {
+            tiledLayers.put(layer, new TiledLayer(TiledLayer.DEFAULT_TILE_SIZE,
+                    layer == Layer.GEOMETRY ? Color.WHITE : null, (g, visible) -> paintWorld(layer, g, visible)));
+        }
+        this.measurementLine = new Line();
+        this.measurementLine.setStroke(Color.BLUE);
+        this.measurementLine.setStrokeWidth(2.0);
+        this.modeText = new Text(12, 16, "");
+        this.modeText.setFill(Color.GRAY);
+        this.statsText = new Text(12, 32, "");
+        this.statsText.setFill(Color.GRAY);
+        this.measurementPane = new Pane(measurementLine, modeText, statsText);
+        this.measurementPane.setMouseTransparent(true);
+        this.measurementPane.setManaged(false);
         this.root = new BorderPane();
         this.toolbar = new HBox(8.0);
         this.toolbarBottomContainer = new VBox(4.0);
         this.toolbarBottomRow1 = new HBox(8.0);
         this.toolbarBottomRow2 = new HBox(8.0);
 
-        this.canvasHost = new StackPane(canvas);
+        this.canvasHost = new StackPane();
+        this.canvasHost.setPrefSize(1200, 700);
+        this.canvasHost.setMinSize(0, 0);
+        this.canvasHost.setBackground(Background.fill(Color.WHITE));
+        for (TiledLayer t : tiledLayers.values()) {
+            this.canvasHost.getChildren().add(t.getNode());
+        }
+        this.canvasHost.getChildren().add(measurementPane);
 
         this.circumferenceSlider = new Slider(-200.0, 200.0, 0.0);
 
@@ -314,7 +425,7 @@ public final class Canvas2DView {
         // Allowance controls
         this.showAllowancesCheckBox = new CheckBox("Show allowances");
         this.showAllowancesCheckBox.setSelected(true);
-        this.showAllowancesCheckBox.setOnAction(e -> redraw());
+        this.showAllowancesCheckBox.setOnAction(e -> repaint(Layer.OVERLAYS));
 
         SpinnerValueFactory<Double> allowanceFactory = new SpinnerValueFactory.DoubleSpinnerValueFactory(
                 0.0, 50.0, 10.0, 1.0);
@@ -324,7 +435,7 @@ public final class Canvas2DView {
         this.allowanceSpinner.valueProperty().addListener((obs, oldV, newV) -> {
             if (newV != null) {
                 allowanceDistance = newV;
-                redraw();
+                repaint(Layer.OVERLAYS);
             }
         });
         this.allowanceDistance = 10.0; // default 10mm
@@ -336,9 +447,9 @@ public final class Canvas2DView {
         this.resizeDeltaSpinner.setEditable(true);
         this.resizeDeltaSpinner.setPrefWidth(80.0);
         this.resizeDeltaSpinner.valueProperty().addListener((obs, oldV, newV) -> {
-            if (newV != null) {
+            if (!isUpdatingControls && newV != null) {
                 resizeDeltaMm = newV;
-                applyResize();
+                onResizeControlsChanged();
             }
         });
         this.resizeDeltaMm = 0.0;
@@ -347,12 +458,28 @@ public final class Canvas2DView {
         this.resizeModeCombo.getItems().addAll(ResizeMode.DISABLED, ResizeMode.GLOBAL, ResizeMode.TOP, ResizeMode.BOTTOM, ResizeMode.HIP, ResizeMode.HIP1, ResizeMode.RIB, ResizeMode.RIB1, ResizeMode.WAIST);
         this.resizeModeCombo.setValue(ResizeMode.DISABLED);
         this.resizeModeCombo.valueProperty().addListener((obs, oldV, newV) -> {
-            if (newV != null) {
+            if (!isUpdatingControls && newV != null) {
                 resizeMode = newV;
-                applyResize();
+                onResizeControlsChanged();
             }
         });
         this.resizeMode = ResizeMode.DISABLED;
+        this.zoneSpec = ResizeSpec.empty();
+        this.zoneSpecLabel = new Label();
+
+        this.estimateOnlyCheckBox = new CheckBox("Estimate only");
+        this.estimateOnlyCheckBox.setSelected(false);
+        this.estimateOnlyCheckBox.setOnAction(e -> onResizeControlsChanged());
+        this.predictedLabel = new Label();
+
+        this.sweepCheckBox = new CheckBox("Precompute sweep");
+        this.sweepCheckBox.setSelected(false);
+        this.sweepCheckBox.setOnAction(e -> {
+            if (!sweepCheckBox.isSelected() && sweepCache != null) {
+                sweepCache.cancel();
+            }
+            onResizeControlsChanged();
+        });
 
         this.panelsOriginal = new ArrayList<PanelCurves>();
         this.panels = new ArrayList<PanelCurves>();
@@ -369,7 +496,8 @@ public final class Canvas2DView {
         this.isUpdatingControls = false;
 
         this.mode = LayoutMode.TOP;
-        this.waistGapMm = 30.0;
+        this.waistGapMm = FlatLayoutEngine.DEFAULT_WAIST_GAP_MM;
+        this.flatLayout = new FlatLayoutEngine();
         this.dyMm = 0.0;
 
         initUi();
@@ -415,7 +543,7 @@ public final class Canvas2DView {
     public void setSeamMeasurements(MeasurementsView measurementsView) {
         this.measurementsView = measurementsView;
         if (measurementsView != null) {
-            measurementsView.setOnToleranceChanged(tolerance -> redraw());
+            measurementsView.setOnToleranceChanged(tolerance -> repaint(Layer.HIGHLIGHT));
         }
     }
 
@@ -439,9 +567,8 @@ public final class Canvas2DView {
                 dyMm = newV;
                 circumferenceSlider.setValue(dyMm);
                 updateCircumferenceMeasurement();
-                redraw();
                 isUpdatingControls = false;
-                switchMode(LayoutMode.WAIST);
+                showMeasurementLine();
             }
         });
     }
@@ -473,9 +600,8 @@ public final class Canvas2DView {
                 dyMm = newV.doubleValue();
                 dySpinner.getValueFactory().setValue(dyMm);
                 updateCircumferenceMeasurement();
-                redraw(); // Redraw to update the measurement line
                 isUpdatingControls = false;
-                switchMode(LayoutMode.WAIST);
+                showMeasurementLine();
             }
         });
 
@@ -490,9 +616,8 @@ public final class Canvas2DView {
             circumferenceSlider.setValue(0.0);
             dySpinner.getValueFactory().setValue(0.0);
             updateCircumferenceMeasurement();
-            redraw();
             isUpdatingControls = false;
-            switchMode(LayoutMode.WAIST);
+            showMeasurementLine();
         });
 
         dyLabel.setStyle("-fx-font-size: " + FONT_VALUE + "px; -fx-font-weight: bold;");
@@ -509,7 +634,7 @@ public final class Canvas2DView {
         notchCountSpinner.setPrefWidth(70.0);
         notchCountSpinner.valueProperty().addListener((obs, oldV, newV) -> {
             if (showNotchesCheckBox != null && showNotchesCheckBox.isSelected()) {
-                redraw();
+                repaint(Layer.OVERLAYS);
             }
         });
 
@@ -520,19 +645,49 @@ public final class Canvas2DView {
         notchLengthSpinner.setPrefWidth(70.0);
         notchLengthSpinner.valueProperty().addListener((obs, oldV, newV) -> {
             if (showNotchesCheckBox != null && showNotchesCheckBox.isSelected()) {
-                redraw();
+                repaint(Layer.OVERLAYS);
             }
         });
 
         // Show notches checkbox
         showNotchesCheckBox = new CheckBox("Show notches");
         showNotchesCheckBox.setSelected(true);
-        showNotchesCheckBox.setOnAction(e -> redraw());
+        showNotchesCheckBox.setOnAction(e -> repaint(Layer.OVERLAYS));
+
+        // Same distances from the waist on both panels of a seam
+        matchNotchesCheckBox = new CheckBox("Match seams");
+        matchNotchesCheckBox.setSelected(false);
+        matchNotchesCheckBox.setOnAction(e -> {
+            cachedNotches = null;
+            repaint(Layer.OVERLAYS);
+        });
+        Tooltip matchTooltip = new Tooltip();
+        matchTooltip.setOnShowing(e -> matchTooltip.setText(matchNotchesTooltipText()));
+        matchNotchesCheckBox.setTooltip(matchTooltip);
+
+        // Fit Béziers to exported allowance paths instead of full polylines
+        compactPathsCheckBox = new CheckBox("Compact paths");
+        compactPathsCheckBox.setSelected(false);
 
         // Combined export button
         Button btnExport = new Button("Export SVG (Allowances + Notches)");
         btnExport.setOnAction(e -> exportSvgWithAllowancesAndNotches());
 
+        // Plotter/laser cutting export
+        Button btnExportCut = new Button("Export cut file...");
+        btnExportCut.setOnAction(e -> exportCutFile());
+
+        // All SVG artifacts at once
+        btnExportAll = new Button("Export all SVGs...");
+        btnExportAll.setOnAction(e -> exportAllSvgs());
+        exportProgressBar = new ProgressBar(0.0);
+        exportProgressBar.setPrefWidth(100.0);
+        exportProgressBar.setVisible(false);
+
+        // Fabric nesting (marker)
+        btnNest = new Button("Nest marker...");
+        btnNest.setOnAction(e -> exportNestedMarker());
+
         // Curves-only export button
         Button btnExportCurvesOnly = new Button("Export SVG (curves only)");
         btnExportCurvesOnly.setOnAction(e -> exportSvgCurvesOnly());
@@ -544,6 +699,14 @@ public final class Canvas2DView {
         Button btnResetResize = new Button("Reset");
         btnResetResize.setOnAction(e -> resetToOriginalSvg());
 
+        // Composite multi-zone resize
+        Button btnZones = new Button("Zones...");
+        btnZones.setOnAction(e -> editZoneSpec());
+
+        // Made-to-measure fitting
+        Button btnFit = new Button("Fit...");
+        btnFit.setOnAction(e -> fitToMeasurements());
+
         toolbar.getChildren().addAll(
                 btnTop, btnWaist, btnBottom,
                 new javafx.scene.control.Separator(javafx.geometry.Orientation.VERTICAL),
@@ -554,14 +717,16 @@ public final class Canvas2DView {
         toolbarBottomRow1.getChildren().addAll(
                 showAllowancesCheckBox, allowanceLabel, allowanceSpinner,
                 showNotchesCheckBox, notchCountLabel, notchCountSpinner,
-                notchLengthLabel, notchLengthSpinner,
-                btnExport
+                notchLengthLabel, notchLengthSpinner, matchNotchesCheckBox,
+                compactPathsCheckBox, btnExport, btnExportAll, exportProgressBar, btnExportCut, btnNest
         );
 
         // Row 2: resize controls
         toolbarBottomRow2.getChildren().addAll(
                 new Label("Resize mode:"), resizeModeCombo,
                 new Label("Delta (mm):"), resizeDeltaSpinner,
+                btnZones, zoneSpecLabel, btnFit,
+                estimateOnlyCheckBox, predictedLabel, sweepCheckBox,
                 btnApply, btnResetResize, btnExportCurvesOnly
         );
 
@@ -578,20 +743,11 @@ public final class Canvas2DView {
     }
 
     private void bindResize() {
-        canvas.widthProperty().bind(canvasHost.widthProperty());
-        canvas.heightProperty().bind(canvasHost.heightProperty());
-
-        // Safety clamp (avoid GPU texture crash)
-        canvas.widthProperty().addListener((obs, oldV, newV) -> {
-            if (newV != null && newV.doubleValue() > MAX_CANVAS_TEXTURE_DIM) {
-                canvas.setWidth(MAX_CANVAS_TEXTURE_DIM);
-            }
-        });
-        canvas.heightProperty().addListener((obs, oldV, newV) -> {
-            if (newV != null && newV.doubleValue() > MAX_CANVAS_TEXTURE_DIM) {
-                canvas.setHeight(MAX_CANVAS_TEXTURE_DIM);
-            }
-        });
+        // Tiles are placed freely; clip them to the viewport
+        Rectangle clip = new Rectangle();
+        clip.widthProperty().bind(canvasHost.widthProperty());
+        clip.heightProperty().bind(canvasHost.heightProperty());
+        canvasHost.setClip(clip);
 
         canvasHost.widthProperty().addListener((obs, oldV, newV) -> onViewportResize());
         canvasHost.heightProperty().addListener((obs, oldV, newV) -> onViewportResize());
@@ -602,7 +758,7 @@ public final class Canvas2DView {
             fitToContent();
             didInitialFit = true;
         }
-        redraw();
+        viewChanged();
     }
 
     private void bindInput() {
@@ -631,13 +787,14 @@ public final class Canvas2DView {
             double dx = e.getX() - lastMouseX;
             double dy = e.getY() - lastMouseY;
 
-            offsetX = offsetX + dx;
-            offsetY = offsetY + dy;
+            // whole pixels keep cached tiles aligned to the screen grid
+            offsetX = Math.rint(offsetX + dx);
+            offsetY = Math.rint(offsetY + dy);
 
             lastMouseX = e.getX();
             lastMouseY = e.getY();
 
-            redraw();
+            viewChanged();
         });
 
         root.addEventFilter(ScrollEvent.SCROLL, e -> {
@@ -663,10 +820,10 @@ public final class Canvas2DView {
 
             scale = newScale;
 
-            offsetX = mx - worldX * newScale;
-            offsetY = my - worldY * newScale;
+            offsetX = Math.rint(mx - worldX * newScale);
+            offsetY = Math.rint(my - worldY * newScale);
 
-            redraw();
+            viewChanged();
             e.consume();
         });
 
@@ -674,7 +831,11 @@ public final class Canvas2DView {
             KeyCode code = e.getCode();
             if (code == KeyCode.F) {
                 fitToContent();
-                redraw();
+                viewChanged();
+            } else if (code == KeyCode.D) {
+                showFrameStats = !showFrameStats;
+                redrawScheduler.resetStats();
+                repaint(Layer.MEASUREMENT);
             } else if (code == KeyCode.DIGIT1) {
                 switchMode(LayoutMode.TOP);
             } else if (code == KeyCode.DIGIT2) {
@@ -699,6 +860,18 @@ public final class Canvas2DView {
         });
     }
 
+    /**
+     * Measurement height changed: the line is only shown in WAIST mode, so
+     * switch there if needed; otherwise only the measurement layer repaints.
+     */
+    private void showMeasurementLine() {
+        if (mode != LayoutMode.WAIST) {
+            switchMode(LayoutMode.WAIST);
+        } else {
+            repaint(Layer.MEASUREMENT);
+        }
+    }
+
     private void switchMode(LayoutMode newMode) {
         mode = newMode;
         didInitialFit = false;
@@ -717,278 +890,276 @@ public final class Canvas2DView {
             return;
         }
 
-        if (mode == LayoutMode.WAIST) {
-            buildWaistLayout();
-        } else if (mode == LayoutMode.TOP) {
-            buildEndpointLayout(true);
-        } else {
-            buildEndpointLayout(false);
+        List<ChainLayoutEngine.LayoutResult> layout = flatLayout.computeLayout(panels,
+                FlatLayoutEngine.Mode.valueOf(mode.name()), waistGapMm);
+        for (int i = 0; i < layout.size(); i++) {
+            ChainLayoutEngine.Transform2D t = layout.get(i).getTransform();
+            Transform2D transform = new Transform2D(t.getAngleRad(), t.getPivotX(), t.getPivotY(), t.getTx(), t.getTy());
+            rendered.add(new RenderedPanel(layout.get(i).getPanel(), transform, colorForIndex(i)));
         }
     }
 
     /**
-     * TOP or BOTTOM mode: panels touch by endpoints of TOP (or BOTTOM) curve.
-     * No rotation; only translation so that next.leftEndpoint lands on
-     * prev.rightEndpoint.
+     * Repaint all layers (layout or geometry changed) on the next pulse.
      */
-    private void buildEndpointLayout(boolean top) {
-        double curX = 0.0;
-        double curY = 0.0;
-
-        Pt prevRight = null;
+    private void redraw() {
+        dirtyLayers.addAll(EnumSet.allOf(Layer.class));
+        redrawScheduler.requestRedraw();
+    }
 
-        for (int i = 0; i < panels.size(); i++) {
-            PanelCurves p = panels.get(i);
-            Curve2D edge = top ? p.getTop() : p.getBottom();
+    /**
+     * Pan, zoom or viewport size changed: cached tiles are reused (after a new
+     * scale they are stretched until re-rasterized), only the measurement
+     * layer is rebuilt.
+     */
+    private void viewChanged() {
+        repaint(Layer.MEASUREMENT);
+    }
 
-            Pt left = extremeByX(edge, true);
-            Pt right = extremeByX(edge, false);
+    /**
+     * Repaint only the given layers on the next pulse.
+     */
+    private void repaint(Layer first, Layer... rest) {
+        dirtyLayers.add(first);
+        dirtyLayers.addAll(Arrays.asList(rest));
+        redrawScheduler.requestRedraw();
+    }
 
-            // fallback if missing
-            if (left == null || right == null) {
-                Transform2D t = new Transform2D(0.0, 0.0, 0.0, curX, curY);
-                rendered.add(new RenderedPanel(p, t, colorForIndex(i)));
-                curX = curX + 150.0;
-                prevRight = null;
+    private void paintDirtyLayers() {
+        if (showFrameStats && !dirtyLayers.isEmpty()) {
+            // HUD shows the stats, refresh it with every frame
+            dirtyLayers.add(Layer.MEASUREMENT);
+        }
+        for (Layer layer : Layer.values()) {
+            if (!dirtyLayers.remove(layer)) {
                 continue;
             }
-
-            double tx;
-            double ty;
-
-            if (prevRight == null) {
-                tx = curX - left.getX();
-                ty = curY - left.getY();
+            if (layer == Layer.MEASUREMENT) {
+                paintMeasurement();
             } else {
-                tx = prevRight.getX() - left.getX();
-                ty = prevRight.getY() - left.getY();
+                tiledLayers.get(layer).invalidate();
             }
+        }
 
-            Transform2D t = new Transform2D(0.0, 0.0, 0.0, tx, ty);
-            rendered.add(new RenderedPanel(p, t, colorForIndex(i)));
+        // Place cached tiles for the current view, rasterize the missing ones
+        double w = canvasHost.getWidth();
+        double h = canvasHost.getHeight();
+        double pixelScale = outputScale();
+        boolean complete = true;
+        for (TiledLayer t : tiledLayers.values()) {
+            complete &= t.update(scale, offsetX, offsetY, w, h, pixelScale);
+        }
+        if (!complete) {
+            // after a zoom: keep refilling tiles over the next pulses
+            redrawScheduler.requestRedraw();
+        }
+    }
 
-            prevRight = t.apply(right);
+    private double outputScale() {
+        if (canvasHost.getScene() == null) {
+            return 1.0;
         }
+        Window window = canvasHost.getScene().getWindow();
+        return window != null ? Math.max(1.0, window.getOutputScaleX()) : 1.0;
     }
 
     /**
-     * WAIST mode: rotate each panel so its waist is horizontal, align waist to
-     * y=0, and space panels with a gap.
+     * Paint one tile of a static layer. The tile's view affine is already set
+     * on the context, everything is drawn in world coordinates; line widths
+     * are divided by scale to stay in screen pixels. Panels, curves and
+     * segments outside the tile are skipped before any stroke work.
      */
-    private void buildWaistLayout() {
-        double curX = 0.0;
-
-        for (int i = 0; i < panels.size(); i++) {
-            PanelCurves p = panels.get(i);
-
-            Curve2D waist = p.getWaist();
-            Pt wLeft = extremeByX(waist, true);
-            Pt wRight = extremeByX(waist, false);
-
-            if (wLeft == null || wRight == null) {
-                Transform2D tFallback = new Transform2D(0.0, 0.0, 0.0, curX, 0.0);
-                rendered.add(new RenderedPanel(p, tFallback, colorForIndex(i)));
-                curX = curX + 200.0 + waistGapMm;
-                continue;
-            }
-
-            double dx = wRight.getX() - wLeft.getX();
-            double dy = wRight.getY() - wLeft.getY();
-            double angle = Math.atan2(dy, dx);
-
-            double angleRad = -angle;
-            double pivotX = wLeft.getX();
-            double pivotY = wLeft.getY();
-
-            Transform2D t0 = new Transform2D(angleRad, pivotX, pivotY, -pivotX, -pivotY);
-            Bounds b0 = computePanelBounds(p, t0);
-
-            double tx = (-pivotX) + (curX - b0.minX);
-            double ty = (-pivotY);
-
-            Transform2D t = new Transform2D(angleRad, pivotX, pivotY, tx, ty);
-            rendered.add(new RenderedPanel(p, t, colorForIndex(i)));
-
-            Bounds b = computePanelBounds(p, t);
-            double width = Math.max(1.0, b.maxX - b.minX);
-
-            curX = curX + width + waistGapMm;
+    private void paintWorld(Layer layer, GraphicsContext g, Bounds2D tile) {
+        g.setLineJoin(StrokeLineJoin.ROUND);
+        // grow by the widest stroke so lines just outside still paint their edge
+        Bounds2D visible = tile.expand(px(CULL_MARGIN_PX));
+
+        switch (layer) {
+            case GEOMETRY:
+                drawGeometry(g, visible);
+                break;
+            case OVERLAYS:
+                // Draw allowances if enabled
+                if (showAllowancesCheckBox.isSelected() && allowanceDistance > 0) {
+                    drawAllowances(g, visible);
+                }
+                // Draw notches if enabled
+                if (showNotchesCheckBox != null && showNotchesCheckBox.isSelected()) {
+                    drawNotches(g, visible);
+                }
+                break;
+            case HIGHLIGHT:
+                drawSeamHighlights(g, visible);
+                break;
+            default:
+                break;
         }
     }
 
-    private Bounds computePanelBounds(PanelCurves p, Transform2D t) {
-        BoundsAcc acc = new BoundsAcc(
-                Double.POSITIVE_INFINITY,
-                Double.POSITIVE_INFINITY,
-                Double.NEGATIVE_INFINITY,
-                Double.NEGATIVE_INFINITY
-        );
-
-        acc.addCurve(p.getTop(), t);
-        acc.addCurve(p.getBottom(), t);
-        acc.addCurve(p.getWaist(), t);
-
-        acc.addCurve(p.getSeamToPrevUp(), t);
-        acc.addCurve(p.getSeamToPrevDown(), t);
-        acc.addCurve(p.getSeamToNextUp(), t);
-        acc.addCurve(p.getSeamToNextDown(), t);
-
-        if (!acc.isValid()) {
-            return new Bounds(0.0, 0.0, 200.0, 200.0);
+    /**
+     * Update the measurement layer: mode label, optional frame stats and the
+     * horizontal measurement line.
+     */
+    private void paintMeasurement() {
+        modeText.setText("Mode: " + mode + (mode == LayoutMode.WAIST ? (" (gap=" + waistGapMm + "mm)") : ""));
+        statsText.setVisible(showFrameStats);
+        if (showFrameStats) {
+            statsText.setText(redrawScheduler.getStatsText());
         }
 
-        return new Bounds(acc.minX, acc.minY, acc.maxX, acc.maxY);
+        // In WAIST mode, all waists are aligned to y=0, so the measurement line is at y = -dyMm
+        boolean showLine = mode == LayoutMode.WAIST && Math.abs(dyMm) > MIN_DY_FOR_MEASUREMENT_LINE;
+        measurementLine.setVisible(showLine);
+        if (showLine) {
+            double w = canvasHost.getWidth();
+            double y = offsetY + scale * -dyMm;
+            measurementLine.setStartX(clamp(offsetX - MEASUREMENT_LINE_EXTENT * scale, 0.0, w));
+            measurementLine.setEndX(clamp(offsetX + MEASUREMENT_LINE_EXTENT * scale, 0.0, w));
+            measurementLine.setStartY(y);
+            measurementLine.setEndY(y);
+        }
     }
 
-    private void redraw() {
-        GraphicsContext g = canvas.getGraphicsContext2D();
-
-        double w = canvas.getWidth();
-        double h = canvas.getHeight();
-
-        g.setFill(Color.WHITE);
-        g.fillRect(0, 0, w, h);
-
+    private void drawGeometry(GraphicsContext g, Bounds2D visible) {
         // axes
         drawAxes(g);
 
-        // mode label
-        g.setFill(Color.GRAY);
-        g.fillText("Mode: " + mode + (mode == LayoutMode.WAIST ? (" (gap=" + waistGapMm + "mm)") : ""), 12, 16);
-
-        // Compute seam highlighting map
-        Map<String, SeamHighlight> highlightMap = computeSeamHighlights();
-
         // Unified panel color: black or very dark gray
         Color panelColor = Color.web("#222222");
 
         for (int i = 0; i < rendered.size(); i++) {
             RenderedPanel rp = rendered.get(i);
-            PanelId panelId = rp.panel.getPanelId();
+            if (!rp.bounds.intersects(visible)) {
+                continue;
+            }
 
-            // Draw seams with highlighting if needed
-            drawSeamWithHighlight(g, rp, panelId, true, true, highlightMap);   // seamToPrevUp
-            drawSeamWithHighlight(g, rp, panelId, true, false, highlightMap);  // seamToPrevDown
-            drawSeamWithHighlight(g, rp, panelId, false, true, highlightMap);  // seamToNextUp
-            drawSeamWithHighlight(g, rp, panelId, false, false, highlightMap); // seamToNextDown
+            // seams - highlights are painted on their own layer
+            strokeCurve(g, rp.seamToPrevUp, panelColor, 1.5, visible);
+            strokeCurve(g, rp.seamToPrevDown, panelColor, 1.5, visible);
+            strokeCurve(g, rp.seamToNextUp, panelColor, 1.5, visible);
+            strokeCurve(g, rp.seamToNextDown, panelColor, 1.5, visible);
 
             // top/bottom edges - unified black color
-            strokeCurve(g, rp, rp.panel.getTop(), panelColor, 2.0);
-            strokeCurve(g, rp, rp.panel.getBottom(), panelColor, 2.0);
+            strokeCurve(g, rp.top, panelColor, 2.0, visible);
+            strokeCurve(g, rp.bottom, panelColor, 2.0, visible);
 
             // waist - thicker black line to distinguish
-            strokeCurve(g, rp, rp.panel.getWaist(), Color.BLACK, 3.0);
+            strokeCurve(g, rp.waist, Color.BLACK, 3.0, visible);
         }
+    }
 
-        // Draw allowances if enabled
-        if (showAllowancesCheckBox.isSelected() && allowanceDistance > 0) {
-            drawAllowances(g);
+    private void drawSeamHighlights(GraphicsContext g, Bounds2D visible) {
+        // Compute seam highlighting map
+        Map<String, SeamHighlight> highlightMap = computeSeamHighlights();
+        if (highlightMap.isEmpty()) {
+            return;
         }
 
-        // Draw notches if enabled
-        if (showNotchesCheckBox != null && showNotchesCheckBox.isSelected()) {
-            drawNotches(g);
-        }
+        g.setStroke(Color.RED);
+        g.setLineWidth(px(1.5));
+        for (int i = 0; i < rendered.size(); i++) {
+            RenderedPanel rp = rendered.get(i);
+            if (!rp.bounds.intersects(visible)) {
+                continue;
+            }
+            PanelId panelId = rp.panel.getPanelId();
 
-        // Draw horizontal measurement line in WAIST mode
-        // In WAIST mode, all waists are aligned to y=0, so the measurement line is at y = -dyMm
-        if (mode == LayoutMode.WAIST && Math.abs(dyMm) > MIN_DY_FOR_MEASUREMENT_LINE) {
-            g.setStroke(Color.BLUE);
-            g.setLineWidth(2.0);
-            double measurementY = -dyMm; // In WAIST mode, waist is at y=0, so measurement is at -dyMm
-            drawLineWorld(g, -MEASUREMENT_LINE_EXTENT, measurementY, MEASUREMENT_LINE_EXTENT, measurementY);
+            drawSeamHighlight(g, rp, panelId, true, true, highlightMap, visible);   // seamToPrevUp
+            drawSeamHighlight(g, rp, panelId, true, false, highlightMap, visible);  // seamToPrevDown
+            drawSeamHighlight(g, rp, panelId, false, true, highlightMap, visible);  // seamToNextUp
+            drawSeamHighlight(g, rp, panelId, false, false, highlightMap, visible); // seamToNextDown
         }
     }
 
     /**
      * Draw seam allowance offset curves for all internal seams.
      */
-    private void drawAllowances(GraphicsContext g) {
+    private void drawAllowances(GraphicsContext g, Bounds2D visible) {
         g.setStroke(Color.GREEN);
-        g.setLineWidth(1.0);
+        g.setLineWidth(px(1.0));
 
         for (RenderedPanel rp : rendered) {
-            PanelCurves panel = rp.panel;
-
-            // Draw allowances for each seam that should have one
-            drawAllowanceForSeam(g, rp, panel.getSeamToPrevUp(), panel);
-            drawAllowanceForSeam(g, rp, panel.getSeamToPrevDown(), panel);
-            drawAllowanceForSeam(g, rp, panel.getSeamToNextUp(), panel);
-            drawAllowanceForSeam(g, rp, panel.getSeamToNextDown(), panel);
+            for (RenderPath path : rp.allowancePaths(allowanceDistance)) {
+                path.stroke(g, scale, visible);
+            }
         }
     }
 
     /**
-     * Draw allowance offset curve for a single seam if it should have one.
+     * Regenerate the preview notches (and matched seam pairs) if the notch
+     * count or length changed. Callers clear {@code cachedNotches} when the
+     * panels or the matching mode change.
      */
-    private void drawAllowanceForSeam(GraphicsContext g, RenderedPanel rp, Curve2D seamCurve, PanelCurves panel) {
-        if (seamCurve == null) {
-            return;
-        }
+    private void updateNotchCache() {
+        int notchCount = notchCountSpinner != null ? notchCountSpinner.getValue() : 3;
+        double notchLength = notchLengthSpinner != null ? notchLengthSpinner.getValue() : 4.0;
 
-        String seamId = seamCurve.getId();
-        if (!SeamAllowanceComputer.shouldGenerateAllowance(seamId)) {
-            return;
+        // Use cached notches if parameters haven't changed
+        if (cachedNotches == null || cachedNotchCount != notchCount
+                || Math.abs(cachedNotchLength - notchLength) > 0.01) {
+            // Regenerate notches when parameters change
+            if (matchNotchesCheckBox != null && matchNotchesCheckBox.isSelected()) {
+                cachedNotchPairs = MatchedNotchGenerator.matchAllPairs(panels, notchCount, notchLength);
+                cachedNotches = MatchedNotchGenerator.generateAllNotches(panels, cachedNotchPairs,
+                        notchCount, notchLength);
+            } else {
+                cachedNotchPairs = null;
+                cachedNotches = sk.arsi.corset.export.NotchGenerator.generateAllNotches(panels, notchCount, notchLength);
+            }
+            cachedNotchCount = notchCount;
+            cachedNotchLength = notchLength;
         }
+    }
 
-        // Compute offset curve in panel-local coordinates
-        List<Pt> offsetPoints = SeamAllowanceComputer.computeOffsetCurve(seamCurve, panel, allowanceDistance);
-        if (offsetPoints == null || offsetPoints.size() < 2) {
-            return;
+    /**
+     * Seam length mismatch of the matched notch pairs, one line per seam, or
+     * an empty string if seams are not matched.
+     */
+    private String notchMismatchReport() {
+        if (panels == null || panels.isEmpty() || !matchNotchesCheckBox.isSelected()) {
+            return "";
         }
+        updateNotchCache();
+        if (cachedNotchPairs == null || cachedNotchPairs.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("Seam lengths from the waist, left/right mm (mismatch):");
+        for (NotchPair pair : cachedNotchPairs) {
+            sb.append('\n').append(pair);
+        }
+        return sb.toString();
+    }
 
-        // Transform and draw
-        for (int i = 0; i < offsetPoints.size() - 1; i++) {
-            Pt p0Local = offsetPoints.get(i);
-            Pt p1Local = offsetPoints.get(i + 1);
-
-            if (p0Local == null || p1Local == null) {
-                continue;
-            }
-
-            // Apply panel transform to get world coordinates
-            Pt p0World = rp.transform.apply(p0Local);
-            Pt p1World = rp.transform.apply(p1Local);
-
-            if (p0World == null || p1World == null) {
-                continue;
-            }
-
-            // Convert to screen coordinates and draw
-            double sx0 = worldToScreenX(p0World.getX());
-            double sy0 = worldToScreenY(p0World.getY());
-            double sx1 = worldToScreenX(p1World.getX());
-            double sy1 = worldToScreenY(p1World.getY());
+    private String matchNotchesTooltipText() {
+        String report = notchMismatchReport();
+        return report.isEmpty()
+                ? "Place notches at the same distances from the waist on both panels of a seam"
+                : report;
+    }
 
-            g.strokeLine(sx0, sy0, sx1, sy1);
-        }
+    /**
+     * Append the matched seam report (if any) to an export message.
+     */
+    private String withNotchReport(String message) {
+        String report = notchMismatchReport();
+        return report.isEmpty() ? message : message + "\n\n" + report;
     }
 
     /**
      * Draw notches for all panels.
      */
-    private void drawNotches(GraphicsContext g) {
+    private void drawNotches(GraphicsContext g, Bounds2D visible) {
         if (panels == null || panels.isEmpty()) {
             return;
         }
 
-        int notchCount = notchCountSpinner != null ? notchCountSpinner.getValue() : 3;
-        double notchLength = notchLengthSpinner != null ? notchLengthSpinner.getValue() : 4.0;
-
-        // Use cached notches if parameters haven't changed
-        if (cachedNotches == null || cachedNotchCount != notchCount
-                || Math.abs(cachedNotchLength - notchLength) > 0.01) {
-            // Regenerate notches when parameters change
-            cachedNotches = sk.arsi.corset.export.NotchGenerator.generateAllNotches(
-                    panels, notchCount, notchLength);
-            cachedNotchCount = notchCount;
-            cachedNotchLength = notchLength;
-        }
+        updateNotchCache();
 
         g.setStroke(Color.BLACK);
-        g.setLineWidth(1.0);
+        g.setLineWidth(px(1.0));
 
-        // Draw notches for each panel with its transform
+        // Draw notches for each panel with its transform, all in one path
+        g.beginPath();
         for (int i = 0; i < rendered.size() && i < cachedNotches.size(); i++) {
             RenderedPanel rp = rendered.get(i);
             sk.arsi.corset.export.PanelNotches panelNotches = cachedNotches.get(i);
@@ -998,23 +1169,26 @@ public final class Canvas2DView {
             }
 
             for (sk.arsi.corset.export.Notch notch : panelNotches.getNotches()) {
-                // Transform notch points from panel-local to world coordinates
-                Pt startWorld = rp.transform.apply(notch.getStart());
-                Pt endWorld = rp.transform.apply(notch.getEnd());
-
-                if (startWorld == null || endWorld == null) {
+                Pt start = notch.getStart();
+                Pt end = notch.getEnd();
+                if (start == null || end == null) {
                     continue;
                 }
 
-                // Convert to screen coordinates and draw
-                double sx0 = worldToScreenX(startWorld.getX());
-                double sy0 = worldToScreenY(startWorld.getY());
-                double sx1 = worldToScreenX(endWorld.getX());
-                double sy1 = worldToScreenY(endWorld.getY());
-
-                g.strokeLine(sx0, sy0, sx1, sy1);
+                // Transform notch points from panel-local to world coordinates
+                Transform2D t = rp.transform;
+                double x0 = t.applyX(start.getX(), start.getY());
+                double y0 = t.applyY(start.getX(), start.getY());
+                double x1 = t.applyX(end.getX(), end.getY());
+                double y1 = t.applyY(end.getX(), end.getY());
+                if (!visible.intersects(Math.min(x0, x1), Math.min(y0, y1), Math.max(x0, x1), Math.max(y0, y1))) {
+                    continue;
+                }
+                g.moveTo(x0, y0);
+                g.lineTo(x1, y1);
             }
         }
+        g.stroke();
     }
 
     private static class SeamHighlight {
@@ -1072,152 +1246,58 @@ public final class Canvas2DView {
         return map;
     }
 
-    private void drawSeamWithHighlight(
+    /**
+     * Overpaint the out-of-tolerance portions (above/below waist) of one seam
+     * in the current (highlight) stroke.
+     */
+    private void drawSeamHighlight(
             GraphicsContext g,
             RenderedPanel rp,
             PanelId panelId,
             boolean isPrev,
             boolean isUp,
-            Map<String, SeamHighlight> highlightMap) {
+            Map<String, SeamHighlight> highlightMap,
+            Bounds2D visible) {
 
-        Curve2D curve;
+        RenderPath curve;
         PanelId neighborId;
 
         if (isPrev) {
-            curve = isUp ? rp.panel.getSeamToPrevUp() : rp.panel.getSeamToPrevDown();
+            curve = isUp ? rp.seamToPrevUp : rp.seamToPrevDown;
             neighborId = getPrevPanelId(panelId);
         } else {
-            curve = isUp ? rp.panel.getSeamToNextUp() : rp.panel.getSeamToNextDown();
+            curve = isUp ? rp.seamToNextUp : rp.seamToNextDown;
             neighborId = getNextPanelId(panelId);
         }
 
-        // Default color: black
-        Color seamColor = Color.web("#222222");
-
-        // If curve is null, nothing to draw
-        if (curve == null) {
-            return;
-        }
-
-        // If neighborId is null, this is an outer seam (AA or FF) - always draw in black
-        if (neighborId == null) {
-            strokeCurve(g, rp, curve, seamColor, 1.5);
+        // Nothing to draw; outer seams (AA, FF) have no neighbor and are never highlighted
+        if (curve == null || neighborId == null) {
             return;
         }
 
         String seamKey = panelId.name() + "->" + neighborId.name();
         SeamHighlight highlight = highlightMap.get(seamKey);
-
-        if (highlight != null) {
-            // Determine which portions to highlight based on curve type (UP or DOWN)
-            boolean highlightTop;
-            boolean highlightBottom;
-
-            if (isUp) {
-                highlightTop = highlight.highlightUpTop;
-                highlightBottom = highlight.highlightUpBottom;
-            } else {
-                highlightTop = highlight.highlightDownTop;
-                highlightBottom = highlight.highlightDownBottom;
-            }
-
-            if (highlightTop || highlightBottom) {
-                // Split curve at waist and draw with appropriate colors
-                double waistY = MeasurementUtils.computePanelWaistY0(rp.panel.getWaist());
-                strokeCurveSplit(g, rp, curve, waistY,
-                        highlightTop ? Color.RED : seamColor,
-                        highlightBottom ? Color.RED : seamColor,
-                        1.5);
-                return;
-            }
-        }
-
-        // No highlighting needed
-        strokeCurve(g, rp, curve, seamColor, 1.5);
-    }
-
-    private void strokeCurveSplit(
-            GraphicsContext g,
-            RenderedPanel rp,
-            Curve2D curve,
-            double waistY,
-            Color aboveColor,
-            Color belowColor,
-            double width) {
-
-        if (curve == null) {
-            return;
-        }
-        List<Pt> pts = curve.getPoints();
-        if (pts == null || pts.size() < 2) {
+        if (highlight == null) {
             return;
         }
 
-        g.setLineWidth(width);
-
-        for (int i = 0; i < pts.size() - 1; i++) {
-            // Get original points in panel-local coordinates
-            Pt localP0 = pts.get(i);
-            Pt localP1 = pts.get(i + 1);
-
-            if (localP0 == null || localP1 == null) {
-                continue;
-            }
-
-            // Get Y coordinates in panel-local coordinates for comparison with waistY
-            double localY0 = localP0.getY();
-            double localY1 = localP1.getY();
-
-            // Determine if points are above or below waist in panel-local coordinates
-            boolean p0Above = localY0 < waistY;
-            boolean p1Above = localY1 < waistY;
-
-            // Transform points to world coordinates for rendering
-            Pt p0 = rp.transform.apply(localP0);
-            Pt p1 = rp.transform.apply(localP1);
-
-            if (p0 == null || p1 == null) {
-                continue;
-            }
-
-            double sx0 = worldToScreenX(p0.getX());
-            double sy0 = worldToScreenY(p0.getY());
-            double sx1 = worldToScreenX(p1.getX());
-            double sy1 = worldToScreenY(p1.getY());
-
-            if (p0Above == p1Above) {
-                // Segment is entirely above or below waist
-                Color color = p0Above ? aboveColor : belowColor;
-                g.setStroke(color);
-                g.strokeLine(sx0, sy0, sx1, sy1);
-            } else {
-                // Segment crosses waist - split it in panel-local coordinates
-                double t = (waistY - localY0) / (localY1 - localY0);
-                double localXSplit = localP0.getX() + t * (localP1.getX() - localP0.getX());
-
-                // Transform the split point to world coordinates
-                Pt localSplit = new Pt(localXSplit, waistY);
-                Pt worldSplit = rp.transform.apply(localSplit);
+        // Determine which portions to highlight based on curve type (UP or DOWN)
+        boolean highlightTop;
+        boolean highlightBottom;
 
-                if (worldSplit == null) {
-                    continue;
-                }
-
-                double sxSplit = worldToScreenX(worldSplit.getX());
-                double sySplit = worldToScreenY(worldSplit.getY());
+        if (isUp) {
+            highlightTop = highlight.highlightUpTop;
+            highlightBottom = highlight.highlightUpBottom;
+        } else {
+            highlightTop = highlight.highlightDownTop;
+            highlightBottom = highlight.highlightDownBottom;
+        }
 
-                if (p0Above) {
-                    g.setStroke(aboveColor);
-                    g.strokeLine(sx0, sy0, sxSplit, sySplit);
-                    g.setStroke(belowColor);
-                    g.strokeLine(sxSplit, sySplit, sx1, sy1);
-                } else {
-                    g.setStroke(belowColor);
-                    g.strokeLine(sx0, sy0, sxSplit, sySplit);
-                    g.setStroke(aboveColor);
-                    g.strokeLine(sxSplit, sySplit, sx1, sy1);
-                }
-            }
+        if (highlightTop && highlightBottom) {
+            curve.stroke(g, scale, visible);
+        } else if (highlightTop || highlightBottom) {
+            // Split curve at waist (panel-local Y)
+            curve.strokePart(g, scale, visible, rp.waistY, highlightTop);
         }
     }
 
@@ -1235,42 +1315,21 @@ public final class Canvas2DView {
         return id.next();
     }
 
-    private void strokeCurve(GraphicsContext g, RenderedPanel rp, Curve2D curve, Color color, double width) {
-        if (curve == null) {
+    private void strokeCurve(GraphicsContext g, RenderPath path, Color color, double width, Bounds2D visible) {
+        if (path == null || !path.getBounds().intersects(visible)) {
             return;
         }
-        List<Pt> pts = curve.getPoints();
-        if (pts == null || pts.size() < 2) {
-            return;
-        }
-
         g.setStroke(color);
-        g.setLineWidth(width);
-
-        Pt p0 = rp.transform.apply(pts.get(0));
-        double sx0 = worldToScreenX(p0.getX());
-        double sy0 = worldToScreenY(p0.getY());
-
-        for (int i = 1; i < pts.size(); i++) {
-            Pt p1 = rp.transform.apply(pts.get(i));
-            double sx1 = worldToScreenX(p1.getX());
-            double sy1 = worldToScreenY(p1.getY());
-            g.strokeLine(sx0, sy0, sx1, sy1);
-            sx0 = sx1;
-            sy0 = sy1;
-        }
+        g.setLineWidth(px(width));
+        path.stroke(g, scale, visible);
     }
 
-    private void drawLineWorld(GraphicsContext g, double x0, double y0, double x1, double y1) {
-        g.strokeLine(worldToScreenX(x0), worldToScreenY(y0), worldToScreenX(x1), worldToScreenY(y1));
-    }
-
-    private double worldToScreenX(double x) {
-        return offsetX + x * scale;
-    }
-
-    private double worldToScreenY(double y) {
-        return offsetY + y * scale;
+    /**
+     * Line width in world units for a width in screen pixels (drawing happens
+     * under the view transform).
+     */
+    private double px(double screenPx) {
+        return screenPx / scale;
     }
 
     private double clamp(double v, double min, double max) {
@@ -1304,101 +1363,30 @@ public final class Canvas2DView {
     }
 
     /**
-     * Pick point from curve by extreme X (minX if left=true, else maxX). Robust
-     * even if points are not ordered.
+     * Set scale and offset so that all rendered panels fit the viewport.
      */
-    private Pt extremeByX(Curve2D c, boolean left) {
-        if (c == null) {
-            return null;
-        }
-        List<Pt> pts = c.getPoints();
-        if (pts == null || pts.isEmpty()) {
-            return null;
-        }
-
-        Pt best = null;
-        double bestX = left ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
-
-        for (int i = 0; i < pts.size(); i++) {
-            Pt p = pts.get(i);
-            if (p == null) {
-                continue;
-            }
-            double x = p.getX();
-            if (!Double.isFinite(x)) {
-                continue;
-            }
-
-            if (left) {
-                if (x < bestX) {
-                    bestX = x;
-                    best = p;
-                }
-            } else {
-                if (x > bestX) {
-                    bestX = x;
-                    best = p;
-                }
-            }
-        }
-        return best;
-    }
-
     private void fitToContent() {
         if (rendered == null || rendered.isEmpty()) {
             return;
         }
 
-        double w = canvas.getWidth();
-        double h = canvas.getHeight();
+        double w = canvasHost.getWidth();
+        double h = canvasHost.getHeight();
         if (w <= 10.0 || h <= 10.0) {
             return;
         }
 
-        double minX = Double.POSITIVE_INFINITY;
-        double minY = Double.POSITIVE_INFINITY;
-        double maxX = Double.NEGATIVE_INFINITY;
-        double maxY = Double.NEGATIVE_INFINITY;
-
-        for (int i = 0; i < rendered.size(); i++) {
-            RenderedPanel rp = rendered.get(i);
-
-            minX = Math.min(minX, minXCurve(rp, rp.panel.getTop()));
-            minX = Math.min(minX, minXCurve(rp, rp.panel.getBottom()));
-            minX = Math.min(minX, minXCurve(rp, rp.panel.getWaist()));
-            minX = Math.min(minX, minXCurve(rp, rp.panel.getSeamToPrevUp()));
-            minX = Math.min(minX, minXCurve(rp, rp.panel.getSeamToPrevDown()));
-            minX = Math.min(minX, minXCurve(rp, rp.panel.getSeamToNextUp()));
-            minX = Math.min(minX, minXCurve(rp, rp.panel.getSeamToNextDown()));
-
-            minY = Math.min(minY, minYCurve(rp, rp.panel.getTop()));
-            minY = Math.min(minY, minYCurve(rp, rp.panel.getBottom()));
-            minY = Math.min(minY, minYCurve(rp, rp.panel.getWaist()));
-            minY = Math.min(minY, minYCurve(rp, rp.panel.getSeamToPrevUp()));
-            minY = Math.min(minY, minYCurve(rp, rp.panel.getSeamToPrevDown()));
-            minY = Math.min(minY, minYCurve(rp, rp.panel.getSeamToNextUp()));
-            minY = Math.min(minY, minYCurve(rp, rp.panel.getSeamToNextDown()));
-
-            maxX = Math.max(maxX, maxXCurve(rp, rp.panel.getTop()));
-            maxX = Math.max(maxX, maxXCurve(rp, rp.panel.getBottom()));
-            maxX = Math.max(maxX, maxXCurve(rp, rp.panel.getWaist()));
-            maxX = Math.max(maxXCurve(rp, rp.panel.getSeamToPrevUp()), maxX);
-            maxX = Math.max(maxXCurve(rp, rp.panel.getSeamToPrevDown()), maxX);
-            maxX = Math.max(maxXCurve(rp, rp.panel.getSeamToNextUp()), maxX);
-            maxX = Math.max(maxXCurve(rp, rp.panel.getSeamToNextDown()), maxX);
-
-            maxY = Math.max(maxY, maxYCurve(rp, rp.panel.getTop()));
-            maxY = Math.max(maxY, maxYCurve(rp, rp.panel.getBottom()));
-            maxY = Math.max(maxY, maxYCurve(rp, rp.panel.getWaist()));
-            maxY = Math.max(maxY, maxYCurve(rp, rp.panel.getSeamToPrevUp()));
-            maxY = Math.max(maxY, maxYCurve(rp, rp.panel.getSeamToPrevDown()));
-            maxY = Math.max(maxY, maxYCurve(rp, rp.panel.getSeamToNextUp()));
-            maxY = Math.max(maxY, maxYCurve(rp, rp.panel.getSeamToNextDown()));
-        }
-
-        if (!Double.isFinite(minX) || !Double.isFinite(minY) || !Double.isFinite(maxX) || !Double.isFinite(maxY)) {
+        Bounds2D content = Bounds2D.EMPTY;
+        for (RenderedPanel rp : rendered) {
+            content = content.union(rp.bounds);
+        }
+        if (content.isEmpty()) {
             return;
         }
+        double minX = content.getMinX();
+        double minY = content.getMinY();
+        double maxX = content.getMaxX();
+        double maxY = content.getMaxY();
 
         double contentW = Math.max(1.0, maxX - minX);
         double contentH = Math.max(1.0, maxY - minY);
@@ -1411,68 +1399,8 @@ public final class Canvas2DView {
         double cx = (minX + maxX) / 2.0;
         double cy = (minY + maxY) / 2.0;
 
-        offsetX = w / 2.0 - cx * scale;
-        offsetY = h / 2.0 - cy * scale;
-    }
-
-    private double minXCurve(RenderedPanel rp, Curve2D c) {
-        if (c == null || c.getPoints() == null || c.getPoints().isEmpty()) {
-            return Double.POSITIVE_INFINITY;
-        }
-        double m = Double.POSITIVE_INFINITY;
-        List<Pt> pts = c.getPoints();
-        for (int i = 0; i < pts.size(); i++) {
-            Pt p = rp.transform.apply(pts.get(i));
-            if (p != null && Double.isFinite(p.getX())) {
-                m = Math.min(m, p.getX());
-            }
-        }
-        return m;
-    }
-
-    private double minYCurve(RenderedPanel rp, Curve2D c) {
-        if (c == null || c.getPoints() == null || c.getPoints().isEmpty()) {
-            return Double.POSITIVE_INFINITY;
-        }
-        double m = Double.POSITIVE_INFINITY;
-        List<Pt> pts = c.getPoints();
-        for (int i = 0; i < pts.size(); i++) {
-            Pt p = rp.transform.apply(pts.get(i));
-            if (p != null && Double.isFinite(p.getY())) {
-                m = Math.min(m, p.getY());
-            }
-        }
-        return m;
-    }
-
-    private double maxXCurve(RenderedPanel rp, Curve2D c) {
-        if (c == null || c.getPoints() == null || c.getPoints().isEmpty()) {
-            return Double.NEGATIVE_INFINITY;
-        }
-        double m = Double.NEGATIVE_INFINITY;
-        List<Pt> pts = c.getPoints();
-        for (int i = 0; i < pts.size(); i++) {
-            Pt p = rp.transform.apply(pts.get(i));
-            if (p != null && Double.isFinite(p.getX())) {
-                m = Math.max(m, p.getX());
-            }
-        }
-        return m;
-    }
-
-    private double maxYCurve(RenderedPanel rp, Curve2D c) {
-        if (c == null || c.getPoints() == null || c.getPoints().isEmpty()) {
-            return Double.NEGATIVE_INFINITY;
-        }
-        double m = Double.NEGATIVE_INFINITY;
-        List<Pt> pts = c.getPoints();
-        for (int i = 0; i < pts.size(); i++) {
-            Pt p = rp.transform.apply(pts.get(i));
-            if (p != null && Double.isFinite(p.getY())) {
-                m = Math.max(m, p.getY());
-            }
-        }
-        return m;
+        offsetX = Math.rint(w / 2.0 - cx * scale);
+        offsetY = Math.rint(h / 2.0 - cy * scale);
     }
 
     // ----------------- Measurements -----------------
@@ -1488,8 +1416,10 @@ public final class Canvas2DView {
             return;
         }
 
-        MeasurementUtils.DyRange range = MeasurementUtils.computeValidDyRange(panels);
+        updateSliderRange(MeasurementUtils.computeValidDyRange(panels));
+    }
 
+    private void updateSliderRange(MeasurementUtils.DyRange range) {
         // Set slider range: min = -maxDownDy (negative), max = +maxUpDy (positive)
         double minValue = -range.getMaxDownDy();
         double maxValue = range.getMaxUpDy();
@@ -1531,17 +1461,66 @@ public final class Canvas2DView {
 
     private void drawAxes(GraphicsContext g) {
         g.setStroke(Color.LIGHTGRAY);
-        g.setLineWidth(1.0);
-        drawLineWorld(g, -MEASUREMENT_LINE_EXTENT, 0, MEASUREMENT_LINE_EXTENT, 0);
-        drawLineWorld(g, 0, -MEASUREMENT_LINE_EXTENT, 0, MEASUREMENT_LINE_EXTENT);
+        g.setLineWidth(px(1.0));
+        g.strokeLine(-MEASUREMENT_LINE_EXTENT, 0, MEASUREMENT_LINE_EXTENT, 0);
+        g.strokeLine(0, -MEASUREMENT_LINE_EXTENT, 0, MEASUREMENT_LINE_EXTENT);
     }
 
     private void updateCircumferenceMeasurement() {
         dyLabel.setText(String.format("dyMm: %.1f mm", dyMm));
 
-        double fullCirc = MeasurementUtils.computeFullCircumference(panels, dyMm);
+        double fullCirc = (sweepEntry != null && sweepEntry.getPanels() == panels)
+                ? sweepEntry.getCircumference(dyMm)
+                : MeasurementUtils.computeFullCircumference(panels, dyMm);
         double inchFullCirc = fullCirc * 0.0393700787d;
         circumferenceLabel.setText(String.format("Circumference: %.1f mm/%.1f inch  ", fullCirc, inchFullCirc));
+
+        updatePrediction();
+    }
+
+    /**
+     * Resize mode, delta, zones or estimate toggle changed: either run the
+     * exact resize, or only refresh the linear estimate.
+     */
+    private void onResizeControlsChanged() {
+        if (estimateOnlyCheckBox.isSelected()) {
+            updatePrediction();
+            if (sensitivity != null && sensitivity.isFor(panelsOriginal)) {
+                // Seam highlights follow the predicted measurements
+                cachedMeasurements = sensitivity.predictSeamMeasurements(currentResizeSpec());
+            }
+            repaint(Layer.HIGHLIGHT);
+        } else {
+            applyResize();
+        }
+    }
+
+    /**
+     * Show predicted circumference at current dy for the current resize spec
+     * (estimate-only mode).
+     */
+    private void updatePrediction() {
+        ResizeSpec spec = currentResizeSpec();
+        if (!estimateOnlyCheckBox.isSelected() || spec.isEmpty()
+                || panelsOriginal == null || panelsOriginal.isEmpty()) {
+            predictedLabel.setText("");
+            return;
+        }
+        ResizeSensitivity model = sensitivity();
+        double base = model.getBaseCircumference(dyMm);
+        double predicted = model.predictCircumference(spec, dyMm);
+        predictedLabel.setText(String.format("Predicted: %.1f mm (%+.1f)", predicted, predicted - base));
+    }
+
+    /**
+     * Sensitivity model for the current base geometry; rebuilt when the base
+     * panels change (load, Apply, Reset).
+     */
+    private ResizeSensitivity sensitivity() {
+        if (sensitivity == null || !sensitivity.isFor(panelsOriginal)) {
+            sensitivity = new ResizeSensitivity(panelsOriginal, createResizer());
+        }
+        return sensitivity;
     }
 
     /**
@@ -1552,22 +1531,52 @@ public final class Canvas2DView {
             return;
         }
 
-        this.panels = applyResizeToOriginals();
-
-        rebuildLayout();
-
-        // Recompute cached measurements
-        this.cachedMeasurements = SeamMeasurementService.computeAllSeamMeasurements(this.panels);
+        ResizeSweepCache.Entry entry = sweepEntry();
+        if (entry != null) {
+            // Resize, seam measurements and dy range come precomputed
+            this.sweepEntry = entry;
+            this.panels = entry.getPanels();
+            rebuildLayout();
+            this.cachedMeasurements = entry.getSeamMeasurements();
+        } else {
+            this.sweepEntry = null;
+            this.panels = applyResizeToOriginals();
+            rebuildLayout();
+            // Recompute cached measurements
+            this.cachedMeasurements = SeamMeasurementService.computeAllSeamMeasurements(this.panels);
+        }
 
         // Invalidate notch cache
         this.cachedNotches = null;
         this.cachedNotchCount = -1;
         this.cachedNotchLength = -1.0;
 
-        updateSliderRange();
+        if (entry != null) {
+            updateSliderRange(entry.getDyRange());
+        } else {
+            updateSliderRange();
+        }
         redraw();
     }
 
+    /**
+     * Sweep entry for the current resize controls when the precomputed sweep
+     * is enabled; (re)starts the background sweep when the base geometry,
+     * zones or mode changed. Off-grid deltas are computed on demand.
+     */
+    private ResizeSweepCache.Entry sweepEntry() {
+        if (!sweepCheckBox.isSelected() || resizeMode == ResizeMode.DISABLED) {
+            return null;
+        }
+        if (sweepCache == null) {
+            sweepCache = new ResizeSweepCache(createResizer());
+        }
+        if (!sweepCache.isFor(panelsOriginal, zoneSpec, resizeMode)) {
+            sweepCache.start(panelsOriginal, zoneSpec, resizeMode, resizeDeltaMm, SWEEP_RANGE_MM, SWEEP_STEP_MM);
+        }
+        return sweepCache.getOrCompute(panelsOriginal, zoneSpec, resizeMode, resizeDeltaMm);
+    }
+
     /**
      * Apply current resize mode and delta to original panels.
      */
@@ -1576,16 +1585,108 @@ public final class Canvas2DView {
             return new ArrayList<>();
         }
 
+        return createResizer().resize(panelsOriginal, currentResizeSpec());
+    }
+
+    /**
+     * In estimate-only mode the effective panels lag behind the controls; run
+     * the exact resize before committing or exporting them.
+     */
+    private void ensureExactResize() {
+        if (estimateOnlyCheckBox.isSelected()) {
+            applyResize();
+        }
+    }
+
+    private PanelResizer createResizer() {
         PathSampler sampler = new PathSampler();
-        PanelResizer resizer = new PanelResizer(sampler, RESIZE_FLATNESS_MM, RESIZE_RESAMPLE_STEP_MM);
+        return new PanelResizer(sampler, RESIZE_FLATNESS_MM, RESIZE_RESAMPLE_STEP_MM);
+    }
 
-        return resizer.resize(panelsOriginal, resizeMode, resizeDeltaMm);
+    /**
+     * Combined resize: zone deltas from the multi-zone dialog plus the delta of
+     * the mode selected in the toolbar.
+     */
+    private ResizeSpec currentResizeSpec() {
+        return zoneSpec.plus(resizeMode, resizeDeltaMm);
+    }
+
+    /**
+     * Open the multi-zone resize dialog and apply the entered deltas in one
+     * pass.
+     */
+    private void editZoneSpec() {
+        ResizeSpecDialog dialog = new ResizeSpecDialog(zoneSpec);
+        dialog.initOwner(root.getScene().getWindow());
+        dialog.showAndGetResult().ifPresent(spec -> {
+            setZoneSpec(spec);
+            onResizeControlsChanged();
+        });
+    }
+
+    /**
+     * Fit zone deltas to a client's measurement table and show residuals.
+     */
+    private void fitToMeasurements() {
+        if (panelsOriginal == null || panelsOriginal.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "No panels loaded", "Cannot fit: no panels loaded.");
+            return;
+        }
+
+        ResizeSensitivity model = sensitivity();
+        FitMeasurementsDialog dialog = new FitMeasurementsDialog(model::getBaseCircumference);
+        dialog.initOwner(root.getScene().getWindow());
+        FitMeasurementsDialog.FitRequest request = dialog.showAndGetResult().orElse(null);
+        if (request == null) {
+            return;
+        }
+        if (request.getTargets().isEmpty() || request.getZones().isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Nothing to fit", "Select at least one measurement and one zone.");
+            return;
+        }
+
+        FittingSolver.FitResult result = new FittingSolver(createResizer())
+                .solve(model, request.getTargets(), request.getZones());
+
+        // Solver deltas replace toolbar/zone deltas; its panels are already exact
+        isUpdatingControls = true;
+        resizeModeCombo.setValue(ResizeMode.DISABLED);
+        resizeDeltaSpinner.getValueFactory().setValue(0.0);
+        resizeMode = ResizeMode.DISABLED;
+        resizeDeltaMm = 0.0;
+        setZoneSpec(result.getSpec());
+        isUpdatingControls = false;
+
+        panels = result.getPanels();
+        rebuildLayout();
+        cachedMeasurements = SeamMeasurementService.computeAllSeamMeasurements(panels);
+        cachedNotches = null;
+        cachedNotchCount = -1;
+        cachedNotchLength = -1.0;
+        updateSliderRange();
+        redraw();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Zones: ").append(result.getSpec()).append("\n\n");
+        for (int i = 0; i < result.getTargets().size(); i++) {
+            FittingSolver.FitTarget t = result.getTargets().get(i);
+            sb.append(String.format("%s @ %.0f mm: target %.1f, got %.1f, residual %+.1f mm%n",
+                    t.getName(), t.getDyMm(), t.getCircumferenceMm(), result.getAchievedMm(i), result.getResidualMm(i)));
+        }
+        sb.append(String.format("%nIterations: %d", result.getIterations()));
+        showAlert(Alert.AlertType.INFORMATION, "Fit result", sb.toString());
+    }
+
+    private void setZoneSpec(ResizeSpec spec) {
+        zoneSpec = spec != null ? spec : ResizeSpec.empty();
+        zoneSpecLabel.setText(zoneSpec.isEmpty() ? "" : "Zones: " + zoneSpec);
     }
 
     /**
      * Export SVG with allowances and notches combined.
      */
     private void exportSvgWithAllowancesAndNotches() {
+        ensureExactResize();
         if (panels == null || panels.isEmpty()) {
             showAlert(Alert.AlertType.WARNING, "No panels loaded", "Cannot export: no panels loaded.");
             return;
@@ -1618,9 +1719,19 @@ public final class Canvas2DView {
             int notchCount = notchCountSpinner.getValue();
             double notchLength = notchLengthSpinner.getValue();
 
-            SvgExporter.exportWithAllowancesAndNotches(svgDocument, panels, file, notchCount, notchLength, allowanceDistance);
+            PathDataEncoder encoder = compactPathsCheckBox.isSelected()
+                    ? PathDataEncoder.compact()
+                    : PathDataEncoder.POLYLINE;
+
+            ExportJob.of(svgPath, svgDocument, panels)
+                    .withAllowance(allowanceDistance)
+                    .withNotches(notchCount, notchLength)
+                    .withMatchedNotches(matchNotchesCheckBox.isSelected())
+                    .withEncoder(encoder)
+                    .withOutput(ExportJob.Artifact.ALLOWANCES_AND_NOTCHES, file)
+                    .run(null);
             showAlert(Alert.AlertType.INFORMATION, "Export successful",
-                    "SVG exported to: " + file.getAbsolutePath());
+                    withNotchReport("SVG exported to: " + file.getAbsolutePath()));
         } catch (Exception e) {
             showAlert(Alert.AlertType.ERROR, "Export failed",
                     "Failed to export SVG: " + e.getMessage());
@@ -1628,11 +1739,207 @@ public final class Canvas2DView {
         }
     }
 
+    /**
+     * Export curves-only, allowances, per-panel notches and
+     * allowances-plus-notches SVGs into one directory. Allowances and notches
+     * are computed once; the files are written in the background and the
+     * progress bar shows the mean progress of all of them.
+     */
+    private void exportAllSvgs() {
+        ensureExactResize();
+        if (panels == null || panels.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "No panels loaded", "Cannot export: no panels loaded.");
+            return;
+        }
+
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle("Export all SVGs");
+        if (svgPath != null && svgPath.getParent() != null) {
+            chooser.setInitialDirectory(svgPath.getParent().toFile());
+        }
+        File dir = chooser.showDialog(root.getScene().getWindow());
+        if (dir == null) {
+            return; // User cancelled
+        }
+
+        PathDataEncoder encoder = compactPathsCheckBox.isSelected()
+                ? PathDataEncoder.compact()
+                : PathDataEncoder.POLYLINE;
+        ExportJob job = ExportJob.of(svgPath, svgDocument, panels)
+                .withAllowance(allowanceDistance)
+                .withNotches(notchCountSpinner.getValue(), notchLengthSpinner.getValue())
+                .withMatchedNotches(matchNotchesCheckBox.isSelected())
+                .withEncoder(encoder)
+                .withOutput(ExportJob.Artifact.ALLOWANCES, new File(dir, "panels_with_allowances.svg"))
+                .withOutput(ExportJob.Artifact.NOTCHES, new File(dir, "panels_with_notches.svg"));
+        if (svgPath != null && svgDocument != null) {
+            job = job.withOutput(ExportJob.Artifact.CURVES_ONLY, new File(dir, "panels_curves_only.svg"));
+        }
+        if (svgDocument != null) {
+            job = job.withOutput(ExportJob.Artifact.ALLOWANCES_AND_NOTCHES,
+                    new File(dir, "panels_with_allowances_and_notches.svg"));
+        }
+
+        ExportJob runJob = job;
+        String notchReport = notchMismatchReport();
+        Map<ExportJob.Artifact, Double> fractions = new EnumMap<>(ExportJob.Artifact.class);
+        btnExportAll.setDisable(true);
+        exportProgressBar.setProgress(0.0);
+        exportProgressBar.setVisible(true);
+
+        exportExec.submit(() -> {
+            Exception failure = null;
+            try {
+                runJob.run((artifact, fraction) -> {
+                    double mean;
+                    synchronized (fractions) {
+                        fractions.put(artifact, fraction);
+                        double sum = 0.0;
+                        for (double f : fractions.values()) {
+                            sum += f;
+                        }
+                        mean = sum / runJob.getOutputs().size();
+                    }
+                    Platform.runLater(() -> exportProgressBar.setProgress(mean));
+                });
+            } catch (Exception e) {
+                failure = e;
+            }
+            Exception result = failure;
+            Platform.runLater(() -> {
+                btnExportAll.setDisable(false);
+                exportProgressBar.setVisible(false);
+                if (result == null) {
+                    String message = runJob.getOutputs().size() + " SVG files exported to: " + dir.getAbsolutePath();
+                    showAlert(Alert.AlertType.INFORMATION, "Export successful",
+                            notchReport.isEmpty() ? message : message + "\n\n" + notchReport);
+                } else {
+                    showAlert(Alert.AlertType.ERROR, "Export failed",
+                            "Failed to export SVG files: " + result.getMessage());
+                    result.printStackTrace();
+                }
+            });
+        });
+    }
+
+    /**
+     * Export a cutting file (HPGL, DXF R12 or cut-ordered SVG, chosen by the
+     * file extension) with panel contours and seam allowances.
+     */
+    private void exportCutFile() {
+        ensureExactResize();
+        if (panels == null || panels.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "No panels loaded", "Cannot export: no panels loaded.");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export cut file");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("HPGL files (*.plt, *.hpgl)", "*.plt", "*.hpgl"),
+                new FileChooser.ExtensionFilter("DXF R12 files (*.dxf)", "*.dxf"),
+                new FileChooser.ExtensionFilter("SVG files, cut order (*.svg)", "*.svg")
+        );
+        fileChooser.setInitialFileName("panels_cut.plt");
+
+        if (svgPath != null && svgPath.getParent() != null) {
+            fileChooser.setInitialDirectory(svgPath.getParent().toFile());
+        }
+
+        File file = fileChooser.showSaveDialog(root.getScene().getWindow());
+        if (file == null) {
+            return; // User cancelled
+        }
+
+        CutterExporter.Format format = CutterExporter.Format.forFile(file);
+        if (format == null) {
+            showAlert(Alert.AlertType.WARNING, "Unknown format",
+                    "Use a .plt, .hpgl, .dxf or .svg file name.");
+            return;
+        }
+
+        try {
+            CutterExporter.export(panels, allowanceDistance, format, file);
+            showAlert(Alert.AlertType.INFORMATION, "Export successful",
+                    "Cut file exported to: " + file.getAbsolutePath());
+        } catch (Exception e) {
+            showAlert(Alert.AlertType.ERROR, "Export failed",
+                    "Failed to export cut file: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Nest the panels (with seam allowances) on a fabric strip chosen in
+     * {@link NestingOptionsDialog} and export the marker as SVG. Nesting runs
+     * in the background.
+     */
+    private void exportNestedMarker() {
+        ensureExactResize();
+        if (panels == null || panels.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "No panels loaded", "Cannot nest: no panels loaded.");
+            return;
+        }
+
+        NestingOptionsDialog dialog = new NestingOptionsDialog(nestRequest);
+        dialog.initOwner(root.getScene().getWindow());
+        NestingOptionsDialog.NestRequest request = dialog.showAndGetResult().orElse(null);
+        if (request == null) {
+            return;
+        }
+        nestRequest = request;
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export nested marker");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("SVG files (*.svg)", "*.svg"));
+        fileChooser.setInitialFileName("panels_marker.svg");
+
+        if (svgPath != null && svgPath.getParent() != null) {
+            fileChooser.setInitialDirectory(svgPath.getParent().toFile());
+        }
+
+        File file = fileChooser.showSaveDialog(root.getScene().getWindow());
+        if (file == null) {
+            return; // User cancelled
+        }
+
+        // Nesting runs many placement trials; keep it off the FX thread
+        List<PanelCurves> nestPanels = panels;
+        double allowance = allowanceDistance;
+        btnNest.setDisable(true);
+        exportExec.submit(() -> {
+            MarkerLayout layout = null;
+            Exception failure = null;
+            try {
+                List<NestingPart> parts = NestingPart.fromPanels(nestPanels, allowance, request.isPairs());
+                layout = NestingEngine.nest(parts, request.getOptions());
+                MarkerSvgExporter.export(layout, file);
+            } catch (Exception e) {
+                failure = e;
+            }
+            MarkerLayout result = layout;
+            Exception error = failure;
+            Platform.runLater(() -> {
+                btnNest.setDisable(false);
+                if (error == null) {
+                    showAlert(Alert.AlertType.INFORMATION, "Export successful",
+                            String.format(Locale.ROOT, "Marker exported to: %s%nLength %.1f mm, utilization %.1f %%",
+                                    file.getAbsolutePath(), result.getLengthMm(), result.getUtilization() * 100.0));
+                } else {
+                    showAlert(Alert.AlertType.ERROR, "Export failed",
+                            "Failed to nest marker: " + error.getMessage());
+                    error.printStackTrace();
+                }
+            });
+        });
+    }
+
     /**
      * Export SVG with curves only (preserves original SVG, updates only
      * modified d attributes).
      */
     private void exportSvgCurvesOnly() {
+        ensureExactResize();
         if (panels == null || panels.isEmpty()) {
             showAlert(Alert.AlertType.WARNING, "No panels loaded", "Cannot export: no panels loaded.");
             return;
@@ -1735,6 +2042,7 @@ public final class Canvas2DView {
      * This allows stacking/combining multiple resize operations.
      */
     private void applyResizeChanges() {
+        ensureExactResize();
         if (panels == null || panels.isEmpty()) {
             showAlert(Alert.AlertType.WARNING, "No panels loaded",
                     "Cannot apply: no panels loaded.");
@@ -1745,7 +2053,8 @@ public final class Canvas2DView {
         Snapshot snapshot = new Snapshot(
                 deepCopyPanels(panelsOriginal),
                 resizeMode,
-                resizeDeltaMm
+                resizeDeltaMm,
+                zoneSpec
         );
         undoHistory.push(snapshot);
 
@@ -1758,6 +2067,7 @@ public final class Canvas2DView {
         resizeDeltaSpinner.getValueFactory().setValue(0.0);
         resizeMode = ResizeMode.DISABLED;
         resizeDeltaMm = 0.0;
+        setZoneSpec(ResizeSpec.empty());
         isUpdatingControls = false;
 
         // Recompute effective panels (should be same as base now)
@@ -1809,6 +2119,7 @@ public final class Canvas2DView {
             resizeDeltaSpinner.getValueFactory().setValue(0.0);
             resizeMode = ResizeMode.DISABLED;
             resizeDeltaMm = 0.0;
+            setZoneSpec(ResizeSpec.empty());
             isUpdatingControls = false;
 
             // Apply neutral resize (which just returns originals)
@@ -0,0 +1,159 @@
+package sk.arsi.corset.app;
+
+import javafx.geometry.Insets;
+import javafx.scene.control.*;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import sk.arsi.corset.measure.FittingSolver.FitTarget;
+import sk.arsi.corset.resize.ResizeMode;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Dialog for entering a client's measurement table and the resize zones the
+ * fitting solver may use.
+ */
+public final class FitMeasurementsDialog extends Dialog<FitMeasurementsDialog.FitRequest> {
+
+    /**
+     * Measurements and zones entered by the user.
+     */
+    public static final class FitRequest {
+
+        private final List<FitTarget> targets;
+        private final List<ResizeMode> zones;
+
+        private FitRequest(List<FitTarget> targets, List<ResizeMode> zones) {
+            this.targets = targets;
+            this.zones = zones;
+        }
+
+        public List<FitTarget> getTargets() {
+            return targets;
+        }
+
+        public List<ResizeMode> getZones() {
+            return zones;
+        }
+    }
+
+    private static final class Row {
+
+        final String name;
+        final CheckBox use;
+        final Spinner<Double> dy;
+        final Spinner<Double> circumference;
+        final Spinner<Double> weight;
+
+        Row(String name, double dyMm, boolean enabled) {
+            this.name = name;
+            this.use = new CheckBox(name);
+            this.use.setSelected(enabled);
+            this.dy = spinner(-1000.0, 1000.0, dyMm, 5.0);
+            this.circumference = spinner(0.0, 3000.0, 0.0, 1.0);
+            this.weight = spinner(0.1, 10.0, 1.0, 0.1);
+        }
+    }
+
+    private final List<Row> rows;
+    private final Map<ResizeMode, CheckBox> zoneBoxes;
+
+    /**
+     * Create a fitting dialog.
+     *
+     * @param currentCircumference function giving the current pattern
+     * circumference at a dy, used to prefill targets
+     */
+    public FitMeasurementsDialog(DoubleUnaryOperator currentCircumference) {
+        setTitle("Fit to Measurements");
+        setHeaderText("Client measurements (full circumference) at heights from the waist.\n"
+                + "The solver picks per-zone deltas minimizing the weighted squared error.");
+
+        rows = new ArrayList<>();
+        rows.add(new Row("Bust", 150.0, true));
+        rows.add(new Row("Underbust", 90.0, true));
+        rows.add(new Row("Waist", 0.0, true));
+        rows.add(new Row("High hip", -80.0, true));
+        rows.add(new Row("Hip", -150.0, false));
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(6);
+        grid.add(new Label("Measurement"), 0, 0);
+        grid.add(new Label("Height (mm)"), 1, 0);
+        grid.add(new Label("Circumference (mm)"), 2, 0);
+        grid.add(new Label("Weight"), 3, 0);
+        int r = 1;
+        for (Row row : rows) {
+            if (currentCircumference != null) {
+                row.circumference.getValueFactory().setValue(
+                        Math.rint(currentCircumference.applyAsDouble(row.dy.getValue())));
+            }
+            grid.add(row.use, 0, r);
+            grid.add(row.dy, 1, r);
+            grid.add(row.circumference, 2, r);
+            grid.add(row.weight, 3, r);
+            r++;
+        }
+
+        zoneBoxes = new EnumMap<>(ResizeMode.class);
+        HBox zonesBox = new HBox(10);
+        for (ResizeMode mode : ResizeMode.values()) {
+            if (mode == ResizeMode.DISABLED) {
+                continue;
+            }
+            CheckBox cb = new CheckBox(mode.toString());
+            cb.setSelected(mode == ResizeMode.TOP || mode == ResizeMode.WAIST || mode == ResizeMode.BOTTOM);
+            zoneBoxes.put(mode, cb);
+            zonesBox.getChildren().add(cb);
+        }
+
+        VBox content = new VBox(10, grid, new Label("Zones the solver may change:"), zonesBox);
+        content.setPadding(new Insets(20));
+
+        getDialogPane().setContent(content);
+        getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        setResultConverter(buttonType -> {
+            if (buttonType != ButtonType.OK) {
+                return null;
+            }
+            List<FitTarget> targets = new ArrayList<>();
+            for (Row row : rows) {
+                if (row.use.isSelected()) {
+                    targets.add(new FitTarget(row.name, row.dy.getValue(),
+                            row.circumference.getValue(), row.weight.getValue()));
+                }
+            }
+            List<ResizeMode> zones = new ArrayList<>();
+            for (Map.Entry<ResizeMode, CheckBox> e : zoneBoxes.entrySet()) {
+                if (e.getValue().isSelected()) {
+                    zones.add(e.getKey());
+                }
+            }
+            return new FitRequest(targets, zones);
+        });
+    }
+
+    /**
+     * Show the dialog and return the entered table.
+     *
+     * @return Optional containing the request, or empty if cancelled
+     */
+    public Optional<FitRequest> showAndGetResult() {
+        return showAndWait();
+    }
+
+    private static Spinner<Double> spinner(double min, double max, double value, double step) {
+        Spinner<Double> s = new Spinner<>(new SpinnerValueFactory.DoubleSpinnerValueFactory(min, max, value, step));
+        s.setEditable(true);
+        s.setPrefWidth(100.0);
+        return s;
+    }
+}
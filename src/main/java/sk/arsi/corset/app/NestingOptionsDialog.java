@@ -0,0 +1,106 @@
+package sk.arsi.corset.app;
+
+import javafx.geometry.Insets;
+import javafx.scene.control.*;
+import javafx.scene.layout.GridPane;
+import sk.arsi.corset.nesting.NestingEngine;
+
+import java.util.Optional;
+
+/**
+ * Dialog for the fabric and layout options of a nested marker.
+ */
+public final class NestingOptionsDialog extends Dialog<NestingOptionsDialog.NestRequest> {
+
+    /**
+     * Options entered by the user.
+     */
+    public static final class NestRequest {
+
+        private final NestingEngine.Options options;
+        private final boolean pairs;
+
+        public NestRequest(NestingEngine.Options options, boolean pairs) {
+            this.options = options;
+            this.pairs = pairs;
+        }
+
+        public NestingEngine.Options getOptions() {
+            return options;
+        }
+
+        /**
+         * Nest a mirrored copy of every panel as well (both halves of the
+         * corset).
+         */
+        public boolean isPairs() {
+            return pairs;
+        }
+    }
+
+    private final Spinner<Double> widthSpinner;
+    private final Spinner<Double> spacingSpinner;
+    private final ComboBox<NestingEngine.Grain> grainCombo;
+    private final CheckBox pairsCheckBox;
+
+    /**
+     * Create a nesting options dialog.
+     *
+     * @param current the previously used request (used as initial values)
+     */
+    public NestingOptionsDialog(NestRequest current) {
+        setTitle("Nest Marker");
+        setHeaderText("Fabric and layout of the marker.\nPanels are drafted with the grain vertical.");
+
+        NestingEngine.Options options = current.getOptions();
+        widthSpinner = spinner(100.0, 5000.0, options.getFabricWidthMm(), 10.0);
+        spacingSpinner = spinner(0.0, 50.0, options.getSpacingMm(), 0.5);
+        grainCombo = new ComboBox<>();
+        grainCombo.getItems().addAll(NestingEngine.Grain.values());
+        grainCombo.setValue(options.getGrain());
+        pairsCheckBox = new CheckBox("Cut each panel twice (mirrored pair)");
+        pairsCheckBox.setSelected(current.isPairs());
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(6);
+        grid.setPadding(new Insets(20));
+        grid.add(new Label("Fabric width (mm)"), 0, 0);
+        grid.add(widthSpinner, 1, 0);
+        grid.add(new Label("Grain"), 0, 1);
+        grid.add(grainCombo, 1, 1);
+        grid.add(new Label("Spacing (mm)"), 0, 2);
+        grid.add(spacingSpinner, 1, 2);
+        grid.add(pairsCheckBox, 0, 3, 2, 1);
+
+        getDialogPane().setContent(grid);
+        getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        setResultConverter(buttonType -> {
+            if (buttonType != ButtonType.OK) {
+                return null;
+            }
+            NestingEngine.Options chosen = options
+                    .withFabricWidthMm(widthSpinner.getValue())
+                    .withGrain(grainCombo.getValue())
+                    .withSpacingMm(spacingSpinner.getValue());
+            return new NestRequest(chosen, pairsCheckBox.isSelected());
+        });
+    }
+
+    /**
+     * Show the dialog and return the entered options.
+     *
+     * @return Optional containing the request, or empty if cancelled
+     */
+    public Optional<NestRequest> showAndGetResult() {
+        return showAndWait();
+    }
+
+    private static Spinner<Double> spinner(double min, double max, double value, double step) {
+        Spinner<Double> s = new Spinner<>(new SpinnerValueFactory.DoubleSpinnerValueFactory(min, max, value, step));
+        s.setEditable(true);
+        s.setPrefWidth(100.0);
+        return s;
+    }
+}
@@ -11,14 +11,15 @@ import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.StrokeLineJoin;
 import sk.arsi.corset.layout.ChainLayoutEngine;
 import sk.arsi.corset.layout.ChainLayoutEngine.EdgeMode;
 import sk.arsi.corset.layout.ChainLayoutEngine.LayoutResult;
 import sk.arsi.corset.layout.ChainLayoutEngine.Transform2D;
 import sk.arsi.corset.layout.PanelOrderDetector;
+import sk.arsi.corset.model.Bounds2D;
 import sk.arsi.corset.model.Curve2D;
 import sk.arsi.corset.model.PanelCurves;
-import sk.arsi.corset.model.Pt;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -29,12 +30,47 @@ import java.util.List;
  */
 public final class Pseudo3DView {
 
+    /**
+     * World-space render cache of one laid-out panel, rebuilt with the layout.
+     */
+    private static final class PanelPaths {
+
+        private final RenderPath top;
+        private final RenderPath bottom;
+        private final RenderPath waist;
+        private final RenderPath seamToPrevUp;
+        private final RenderPath seamToPrevDown;
+        private final RenderPath seamToNextUp;
+        private final RenderPath seamToNextDown;
+
+        private PanelPaths(PanelCurves panel, Transform2D t) {
+            this.top = toRenderPath(panel.getTop(), t);
+            this.bottom = toRenderPath(panel.getBottom(), t);
+            this.waist = toRenderPath(panel.getWaist(), t);
+            this.seamToPrevUp = toRenderPath(panel.getSeamToPrevUp(), t);
+            this.seamToPrevDown = toRenderPath(panel.getSeamToPrevDown(), t);
+            this.seamToNextUp = toRenderPath(panel.getSeamToNextUp(), t);
+            this.seamToNextDown = toRenderPath(panel.getSeamToNextDown(), t);
+        }
+
+        private static RenderPath toRenderPath(Curve2D c, Transform2D t) {
+            if (c == null) {
+                return null;
+            }
+            return RenderPath.of(c.getPoints(), t.getAngleRad(), t.getPivotX(), t.getPivotY(), t.getTx(), t.getTy());
+        }
+    }
+
+    // culling margin in screen pixels, at least half the widest stroke
+    private static final double CULL_MARGIN_PX = 4.0;
+
     private final Canvas canvas;
     private final BorderPane root;
     private final HBox toolbar;
 
     private List<PanelCurves> panels;
     private List<LayoutResult> layoutResults;
+    private List<PanelPaths> panelPaths;
     private EdgeMode edgeMode;
     private boolean orderAtoF;
 
@@ -49,6 +85,10 @@ public final class Pseudo3DView {
 
     private boolean didInitialFit;
 
+    // paints at most once per pulse
+    private final RedrawScheduler redrawScheduler;
+    private boolean showFrameStats; // debug overlay, toggled with D
+
     private final ChainLayoutEngine layoutEngine;
     private final PanelOrderDetector orderDetector;
 
@@ -59,6 +99,7 @@ public final class Pseudo3DView {
 
         this.panels = new ArrayList<>();
         this.layoutResults = new ArrayList<>();
+        this.panelPaths = new ArrayList<>();
         this.edgeMode = EdgeMode.TOP;
         this.orderAtoF = true;
 
@@ -68,6 +109,7 @@ public final class Pseudo3DView {
 
         this.dragging = false;
         this.didInitialFit = false;
+        this.redrawScheduler = new RedrawScheduler(this::paint);
 
         this.layoutEngine = new ChainLayoutEngine();
         this.orderDetector = new PanelOrderDetector();
@@ -223,6 +265,10 @@ public final class Pseudo3DView {
             if (code == KeyCode.F) {
                 fitToContent();
                 redraw();
+            } else if (code == KeyCode.D) {
+                showFrameStats = !showFrameStats;
+                redrawScheduler.resetStats();
+                redraw();
             } else if (code == KeyCode.DIGIT1) {
                 edgeMode = EdgeMode.TOP;
                 didInitialFit = false;
@@ -242,6 +288,7 @@ public final class Pseudo3DView {
     private void rebuildLayout() {
         if (panels == null || panels.isEmpty()) {
             layoutResults = new ArrayList<>();
+            panelPaths = new ArrayList<>();
             return;
         }
 
@@ -250,6 +297,11 @@ public final class Pseudo3DView {
 
         // Compute layout using chain engine
         layoutResults = layoutEngine.computeLayout(orderedPanels, edgeMode);
+
+        panelPaths = new ArrayList<>(layoutResults.size());
+        for (LayoutResult result : layoutResults) {
+            panelPaths.add(new PanelPaths(result.getPanel(), result.getTransform()));
+        }
     }
 
     private List<PanelCurves> reverseList(List<PanelCurves> list) {
@@ -258,7 +310,14 @@ public final class Pseudo3DView {
         return reversed;
     }
 
+    /**
+     * Request a repaint on the next pulse.
+     */
     private void redraw() {
+        redrawScheduler.requestRedraw();
+    }
+
+    private void paint() {
         GraphicsContext g = canvas.getGraphicsContext2D();
 
         double w = canvas.getWidth();
@@ -272,76 +331,58 @@ public final class Pseudo3DView {
         g.setFill(Color.GRAY);
         String orderLabel = orderAtoF ? "A→F" : "F→A";
         g.fillText("Pseudo 3D Mode: " + edgeMode + " (Order: " + orderLabel + ")", 12, 16);
+        if (showFrameStats) {
+            g.fillText(redrawScheduler.getStatsText(), 12, 32);
+        }
 
-        // Draw panels
-        for (int i = 0; i < layoutResults.size(); i++) {
-            LayoutResult result = layoutResults.get(i);
-            PanelCurves panel = result.getPanel();
-            Transform2D transform = result.getTransform();
+        // Draw panels in world coordinates under one pan/zoom affine
+        g.save();
+        g.setTransform(scale, 0.0, 0.0, scale, offsetX, offsetY);
+        g.setLineJoin(StrokeLineJoin.ROUND);
+
+        // Visible world rectangle (plus stroke margin) for culling
+        double margin = CULL_MARGIN_PX / scale;
+        Bounds2D visible = new Bounds2D(screenToWorldX(0.0) - margin, screenToWorldY(0.0) - margin,
+                screenToWorldX(w) + margin, screenToWorldY(h) + margin);
+
+        for (int i = 0; i < panelPaths.size(); i++) {
+            PanelPaths pp = panelPaths.get(i);
 
             Color baseColor = colorForIndex(i);
 
             // Draw seams (darker)
-            strokeCurve(g, transform, panel.getSeamToPrevUp(), baseColor.darker(), 1.5);
-            strokeCurve(g, transform, panel.getSeamToPrevDown(), baseColor.darker(), 1.5);
-            strokeCurve(g, transform, panel.getSeamToNextUp(), baseColor.darker(), 1.5);
-            strokeCurve(g, transform, panel.getSeamToNextDown(), baseColor.darker(), 1.5);
+            strokeCurve(g, pp.seamToPrevUp, baseColor.darker(), 1.5, visible);
+            strokeCurve(g, pp.seamToPrevDown, baseColor.darker(), 1.5, visible);
+            strokeCurve(g, pp.seamToNextUp, baseColor.darker(), 1.5, visible);
+            strokeCurve(g, pp.seamToNextDown, baseColor.darker(), 1.5, visible);
 
             // Draw waist (black)
-            strokeCurve(g, transform, panel.getWaist(), Color.BLACK, 3.0);
+            strokeCurve(g, pp.waist, Color.BLACK, 3.0, visible);
 
             // Draw top/bottom with highlighting
             if (edgeMode == EdgeMode.TOP) {
-                strokeCurve(g, transform, panel.getTop(), Color.RED, 2.5);
-                strokeCurve(g, transform, panel.getBottom(), baseColor, 2.0);
+                strokeCurve(g, pp.top, Color.RED, 2.5, visible);
+                strokeCurve(g, pp.bottom, baseColor, 2.0, visible);
             } else {
-                strokeCurve(g, transform, panel.getTop(), baseColor, 2.0);
-                strokeCurve(g, transform, panel.getBottom(), Color.BLUE, 2.5);
+                strokeCurve(g, pp.top, baseColor, 2.0, visible);
+                strokeCurve(g, pp.bottom, Color.BLUE, 2.5, visible);
             }
         }
-    }
 
-    private void strokeCurve(GraphicsContext g, Transform2D transform, Curve2D curve, Color color, double width) {
-        if (curve == null) {
-            return;
-        }
+        g.restore();
+    }
 
-        List<Pt> pts = curve.getPoints();
-        if (pts == null || pts.size() < 2) {
+    /**
+     * Stroke the visible part of a cached path at the level of detail for the
+     * current scale; the width is in screen pixels.
+     */
+    private void strokeCurve(GraphicsContext g, RenderPath path, Color color, double width, Bounds2D visible) {
+        if (path == null || !path.getBounds().intersects(visible)) {
             return;
         }
-
         g.setStroke(color);
-        g.setLineWidth(width);
-
-        Pt p0 = transform.apply(pts.get(0));
-        if (p0 == null) {
-            return;
-        }
-
-        double sx0 = worldToScreenX(p0.getX());
-        double sy0 = worldToScreenY(p0.getY());
-
-        for (int i = 1; i < pts.size(); i++) {
-            Pt p1 = transform.apply(pts.get(i));
-            if (p1 == null) {
-                continue;
-            }
-
-            double sx1 = worldToScreenX(p1.getX());
-            double sy1 = worldToScreenY(p1.getY());
-            g.strokeLine(sx0, sy0, sx1, sy1);
-            sx0 = sx1;
-            sy0 = sy1;
-        }
-    }
-
-    private double worldToScreenX(double x) {
-        return offsetX + x * scale;
-    }
-
-    private double worldToScreenY(double y) {
-        return offsetY + y * scale;
+        g.setLineWidth(width / scale);
+        path.stroke(g, scale, visible);
     }
 
     private double screenToWorldX(double sx) {
@@ -393,52 +434,19 @@ public final class Pseudo3DView {
             return;
         }
 
-        double minX = Double.POSITIVE_INFINITY;
-        double minY = Double.POSITIVE_INFINITY;
-        double maxX = Double.NEGATIVE_INFINITY;
-        double maxY = Double.NEGATIVE_INFINITY;
-
+        Bounds2D content = Bounds2D.EMPTY;
         for (LayoutResult result : layoutResults) {
-            PanelCurves panel = result.getPanel();
-            Transform2D transform = result.getTransform();
-
-            minX = Math.min(minX, minXCurve(transform, panel.getTop()));
-            minX = Math.min(minX, minXCurve(transform, panel.getBottom()));
-            minX = Math.min(minX, minXCurve(transform, panel.getWaist()));
-            minX = Math.min(minX, minXCurve(transform, panel.getSeamToPrevUp()));
-            minX = Math.min(minX, minXCurve(transform, panel.getSeamToPrevDown()));
-            minX = Math.min(minX, minXCurve(transform, panel.getSeamToNextUp()));
-            minX = Math.min(minX, minXCurve(transform, panel.getSeamToNextDown()));
-
-            minY = Math.min(minY, minYCurve(transform, panel.getTop()));
-            minY = Math.min(minY, minYCurve(transform, panel.getBottom()));
-            minY = Math.min(minY, minYCurve(transform, panel.getWaist()));
-            minY = Math.min(minY, minYCurve(transform, panel.getSeamToPrevUp()));
-            minY = Math.min(minY, minYCurve(transform, panel.getSeamToPrevDown()));
-            minY = Math.min(minY, minYCurve(transform, panel.getSeamToNextUp()));
-            minY = Math.min(minY, minYCurve(transform, panel.getSeamToNextDown()));
-
-            maxX = Math.max(maxX, maxXCurve(transform, panel.getTop()));
-            maxX = Math.max(maxX, maxXCurve(transform, panel.getBottom()));
-            maxX = Math.max(maxX, maxXCurve(transform, panel.getWaist()));
-            maxX = Math.max(maxX, maxXCurve(transform, panel.getSeamToPrevUp()));
-            maxX = Math.max(maxX, maxXCurve(transform, panel.getSeamToPrevDown()));
-            maxX = Math.max(maxX, maxXCurve(transform, panel.getSeamToNextUp()));
-            maxX = Math.max(maxX, maxXCurve(transform, panel.getSeamToNextDown()));
-
-            maxY = Math.max(maxY, maxYCurve(transform, panel.getTop()));
-            maxY = Math.max(maxY, maxYCurve(transform, panel.getBottom()));
-            maxY = Math.max(maxY, maxYCurve(transform, panel.getWaist()));
-            maxY = Math.max(maxY, maxYCurve(transform, panel.getSeamToPrevUp()));
-            maxY = Math.max(maxY, maxYCurve(transform, panel.getSeamToPrevDown()));
-            maxY = Math.max(maxY, maxYCurve(transform, panel.getSeamToNextUp()));
-            maxY = Math.max(maxY, maxYCurve(transform, panel.getSeamToNextDown()));
+            Transform2D t = result.getTransform();
+            content = content.union(result.getPanel().getBounds(
+                    t.getAngleRad(), t.getPivotX(), t.getPivotY(), t.getTx(), t.getTy()));
         }
-
-        if (!Double.isFinite(minX) || !Double.isFinite(minY)
-                || !Double.isFinite(maxX) || !Double.isFinite(maxY)) {
+        if (content.isEmpty()) {
             return;
         }
+        double minX = content.getMinX();
+        double minY = content.getMinY();
+        double maxX = content.getMaxX();
+        double maxY = content.getMaxY();
 
         double contentW = Math.max(1.0, maxX - minX);
         double contentH = Math.max(1.0, maxY - minY);
@@ -454,68 +462,4 @@ public final class Pseudo3DView {
         offsetX = w / 2.0 - cx * scale;
         offsetY = h / 2.0 - cy * scale;
     }
-
-    private double minXCurve(Transform2D transform, Curve2D c) {
-        if (c == null || c.getPoints() == null || c.getPoints().isEmpty()) {
-            return Double.POSITIVE_INFINITY;
-        }
-
-        double m = Double.POSITIVE_INFINITY;
-        List<Pt> pts = c.getPoints();
-        for (Pt p : pts) {
-            Pt tp = transform.apply(p);
-            if (tp != null && Double.isFinite(tp.getX())) {
-                m = Math.min(m, tp.getX());
-            }
-        }
-        return m;
-    }
-
-    private double minYCurve(Transform2D transform, Curve2D c) {
-        if (c == null || c.getPoints() == null || c.getPoints().isEmpty()) {
-            return Double.POSITIVE_INFINITY;
-        }
-
-        double m = Double.POSITIVE_INFINITY;
-        List<Pt> pts = c.getPoints();
-        for (Pt p : pts) {
-            Pt tp = transform.apply(p);
-            if (tp != null && Double.isFinite(tp.getY())) {
-                m = Math.min(m, tp.getY());
-            }
-        }
-        return m;
-    }
-
-    private double maxXCurve(Transform2D transform, Curve2D c) {
-        if (c == null || c.getPoints() == null || c.getPoints().isEmpty()) {
-            return Double.NEGATIVE_INFINITY;
-        }
-
-        double m = Double.NEGATIVE_INFINITY;
-        List<Pt> pts = c.getPoints();
-        for (Pt p : pts) {
-            Pt tp = transform.apply(p);
-            if (tp != null && Double.isFinite(tp.getX())) {
-                m = Math.max(m, tp.getX());
-            }
-        }
-        return m;
-    }
-
-    private double maxYCurve(Transform2D transform, Curve2D c) {
-        if (c == null || c.getPoints() == null || c.getPoints().isEmpty()) {
-            return Double.NEGATIVE_INFINITY;
-        }
-
-        double m = Double.NEGATIVE_INFINITY;
-        List<Pt> pts = c.getPoints();
-        for (Pt p : pts) {
-            Pt tp = transform.apply(p);
-            if (tp != null && Double.isFinite(tp.getY())) {
-                m = Math.max(m, tp.getY());
-            }
-        }
-        return m;
-    }
 }
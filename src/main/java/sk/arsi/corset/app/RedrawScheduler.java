@@ -0,0 +1,108 @@
+package sk.arsi.corset.app;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Coalesces redraw requests to at most one paint per JavaFX pulse.
+ *
+ * Input handlers call {@link #requestRedraw()} as often as events arrive; the
+ * paint callback runs once on the next pulse through an
+ * {@link AnimationTimer}, which is stopped again while nothing is dirty. Frame
+ * times are recorded for a debug overlay.
+ *
+ * Must be used on the JavaFX application thread.
+ */
+public final class RedrawScheduler {
+
+    // weight of the newest frame in the moving average
+    private static final double AVG_ALPHA = 0.1;
+
+    private final Runnable paint;
+    private final AnimationTimer timer;
+    private boolean dirty;
+    private boolean running;
+
+    // statistics
+    private long requests;
+    private long frames;
+    private double lastFrameMs;
+    private double avgFrameMs;
+    private double maxFrameMs;
+    private long lastPulseNanos;
+    private double avgPulseMs;
+
+    /**
+     * @param paint paints the view; called on the FX thread at most once per
+     * pulse
+     */
+    public RedrawScheduler(Runnable paint) {
+        this.paint = paint;
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onPulse(now);
+            }
+        };
+    }
+
+    /**
+     * Mark the view dirty; it is painted on the next pulse.
+     */
+    public void requestRedraw() {
+        requests++;
+        dirty = true;
+        if (!running) {
+            running = true;
+            lastPulseNanos = 0L;
+            timer.start();
+        }
+    }
+
+    /**
+     * One-line frame statistics for a debug overlay.
+     */
+    public String getStatsText() {
+        double fps = avgPulseMs > 0.0 ? 1000.0 / avgPulseMs : 0.0;
+        return String.format("frame %.2f ms (avg %.2f, max %.2f) | %.0f fps | %d requests / %d frames",
+                lastFrameMs, avgFrameMs, maxFrameMs, fps, requests, frames);
+    }
+
+    /**
+     * Clear the statistics (e.g. when the overlay is turned on).
+     */
+    public void resetStats() {
+        requests = 0L;
+        frames = 0L;
+        lastFrameMs = 0.0;
+        avgFrameMs = 0.0;
+        maxFrameMs = 0.0;
+        avgPulseMs = 0.0;
+    }
+
+    private void onPulse(long now) {
+        if (!dirty) {
+            // idle: stop pulsing until the next request
+            timer.stop();
+            running = false;
+            return;
+        }
+        if (lastPulseNanos != 0L) {
+            double pulseMs = (now - lastPulseNanos) / 1_000_000.0;
+            avgPulseMs = avgPulseMs == 0.0 ? pulseMs : avgPulseMs + AVG_ALPHA * (pulseMs - avgPulseMs);
+        }
+        lastPulseNanos = now;
+        paintFrame();
+    }
+
+    private void paintFrame() {
+        dirty = false;
+        long t0 = System.nanoTime();
+        paint.run();
+        double ms = (System.nanoTime() - t0) / 1_000_000.0;
+
+        frames++;
+        lastFrameMs = ms;
+        avgFrameMs = frames == 1 ? ms : avgFrameMs + AVG_ALPHA * (ms - avgFrameMs);
+        maxFrameMs = Math.max(maxFrameMs, ms);
+    }
+}
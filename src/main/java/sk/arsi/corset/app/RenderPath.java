@@ -0,0 +1,364 @@
+package sk.arsi.corset.app;
+
+import javafx.scene.canvas.GraphicsContext;
+import sk.arsi.corset.model.Bounds2D;
+import sk.arsi.corset.model.Pt;
+
+import java.util.List;
+
+/**
+ * Polyline pre-transformed into world space, stored as primitive arrays.
+ *
+ * Built once per layout; drawing happens with the view (pan/zoom) transform
+ * set on the {@link GraphicsContext}, so a redraw allocates nothing per point
+ * and each curve is one beginPath/lineTo/stroke.
+ *
+ * Panel-local Y is kept next to the world coordinates so a seam can be split
+ * at the panel waist without transforming back.
+ *
+ * For zoomed-out views the path carries a level-of-detail pyramid of
+ * Ramer-Douglas-Peucker simplifications at fixed world tolerances; the
+ * scale-aware stroke methods pick the coarsest level whose error stays below
+ * half a screen pixel. Levels are index lists into the full arrays and are
+ * built on first use.
+ *
+ * The culled stroke variants take the visible world rectangle: a path whose
+ * bounds miss it is skipped outright, and within a long path only segments
+ * whose bounding box touches it are emitted.
+ */
+public final class RenderPath {
+
+    // RDP tolerances of the LOD levels in world units (mm), finest first
+    private static final double[] LOD_TOLERANCES = {0.02, 0.05, 0.1, 0.2, 0.5, 1.0, 2.0, 5.0};
+    private static final double MAX_ERROR_PX = 0.5;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] localYs;
+    private final int count;
+    private final Bounds2D bounds;
+
+    private int[] fullIndices;
+    private final int[][] lodIndices;
+
+    /**
+     * @param xs world X coordinates
+     * @param ys world Y coordinates
+     * @param localYs panel-local Y coordinates (same length)
+     * @param count number of valid points in the arrays
+     */
+    public RenderPath(double[] xs, double[] ys, double[] localYs, int count) {
+        this.xs = xs;
+        this.ys = ys;
+        this.localYs = localYs;
+        this.count = count;
+        this.lodIndices = new int[LOD_TOLERANCES.length][];
+        this.bounds = computeBounds(xs, ys, count);
+    }
+
+    /**
+     * Transform panel-local points (rotation by {@code angleRad} around the
+     * pivot, then translation) into a render path; null points are skipped.
+     *
+     * @return the path, or null if fewer than 2 points remain
+     */
+    public static RenderPath of(List<Pt> localPts, double angleRad, double pivotX, double pivotY,
+            double tx, double ty) {
+        if (localPts == null || localPts.size() < 2) {
+            return null;
+        }
+        double cos = Math.cos(angleRad);
+        double sin = Math.sin(angleRad);
+        int n = localPts.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] localYs = new double[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            Pt p = localPts.get(i);
+            if (p == null) {
+                continue;
+            }
+            double dx = p.getX() - pivotX;
+            double dy = p.getY() - pivotY;
+            xs[count] = pivotX + cos * dx - sin * dy + tx;
+            ys[count] = pivotY + sin * dx + cos * dy + ty;
+            localYs[count] = p.getY();
+            count++;
+        }
+        return count < 2 ? null : new RenderPath(xs, ys, localYs, count);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public double getX(int i) {
+        return xs[i];
+    }
+
+    public double getY(int i) {
+        return ys[i];
+    }
+
+    public double getLocalY(int i) {
+        return localYs[i];
+    }
+
+    /**
+     * World-space bounds of all points.
+     */
+    public Bounds2D getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Stroke the whole polyline at full detail as one path with the current
+     * stroke settings.
+     */
+    public void stroke(GraphicsContext g) {
+        strokeIndices(g, fullIndices());
+    }
+
+    /**
+     * Stroke the whole polyline at the level of detail for the given view
+     * scale (screen pixels per world unit).
+     */
+    public void stroke(GraphicsContext g, double pixelsPerUnit) {
+        strokeIndices(g, indicesFor(pixelsPerUnit));
+    }
+
+    /**
+     * Like {@link #stroke(GraphicsContext, double)}, but only the segments
+     * touching the visible world rectangle.
+     */
+    public void stroke(GraphicsContext g, double pixelsPerUnit, Bounds2D visible) {
+        if (!bounds.intersects(visible)) {
+            return;
+        }
+        int[] idx = indicesFor(pixelsPerUnit);
+        if (contains(visible, bounds)) {
+            strokeIndices(g, idx);
+            return;
+        }
+        if (idx.length < 2) {
+            return;
+        }
+        g.beginPath();
+        boolean open = false;
+        for (int j = 0; j < idx.length - 1; j++) {
+            int i0 = idx[j];
+            int i1 = idx[j + 1];
+            if (!segmentVisible(i0, i1, visible)) {
+                open = false;
+                continue;
+            }
+            if (!open) {
+                g.moveTo(xs[i0], ys[i0]);
+                open = true;
+            }
+            g.lineTo(xs[i1], ys[i1]);
+        }
+        g.stroke();
+    }
+
+    /**
+     * Stroke only the part above (or below) panel-local {@code splitLocalY} as
+     * one path, at the level of detail for the given view scale. Segments
+     * crossing the split are cut at the interpolated crossing point.
+     */
+    public void strokePart(GraphicsContext g, double pixelsPerUnit, double splitLocalY, boolean above) {
+        strokePart(g, pixelsPerUnit, null, splitLocalY, above);
+    }
+
+    /**
+     * Like {@link #strokePart(GraphicsContext, double, double, boolean)}, but
+     * only the segments touching the visible world rectangle (null: all).
+     */
+    public void strokePart(GraphicsContext g, double pixelsPerUnit, Bounds2D visible,
+            double splitLocalY, boolean above) {
+        if (visible != null && !bounds.intersects(visible)) {
+            return;
+        }
+        int[] idx = indicesFor(pixelsPerUnit);
+        if (idx.length < 2) {
+            return;
+        }
+        boolean cull = visible != null && !contains(visible, bounds);
+        g.beginPath();
+        boolean open = false;
+        for (int j = 0; j < idx.length - 1; j++) {
+            int i0 = idx[j];
+            int i1 = idx[j + 1];
+            if (cull && !segmentVisible(i0, i1, visible)) {
+                open = false;
+                continue;
+            }
+            boolean a0 = localYs[i0] < splitLocalY;
+            boolean a1 = localYs[i1] < splitLocalY;
+            if (a0 == above && a1 == above) {
+                if (!open) {
+                    g.moveTo(xs[i0], ys[i0]);
+                    open = true;
+                }
+                g.lineTo(xs[i1], ys[i1]);
+            } else if (a0 != a1) {
+                // Crossing: the transform is affine, so interpolate in world space
+                double t = (splitLocalY - localYs[i0]) / (localYs[i1] - localYs[i0]);
+                double sx = xs[i0] + t * (xs[i1] - xs[i0]);
+                double sy = ys[i0] + t * (ys[i1] - ys[i0]);
+                if (a0 == above) {
+                    if (!open) {
+                        g.moveTo(xs[i0], ys[i0]);
+                    }
+                    g.lineTo(sx, sy);
+                    open = false;
+                } else {
+                    g.moveTo(sx, sy);
+                    g.lineTo(xs[i1], ys[i1]);
+                    open = true;
+                }
+            } else {
+                open = false;
+            }
+        }
+        g.stroke();
+    }
+
+    private void strokeIndices(GraphicsContext g, int[] idx) {
+        if (idx.length < 2) {
+            return;
+        }
+        g.beginPath();
+        g.moveTo(xs[idx[0]], ys[idx[0]]);
+        for (int j = 1; j < idx.length; j++) {
+            g.lineTo(xs[idx[j]], ys[idx[j]]);
+        }
+        g.stroke();
+    }
+
+    private boolean segmentVisible(int i0, int i1, Bounds2D visible) {
+        return visible.intersects(Math.min(xs[i0], xs[i1]), Math.min(ys[i0], ys[i1]),
+                Math.max(xs[i0], xs[i1]), Math.max(ys[i0], ys[i1]));
+    }
+
+    private static boolean contains(Bounds2D outer, Bounds2D inner) {
+        return inner.getMinX() >= outer.getMinX() && inner.getMaxX() <= outer.getMaxX()
+                && inner.getMinY() >= outer.getMinY() && inner.getMaxY() <= outer.getMaxY();
+    }
+
+    private static Bounds2D computeBounds(double[] xs, double[] ys, int count) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        return count > 0 ? new Bounds2D(minX, minY, maxX, maxY) : Bounds2D.EMPTY;
+    }
+
+    /**
+     * Coarsest level whose tolerance is below half a pixel at this scale.
+     */
+    private int[] indicesFor(double pixelsPerUnit) {
+        int level = -1;
+        for (int l = LOD_TOLERANCES.length - 1; l >= 0; l--) {
+            if (LOD_TOLERANCES[l] * pixelsPerUnit <= MAX_ERROR_PX) {
+                level = l;
+                break;
+            }
+        }
+        if (level < 0) {
+            return fullIndices();
+        }
+        if (lodIndices[level] == null) {
+            lodIndices[level] = simplify(LOD_TOLERANCES[level]);
+        }
+        return lodIndices[level];
+    }
+
+    private int[] fullIndices() {
+        if (fullIndices == null) {
+            int[] idx = new int[count];
+            for (int i = 0; i < count; i++) {
+                idx[i] = i;
+            }
+            fullIndices = idx;
+        }
+        return fullIndices;
+    }
+
+    /**
+     * Ramer-Douglas-Peucker on the full point list (iterative, explicit
+     * stack); returns indices of the kept points in order.
+     */
+    private int[] simplify(double tolerance) {
+        if (count <= 2) {
+            return fullIndices();
+        }
+        boolean[] keep = new boolean[count];
+        keep[0] = true;
+        keep[count - 1] = true;
+        int kept = 2;
+
+        int[] stack = new int[2 * count];
+        int sp = 0;
+        stack[sp++] = 0;
+        stack[sp++] = count - 1;
+        double tol2 = tolerance * tolerance;
+
+        while (sp > 0) {
+            int last = stack[--sp];
+            int first = stack[--sp];
+            if (last - first < 2) {
+                continue;
+            }
+
+            double ax = xs[first];
+            double ay = ys[first];
+            double dx = xs[last] - ax;
+            double dy = ys[last] - ay;
+            double len2 = dx * dx + dy * dy;
+
+            int maxIdx = -1;
+            double maxDist2 = tol2;
+            for (int i = first + 1; i < last; i++) {
+                double px = xs[i] - ax;
+                double py = ys[i] - ay;
+                double d2;
+                if (len2 <= 0.0) {
+                    d2 = px * px + py * py;
+                } else {
+                    double cross = px * dy - py * dx;
+                    d2 = cross * cross / len2;
+                }
+                if (d2 > maxDist2) {
+                    maxDist2 = d2;
+                    maxIdx = i;
+                }
+            }
+
+            if (maxIdx >= 0) {
+                keep[maxIdx] = true;
+                kept++;
+                stack[sp++] = first;
+                stack[sp++] = maxIdx;
+                stack[sp++] = maxIdx;
+                stack[sp++] = last;
+            }
+        }
+
+        int[] idx = new int[kept];
+        int k = 0;
+        for (int i = 0; i < count; i++) {
+            if (keep[i]) {
+                idx[k++] = i;
+            }
+        }
+        return idx;
+    }
+}
@@ -0,0 +1,79 @@
+package sk.arsi.corset.app;
+
+import javafx.geometry.Insets;
+import javafx.scene.control.*;
+import javafx.scene.layout.GridPane;
+import sk.arsi.corset.resize.ResizeMode;
+import sk.arsi.corset.resize.ResizeSpec;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Dialog for entering per-zone resize deltas (composite multi-zone resize).
+ */
+public final class ResizeSpecDialog extends Dialog<ResizeSpec> {
+
+    private final Map<ResizeMode, Spinner<Double>> spinners;
+
+    /**
+     * Create a multi-zone resize dialog.
+     *
+     * @param current the currently active spec (used as initial values)
+     */
+    public ResizeSpecDialog(ResizeSpec current) {
+        setTitle("Multi-zone Resize");
+        setHeaderText("Circumference delta per zone (mm).\nAll zones are applied together in one pass.");
+
+        spinners = new EnumMap<>(ResizeMode.class);
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(6);
+        grid.setPadding(new Insets(20));
+
+        int row = 0;
+        for (ResizeMode mode : ResizeMode.values()) {
+            if (mode == ResizeMode.DISABLED) {
+                continue;
+            }
+            double initial = current != null ? current.getDelta(mode) : 0.0;
+            Spinner<Double> spinner = new Spinner<>(new SpinnerValueFactory.DoubleSpinnerValueFactory(
+                    -1000.0, 1000.0, initial, 1.0));
+            spinner.setEditable(true);
+            spinner.setPrefWidth(90.0);
+            spinners.put(mode, spinner);
+
+            grid.add(new Label(mode.toString()), 0, row);
+            grid.add(spinner, 1, row);
+            row++;
+        }
+
+        getDialogPane().setContent(grid);
+        getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        setResultConverter(buttonType -> {
+            if (buttonType == ButtonType.OK) {
+                ResizeSpec spec = ResizeSpec.empty();
+                for (Map.Entry<ResizeMode, Spinner<Double>> e : spinners.entrySet()) {
+                    Double v = e.getValue().getValue();
+                    if (v != null) {
+                        spec = spec.with(e.getKey(), v);
+                    }
+                }
+                return spec;
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Show the dialog and return the entered spec.
+     *
+     * @return Optional containing the spec, or empty if cancelled
+     */
+    public Optional<ResizeSpec> showAndGetResult() {
+        return showAndWait();
+    }
+}
@@ -0,0 +1,323 @@
+package sk.arsi.corset.app;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.HLineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.VLineTo;
+import javafx.scene.transform.Transform;
+import sk.arsi.corset.model.Bounds2D;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Virtualized drawing surface made of fixed-size cached tiles.
+ *
+ * The tile grid is anchored in scaled world space (world * scale), so a tile's
+ * content depends only on the scale, not on the pan offset. Panning moves the
+ * tile image views and rasterizes only newly exposed tiles; {@link #invalidate()}
+ * drops the cache. After a scale change the tiles of the old scale stay on
+ * screen, stretched to the new scale, as placeholders; the new tiles replace
+ * them a few per pulse ({@link #update} reports when more work is left). No
+ * texture is larger than one tile, so the viewport size is not limited by the
+ * GPU texture cap.
+ *
+ * Must be used on the JavaFX application thread.
+ */
+public final class TiledLayer {
+
+    /**
+     * Draws the layer content in world coordinates; the view transform is
+     * already set on the context.
+     */
+    public interface Painter {
+
+        /**
+         * @param visible world rectangle covered by the tile; content outside
+         * it may be skipped
+         */
+        void paint(GraphicsContext g, Bounds2D visible);
+    }
+
+    public static final int DEFAULT_TILE_SIZE = 256;
+
+    // extra tiles kept cached beyond the visible ones (recently panned away)
+    private static final int SPARE_TILES = 64;
+
+    // tiles rasterized per update while placeholders cover the rest
+    private static final int MAX_TILES_PER_PULSE = 8;
+
+    // older-scale tiles kept at most as placeholders
+    private static final int MAX_PLACEHOLDERS = 256;
+
+    /**
+     * Cached tile (i, j) rasterized at {@code scale}.
+     */
+    private static final class Tile {
+
+        final int i;
+        final int j;
+        final double scale;
+        final ImageView view;
+
+        Tile(int i, int j, double scale, ImageView view) {
+            this.i = i;
+            this.j = j;
+            this.scale = scale;
+            this.view = view;
+        }
+    }
+
+    private final int tileSize;
+    private final Color background;
+    private final Painter painter;
+    private final Pane pane;
+    private final Pane tilePane;
+    // below tilePane, clipped to the tiles not rasterized yet
+    private final Pane placeholderPane;
+
+    // offscreen canvas used to rasterize one tile at a time
+    private final Canvas scratch;
+
+    // (tileX, tileY) -> tile of the current scale, access order for LRU eviction
+    private final LinkedHashMap<Long, Tile> tiles;
+    private final Map<Long, Tile> shown;
+    // tiles of earlier scales, oldest first (drawn bottom to top)
+    private final List<Tile> placeholders;
+
+    private double cachedScale;
+    private double cachedPixelScale;
+
+    /**
+     * @param tileSize tile edge in screen pixels
+     * @param background tile background (null for transparent)
+     * @param painter draws the content
+     */
+    public TiledLayer(int tileSize, Color background, Painter painter) {
+        this.tileSize = tileSize;
+        this.background = background;
+        this.painter = painter;
+        this.tilePane = new Pane();
+        this.placeholderPane = new Pane();
+        this.pane = new Pane(placeholderPane, tilePane);
+        this.pane.setMouseTransparent(true);
+        this.pane.setManaged(false);
+        this.scratch = new Canvas(tileSize, tileSize);
+        this.tiles = new LinkedHashMap<>(64, 0.75f, true);
+        this.shown = new HashMap<>();
+        this.placeholders = new ArrayList<>();
+        this.cachedScale = Double.NaN;
+        this.cachedPixelScale = Double.NaN;
+    }
+
+    public Pane getNode() {
+        return pane;
+    }
+
+    /**
+     * Drop all cached tiles and placeholders (the content changed); visible
+     * tiles are re-rasterized on the next {@link #update}.
+     */
+    public void invalidate() {
+        tiles.clear();
+        shown.clear();
+        tilePane.getChildren().clear();
+        clearPlaceholders();
+    }
+
+    /**
+     * Show the tiles covering the viewport for the given view transform,
+     * rasterizing the ones not cached yet. While placeholders of an earlier
+     * scale are shown, at most a few tiles are rasterized per call.
+     *
+     * @param scale screen pixels per world unit
+     * @param offsetX screen X of world origin
+     * @param offsetY screen Y of world origin
+     * @param width viewport width
+     * @param height viewport height
+     * @param pixelScale output (HiDPI) scale of the window
+     * @return true if every visible tile is rasterized; false if placeholders
+     * are still shown and another update is needed
+     */
+    public boolean update(double scale, double offsetX, double offsetY, double width, double height,
+            double pixelScale) {
+        if (pixelScale != cachedPixelScale) {
+            invalidate();
+        } else if (scale != cachedScale && !tiles.isEmpty()) {
+            // keep the old-scale tiles on screen until the new ones replace them
+            placeholders.addAll(tiles.values());
+            tiles.clear();
+            shown.clear();
+            tilePane.getChildren().clear();
+        }
+        cachedScale = scale;
+        cachedPixelScale = pixelScale;
+
+        int i0 = (int) Math.floor(-offsetX / tileSize);
+        int i1 = (int) Math.floor((width - offsetX) / tileSize);
+        int j0 = (int) Math.floor(-offsetY / tileSize);
+        int j1 = (int) Math.floor((height - offsetY) / tileSize);
+
+        List<long[]> missing = new ArrayList<>();
+        for (int j = j0; j <= j1; j++) {
+            for (int i = i0; i <= i1; i++) {
+                if (!tiles.containsKey(key(i, j))) {
+                    missing.add(new long[]{i, j});
+                }
+            }
+        }
+        // without placeholders a missing tile would show as a hole: fill all
+        int budget = placeholders.isEmpty() ? missing.size() : MAX_TILES_PER_PULSE;
+        if (missing.size() > budget) {
+            // refill from the viewport center outwards
+            double ci = (width / 2.0 - offsetX) / tileSize - 0.5;
+            double cj = (height / 2.0 - offsetY) / tileSize - 0.5;
+            missing.sort(Comparator.comparingDouble(t -> Math.hypot(t[0] - ci, t[1] - cj)));
+        }
+        for (int k = 0; k < missing.size() && k < budget; k++) {
+            int i = (int) missing.get(k)[0];
+            int j = (int) missing.get(k)[1];
+            tiles.put(key(i, j), new Tile(i, j, scale, rasterize(i, j, scale, pixelScale)));
+        }
+
+        Map<Long, Tile> visible = new HashMap<>();
+        for (int j = j0; j <= j1; j++) {
+            for (int i = i0; i <= i1; i++) {
+                long key = key(i, j);
+                Tile tile = tiles.get(key);
+                if (tile != null) {
+                    tile.view.relocate(offsetX + (double) i * tileSize, offsetY + (double) j * tileSize);
+                    visible.put(key, tile);
+                }
+            }
+        }
+
+        // Swap scene children only for tiles entering or leaving the viewport
+        for (Iterator<Map.Entry<Long, Tile>> it = shown.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<Long, Tile> e = it.next();
+            if (!visible.containsKey(e.getKey())) {
+                tilePane.getChildren().remove(e.getValue().view);
+                it.remove();
+            }
+        }
+        for (Map.Entry<Long, Tile> e : visible.entrySet()) {
+            if (shown.put(e.getKey(), e.getValue()) == null) {
+                tilePane.getChildren().add(e.getValue().view);
+            }
+        }
+
+        // LRU-evict tiles beyond the visible set plus a margin
+        int limit = visible.size() + SPARE_TILES;
+        for (Iterator<Map.Entry<Long, Tile>> it = tiles.entrySet().iterator();
+                tiles.size() > limit && it.hasNext();) {
+            Map.Entry<Long, Tile> e = it.next();
+            if (!visible.containsKey(e.getKey())) {
+                it.remove();
+            }
+        }
+
+        boolean complete = missing.size() <= budget;
+        if (complete) {
+            clearPlaceholders();
+        } else {
+            showPlaceholders(scale, offsetX, offsetY, width, height, i0, i1, j0, j1);
+        }
+        return complete;
+    }
+
+    /**
+     * Stretch the placeholders to the current scale and show them only where
+     * no current tile is rasterized yet (the tiles may be transparent).
+     */
+    private void showPlaceholders(double scale, double offsetX, double offsetY, double width, double height,
+            int i0, int i1, int j0, int j1) {
+        // drop the ones outside the viewport, then the oldest beyond the cap
+        placeholders.removeIf(p -> {
+            double size = tileSize * scale / p.scale;
+            double x = offsetX + p.i * size;
+            double y = offsetY + p.j * size;
+            return x + size <= 0.0 || y + size <= 0.0 || x >= width || y >= height;
+        });
+        if (placeholders.size() > MAX_PLACEHOLDERS) {
+            placeholders.subList(0, placeholders.size() - MAX_PLACEHOLDERS).clear();
+        }
+
+        List<ImageView> views = new ArrayList<>(placeholders.size());
+        for (Tile p : placeholders) {
+            double size = tileSize * scale / p.scale;
+            p.view.setFitWidth(size);
+            p.view.setFitHeight(size);
+            p.view.setSmooth(true);
+            p.view.relocate(offsetX + p.i * size, offsetY + p.j * size);
+            views.add(p.view);
+        }
+        if (!placeholderPane.getChildren().equals(views)) {
+            placeholderPane.getChildren().setAll(views);
+        }
+
+        Path holes = new Path();
+        for (int j = j0; j <= j1; j++) {
+            for (int i = i0; i <= i1; i++) {
+                if (!tiles.containsKey(key(i, j))) {
+                    double x = offsetX + (double) i * tileSize;
+                    double y = offsetY + (double) j * tileSize;
+                    holes.getElements().addAll(new MoveTo(x, y), new HLineTo(x + tileSize),
+                            new VLineTo(y + tileSize), new HLineTo(x), new ClosePath());
+                }
+            }
+        }
+        placeholderPane.setClip(holes);
+    }
+
+    private void clearPlaceholders() {
+        placeholders.clear();
+        placeholderPane.getChildren().clear();
+        placeholderPane.setClip(null);
+    }
+
+    private ImageView rasterize(int i, int j, double scale, double pixelScale) {
+        GraphicsContext g = scratch.getGraphicsContext2D();
+        g.setTransform(1.0, 0.0, 0.0, 1.0, 0.0, 0.0);
+        g.clearRect(0, 0, tileSize, tileSize);
+        if (background != null) {
+            g.setFill(background);
+            g.fillRect(0, 0, tileSize, tileSize);
+        }
+
+        g.save();
+        // tile (i, j) covers scaled world [i*T, (i+1)*T) x [j*T, (j+1)*T)
+        g.setTransform(scale, 0.0, 0.0, scale, -(double) i * tileSize, -(double) j * tileSize);
+        painter.paint(g, new Bounds2D((double) i * tileSize / scale, (double) j * tileSize / scale,
+                (double) (i + 1) * tileSize / scale, (double) (j + 1) * tileSize / scale));
+        g.restore();
+
+        int px = (int) Math.ceil(tileSize * pixelScale);
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(background != null ? background : Color.TRANSPARENT);
+        params.setTransform(Transform.scale(pixelScale, pixelScale));
+        WritableImage image = scratch.snapshot(params, new WritableImage(px, px));
+
+        ImageView view = new ImageView(image);
+        view.setFitWidth(tileSize);
+        view.setFitHeight(tileSize);
+        view.setSmooth(false);
+        return view;
+    }
+
+    private static long key(int i, int j) {
+        return ((long) i << 32) | (j & 0xffffffffL);
+    }
+}
@@ -0,0 +1,323 @@
+package sk.arsi.corset.export;
+
+import sk.arsi.corset.model.Pt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fits piecewise cubic Béziers to a polyline within a distance tolerance
+ * (Schneider, "An Algorithm for Automatically Fitting Digitized Curves",
+ * Graphics Gems 1990).
+ *
+ * The polyline is first split at corners (turns sharper than
+ * {@link #CORNER_ANGLE_DEG}); each smooth run is fitted with G1-continuous
+ * cubics whose tangents are shared at the joins.
+ */
+public final class BezierFitter {
+
+    /**
+     * One cubic segment p0..p3 (p0/p3 on the curve, p1/p2 control points).
+     */
+    public static final class Cubic {
+
+        private final Pt p0;
+        private final Pt p1;
+        private final Pt p2;
+        private final Pt p3;
+
+        public Cubic(Pt p0, Pt p1, Pt p2, Pt p3) {
+            this.p0 = p0;
+            this.p1 = p1;
+            this.p2 = p2;
+            this.p3 = p3;
+        }
+
+        public Pt getP0() {
+            return p0;
+        }
+
+        public Pt getP1() {
+            return p1;
+        }
+
+        public Pt getP2() {
+            return p2;
+        }
+
+        public Pt getP3() {
+            return p3;
+        }
+
+        public Pt pointAt(double t) {
+            double u = 1.0 - t;
+            double b0 = u * u * u;
+            double b1 = 3.0 * u * u * t;
+            double b2 = 3.0 * u * t * t;
+            double b3 = t * t * t;
+            return new Pt(b0 * p0.getX() + b1 * p1.getX() + b2 * p2.getX() + b3 * p3.getX(),
+                    b0 * p0.getY() + b1 * p1.getY() + b2 * p2.getY() + b3 * p3.getY());
+        }
+    }
+
+    /**
+     * Turning angle between consecutive polyline segments above which the
+     * vertex is kept as a corner.
+     */
+    public static final double CORNER_ANGLE_DEG = 45.0;
+
+    private static final int MAX_REPARAMETERIZE = 4;
+    private static final double EPS = 1e-12;
+
+    private BezierFitter() {
+        // utility class
+    }
+
+    /**
+     * Fit cubics to the polyline. Null and non-finite points and repeated
+     * points are dropped.
+     *
+     * @param points polyline
+     * @param tolerance max distance of any input point from the fitted curve
+     * @return cubic segments in order (empty if fewer than two usable points)
+     */
+    public static List<Cubic> fit(List<Pt> points, double tolerance) {
+        List<Cubic> out = new ArrayList<>();
+        List<Pt> pts = clean(points);
+        if (pts.size() < 2) {
+            return out;
+        }
+
+        double errSq = tolerance * tolerance;
+        double cosCorner = Math.cos(Math.toRadians(CORNER_ANGLE_DEG));
+
+        int start = 0;
+        for (int i = 1; i < pts.size() - 1; i++) {
+            if (isCorner(pts.get(i - 1), pts.get(i), pts.get(i + 1), cosCorner)) {
+                fitRun(pts, start, i, errSq, out);
+                start = i;
+            }
+        }
+        fitRun(pts, start, pts.size() - 1, errSq, out);
+        return out;
+    }
+
+    private static List<Pt> clean(List<Pt> points) {
+        List<Pt> pts = new ArrayList<>();
+        if (points == null) {
+            return pts;
+        }
+        Pt last = null;
+        for (Pt p : points) {
+            if (p == null || !Double.isFinite(p.getX()) || !Double.isFinite(p.getY())) {
+                continue;
+            }
+            if (last != null && last.getX() == p.getX() && last.getY() == p.getY()) {
+                continue;
+            }
+            pts.add(p);
+            last = p;
+        }
+        return pts;
+    }
+
+    private static boolean isCorner(Pt a, Pt b, Pt c, double cosCorner) {
+        double ux = b.getX() - a.getX();
+        double uy = b.getY() - a.getY();
+        double vx = c.getX() - b.getX();
+        double vy = c.getY() - b.getY();
+        double lu = Math.hypot(ux, uy);
+        double lv = Math.hypot(vx, vy);
+        if (lu < EPS || lv < EPS) {
+            return false;
+        }
+        return (ux * vx + uy * vy) / (lu * lv) < cosCorner;
+    }
+
+    private static void fitRun(List<Pt> pts, int first, int last, double errSq, List<Cubic> out) {
+        double[] t1 = unit(pts.get(first + 1), pts.get(first));
+        double[] t2 = unit(pts.get(last - 1), pts.get(last));
+        fitCubic(pts, first, last, t1, t2, errSq, out);
+    }
+
+    private static void fitCubic(List<Pt> pts, int first, int last, double[] tHat1, double[] tHat2,
+            double errSq, List<Cubic> out) {
+        Pt p0 = pts.get(first);
+        Pt p3 = pts.get(last);
+
+        if (last - first == 1) {
+            // two points: straight cubic with handles at a third of the chord
+            double dist = distance(p0, p3) / 3.0;
+            out.add(new Cubic(p0, offset(p0, tHat1, dist), offset(p3, tHat2, dist), p3));
+            return;
+        }
+
+        double[] u = chordLengthParameterize(pts, first, last);
+        Cubic bez = generate(pts, first, last, u, tHat1, tHat2);
+        int[] split = new int[1];
+        double maxErr = maxError(pts, first, last, bez, u, split);
+        if (maxErr < errSq) {
+            out.add(bez);
+            return;
+        }
+
+        // close enough: try improving the parameterization first
+        if (maxErr < errSq * 16.0) {
+            for (int i = 0; i < MAX_REPARAMETERIZE; i++) {
+                u = reparameterize(pts, first, last, u, bez);
+                bez = generate(pts, first, last, u, tHat1, tHat2);
+                maxErr = maxError(pts, first, last, bez, u, split);
+                if (maxErr < errSq) {
+                    out.add(bez);
+                    return;
+                }
+            }
+        }
+
+        // split at the point of max error and fit both halves
+        int s = Math.max(first + 1, Math.min(last - 1, split[0]));
+        double[] center = unit(pts.get(s - 1), pts.get(s + 1));
+        fitCubic(pts, first, s, tHat1, center, errSq, out);
+        fitCubic(pts, s, last, new double[]{-center[0], -center[1]}, tHat2, errSq, out);
+    }
+
+    /**
+     * Least-squares handle lengths along the fixed end tangents.
+     */
+    private static Cubic generate(List<Pt> pts, int first, int last, double[] u, double[] tHat1, double[] tHat2) {
+        Pt p0 = pts.get(first);
+        Pt p3 = pts.get(last);
+
+        double c00 = 0.0;
+        double c01 = 0.0;
+        double c11 = 0.0;
+        double x0 = 0.0;
+        double x1 = 0.0;
+
+        for (int i = 0; i <= last - first; i++) {
+            double t = u[i];
+            double v = 1.0 - t;
+            double b0 = v * v * v;
+            double b1 = 3.0 * t * v * v;
+            double b2 = 3.0 * t * t * v;
+            double b3 = t * t * t;
+
+            double a1x = tHat1[0] * b1;
+            double a1y = tHat1[1] * b1;
+            double a2x = tHat2[0] * b2;
+            double a2y = tHat2[1] * b2;
+
+            c00 += a1x * a1x + a1y * a1y;
+            c01 += a1x * a2x + a1y * a2y;
+            c11 += a2x * a2x + a2y * a2y;
+
+            Pt p = pts.get(first + i);
+            double tx = p.getX() - (p0.getX() * (b0 + b1) + p3.getX() * (b2 + b3));
+            double ty = p.getY() - (p0.getY() * (b0 + b1) + p3.getY() * (b2 + b3));
+
+            x0 += a1x * tx + a1y * ty;
+            x1 += a2x * tx + a2y * ty;
+        }
+
+        double det = c00 * c11 - c01 * c01;
+        double alpha1 = 0.0;
+        double alpha2 = 0.0;
+        if (Math.abs(det) > EPS) {
+            alpha1 = (x0 * c11 - x1 * c01) / det;
+            alpha2 = (c00 * x1 - c01 * x0) / det;
+        }
+
+        // degenerate or backwards handles: fall back to the Wu/Barsky heuristic
+        double segLength = distance(p0, p3);
+        double epsilon = 1e-6 * segLength;
+        if (alpha1 < epsilon || alpha2 < epsilon) {
+            double dist = segLength / 3.0;
+            return new Cubic(p0, offset(p0, tHat1, dist), offset(p3, tHat2, dist), p3);
+        }
+        return new Cubic(p0, offset(p0, tHat1, alpha1), offset(p3, tHat2, alpha2), p3);
+    }
+
+    private static double[] reparameterize(List<Pt> pts, int first, int last, double[] u, Cubic bez) {
+        double[] res = new double[u.length];
+        for (int i = 0; i <= last - first; i++) {
+            res[i] = newtonRaphson(bez, pts.get(first + i), u[i]);
+        }
+        return res;
+    }
+
+    /**
+     * One Newton step on |Q(t) - P|^2 towards the closest parameter.
+     */
+    private static double newtonRaphson(Cubic q, Pt p, double t) {
+        double v = 1.0 - t;
+        Pt q0 = q.pointAt(t);
+
+        // first derivative
+        double d1x = 3.0 * (v * v * (q.p1.getX() - q.p0.getX()) + 2.0 * v * t * (q.p2.getX() - q.p1.getX())
+                + t * t * (q.p3.getX() - q.p2.getX()));
+        double d1y = 3.0 * (v * v * (q.p1.getY() - q.p0.getY()) + 2.0 * v * t * (q.p2.getY() - q.p1.getY())
+                + t * t * (q.p3.getY() - q.p2.getY()));
+        // second derivative
+        double d2x = 6.0 * (v * (q.p2.getX() - 2.0 * q.p1.getX() + q.p0.getX())
+                + t * (q.p3.getX() - 2.0 * q.p2.getX() + q.p1.getX()));
+        double d2y = 6.0 * (v * (q.p2.getY() - 2.0 * q.p1.getY() + q.p0.getY())
+                + t * (q.p3.getY() - 2.0 * q.p2.getY() + q.p1.getY()));
+
+        double dx = q0.getX() - p.getX();
+        double dy = q0.getY() - p.getY();
+        double numerator = dx * d1x + dy * d1y;
+        double denominator = d1x * d1x + d1y * d1y + dx * d2x + dy * d2y;
+        if (Math.abs(denominator) < EPS) {
+            return t;
+        }
+        double r = t - numerator / denominator;
+        return Math.max(0.0, Math.min(1.0, r));
+    }
+
+    private static double maxError(List<Pt> pts, int first, int last, Cubic bez, double[] u, int[] split) {
+        double maxDist = 0.0;
+        split[0] = (first + last) / 2;
+        for (int i = 1; i < last - first; i++) {
+            Pt p = pts.get(first + i);
+            Pt q = bez.pointAt(u[i]);
+            double dx = q.getX() - p.getX();
+            double dy = q.getY() - p.getY();
+            double dist = dx * dx + dy * dy;
+            if (dist >= maxDist) {
+                maxDist = dist;
+                split[0] = first + i;
+            }
+        }
+        return maxDist;
+    }
+
+    private static double[] chordLengthParameterize(List<Pt> pts, int first, int last) {
+        double[] u = new double[last - first + 1];
+        for (int i = first + 1; i <= last; i++) {
+            u[i - first] = u[i - first - 1] + distance(pts.get(i), pts.get(i - 1));
+        }
+        double total = u[last - first];
+        for (int i = 1; i <= last - first; i++) {
+            u[i] = total > 0.0 ? u[i] / total : (double) i / (last - first);
+        }
+        return u;
+    }
+
+    private static double[] unit(Pt to, Pt from) {
+        double dx = to.getX() - from.getX();
+        double dy = to.getY() - from.getY();
+        double len = Math.hypot(dx, dy);
+        if (len < EPS) {
+            return new double[]{0.0, 0.0};
+        }
+        return new double[]{dx / len, dy / len};
+    }
+
+    private static Pt offset(Pt p, double[] dir, double len) {
+        return new Pt(p.getX() + dir[0] * len, p.getY() + dir[1] * len);
+    }
+
+    private static double distance(Pt a, Pt b) {
+        return Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+    }
+}
@@ -0,0 +1,251 @@
+package sk.arsi.corset.export;
+
+import sk.arsi.corset.model.Pt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Orders cut paths to reduce idle (pen-up) travel between them.
+ *
+ * A nearest-neighbour tour picks each next path by its closest entry point
+ * (any vertex of a closed contour, either end of an open path). 2-opt then
+ * reverses sub-sequences while that shortens the tour, flipping the open
+ * paths inside them, alternating with or-opt moves that relocate runs of up
+ * to three paths (e.g. an outlier the greedy tour left for last). Finally
+ * the start vertex of each closed contour is moved to the point that is
+ * cheapest to reach from the previous path and to leave for the next one.
+ *
+ * Every step after the initial tour only accepts changes that shorten it,
+ * and the greedy tour replaces the given order only if it is shorter, so the
+ * result never travels further than the input.
+ */
+public final class CutOrderOptimizer {
+
+    // improvement passes over the whole tour; each pass is O(n^2)
+    private static final int MAX_PASSES = 50;
+    // longest run of consecutive paths moved by or-opt
+    private static final int MAX_OR_OPT_RUN = 3;
+    private static final double MIN_GAIN = 1e-9;
+
+    private CutOrderOptimizer() {
+        // utility class
+    }
+
+    /**
+     * @param paths paths to order
+     * @param head head position before the first path
+     * @return the same paths, reordered and possibly reversed or rotated
+     */
+    public static List<CutPath> optimize(List<CutPath> paths, Pt head) {
+        List<CutPath> tour = nearestNeighbour(paths, head);
+        if (travel(paths, head) <= travel(tour, head)) {
+            tour = new ArrayList<>(paths);
+        }
+        for (int pass = 0; pass < MAX_PASSES; pass++) {
+            boolean improved = twoOpt(tour, head);
+            improved |= orOpt(tour, head);
+            if (!improved) {
+                break;
+            }
+        }
+        return chooseStarts(tour, head);
+    }
+
+    /**
+     * Total pen-up distance of cutting the paths in the given order.
+     */
+    public static double travel(List<CutPath> paths, Pt head) {
+        double sum = 0.0;
+        Pt at = head;
+        for (CutPath p : paths) {
+            sum += dist(at, p.getStart());
+            at = p.getEnd();
+        }
+        return sum;
+    }
+
+    private static List<CutPath> nearestNeighbour(List<CutPath> paths, Pt head) {
+        List<CutPath> left = new ArrayList<>(paths);
+        List<CutPath> tour = new ArrayList<>(paths.size());
+        Pt at = head;
+        while (!left.isEmpty()) {
+            int best = -1;
+            CutPath bestPath = null;
+            double bestD = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < left.size(); i++) {
+                CutPath p = left.get(i);
+                CutPath entered = enterNearest(p, at);
+                double d = dist(at, entered.getStart());
+                if (d < bestD) {
+                    bestD = d;
+                    best = i;
+                    bestPath = entered;
+                }
+            }
+            left.remove(best);
+            tour.add(bestPath);
+            at = bestPath.getEnd();
+        }
+        return tour;
+    }
+
+    /**
+     * One 2-opt pass over the path sequence. Reversing tour[i..j] swaps the
+     * entry and exit of every path in it (open paths are flipped).
+     *
+     * @return true if the tour got shorter
+     */
+    static boolean twoOpt(List<CutPath> tour, Pt head) {
+        int n = tour.size();
+        boolean improved = false;
+        for (int i = 0; i < n - 1; i++) {
+            Pt before = i == 0 ? head : tour.get(i - 1).getEnd();
+            for (int j = i + 1; j < n; j++) {
+                Pt after = j + 1 < n ? tour.get(j + 1).getStart() : null;
+                CutPath first = tour.get(i);
+                CutPath last = tour.get(j);
+
+                double oldCost = dist(before, first.getStart()) + (after != null ? dist(last.getEnd(), after) : 0.0);
+                // after reversal: enter last at its end, leave first at its start
+                double newCost = dist(before, last.getEnd()) + (after != null ? dist(first.getStart(), after) : 0.0);
+                if (newCost < oldCost - MIN_GAIN) {
+                    reverse(tour, i, j);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * One or-opt pass: move a run tour[i..i+len-1] to the best other gap, in
+     * either direction.
+     *
+     * @return true if the tour got shorter
+     */
+    static boolean orOpt(List<CutPath> tour, Pt head) {
+        boolean improved = false;
+        for (int len = 1; len <= MAX_OR_OPT_RUN; len++) {
+            for (int i = 0; i + len <= tour.size(); i++) {
+                int j = i + len - 1;
+                int n = tour.size();
+                Pt before = i == 0 ? head : tour.get(i - 1).getEnd();
+                Pt after = j + 1 < n ? tour.get(j + 1).getStart() : null;
+                Pt runStart = tour.get(i).getStart();
+                Pt runEnd = tour.get(j).getEnd();
+
+                // saving from cutting the run out and closing the gap
+                double removeGain = dist(before, runStart)
+                        + (after != null ? dist(runEnd, after) - dist(before, after) : 0.0);
+
+                double bestGain = MIN_GAIN;
+                int bestGap = -1;
+                boolean bestReversed = false;
+                // gap k: between tour[k-1] (or head) and tour[k], run excluded
+                for (int k = 0; k <= n; k++) {
+                    if (k >= i && k <= j + 1) {
+                        continue;
+                    }
+                    Pt gapFrom = k == 0 ? head : tour.get(k - 1).getEnd();
+                    Pt gapTo = k < n ? tour.get(k).getStart() : null;
+                    double base = gapTo != null ? dist(gapFrom, gapTo) : 0.0;
+
+                    double fwd = dist(gapFrom, runStart) + (gapTo != null ? dist(runEnd, gapTo) : 0.0) - base;
+                    double rev = dist(gapFrom, runEnd) + (gapTo != null ? dist(runStart, gapTo) : 0.0) - base;
+                    if (removeGain - fwd > bestGain) {
+                        bestGain = removeGain - fwd;
+                        bestGap = k;
+                        bestReversed = false;
+                    }
+                    if (removeGain - rev > bestGain) {
+                        bestGain = removeGain - rev;
+                        bestGap = k;
+                        bestReversed = true;
+                    }
+                }
+
+                if (bestGap >= 0) {
+                    List<CutPath> run = new ArrayList<>(tour.subList(i, j + 1));
+                    tour.subList(i, j + 1).clear();
+                    if (bestReversed) {
+                        reverse(run, 0, run.size() - 1);
+                    }
+                    tour.addAll(bestGap > j ? bestGap - len : bestGap, run);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    private static void reverse(List<CutPath> tour, int i, int j) {
+        while (i < j) {
+            CutPath a = tour.get(i).reversed();
+            CutPath b = tour.get(j).reversed();
+            tour.set(i, b);
+            tour.set(j, a);
+            i++;
+            j--;
+        }
+        if (i == j) {
+            tour.set(i, tour.get(i).reversed());
+        }
+    }
+
+    /**
+     * Rotate each closed path to the vertex with the shortest way in from the
+     * previous path plus out to the next one (a closed path is left where it
+     * was entered). The current start is one of the choices, so no step makes
+     * the tour longer.
+     */
+    private static List<CutPath> chooseStarts(List<CutPath> tour, Pt head) {
+        List<CutPath> out = new ArrayList<>(tour.size());
+        Pt at = head;
+        for (int i = 0; i < tour.size(); i++) {
+            CutPath p = tour.get(i);
+            if (p.isClosed()) {
+                Pt next = i + 1 < tour.size() ? tour.get(i + 1).getStart() : null;
+                List<Pt> pts = p.getPoints();
+                int best = 0;
+                double bestD = Double.POSITIVE_INFINITY;
+                for (int k = 0; k < pts.size(); k++) {
+                    double d = dist(at, pts.get(k)) + (next != null ? dist(pts.get(k), next) : 0.0);
+                    if (d < bestD) {
+                        bestD = d;
+                        best = k;
+                    }
+                }
+                p = p.startingAt(best);
+            }
+            out.add(p);
+            at = p.getEnd();
+        }
+        return out;
+    }
+
+    /**
+     * The path entered at the point nearest to {@code at}: the nearest vertex
+     * of a closed path, or the nearer end of an open one.
+     */
+    private static CutPath enterNearest(CutPath p, Pt at) {
+        List<Pt> pts = p.getPoints();
+        if (!p.isClosed()) {
+            return dist(at, pts.get(pts.size() - 1)) < dist(at, pts.get(0)) ? p.reversed() : p;
+        }
+        int best = 0;
+        double bestD = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < pts.size(); i++) {
+            double d = dist(at, pts.get(i));
+            if (d < bestD) {
+                bestD = d;
+                best = i;
+            }
+        }
+        return p.startingAt(best);
+    }
+
+    private static double dist(Pt a, Pt b) {
+        return Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+    }
+}
@@ -0,0 +1,110 @@
+package sk.arsi.corset.export;
+
+import sk.arsi.corset.model.Pt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One tool path of a cutting job: a closed contour or an open polyline, in
+ * the order the head will follow it.
+ */
+public final class CutPath {
+
+    public enum Kind {
+        /**
+         * Panel outline (top, seams and bottom joined).
+         */
+        CONTOUR,
+        /**
+         * Seam allowance offset line.
+         */
+        ALLOWANCE
+    }
+
+    private final String id;
+    private final Kind kind;
+    private final List<Pt> points;
+    private final boolean closed;
+
+    /**
+     * @param id path id (panel or seam id)
+     * @param kind contour or allowance
+     * @param points vertices; for a closed path the last one is not repeated
+     * @param closed true if the head returns to the first point
+     */
+    public CutPath(String id, Kind kind, List<Pt> points, boolean closed) {
+        this.id = id;
+        this.kind = kind;
+        this.points = Collections.unmodifiableList(new ArrayList<>(points));
+        this.closed = closed;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public List<Pt> getPoints() {
+        return points;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public Pt getStart() {
+        return points.get(0);
+    }
+
+    /**
+     * Where the head is after cutting this path.
+     */
+    public Pt getEnd() {
+        return closed ? points.get(0) : points.get(points.size() - 1);
+    }
+
+    /**
+     * Vertices in cutting order, with the start repeated at the end for a
+     * closed path.
+     */
+    public List<Pt> getCutPoints() {
+        if (!closed) {
+            return points;
+        }
+        List<Pt> out = new ArrayList<>(points.size() + 1);
+        out.addAll(points);
+        out.add(points.get(0));
+        return out;
+    }
+
+    /**
+     * Open path cut from the other end; a closed path is returned as is.
+     */
+    public CutPath reversed() {
+        if (closed) {
+            return this;
+        }
+        List<Pt> rev = new ArrayList<>(points);
+        Collections.reverse(rev);
+        return new CutPath(id, kind, rev, false);
+    }
+
+    /**
+     * Closed path starting at vertex {@code index}; an open path is returned
+     * as is.
+     */
+    public CutPath startingAt(int index) {
+        if (!closed || index == 0) {
+            return this;
+        }
+        List<Pt> rot = new ArrayList<>(points.size());
+        rot.addAll(points.subList(index, points.size()));
+        rot.addAll(points.subList(0, index));
+        return new CutPath(id, kind, rot, true);
+    }
+}
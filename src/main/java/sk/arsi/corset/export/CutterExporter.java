@@ -0,0 +1,395 @@
+package sk.arsi.corset.export;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sk.arsi.corset.model.Bounds2D;
+import sk.arsi.corset.model.Curve2D;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.Pt;
+import sk.arsi.corset.util.SeamAllowanceComputer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Cutting export for plotters and lasers (HPGL, DXF R12, or SVG in cut
+ * order).
+ *
+ * Each panel's top, seams and bottom are joined into one closed contour; the
+ * waist is a marking line and is not cut. Seam allowance lines are cut after
+ * all contours. Within each group the order, direction and contour start
+ * points are chosen by {@link CutOrderOptimizer} to reduce idle travel,
+ * starting from the machine origin.
+ *
+ * Output coordinates are in mm with the origin at the lower-left corner of
+ * the job and Y pointing up (SVG keeps its own Y-down orientation).
+ */
+public final class CutterExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CutterExporter.class);
+
+    public enum Format {
+        HPGL("plt"),
+        DXF("dxf"),
+        SVG("svg");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Format matching the file extension (.plt/.hpgl, .dxf, .svg), or
+         * null.
+         */
+        public static Format forFile(File file) {
+            String name = file.getName().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".plt") || name.endsWith(".hpgl") || name.endsWith(".hpg")) {
+                return HPGL;
+            }
+            if (name.endsWith(".dxf")) {
+                return DXF;
+            }
+            if (name.endsWith(".svg")) {
+                return SVG;
+            }
+            return null;
+        }
+    }
+
+    // HPGL plotter units per mm (1 unit = 0.025 mm)
+    private static final double HPGL_UNITS_PER_MM = 40.0;
+
+    // larger gaps between joined contour edges are logged
+    private static final double JOIN_WARN_MM = 1.0;
+
+    private static final String LAYER_CONTOUR = "CUT";
+    private static final String LAYER_ALLOWANCE = "ALLOWANCE";
+
+    private CutterExporter() {
+        // utility class
+    }
+
+    /**
+     * Build the cut paths (contours, then allowances if the distance is
+     * positive) in optimized order, in source coordinates.
+     *
+     * @param panels panels to cut
+     * @param allowanceMm seam allowance; 0 to cut contours only
+     * @return ordered cut paths
+     */
+    public static List<CutPath> plan(List<PanelCurves> panels, double allowanceMm) {
+        List<CutPath> contours = new ArrayList<>();
+        List<CutPath> allowances = new ArrayList<>();
+        for (PanelCurves panel : panels) {
+            CutPath contour = buildContour(panel);
+            if (contour != null) {
+                contours.add(contour);
+            }
+            if (allowanceMm > 0.0) {
+                addAllowances(panel, allowanceMm, allowances);
+            }
+        }
+
+        Bounds2D bounds = boundsOf(contours).union(boundsOf(allowances));
+        // machine origin is the lower-left corner (max Y in source coordinates)
+        Pt head = bounds.isEmpty() ? new Pt(0.0, 0.0) : new Pt(bounds.getMinX(), bounds.getMaxY());
+
+        List<CutPath> ordered = new ArrayList<>(CutOrderOptimizer.optimize(contours, head));
+        Pt afterContours = ordered.isEmpty() ? head : ordered.get(ordered.size() - 1).getEnd();
+        ordered.addAll(CutOrderOptimizer.optimize(allowances, afterContours));
+
+        if (log.isDebugEnabled()) {
+            List<CutPath> unordered = new ArrayList<>(contours);
+            unordered.addAll(allowances);
+            log.debug("Cut plan: {} paths, idle travel {} mm (unordered {} mm)", ordered.size(),
+                    String.format(Locale.ROOT, "%.1f", CutOrderOptimizer.travel(ordered, head)),
+                    String.format(Locale.ROOT, "%.1f", CutOrderOptimizer.travel(unordered, head)));
+        }
+        return ordered;
+    }
+
+    /**
+     * Plan and write a cutting file.
+     *
+     * @param panels panels to cut
+     * @param allowanceMm seam allowance; 0 to cut contours only
+     * @param format output format
+     * @param outputFile output file
+     * @throws Exception if export fails
+     */
+    public static void export(List<PanelCurves> panels, double allowanceMm, Format format, File outputFile) throws Exception {
+        if (panels == null || panels.isEmpty()) {
+            throw new IllegalArgumentException("No panels to export");
+        }
+        List<CutPath> paths = plan(panels, allowanceMm);
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to cut");
+        }
+        Bounds2D bounds = boundsOf(paths);
+
+        switch (format) {
+            case HPGL:
+                writeHpgl(paths, bounds, outputFile);
+                break;
+            case DXF:
+                writeDxf(paths, bounds, outputFile);
+                break;
+            case SVG:
+                writeSvg(paths, bounds, outputFile);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+    }
+
+    /**
+     * Chain the cut edges of a panel into one closed contour, always taking
+     * the remaining edge whose end is nearest to the current end.
+     *
+     * @return the contour, or null if the panel has no usable edges
+     */
+    public static CutPath buildContour(PanelCurves panel) {
+        List<List<Pt>> edges = new ArrayList<>();
+        for (Curve2D c : Arrays.asList(panel.getTop(), panel.getSeamToNextUp(), panel.getSeamToNextDown(),
+                panel.getBottom(), panel.getSeamToPrevDown(), panel.getSeamToPrevUp())) {
+            List<Pt> pts = finitePoints(c);
+            if (pts.size() >= 2) {
+                edges.add(pts);
+            }
+        }
+        if (edges.isEmpty()) {
+            return null;
+        }
+
+        List<Pt> contour = new ArrayList<>(edges.remove(0));
+        while (!edges.isEmpty()) {
+            Pt end = contour.get(contour.size() - 1);
+            int best = 0;
+            boolean reverse = false;
+            double bestD = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < edges.size(); i++) {
+                List<Pt> e = edges.get(i);
+                double dStart = dist(end, e.get(0));
+                double dEnd = dist(end, e.get(e.size() - 1));
+                if (dStart < bestD) {
+                    bestD = dStart;
+                    best = i;
+                    reverse = false;
+                }
+                if (dEnd < bestD) {
+                    bestD = dEnd;
+                    best = i;
+                    reverse = true;
+                }
+            }
+            if (bestD > JOIN_WARN_MM) {
+                log.warn("Panel {}: {} mm gap in cut contour", panel.getPanelId(),
+                        String.format(Locale.ROOT, "%.2f", bestD));
+            }
+
+            List<Pt> e = new ArrayList<>(edges.remove(best));
+            if (reverse) {
+                Collections.reverse(e);
+            }
+            // shared corner point is emitted once
+            int from = dist(end, e.get(0)) < 1e-9 ? 1 : 0;
+            contour.addAll(e.subList(from, e.size()));
+        }
+
+        if (contour.size() > 1 && dist(contour.get(0), contour.get(contour.size() - 1)) < 1e-9) {
+            contour.remove(contour.size() - 1);
+        }
+        return new CutPath(panel.getPanelId().name(), CutPath.Kind.CONTOUR, contour, true);
+    }
+
+    private static void addAllowances(PanelCurves panel, double allowanceMm, List<CutPath> out) {
+        for (Curve2D seam : Arrays.asList(panel.getSeamToPrevUp(), panel.getSeamToPrevDown(),
+                panel.getSeamToNextUp(), panel.getSeamToNextDown())) {
+            if (seam == null || !SeamAllowanceComputer.shouldGenerateAllowance(seam.getId())) {
+                continue;
+            }
+            List<Pt> offset = SeamAllowanceComputer.getOffsetCurve(seam, panel, allowanceMm);
+            if (offset == null || offset.size() < 2) {
+                continue;
+            }
+            out.add(new CutPath(seam.getId() + "_ALLOW", CutPath.Kind.ALLOWANCE, offset, false));
+        }
+    }
+
+    private static List<Pt> finitePoints(Curve2D c) {
+        List<Pt> out = new ArrayList<>();
+        if (c == null || c.getPoints() == null) {
+            return out;
+        }
+        for (Pt p : c.getPoints()) {
+            if (p != null && Double.isFinite(p.getX()) && Double.isFinite(p.getY())) {
+                out.add(p);
+            }
+        }
+        return out;
+    }
+
+    private static void writeHpgl(List<CutPath> paths, Bounds2D bounds, File file) throws IOException {
+        try (Writer w = newWriter(file)) {
+            w.write("IN;SP1;PA;\n");
+            for (CutPath path : paths) {
+                List<Pt> pts = path.getCutPoints();
+                Pt start = pts.get(0);
+                w.write("PU" + hpgl(start.getX() - bounds.getMinX()) + "," + hpgl(bounds.getMaxY() - start.getY()) + ";");
+                StringBuilder sb = new StringBuilder("PD");
+                for (int i = 1; i < pts.size(); i++) {
+                    Pt p = pts.get(i);
+                    if (i > 1) {
+                        sb.append(',');
+                    }
+                    sb.append(hpgl(p.getX() - bounds.getMinX())).append(',').append(hpgl(bounds.getMaxY() - p.getY()));
+                }
+                sb.append(";\n");
+                w.write(sb.toString());
+            }
+            w.write("PU0,0;SP0;\n");
+        }
+    }
+
+    private static long hpgl(double mm) {
+        return Math.round(mm * HPGL_UNITS_PER_MM);
+    }
+
+    /**
+     * DXF R12 (AC1009) with one POLYLINE per cut path on layer CUT or
+     * ALLOWANCE. R12 has no LWPOLYLINE, so vertices are VERTEX entities.
+     */
+    private static void writeDxf(List<CutPath> paths, Bounds2D bounds, File file) throws IOException {
+        try (Writer w = newWriter(file)) {
+            group(w, 0, "SECTION");
+            group(w, 2, "HEADER");
+            group(w, 9, "$ACADVER");
+            group(w, 1, "AC1009");
+            group(w, 9, "$EXTMIN");
+            group(w, 10, num(0.0));
+            group(w, 20, num(0.0));
+            group(w, 9, "$EXTMAX");
+            group(w, 10, num(bounds.getWidth()));
+            group(w, 20, num(bounds.getHeight()));
+            group(w, 0, "ENDSEC");
+
+            group(w, 0, "SECTION");
+            group(w, 2, "TABLES");
+            group(w, 0, "TABLE");
+            group(w, 2, "LAYER");
+            group(w, 70, "2");
+            dxfLayer(w, LAYER_CONTOUR, 7);
+            dxfLayer(w, LAYER_ALLOWANCE, 3);
+            group(w, 0, "ENDTAB");
+            group(w, 0, "ENDSEC");
+
+            group(w, 0, "SECTION");
+            group(w, 2, "ENTITIES");
+            for (CutPath path : paths) {
+                String layer = path.getKind() == CutPath.Kind.CONTOUR ? LAYER_CONTOUR : LAYER_ALLOWANCE;
+                group(w, 0, "POLYLINE");
+                group(w, 8, layer);
+                group(w, 66, "1");
+                group(w, 10, num(0.0));
+                group(w, 20, num(0.0));
+                group(w, 30, num(0.0));
+                group(w, 70, path.isClosed() ? "1" : "0");
+                for (Pt p : path.getPoints()) {
+                    group(w, 0, "VERTEX");
+                    group(w, 8, layer);
+                    group(w, 10, num(p.getX() - bounds.getMinX()));
+                    group(w, 20, num(bounds.getMaxY() - p.getY()));
+                    group(w, 30, num(0.0));
+                }
+                group(w, 0, "SEQEND");
+                group(w, 8, layer);
+            }
+            group(w, 0, "ENDSEC");
+            group(w, 0, "EOF");
+        }
+    }
+
+    private static void dxfLayer(Writer w, String name, int color) throws IOException {
+        group(w, 0, "LAYER");
+        group(w, 2, name);
+        group(w, 70, "0");
+        group(w, 62, Integer.toString(color));
+        group(w, 6, "CONTINUOUS");
+    }
+
+    private static void group(Writer w, int code, String value) throws IOException {
+        w.write(Integer.toString(code));
+        w.write('\n');
+        w.write(value);
+        w.write('\n');
+    }
+
+    private static String num(double v) {
+        return String.format(Locale.ROOT, "%.4f", v);
+    }
+
+    /**
+     * SVG with one path per cut in cut order, contours and allowances in
+     * separate groups. Coordinates stay in source space.
+     */
+    private static void writeSvg(List<CutPath> paths, Bounds2D bounds, File file) throws Exception {
+        try (SvgStreamWriter out = new SvgStreamWriter(file, PathDataEncoder.bezier(0.01, 4))) {
+            out.startSvg(bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight());
+            CutPath.Kind open = null;
+            int n = 0;
+            for (CutPath path : paths) {
+                if (path.getKind() != open) {
+                    if (open != null) {
+                        out.endGroup();
+                    }
+                    open = path.getKind();
+                    out.startGroup(open == CutPath.Kind.CONTOUR ? LAYER_CONTOUR : LAYER_ALLOWANCE);
+                }
+                n++;
+                out.path(String.format(Locale.ROOT, "CUT_%03d_%s", n, path.getId()), path.getCutPoints(),
+                        open == CutPath.Kind.CONTOUR ? "black" : "green", "0.1");
+            }
+        }
+    }
+
+    private static Bounds2D boundsOf(List<CutPath> paths) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (CutPath path : paths) {
+            for (Pt p : path.getPoints()) {
+                minX = Math.min(minX, p.getX());
+                minY = Math.min(minY, p.getY());
+                maxX = Math.max(maxX, p.getX());
+                maxY = Math.max(maxY, p.getY());
+            }
+        }
+        return new Bounds2D(minX, minY, maxX, maxY);
+    }
+
+    private static Writer newWriter(File file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file.toPath()),
+                StandardCharsets.US_ASCII));
+    }
+
+    private static double dist(Pt a, Pt b) {
+        return Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+    }
+}
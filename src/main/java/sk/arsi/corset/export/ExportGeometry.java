@@ -0,0 +1,119 @@
+package sk.arsi.corset.export;
+
+import sk.arsi.corset.model.Curve2D;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.Pt;
+import sk.arsi.corset.util.SeamAllowanceComputer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derived export geometry of one panel set: seam allowance curves and notches
+ * per panel, computed once and shared (read-only) by every artifact written
+ * from it.
+ */
+public final class ExportGeometry {
+
+    private final List<PanelCurves> panels;
+    private final double allowanceMm;
+    private final List<Map<String, List<Pt>>> allowances;
+    private final List<PanelNotches> notches;
+
+    private ExportGeometry(List<PanelCurves> panels, double allowanceMm,
+            List<Map<String, List<Pt>>> allowances, List<PanelNotches> notches) {
+        this.panels = Collections.unmodifiableList(new ArrayList<>(panels));
+        this.allowanceMm = allowanceMm;
+        this.allowances = Collections.unmodifiableList(allowances);
+        this.notches = Collections.unmodifiableList(notches);
+    }
+
+    /**
+     * Allowances and notches for the panels.
+     *
+     * @param panels panels
+     * @param allowanceMm allowance distance in mm
+     * @param notchCount number of notches per seam
+     * @param notchLengthMm length of each notch tick in mm
+     */
+    public static ExportGeometry compute(List<PanelCurves> panels, double allowanceMm,
+            int notchCount, double notchLengthMm) {
+        return compute(panels, allowanceMm, notchCount, notchLengthMm, false);
+    }
+
+    /**
+     * Allowances and notches for the panels.
+     *
+     * @param matchedNotches place notches of internal seams at matching
+     * distances from the waist on both panels ({@link MatchedNotchGenerator})
+     * instead of independently per curve
+     */
+    public static ExportGeometry compute(List<PanelCurves> panels, double allowanceMm,
+            int notchCount, double notchLengthMm, boolean matchedNotches) {
+        List<PanelNotches> notches = matchedNotches
+                ? MatchedNotchGenerator.generateAllNotches(panels, notchCount, notchLengthMm)
+                : NotchGenerator.generateAllNotches(panels, notchCount, notchLengthMm);
+        return new ExportGeometry(panels, allowanceMm, computeAllowances(panels, allowanceMm), notches);
+    }
+
+    /**
+     * Allowances only; every panel gets an empty notch list.
+     */
+    public static ExportGeometry compute(List<PanelCurves> panels, double allowanceMm) {
+        List<PanelNotches> none = new ArrayList<>(panels.size());
+        for (PanelCurves panel : panels) {
+            none.add(new PanelNotches(panel.getPanelId(), Collections.emptyList()));
+        }
+        return new ExportGeometry(panels, allowanceMm, computeAllowances(panels, allowanceMm), none);
+    }
+
+    /**
+     * Offset curves of the internal seams, per panel, keyed by seam id in
+     * prevUp, prevDown, nextUp, nextDown order.
+     */
+    private static List<Map<String, List<Pt>>> computeAllowances(List<PanelCurves> panels, double allowanceMm) {
+        List<Map<String, List<Pt>>> result = new ArrayList<>(panels.size());
+        for (PanelCurves panel : panels) {
+            Map<String, List<Pt>> seams = new LinkedHashMap<>();
+            for (Curve2D seam : Arrays.asList(panel.getSeamToPrevUp(), panel.getSeamToPrevDown(),
+                    panel.getSeamToNextUp(), panel.getSeamToNextDown())) {
+                if (seam == null || !SeamAllowanceComputer.shouldGenerateAllowance(seam.getId())) {
+                    continue;
+                }
+                // Offset curve (shared with the on-screen overlay)
+                List<Pt> offset = SeamAllowanceComputer.getOffsetCurve(seam, panel, allowanceMm);
+                if (offset != null && offset.size() >= 2) {
+                    seams.put(seam.getId(), offset);
+                }
+            }
+            result.add(Collections.unmodifiableMap(seams));
+        }
+        return result;
+    }
+
+    public List<PanelCurves> getPanels() {
+        return panels;
+    }
+
+    public double getAllowanceMm() {
+        return allowanceMm;
+    }
+
+    /**
+     * Allowance curves of the panel at {@code index}, keyed by seam id.
+     */
+    public Map<String, List<Pt>> getAllowances(int index) {
+        return allowances.get(index);
+    }
+
+    /**
+     * Notches of the panel at {@code index}.
+     */
+    public PanelNotches getNotches(int index) {
+        return notches.get(index);
+    }
+}
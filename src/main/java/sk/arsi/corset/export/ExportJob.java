@@ -0,0 +1,234 @@
+package sk.arsi.corset.export;
+
+import org.w3c.dom.Document;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.svg.SvgDocument;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Writes several SVG artifacts of one panel set together. Allowance curves
+ * and notches are computed once and shared by all artifacts; the source text
+ * and document are read once. The files are then written concurrently.
+ * Instances are immutable; {@code with*} methods return modified copies.
+ */
+public final class ExportJob {
+
+    /**
+     * Artifacts a job can write.
+     */
+    public enum Artifact {
+        /**
+         * Source SVG text with only the changed d attributes replaced
+         * ({@link SvgExporter#exportCurvesOnly}).
+         */
+        CURVES_ONLY,
+        /**
+         * Panel curves and allowances ({@link SvgExporter#exportWithAllowances}).
+         */
+        ALLOWANCES,
+        /**
+         * One group per panel with curves, allowances and notches
+         * ({@link SvgExporter#exportWithNotches}).
+         */
+        NOTCHES,
+        /**
+         * Source document with allowance and notch groups added
+         * ({@link SvgExporter#exportWithAllowancesAndNotches}).
+         */
+        ALLOWANCES_AND_NOTCHES
+    }
+
+    /**
+     * Per-artifact progress. Called from worker threads.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * @param artifact artifact being written
+         * @param fraction written fraction, 0..1; 1 when its file is complete
+         */
+        void progress(Artifact artifact, double fraction);
+    }
+
+    private final Path svgPath;
+    private final SvgDocument svgDocument;
+    private final List<PanelCurves> panels;
+    private final double allowanceMm;
+    private final int notchCount;
+    private final double notchLengthMm;
+    private final boolean matchedNotches;
+    private final PathDataEncoder encoder;
+    private final Map<Artifact, File> outputs;
+
+    private ExportJob(Path svgPath, SvgDocument svgDocument, List<PanelCurves> panels, double allowanceMm,
+            int notchCount, double notchLengthMm, boolean matchedNotches, PathDataEncoder encoder,
+            Map<Artifact, File> outputs) {
+        this.svgPath = svgPath;
+        this.svgDocument = svgDocument;
+        this.panels = panels;
+        this.allowanceMm = allowanceMm;
+        this.notchCount = notchCount;
+        this.notchLengthMm = notchLengthMm;
+        this.matchedNotches = matchedNotches;
+        this.encoder = encoder;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Job without outputs: 10 mm allowance, 3 notches of 4 mm per seam,
+     * polyline path data.
+     *
+     * @param svgPath source SVG file (needed for {@link Artifact#CURVES_ONLY})
+     * @param svgDocument source document (needed for
+     * {@link Artifact#CURVES_ONLY} and {@link Artifact#ALLOWANCES_AND_NOTCHES})
+     * @param panels panels to export
+     */
+    public static ExportJob of(Path svgPath, SvgDocument svgDocument, List<PanelCurves> panels) {
+        return new ExportJob(svgPath, svgDocument, panels, 10.0, 3, 4.0, false, PathDataEncoder.POLYLINE,
+                Collections.emptyMap());
+    }
+
+    public ExportJob withAllowance(double allowanceMm) {
+        return new ExportJob(svgPath, svgDocument, panels, allowanceMm, notchCount, notchLengthMm, matchedNotches,
+                encoder, outputs);
+    }
+
+    public ExportJob withNotches(int notchCount, double notchLengthMm) {
+        return new ExportJob(svgPath, svgDocument, panels, allowanceMm, notchCount, notchLengthMm, matchedNotches,
+                encoder, outputs);
+    }
+
+    /**
+     * Place notches of internal seams at matching distances from the waist
+     * on both panels of each seam ({@link MatchedNotchGenerator}).
+     */
+    public ExportJob withMatchedNotches(boolean matchedNotches) {
+        return new ExportJob(svgPath, svgDocument, panels, allowanceMm, notchCount, notchLengthMm, matchedNotches,
+                encoder, outputs);
+    }
+
+    /**
+     * Path data format for curves, allowances and added paths
+     * ({@link Artifact#CURVES_ONLY} keeps the resize output as is).
+     */
+    public ExportJob withEncoder(PathDataEncoder encoder) {
+        return new ExportJob(svgPath, svgDocument, panels, allowanceMm, notchCount, notchLengthMm, matchedNotches,
+                encoder, outputs);
+    }
+
+    /**
+     * Write {@code artifact} to {@code file} (replaces an earlier file for
+     * the same artifact).
+     */
+    public ExportJob withOutput(Artifact artifact, File file) {
+        Map<Artifact, File> copy = new EnumMap<>(Artifact.class);
+        copy.putAll(outputs);
+        copy.put(artifact, file);
+        return new ExportJob(svgPath, svgDocument, panels, allowanceMm, notchCount, notchLengthMm, matchedNotches,
+                encoder, Collections.unmodifiableMap(copy));
+    }
+
+    public Map<Artifact, File> getOutputs() {
+        return outputs;
+    }
+
+    /**
+     * Write all requested artifacts.
+     *
+     * @param listener progress callback, or null
+     * @throws Exception the first failed artifact; failures of the others are
+     * attached as suppressed
+     */
+    public void run(ProgressListener listener) throws Exception {
+        if (panels == null || panels.isEmpty()) {
+            throw new IllegalArgumentException("No panels to export");
+        }
+        if (outputs.isEmpty()) {
+            throw new IllegalArgumentException("No artifacts requested");
+        }
+        boolean curvesOnly = outputs.containsKey(Artifact.CURVES_ONLY);
+        boolean intoDocument = outputs.containsKey(Artifact.ALLOWANCES_AND_NOTCHES);
+        if (curvesOnly && svgPath == null) {
+            throw new IllegalArgumentException("svgPath is required");
+        }
+        if ((curvesOnly || intoDocument) && svgDocument == null) {
+            throw new IllegalArgumentException("svgDocument is required");
+        }
+        ExportGeometry geometry = null;
+        if (outputs.containsKey(Artifact.ALLOWANCES) || outputs.containsKey(Artifact.NOTCHES) || intoDocument) {
+            geometry = ExportGeometry.compute(panels, allowanceMm, notchCount, notchLengthMm, matchedNotches);
+        }
+        run(listener, geometry);
+    }
+
+    /**
+     * Write all requested artifacts from one precomputed geometry.
+     *
+     * @param geometry allowances and notches shared by every artifact; null
+     * if only {@link Artifact#CURVES_ONLY} is requested
+     */
+    void run(ProgressListener listener, ExportGeometry geometry) throws Exception {
+        boolean curvesOnly = outputs.containsKey(Artifact.CURVES_ONLY);
+        boolean intoDocument = outputs.containsKey(Artifact.ALLOWANCES_AND_NOTCHES);
+        ProgressListener progress = listener != null ? listener : (artifact, fraction) -> {
+        };
+
+        // Shared inputs, prepared here: the source DOM must not be read
+        // from several threads at once.
+        String sourceText = curvesOnly ? Files.readString(svgPath, StandardCharsets.UTF_8) : null;
+        Map<String, String> changedPaths = curvesOnly ? SvgExporter.collectChangedPaths(svgDocument, panels) : null;
+        Document copy = intoDocument ? (Document) svgDocument.getDocument().cloneNode(true) : null;
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<Artifact, File> e : outputs.entrySet()) {
+            Artifact artifact = e.getKey();
+            File file = e.getValue();
+            DoubleConsumer artifactProgress = fraction -> progress.progress(artifact, fraction);
+            artifactProgress.accept(0.0);
+
+            ExportGeometry shared = geometry;
+            switch (artifact) {
+                case CURVES_ONLY:
+                    tasks.add(() -> {
+                        SvgExporter.writeCurvesOnly(sourceText, changedPaths, file);
+                        artifactProgress.accept(1.0);
+                        return null;
+                    });
+                    break;
+                case ALLOWANCES:
+                    tasks.add(() -> {
+                        SvgExporter.writeAllowances(shared, file, encoder, artifactProgress);
+                        return null;
+                    });
+                    break;
+                case NOTCHES:
+                    tasks.add(() -> {
+                        SvgExporter.writePanelGroups(shared, file, encoder, artifactProgress);
+                        return null;
+                    });
+                    break;
+                case ALLOWANCES_AND_NOTCHES:
+                    tasks.add(() -> {
+                        SvgExporter.writeIntoDocument(copy, shared, file, encoder, artifactProgress);
+                        return null;
+                    });
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown artifact: " + artifact);
+            }
+        }
+        SvgExporter.runConcurrently(tasks);
+    }
+}
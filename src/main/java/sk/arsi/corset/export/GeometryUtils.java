@@ -1,9 +1,11 @@
 package sk.arsi.corset.export;
 
+import sk.arsi.corset.model.ArcLengthTable;
 import sk.arsi.corset.model.Curve2D;
 import sk.arsi.corset.model.Pt;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -16,35 +18,60 @@ public final class GeometryUtils {
     }
 
     /**
-     * Combine two curves (UP and DOWN) into a single continuous polyline.
-     * UP curve is assumed to start at waist and go upward.
-     * DOWN curve is assumed to start at waist and go downward.
-     * The combined curve goes from top of UP, through waist, to bottom of DOWN.
+     * Combine two curves (UP and DOWN) into a single continuous polyline that
+     * goes from the top of UP, through the waist, to the bottom of DOWN. The
+     * curves may be drawn in either direction: they are joined at their
+     * closest ends (a shared end point is kept once) and the result runs top
+     * to bottom (increasing Y). Null and non-finite points are dropped.
      */
     public static List<Pt> combineCurves(Curve2D upCurve, Curve2D downCurve) {
-        List<Pt> combined = new ArrayList<>();
-        
-        if (upCurve != null && upCurve.getPoints() != null) {
-            List<Pt> upPoints = upCurve.getPoints();
-            // Add UP curve in reverse order (top to waist)
-            for (int i = upPoints.size() - 1; i >= 0; i--) {
-                combined.add(upPoints.get(i));
+        List<Pt> a = finitePoints(upCurve);
+        List<Pt> b = finitePoints(downCurve);
+        if (!a.isEmpty() && !b.isEmpty()) {
+            // orient so that the last point of a meets the first point of b
+            double ee = distance(a.get(a.size() - 1), b.get(0));
+            double eb = distance(a.get(a.size() - 1), b.get(b.size() - 1));
+            double be = distance(a.get(0), b.get(0));
+            double bb = distance(a.get(0), b.get(b.size() - 1));
+            double best = Math.min(Math.min(ee, eb), Math.min(be, bb));
+            if (best == eb) {
+                Collections.reverse(b);
+            } else if (best == be) {
+                Collections.reverse(a);
+            } else if (best == bb) {
+                Collections.reverse(a);
+                Collections.reverse(b);
             }
-        }
-        
-        if (downCurve != null && downCurve.getPoints() != null) {
-            List<Pt> downPoints = downCurve.getPoints();
-            // Add DOWN curve in normal order (waist to bottom)
-            // Skip first point if we already added the waist from UP curve
-            int startIdx = (upCurve != null && upCurve.getPoints() != null && !upCurve.getPoints().isEmpty()) ? 1 : 0;
-            for (int i = startIdx; i < downPoints.size(); i++) {
-                combined.add(downPoints.get(i));
+            if (distance(a.get(a.size() - 1), b.get(0)) == 0.0) {
+                b = b.subList(1, b.size());
             }
         }
-        
+        List<Pt> combined = new ArrayList<>(a.size() + b.size());
+        combined.addAll(a);
+        combined.addAll(b);
+        if (combined.size() > 1 && combined.get(0).getY() > combined.get(combined.size() - 1).getY()) {
+            Collections.reverse(combined);
+        }
         return combined;
     }
 
+    private static List<Pt> finitePoints(Curve2D curve) {
+        List<Pt> out = new ArrayList<>();
+        if (curve == null || curve.getPoints() == null) {
+            return out;
+        }
+        for (Pt p : curve.getPoints()) {
+            if (p != null && Double.isFinite(p.getX()) && Double.isFinite(p.getY())) {
+                out.add(p);
+            }
+        }
+        return out;
+    }
+
+    private static double distance(Pt a, Pt b) {
+        return Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+    }
+
     /**
      * Compute total arc length of a polyline.
      */
@@ -52,23 +79,14 @@ public final class GeometryUtils {
         if (points == null || points.size() < 2) {
             return 0.0;
         }
-        
-        double length = 0.0;
-        for (int i = 0; i < points.size() - 1; i++) {
-            Pt p0 = points.get(i);
-            Pt p1 = points.get(i + 1);
-            if (p0 != null && p1 != null) {
-                double dx = p1.getX() - p0.getX();
-                double dy = p1.getY() - p0.getY();
-                length += Math.sqrt(dx * dx + dy * dy);
-            }
-        }
-        return length;
+        return ArcLengthTable.of(points).getTotalLength();
     }
 
     /**
      * Find a point at a given arc-length percentage along a polyline.
      * Returns null if the polyline is invalid or the percentage is out of range.
+     * Builds a throwaway {@link ArcLengthTable}; for repeated queries on a
+     * curve use {@link Curve2D#getArcLengthTable()}.
      * 
      * @param points The polyline points
      * @param percentage Arc-length percentage (0.0 to 1.0)
@@ -78,47 +96,7 @@ public final class GeometryUtils {
         if (points == null || points.size() < 2) {
             return null;
         }
-        if (percentage < 0.0 || percentage > 1.0) {
-            return null;
-        }
-        
-        double totalLength = computeArcLength(points);
-        if (totalLength <= 0.0) {
-            return null;
-        }
-        
-        double targetLength = totalLength * percentage;
-        double currentLength = 0.0;
-        
-        for (int i = 0; i < points.size() - 1; i++) {
-            Pt p0 = points.get(i);
-            Pt p1 = points.get(i + 1);
-            if (p0 == null || p1 == null) {
-                continue;
-            }
-            
-            double dx = p1.getX() - p0.getX();
-            double dy = p1.getY() - p0.getY();
-            double segmentLength = Math.sqrt(dx * dx + dy * dy);
-            
-            if (segmentLength <= 0.0) {
-                // Skip zero-length segments
-                continue;
-            }
-            
-            if (currentLength + segmentLength >= targetLength) {
-                // Target point is on this segment
-                double t = (targetLength - currentLength) / segmentLength;
-                double x = p0.getX() + t * dx;
-                double y = p0.getY() + t * dy;
-                return new Pt(x, y);
-            }
-            
-            currentLength += segmentLength;
-        }
-        
-        // If we reached here, return the last point
-        return points.get(points.size() - 1);
+        return ArcLengthTable.of(points).pointAtFraction(percentage);
     }
 
     /**
@@ -133,53 +111,7 @@ public final class GeometryUtils {
         if (points == null || points.size() < 2) {
             return null;
         }
-        if (percentage < 0.0 || percentage > 1.0) {
-            return null;
-        }
-        
-        double totalLength = computeArcLength(points);
-        if (totalLength <= 0.0) {
-            return null;
-        }
-        
-        double targetLength = totalLength * percentage;
-        double currentLength = 0.0;
-        
-        for (int i = 0; i < points.size() - 1; i++) {
-            Pt p0 = points.get(i);
-            Pt p1 = points.get(i + 1);
-            if (p0 == null || p1 == null) {
-                continue;
-            }
-            
-            double dx = p1.getX() - p0.getX();
-            double dy = p1.getY() - p0.getY();
-            double segmentLength = Math.sqrt(dx * dx + dy * dy);
-            
-            if (segmentLength <= 0.0) {
-                // Skip zero-length segments
-                continue;
-            }
-            
-            if (currentLength + segmentLength >= targetLength || i == points.size() - 2) {
-                // Target point is on this segment, return normalized tangent
-                return new Pt(dx / segmentLength, dy / segmentLength);
-            }
-            
-            currentLength += segmentLength;
-        }
-        
-        // Fallback: use last segment
-        Pt p0 = points.get(points.size() - 2);
-        Pt p1 = points.get(points.size() - 1);
-        double dx = p1.getX() - p0.getX();
-        double dy = p1.getY() - p0.getY();
-        double length = Math.sqrt(dx * dx + dy * dy);
-        if (length > 0.0) {
-            return new Pt(dx / length, dy / length);
-        }
-        
-        return null;
+        return ArcLengthTable.of(points).tangentAtFraction(percentage);
     }
 
     /**
@@ -0,0 +1,247 @@
+package sk.arsi.corset.export;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sk.arsi.corset.measure.MeasurementUtils;
+import sk.arsi.corset.model.ArcLengthTable;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.PanelId;
+import sk.arsi.corset.model.Pt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Notches that line up across a seam. Both seams of a pair are measured from
+ * the waist line with {@link MeasurementUtils#measureSeamSplitAtWaist} (the
+ * lengths shown in the seam measurement table): notches sit at the same
+ * distances from the waist on both sides, spread over the shorter side above
+ * and below the waist. Outer edge seams keep the independent placement of
+ * {@link NotchGenerator}.
+ */
+public final class MatchedNotchGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchedNotchGenerator.class);
+
+    private MatchedNotchGenerator() {
+        // utility class
+    }
+
+    /**
+     * One side of a seam: UP and DOWN curves joined into one polyline from
+     * top to bottom ({@link GeometryUtils#combineCurves}) and the measured
+     * seam length above and below the waist.
+     */
+    private static final class SeamSide {
+
+        final ArcLengthTable arcLengths;
+        final double above;
+        final double below;
+        // polyline arc length per measured mm (the measurement flattens the
+        // source path, the polyline is sampled)
+        private final double scale;
+
+        SeamSide(ArcLengthTable arcLengths, double above, double below) {
+            this.arcLengths = arcLengths;
+            this.above = above;
+            this.below = below;
+            this.scale = arcLengths.getTotalLength() / (above + below);
+        }
+
+        /**
+         * Polyline arc length at a signed measured distance from the waist
+         * (negative: upward).
+         */
+        double position(double fromWaistMm) {
+            return (above + fromWaistMm) * scale;
+        }
+    }
+
+    /**
+     * Matched notches for every seam between a panel and its
+     * {@link PanelId#next() next} panel (AB, BC, ...), computed in parallel.
+     * A panel whose next panel is missing has no pair on that side.
+     *
+     * @param panels panels
+     * @param notchCount notches above and below the waist on each seam
+     * @param notchLengthMm length of each notch tick in mm
+     * @return pairs in seam order
+     */
+    public static List<NotchPair> matchAllPairs(List<PanelCurves> panels, int notchCount, double notchLengthMm) {
+        List<PanelCurves> sorted = sortedUniquePanels(panels);
+        Map<PanelId, PanelCurves> byId = new HashMap<>();
+        for (PanelCurves p : sorted) {
+            byId.put(p.getPanelId(), p);
+        }
+        List<PanelCurves[]> seams = new ArrayList<>();
+        for (PanelCurves left : sorted) {
+            PanelId next = left.getPanelId().next();
+            PanelCurves right = next != null ? byId.get(next) : null;
+            if (right != null) {
+                seams.add(new PanelCurves[]{left, right});
+            }
+        }
+        List<NotchPair> pairs = seams.parallelStream()
+                .map(seam -> matchPair(seam[0], seam[1], notchCount, notchLengthMm))
+                .collect(Collectors.toList());
+        if (log.isDebugEnabled()) {
+            for (NotchPair pair : pairs) {
+                log.debug("Matched notches {}", pair);
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Notches for all panels in the layout of
+     * {@link NotchGenerator#generateAllNotches}: internal seams use matched
+     * pairs, outer edges independent placement.
+     */
+    public static List<PanelNotches> generateAllNotches(List<PanelCurves> panels, int notchCount, double notchLengthMm) {
+        return generateAllNotches(panels, matchAllPairs(panels, notchCount, notchLengthMm), notchCount, notchLengthMm);
+    }
+
+    /**
+     * {@link #generateAllNotches(List, int, double)} for pairs already
+     * computed by {@link #matchAllPairs} with the same notch settings (e.g.
+     * when the pairs are also shown as a mismatch report).
+     */
+    public static List<PanelNotches> generateAllNotches(List<PanelCurves> panels, List<NotchPair> pairs,
+            int notchCount, double notchLengthMm) {
+        Map<PanelId, List<Notch>> toPrev = new HashMap<>();
+        Map<PanelId, List<Notch>> toNext = new HashMap<>();
+        for (NotchPair pair : pairs) {
+            toNext.put(pair.getLeftId(), pair.getLeftNotches());
+            toPrev.put(pair.getRightId(), pair.getRightNotches());
+        }
+
+        List<PanelNotches> all = new ArrayList<>(panels.size());
+        for (PanelCurves panel : panels) {
+            PanelId id = panel.getPanelId();
+            Pt interior = GeometryUtils.computePanelInterior(panel.getWaist());
+            List<Notch> notches = new ArrayList<>();
+
+            List<Notch> prev = toPrev.get(id);
+            notches.addAll(prev != null ? prev : NotchGenerator.generateSeamNotches(
+                    panel.getSeamToPrevUp(), panel.getSeamToPrevDown(), interior, notchCount, notchLengthMm,
+                    id.name(), NotchGenerator.getPrevPanelName(id)));
+
+            List<Notch> next = toNext.get(id);
+            notches.addAll(next != null ? next : NotchGenerator.generateSeamNotches(
+                    panel.getSeamToNextUp(), panel.getSeamToNextDown(), interior, notchCount, notchLengthMm,
+                    id.name(), NotchGenerator.getNextPanelName(id)));
+
+            all.add(new PanelNotches(id, notches));
+        }
+        return all;
+    }
+
+    private static NotchPair matchPair(PanelCurves left, PanelCurves right, int notchCount, double notchLengthMm) {
+        PanelId leftId = left.getPanelId();
+        PanelId rightId = right.getPanelId();
+        String name = leftId.name() + rightId.name();
+
+        SeamSide l = seamSide(left, MeasurementUtils.SeamSide.TO_NEXT);
+        SeamSide r = seamSide(right, MeasurementUtils.SeamSide.TO_PREV);
+        if (l == null || r == null) {
+            return new NotchPair(name, leftId, rightId, Collections.emptyList(), Collections.emptyList(),
+                    l != null ? l.above : 0.0, r != null ? r.above : 0.0,
+                    l != null ? l.below : 0.0, r != null ? r.below : 0.0);
+        }
+
+        // shared distances from the waist, over the shorter side
+        double above = Math.min(l.above, r.above);
+        double below = Math.min(l.below, r.below);
+
+        List<Notch> leftNotches = placeNotches(l, above, below, notchCount, notchLengthMm,
+                GeometryUtils.computePanelInterior(left.getWaist()), leftId.name(), rightId.name());
+        List<Notch> rightNotches = placeNotches(r, above, below, notchCount, notchLengthMm,
+                GeometryUtils.computePanelInterior(right.getWaist()), rightId.name(), leftId.name());
+
+        return new NotchPair(name, leftId, rightId, leftNotches, rightNotches,
+                l.above, r.above, l.below, r.below);
+    }
+
+    private static List<Notch> placeNotches(SeamSide side, double above, double below, int notchCount,
+            double notchLengthMm, Pt interior, String panelName, String neighborName) {
+        List<Notch> notches = new ArrayList<>();
+        List<Double> positions = GeometryUtils.generateNotchPositions(notchCount);
+        addNotches(notches, side, -above, positions, notchLengthMm, interior, panelName, neighborName, "UP");
+        addNotches(notches, side, below, positions, notchLengthMm, interior, panelName, neighborName, "DOWN");
+        return notches;
+    }
+
+    /**
+     * @param span signed length from the waist covered by the notches
+     * (negative: upward)
+     */
+    private static void addNotches(List<Notch> out, SeamSide side, double span, List<Double> positions,
+            double notchLengthMm, Pt interior, String panelName, String neighborName, String segment) {
+        if (span == 0.0) {
+            return;
+        }
+        for (double percentage : positions) {
+            double s = side.position(span * percentage);
+            Pt seamPoint = side.arcLengths.pointAt(s);
+            Pt tangent = side.arcLengths.tangentAt(s);
+            if (seamPoint == null || tangent == null) {
+                continue;
+            }
+            out.add(NotchGenerator.createNotch(seamPoint, tangent, interior, notchLengthMm,
+                    NotchGenerator.notchId(panelName, neighborName, segment, percentage)));
+        }
+    }
+
+    /**
+     * The seam on one side of a panel, or null if it has no length.
+     */
+    private static SeamSide seamSide(PanelCurves panel, MeasurementUtils.SeamSide side) {
+        boolean toNext = side == MeasurementUtils.SeamSide.TO_NEXT;
+        List<Pt> pts = GeometryUtils.combineCurves(
+                toNext ? panel.getSeamToNextUp() : panel.getSeamToPrevUp(),
+                toNext ? panel.getSeamToNextDown() : panel.getSeamToPrevDown());
+        ArcLengthTable table = ArcLengthTable.of(pts);
+        if (table.getTotalLength() <= 0.0) {
+            return null;
+        }
+
+        // UP and DOWN each may reach across the waist; the seam is their sum
+        MeasurementUtils.SeamSplit up = MeasurementUtils.measureSeamSplitAtWaist(panel, side, true);
+        MeasurementUtils.SeamSplit down = MeasurementUtils.measureSeamSplitAtWaist(panel, side, false);
+        double above = up.above + down.above;
+        double below = up.below + down.below;
+        if (!(above + below > 0.0)) {
+            return null;
+        }
+        return new SeamSide(table, above, below);
+    }
+
+    private static List<PanelCurves> sortedUniquePanels(List<PanelCurves> panels) {
+        List<PanelCurves> out = new ArrayList<>();
+        if (panels == null) {
+            return out;
+        }
+        for (PanelCurves p : panels) {
+            if (p == null || p.getPanelId() == null) {
+                continue;
+            }
+            boolean exists = false;
+            for (PanelCurves q : out) {
+                if (q.getPanelId().equals(p.getPanelId())) {
+                    exists = true;
+                    break;
+                }
+            }
+            if (!exists) {
+                out.add(p);
+            }
+        }
+        out.sort(Comparator.comparingInt(p -> p.getPanelId().letter()));
+        return out;
+    }
+}
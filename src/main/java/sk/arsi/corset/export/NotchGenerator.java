@@ -1,5 +1,6 @@
 package sk.arsi.corset.export;
 
+import sk.arsi.corset.model.ArcLengthTable;
 import sk.arsi.corset.model.Curve2D;
 import sk.arsi.corset.model.PanelCurves;
 import sk.arsi.corset.model.PanelId;
@@ -82,7 +83,7 @@ public final class NotchGenerator {
      * UP and DOWN curves. Each curve gets N notches independently positioned at
      * i/(N+1) along its length.
      */
-    private static List<Notch> generateSeamNotches(
+    static List<Notch> generateSeamNotches(
             Curve2D upCurve,
             Curve2D downCurve,
             Pt interior,
@@ -96,7 +97,7 @@ public final class NotchGenerator {
         // Generate notches for UP curve
         if (upCurve != null && upCurve.getPoints() != null && !upCurve.getPoints().isEmpty()) {
             List<Notch> upNotches = generateCurveNotches(
-                    upCurve.getPoints(),
+                    upCurve.getArcLengthTable(),
                     interior,
                     notchCount,
                     notchLengthMm,
@@ -110,7 +111,7 @@ public final class NotchGenerator {
         // Generate notches for DOWN curve
         if (downCurve != null && downCurve.getPoints() != null && !downCurve.getPoints().isEmpty()) {
             List<Notch> downNotches = generateCurveNotches(
-                    downCurve.getPoints(),
+                    downCurve.getArcLengthTable(),
                     interior,
                     notchCount,
                     notchLengthMm,
@@ -125,10 +126,12 @@ public final class NotchGenerator {
     }
 
     /**
-     * Generate notches for a single curve segment (UP or DOWN).
+     * Generate notches for a single curve segment (UP or DOWN). Positions
+     * come from the curve's cached arc-length table, so each notch costs a
+     * binary search instead of two walks over the polyline.
      */
     private static List<Notch> generateCurveNotches(
-            List<Pt> curvePoints,
+            ArcLengthTable arcLengths,
             Pt interior,
             int notchCount,
             double notchLengthMm,
@@ -138,7 +141,7 @@ public final class NotchGenerator {
 
         List<Notch> notches = new ArrayList<>();
 
-        if (curvePoints == null || curvePoints.isEmpty()) {
+        if (arcLengths.size() < 2) {
             return notches;
         }
 
@@ -150,44 +153,55 @@ public final class NotchGenerator {
             double percentage = positions.get(i);
 
             // Find point on curve at this percentage
-            Pt seamPoint = GeometryUtils.pointAtArcLength(curvePoints, percentage);
+            Pt seamPoint = arcLengths.pointAtFraction(percentage);
             if (seamPoint == null) {
                 continue;
             }
 
             // Find tangent at this position
-            Pt tangent = GeometryUtils.tangentAtArcLength(curvePoints, percentage);
+            Pt tangent = arcLengths.tangentAtFraction(percentage);
             if (tangent == null) {
                 continue;
             }
 
-            // Compute inward normal
-            Pt inwardNormal = GeometryUtils.computeInwardNormal(seamPoint, tangent, interior);
+            notches.add(createNotch(seamPoint, tangent, interior, notchLengthMm,
+                    notchId(panelName, neighborName, segment, percentage)));
+        }
 
-            // Create notch tick: from seam point inward by notchLengthMm
-            Pt notchEnd = new Pt(
-                    seamPoint.getX() + inwardNormal.getX() * notchLengthMm,
-                    seamPoint.getY() + inwardNormal.getY() * notchLengthMm
-            );
+        return notches;
+    }
 
-            // Generate notch ID with segment identifier (UP or DOWN)
-            int percentInt = (int) Math.round(percentage * 100);
-            String notchId = String.format("%s_NOTCH_%s_%s_%d",
-                    panelName,
-                    neighborName != null ? neighborName : "EDGE",
-                    segment,
-                    percentInt);
+    /**
+     * Notch tick from the seam point inward (toward {@code interior}) by
+     * {@code notchLengthMm}.
+     */
+    static Notch createNotch(Pt seamPoint, Pt tangent, Pt interior, double notchLengthMm, String id) {
+        // Compute inward normal
+        Pt inwardNormal = GeometryUtils.computeInwardNormal(seamPoint, tangent, interior);
 
-            notches.add(new Notch(seamPoint, notchEnd, notchId));
-        }
+        Pt notchEnd = new Pt(
+                seamPoint.getX() + inwardNormal.getX() * notchLengthMm,
+                seamPoint.getY() + inwardNormal.getY() * notchLengthMm
+        );
+        return new Notch(seamPoint, notchEnd, id);
+    }
 
-        return notches;
+    /**
+     * Notch ID with segment identifier (UP or DOWN) and position in percent.
+     */
+    static String notchId(String panelName, String neighborName, String segment, double percentage) {
+        int percentInt = (int) Math.round(percentage * 100);
+        return String.format("%s_NOTCH_%s_%s_%d",
+                panelName,
+                neighborName != null ? neighborName : "EDGE",
+                segment,
+                percentInt);
     }
 
     /**
      * Get the name of the previous panel (for ID generation).
      */
-    private static String getPrevPanelName(PanelId id) {
+    static String getPrevPanelName(PanelId id) {
         if (id == null) {
             return null;
         }
@@ -200,7 +214,7 @@ public final class NotchGenerator {
     /**
      * Get the name of the next panel (for ID generation).
      */
-    private static String getNextPanelName(PanelId id) {
+    static String getNextPanelName(PanelId id) {
         if (id == null) {
             return null;
         }
@@ -0,0 +1,99 @@
+package sk.arsi.corset.export;
+
+import sk.arsi.corset.model.PanelId;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Matched notches of one seam pair (the TO_NEXT seam of the left panel and
+ * the TO_PREV seam of the right panel) with the length mismatch report.
+ * Lengths are along the seam from the waist line, in mm.
+ */
+public final class NotchPair {
+
+    private final String name;
+    private final PanelId leftId;
+    private final PanelId rightId;
+    private final List<Notch> leftNotches;
+    private final List<Notch> rightNotches;
+    private final double leftAbove;
+    private final double rightAbove;
+    private final double leftBelow;
+    private final double rightBelow;
+
+    public NotchPair(String name, PanelId leftId, PanelId rightId,
+            List<Notch> leftNotches, List<Notch> rightNotches,
+            double leftAbove, double rightAbove, double leftBelow, double rightBelow) {
+        this.name = name;
+        this.leftId = leftId;
+        this.rightId = rightId;
+        this.leftNotches = Collections.unmodifiableList(leftNotches);
+        this.rightNotches = Collections.unmodifiableList(rightNotches);
+        this.leftAbove = leftAbove;
+        this.rightAbove = rightAbove;
+        this.leftBelow = leftBelow;
+        this.rightBelow = rightBelow;
+    }
+
+    /**
+     * Seam name, e.g. {@code AB}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public PanelId getLeftId() {
+        return leftId;
+    }
+
+    public PanelId getRightId() {
+        return rightId;
+    }
+
+    public List<Notch> getLeftNotches() {
+        return leftNotches;
+    }
+
+    public List<Notch> getRightNotches() {
+        return rightNotches;
+    }
+
+    public double getLeftAbove() {
+        return leftAbove;
+    }
+
+    public double getRightAbove() {
+        return rightAbove;
+    }
+
+    public double getLeftBelow() {
+        return leftBelow;
+    }
+
+    public double getRightBelow() {
+        return rightBelow;
+    }
+
+    /**
+     * Left minus right seam length above the waist; the notches only cover
+     * the shorter of the two.
+     */
+    public double getAboveMismatchMm() {
+        return leftAbove - rightAbove;
+    }
+
+    /**
+     * Left minus right seam length below the waist.
+     */
+    public double getBelowMismatchMm() {
+        return leftBelow - rightBelow;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: above %.2f/%.2f (%+.2f), below %.2f/%.2f (%+.2f)",
+                name, leftAbove, rightAbove, getAboveMismatchMm(), leftBelow, rightBelow, getBelowMismatchMm());
+    }
+}
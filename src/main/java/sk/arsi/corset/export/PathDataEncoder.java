@@ -0,0 +1,126 @@
+package sk.arsi.corset.export;
+
+import sk.arsi.corset.model.Pt;
+import sk.arsi.corset.resize.EditablePath;
+
+import java.util.List;
+
+/**
+ * Turns exported polylines into SVG path data.
+ *
+ * {@link #POLYLINE} writes every point as an {@code L} command at full double
+ * precision (the original export format). {@link #bezier(double, int)} fits
+ * cubic Béziers within a tolerance and writes coordinates with bounded
+ * precision, which is typically an order of magnitude smaller.
+ */
+public final class PathDataEncoder {
+
+    public static final double DEFAULT_TOLERANCE_MM = 0.05;
+    public static final int DEFAULT_DECIMALS = 3;
+
+    /**
+     * Every point as M/L at full precision.
+     */
+    public static final PathDataEncoder POLYLINE = new PathDataEncoder(0.0, -1);
+
+    private final double toleranceMm;
+    private final int decimals;
+
+    private PathDataEncoder(double toleranceMm, int decimals) {
+        this.toleranceMm = toleranceMm;
+        this.decimals = decimals;
+    }
+
+    /**
+     * Fitted cubic Béziers.
+     *
+     * @param toleranceMm max distance of any input point from the fitted
+     * curve; must be positive
+     * @param decimals max decimals per coordinate (trailing zeros dropped)
+     */
+    public static PathDataEncoder bezier(double toleranceMm, int decimals) {
+        if (!(toleranceMm > 0.0)) {
+            throw new IllegalArgumentException("Tolerance must be positive: " + toleranceMm);
+        }
+        return new PathDataEncoder(toleranceMm, decimals);
+    }
+
+    /**
+     * Fitted cubics with {@link #DEFAULT_TOLERANCE_MM} and
+     * {@link #DEFAULT_DECIMALS}.
+     */
+    public static PathDataEncoder compact() {
+        return bezier(DEFAULT_TOLERANCE_MM, DEFAULT_DECIMALS);
+    }
+
+    public boolean isBezier() {
+        return toleranceMm > 0.0;
+    }
+
+    public double getToleranceMm() {
+        return toleranceMm;
+    }
+
+    public int getDecimals() {
+        return decimals;
+    }
+
+    public String encode(List<Pt> points) {
+        StringBuilder sb = new StringBuilder();
+        encode(sb, points);
+        return sb.toString();
+    }
+
+    /**
+     * Append the path data for the points to {@code sb}. Null points are
+     * skipped.
+     */
+    public void encode(StringBuilder sb, List<Pt> points) {
+        if (points == null || points.isEmpty()) {
+            return;
+        }
+        if (!isBezier()) {
+            boolean first = true;
+            for (Pt p : points) {
+                if (p == null) {
+                    continue;
+                }
+                sb.append(first ? "M " : " L ");
+                appendPoint(sb, p);
+                first = false;
+            }
+            return;
+        }
+
+        List<BezierFitter.Cubic> cubics = BezierFitter.fit(points, toleranceMm);
+        if (cubics.isEmpty()) {
+            return;
+        }
+        sb.append("M ");
+        appendPoint(sb, cubics.get(0).getP0());
+        for (BezierFitter.Cubic c : cubics) {
+            sb.append(" C ");
+            appendPoint(sb, c.getP1());
+            sb.append(' ');
+            appendPoint(sb, c.getP2());
+            sb.append(' ');
+            appendPoint(sb, c.getP3());
+        }
+    }
+
+    /**
+     * Append a single straight segment (M a L b) at this encoder's precision.
+     */
+    public void encodeLine(StringBuilder sb, Pt start, Pt end) {
+        sb.append("M ");
+        appendPoint(sb, start);
+        sb.append(" L ");
+        appendPoint(sb, end);
+    }
+
+    private void appendPoint(StringBuilder sb, Pt p) {
+        EditablePath.appendNumber(sb, p.getX(), decimals);
+        sb.append(' ');
+        EditablePath.appendNumber(sb, p.getY(), decimals);
+    }
+}
@@ -0,0 +1,523 @@
+package sk.arsi.corset.export;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sk.arsi.corset.layout.ChainLayoutEngine;
+import sk.arsi.corset.layout.FlatLayoutEngine;
+import sk.arsi.corset.measure.MeasurementUtils;
+import sk.arsi.corset.measure.SeamMeasurementData;
+import sk.arsi.corset.measure.SeamMeasurementService;
+import sk.arsi.corset.model.Curve2D;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.PanelId;
+import sk.arsi.corset.model.Pt;
+import sk.arsi.corset.util.SeamAllowanceComputer;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataFormatImpl;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Headless raster export of the flat 2D layout to PNG.
+ *
+ * Renders the same picture as the 2D view (panel curves, seam allowances,
+ * notches and out-of-tolerance seam highlights) with Java2D into a
+ * {@link BufferedImage}, so no display or GPU is needed. Line widths are the
+ * view's pixel widths at 96 DPI, scaled to the output DPI. Large images are
+ * split into tiles rendered in parallel, each into its own sub-image of the
+ * shared output raster.
+ */
+public final class PngRasterExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(PngRasterExporter.class);
+
+    private static final double MM_PER_INCH = 25.4;
+    // line widths below are in screen pixels of a 96 DPI display
+    private static final double REFERENCE_DPI = 96.0;
+
+    private static final Color PANEL_COLOR = new Color(0x22, 0x22, 0x22);
+    private static final Color ALLOWANCE_COLOR = new Color(0x00, 0x80, 0x00);
+
+    /**
+     * Export settings; immutable, change with the {@code with...} methods.
+     */
+    public static final class Options {
+
+        private final FlatLayoutEngine.Mode mode;
+        private final double waistGapMm;
+        private final double dpi;
+        private final double allowanceMm;
+        private final int notchCount;
+        private final double notchLengthMm;
+        private final double toleranceMm;
+        private final double marginMm;
+        private final int tileSize;
+
+        private Options(FlatLayoutEngine.Mode mode, double waistGapMm, double dpi, double allowanceMm,
+                int notchCount, double notchLengthMm, double toleranceMm, double marginMm, int tileSize) {
+            this.mode = mode;
+            this.waistGapMm = waistGapMm;
+            this.dpi = dpi;
+            this.allowanceMm = allowanceMm;
+            this.notchCount = notchCount;
+            this.notchLengthMm = notchLengthMm;
+            this.toleranceMm = toleranceMm;
+            this.marginMm = marginMm;
+            this.tileSize = tileSize;
+        }
+
+        /**
+         * WAIST layout at 150 DPI, no allowances, notches or highlights.
+         */
+        public static Options defaults() {
+            return new Options(FlatLayoutEngine.Mode.WAIST, FlatLayoutEngine.DEFAULT_WAIST_GAP_MM, 150.0,
+                    0.0, 0, 4.0, Double.NaN, 10.0, 1024);
+        }
+
+        public Options withMode(FlatLayoutEngine.Mode mode) {
+            return new Options(mode, waistGapMm, dpi, allowanceMm, notchCount, notchLengthMm, toleranceMm,
+                    marginMm, tileSize);
+        }
+
+        public Options withWaistGapMm(double waistGapMm) {
+            return new Options(mode, waistGapMm, dpi, allowanceMm, notchCount, notchLengthMm, toleranceMm,
+                    marginMm, tileSize);
+        }
+
+        public Options withDpi(double dpi) {
+            return new Options(mode, waistGapMm, dpi, allowanceMm, notchCount, notchLengthMm, toleranceMm,
+                    marginMm, tileSize);
+        }
+
+        /**
+         * Seam allowance distance; 0 disables allowances.
+         */
+        public Options withAllowanceMm(double allowanceMm) {
+            return new Options(mode, waistGapMm, dpi, allowanceMm, notchCount, notchLengthMm, toleranceMm,
+                    marginMm, tileSize);
+        }
+
+        /**
+         * Notches per seam and tick length; count 0 disables notches.
+         */
+        public Options withNotches(int notchCount, double notchLengthMm) {
+            return new Options(mode, waistGapMm, dpi, allowanceMm, notchCount, notchLengthMm, toleranceMm,
+                    marginMm, tileSize);
+        }
+
+        /**
+         * Seam length tolerance for highlighting; NaN disables highlights.
+         */
+        public Options withToleranceMm(double toleranceMm) {
+            return new Options(mode, waistGapMm, dpi, allowanceMm, notchCount, notchLengthMm, toleranceMm,
+                    marginMm, tileSize);
+        }
+
+        public Options withMarginMm(double marginMm) {
+            return new Options(mode, waistGapMm, dpi, allowanceMm, notchCount, notchLengthMm, toleranceMm,
+                    marginMm, tileSize);
+        }
+
+        public Options withTileSize(int tileSize) {
+            return new Options(mode, waistGapMm, dpi, allowanceMm, notchCount, notchLengthMm, toleranceMm,
+                    marginMm, tileSize);
+        }
+
+        public FlatLayoutEngine.Mode getMode() {
+            return mode;
+        }
+
+        public double getDpi() {
+            return dpi;
+        }
+    }
+
+    /**
+     * One stroked shape in world coordinates (mm).
+     */
+    private static final class Stroke {
+
+        private final Shape shape;
+        private final Rectangle2D bounds;
+        private final Color color;
+        private final BasicStroke stroke;
+
+        private Stroke(Shape shape, Color color, double widthPx) {
+            this.shape = shape;
+            this.bounds = shape.getBounds2D();
+            this.color = color;
+            this.stroke = new BasicStroke((float) (widthPx * MM_PER_INCH / REFERENCE_DPI),
+                    BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND);
+        }
+    }
+
+    private PngRasterExporter() {
+        // utility class
+    }
+
+    /**
+     * Render the panels and write them to a PNG file with the DPI recorded in
+     * its pHYs chunk.
+     */
+    public static void exportPng(List<PanelCurves> panels, Options options, File outputFile) throws Exception {
+        BufferedImage image = render(panels, options);
+        writePng(image, options.dpi, outputFile);
+    }
+
+    /**
+     * Render the panels into an RGB image at the requested DPI.
+     *
+     * @throws IllegalArgumentException if there is nothing to render or the
+     * image would be too large for one raster
+     */
+    public static BufferedImage render(List<PanelCurves> panels, Options options) {
+        if (panels == null || panels.isEmpty()) {
+            throw new IllegalArgumentException("No panels to render");
+        }
+        if (!(options.dpi > 0.0) || options.tileSize <= 0) {
+            throw new IllegalArgumentException("DPI and tile size must be positive");
+        }
+
+        long t0 = System.nanoTime();
+        List<Stroke> strokes = buildStrokes(panels, options);
+
+        Rectangle2D content = null;
+        for (Stroke s : strokes) {
+            content = content == null ? (Rectangle2D) s.bounds.clone() : content.createUnion(s.bounds);
+        }
+        if (content == null) {
+            throw new IllegalArgumentException("Panels have no drawable curves");
+        }
+
+        double pxPerMm = options.dpi / MM_PER_INCH;
+        double minX = content.getMinX() - options.marginMm;
+        double minY = content.getMinY() - options.marginMm;
+        long width = (long) Math.ceil((content.getWidth() + 2.0 * options.marginMm) * pxPerMm);
+        long height = (long) Math.ceil((content.getHeight() + 2.0 * options.marginMm) * pxPerMm);
+        if (width <= 0 || height <= 0 || width * height > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Image size " + width + "x" + height + " px is out of range");
+        }
+
+        BufferedImage image = new BufferedImage((int) width, (int) height, BufferedImage.TYPE_INT_RGB);
+        int tile = options.tileSize;
+        int cols = (int) ((width + tile - 1) / tile);
+        int rows = (int) ((height + tile - 1) / tile);
+
+        // Tiles write to disjoint regions of the raster, so they can run in parallel
+        IntStream.range(0, cols * rows).parallel().forEach(k -> {
+            int x = (k % cols) * tile;
+            int y = (k / cols) * tile;
+            int w = Math.min(tile, image.getWidth() - x);
+            int h = Math.min(tile, image.getHeight() - y);
+            renderTile(image.getSubimage(x, y, w, h), x, y, pxPerMm, minX, minY, strokes);
+        });
+
+        log.debug("Rendered {}x{} px in {} tiles, {} ms", width, height, cols * rows,
+                (System.nanoTime() - t0) / 1_000_000L);
+        return image;
+    }
+
+    private static void renderTile(BufferedImage tile, int tileX, int tileY, double pxPerMm,
+            double minX, double minY, List<Stroke> strokes) {
+        Graphics2D g = tile.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, tile.getWidth(), tile.getHeight());
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+
+            g.translate(-tileX, -tileY);
+            g.scale(pxPerMm, pxPerMm);
+            g.translate(-minX, -minY);
+
+            // World rectangle of this tile, padded for line widths
+            double pad = 2.0;
+            Rectangle2D visible = new Rectangle2D.Double(
+                    minX + tileX / pxPerMm - pad, minY + tileY / pxPerMm - pad,
+                    tile.getWidth() / pxPerMm + 2.0 * pad, tile.getHeight() / pxPerMm + 2.0 * pad);
+
+            for (Stroke s : strokes) {
+                if (!s.bounds.intersects(visible)) {
+                    continue;
+                }
+                g.setColor(s.color);
+                g.setStroke(s.stroke);
+                g.draw(s.shape);
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * All shapes in draw order: panel curves, allowances, notches, seam
+     * highlights (matching the 2D view's layers).
+     */
+    private static List<Stroke> buildStrokes(List<PanelCurves> panels, Options options) {
+        List<ChainLayoutEngine.LayoutResult> layout = new FlatLayoutEngine()
+                .computeLayout(panels, options.mode, options.waistGapMm);
+        List<Stroke> strokes = new ArrayList<>();
+
+        for (ChainLayoutEngine.LayoutResult r : layout) {
+            PanelCurves p = r.getPanel();
+            ChainLayoutEngine.Transform2D t = r.getTransform();
+
+            addCurve(strokes, p.getSeamToPrevUp(), t, PANEL_COLOR, 1.5);
+            addCurve(strokes, p.getSeamToPrevDown(), t, PANEL_COLOR, 1.5);
+            addCurve(strokes, p.getSeamToNextUp(), t, PANEL_COLOR, 1.5);
+            addCurve(strokes, p.getSeamToNextDown(), t, PANEL_COLOR, 1.5);
+            addCurve(strokes, p.getTop(), t, PANEL_COLOR, 2.0);
+            addCurve(strokes, p.getBottom(), t, PANEL_COLOR, 2.0);
+            addCurve(strokes, p.getWaist(), t, Color.BLACK, 3.0);
+        }
+
+        if (options.allowanceMm > 0.0) {
+            for (ChainLayoutEngine.LayoutResult r : layout) {
+                PanelCurves p = r.getPanel();
+                addAllowance(strokes, p, p.getSeamToPrevUp(), r.getTransform(), options.allowanceMm);
+                addAllowance(strokes, p, p.getSeamToPrevDown(), r.getTransform(), options.allowanceMm);
+                addAllowance(strokes, p, p.getSeamToNextUp(), r.getTransform(), options.allowanceMm);
+                addAllowance(strokes, p, p.getSeamToNextDown(), r.getTransform(), options.allowanceMm);
+            }
+        }
+
+        if (options.notchCount > 0) {
+            addNotches(strokes, panels, layout, options);
+        }
+
+        if (Double.isFinite(options.toleranceMm)) {
+            addSeamHighlights(strokes, panels, layout, options.toleranceMm);
+        }
+        return strokes;
+    }
+
+    private static void addCurve(List<Stroke> out, Curve2D c, ChainLayoutEngine.Transform2D t,
+            Color color, double widthPx) {
+        if (c != null) {
+            addPolyline(out, c.getPoints(), t, color, widthPx);
+        }
+    }
+
+    private static void addPolyline(List<Stroke> out, List<Pt> pts, ChainLayoutEngine.Transform2D t,
+            Color color, double widthPx) {
+        if (pts == null || pts.size() < 2) {
+            return;
+        }
+        Path2D.Double path = new Path2D.Double();
+        boolean open = false;
+        for (Pt p : pts) {
+            if (p == null) {
+                continue;
+            }
+            Pt w = t.apply(p);
+            if (open) {
+                path.lineTo(w.getX(), w.getY());
+            } else {
+                path.moveTo(w.getX(), w.getY());
+                open = true;
+            }
+        }
+        if (open) {
+            out.add(new Stroke(path, color, widthPx));
+        }
+    }
+
+    private static void addAllowance(List<Stroke> out, PanelCurves panel, Curve2D seam,
+            ChainLayoutEngine.Transform2D t, double distance) {
+        if (seam == null || !SeamAllowanceComputer.shouldGenerateAllowance(seam.getId())) {
+            return;
+        }
+        addPolyline(out, SeamAllowanceComputer.getOffsetCurve(seam, panel, distance), t, ALLOWANCE_COLOR, 1.0);
+    }
+
+    private static void addNotches(List<Stroke> out, List<PanelCurves> panels,
+            List<ChainLayoutEngine.LayoutResult> layout, Options options) {
+        List<PanelNotches> notches = NotchGenerator.generateAllNotches(panels, options.notchCount,
+                options.notchLengthMm);
+
+        Path2D.Double path = new Path2D.Double();
+        for (int i = 0; i < layout.size() && i < notches.size(); i++) {
+            PanelNotches panelNotches = notches.get(i);
+            if (panelNotches == null || panelNotches.getNotches() == null) {
+                continue;
+            }
+            ChainLayoutEngine.Transform2D t = layout.get(i).getTransform();
+            for (Notch notch : panelNotches.getNotches()) {
+                if (notch.getStart() == null || notch.getEnd() == null) {
+                    continue;
+                }
+                Pt a = t.apply(notch.getStart());
+                Pt b = t.apply(notch.getEnd());
+                path.moveTo(a.getX(), a.getY());
+                path.lineTo(b.getX(), b.getY());
+            }
+        }
+        if (path.getCurrentPoint() != null) {
+            out.add(new Stroke(path, Color.BLACK, 1.0));
+        }
+    }
+
+    /**
+     * Red overpaint of seam portions (above/below the waist) whose length
+     * differs from the matching seam by more than the tolerance.
+     */
+    private static void addSeamHighlights(List<Stroke> out, List<PanelCurves> panels,
+            List<ChainLayoutEngine.LayoutResult> layout, double tolerance) {
+        // "A->B" -> {upTop, upBottom, downTop, downBottom}
+        Map<String, boolean[]> exceeds = new HashMap<>();
+        for (SeamMeasurementData d : SeamMeasurementService.computeAllSeamMeasurements(panels)) {
+            boolean[] flags = {
+                Math.abs(d.getDiffUpTop()) > tolerance,
+                Math.abs(d.getDiffUpBottom()) > tolerance,
+                Math.abs(d.getDiffDownTop()) > tolerance,
+                Math.abs(d.getDiffDownBottom()) > tolerance
+            };
+            exceeds.put(d.getLeftPanel().name() + "->" + d.getRightPanel().name(), flags);
+            exceeds.put(d.getRightPanel().name() + "->" + d.getLeftPanel().name(), flags);
+        }
+        if (exceeds.isEmpty()) {
+            return;
+        }
+
+        for (ChainLayoutEngine.LayoutResult r : layout) {
+            PanelCurves p = r.getPanel();
+            PanelId id = p.getPanelId();
+            if (id == null) {
+                continue;
+            }
+            double waistY = MeasurementUtils.computePanelWaistY0(p.getWaist());
+            addSeamHighlight(out, p.getSeamToPrevUp(), id, id.prev(), true, waistY, r.getTransform(), exceeds);
+            addSeamHighlight(out, p.getSeamToPrevDown(), id, id.prev(), false, waistY, r.getTransform(), exceeds);
+            addSeamHighlight(out, p.getSeamToNextUp(), id, id.next(), true, waistY, r.getTransform(), exceeds);
+            addSeamHighlight(out, p.getSeamToNextDown(), id, id.next(), false, waistY, r.getTransform(), exceeds);
+        }
+    }
+
+    private static void addSeamHighlight(List<Stroke> out, Curve2D seam, PanelId id, PanelId neighborId,
+            boolean isUp, double waistY, ChainLayoutEngine.Transform2D t, Map<String, boolean[]> exceeds) {
+        // outer seams (AA, FF) have no neighbor and are never highlighted
+        if (seam == null || neighborId == null) {
+            return;
+        }
+        boolean[] flags = exceeds.get(id.name() + "->" + neighborId.name());
+        if (flags == null) {
+            return;
+        }
+        boolean top = isUp ? flags[0] : flags[2];
+        boolean bottom = isUp ? flags[1] : flags[3];
+
+        if (top && bottom) {
+            addCurve(out, seam, t, Color.RED, 1.5);
+        } else if (top || bottom) {
+            Shape part = partOfSeam(seam.getPoints(), t, waistY, top);
+            if (part != null) {
+                out.add(new Stroke(part, Color.RED, 1.5));
+            }
+        }
+    }
+
+    /**
+     * World path of the part above (or below) panel-local {@code splitY};
+     * segments crossing the split are cut at the crossing point.
+     */
+    private static Shape partOfSeam(List<Pt> pts, ChainLayoutEngine.Transform2D t, double splitY, boolean above) {
+        if (pts == null || pts.size() < 2) {
+            return null;
+        }
+        Path2D.Double path = new Path2D.Double();
+        boolean open = false;
+        boolean any = false;
+        for (int i = 0; i < pts.size() - 1; i++) {
+            Pt p0 = pts.get(i);
+            Pt p1 = pts.get(i + 1);
+            if (p0 == null || p1 == null) {
+                open = false;
+                continue;
+            }
+            boolean a0 = p0.getY() < splitY;
+            boolean a1 = p1.getY() < splitY;
+            if (a0 == above && a1 == above) {
+                Pt w0 = t.apply(p0);
+                Pt w1 = t.apply(p1);
+                if (!open) {
+                    path.moveTo(w0.getX(), w0.getY());
+                    open = true;
+                }
+                path.lineTo(w1.getX(), w1.getY());
+                any = true;
+            } else if (a0 != a1) {
+                double s = (splitY - p0.getY()) / (p1.getY() - p0.getY());
+                Pt w0 = t.apply(p0);
+                Pt w1 = t.apply(p1);
+                double sx = w0.getX() + s * (w1.getX() - w0.getX());
+                double sy = w0.getY() + s * (w1.getY() - w0.getY());
+                if (a0 == above) {
+                    if (!open) {
+                        path.moveTo(w0.getX(), w0.getY());
+                    }
+                    path.lineTo(sx, sy);
+                    open = false;
+                } else {
+                    path.moveTo(sx, sy);
+                    path.lineTo(w1.getX(), w1.getY());
+                    open = true;
+                }
+                any = true;
+            } else {
+                open = false;
+            }
+        }
+        return any ? path : null;
+    }
+
+    private static void writePng(BufferedImage image, double dpi, File outputFile) throws Exception {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        // a stream from Files truncates an existing file; ImageIO's own file stream would not
+        try (OutputStream file = Files.newOutputStream(outputFile.toPath());
+                ImageOutputStream out = ImageIO.createImageOutputStream(file)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            IIOMetadata metadata = writer.getDefaultImageMetadata(
+                    ImageTypeSpecifier.createFromRenderedImage(image), param);
+
+            // Physical pixel size, stored by the PNG writer as a pHYs chunk
+            double mmPerPixel = MM_PER_INCH / dpi;
+            IIOMetadataNode horizontal = new IIOMetadataNode("HorizontalPixelSize");
+            horizontal.setAttribute("value", Double.toString(mmPerPixel));
+            IIOMetadataNode vertical = new IIOMetadataNode("VerticalPixelSize");
+            vertical.setAttribute("value", Double.toString(mmPerPixel));
+            IIOMetadataNode dimension = new IIOMetadataNode("Dimension");
+            dimension.appendChild(horizontal);
+            dimension.appendChild(vertical);
+            IIOMetadataNode root = new IIOMetadataNode(IIOMetadataFormatImpl.standardMetadataFormatName);
+            root.appendChild(dimension);
+            metadata.mergeTree(IIOMetadataFormatImpl.standardMetadataFormatName, root);
+
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, metadata), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -4,14 +4,13 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import sk.arsi.corset.model.Bounds2D;
 import sk.arsi.corset.model.Curve2D;
 import sk.arsi.corset.model.PanelCurves;
 import sk.arsi.corset.model.Pt;
 import sk.arsi.corset.svg.SvgDocument;
-import sk.arsi.corset.util.SeamAllowanceComputer;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
@@ -21,9 +20,17 @@ import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.DoubleConsumer;
 
 /**
  * Exports panel curves with seam allowances to SVG.
@@ -36,12 +43,16 @@ public final class SvgExporter {
     private static final double DEFAULT_VIEWPORT_WIDTH = 1000.0;
     private static final double DEFAULT_VIEWPORT_HEIGHT = 1000.0;
 
+    private static final DoubleConsumer NO_PROGRESS = fraction -> {
+    };
+
     private SvgExporter() {
         // utility class
     }
 
     /**
-     * Export panels with allowances to an SVG file.
+     * Export panels with allowances to an SVG file. Paths are streamed to the
+     * file as they are generated (no DOM).
      *
      * @param panels List of panels to export
      * @param allowanceDistance Allowance distance in mm
@@ -49,222 +60,131 @@ public final class SvgExporter {
      * @throws Exception if export fails
      */
     public static void exportWithAllowances(List<PanelCurves> panels, double allowanceDistance, File outputFile) throws Exception {
+        exportWithAllowances(panels, allowanceDistance, outputFile, PathDataEncoder.POLYLINE);
+    }
+
+    /**
+     * Export panels with allowances to an SVG file.
+     *
+     * @param panels List of panels to export
+     * @param allowanceDistance Allowance distance in mm
+     * @param outputFile Output SVG file
+     * @param encoder path data format (full polyline or fitted Béziers)
+     * @throws Exception if export fails
+     */
+    public static void exportWithAllowances(List<PanelCurves> panels, double allowanceDistance, File outputFile,
+            PathDataEncoder encoder) throws Exception {
         if (panels == null || panels.isEmpty()) {
             throw new IllegalArgumentException("No panels to export");
         }
-
-        // Create new SVG document
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        Document doc = builder.newDocument();
-
-        // Create root SVG element
-        Element svgRoot = doc.createElementNS(SVG_NAMESPACE, "svg");
-        svgRoot.setAttribute("version", "1.1");
-        svgRoot.setAttribute("xmlns", SVG_NAMESPACE);
-        
-        // Compute bounds from panels to set appropriate viewBox
-        double[] bounds = computePanelBounds(panels);
-        double minX = bounds[0];
-        double minY = bounds[1];
-        double maxX = bounds[2];
-        double maxY = bounds[3];
-        
-        // Add some padding (10% on each side)
-        double width = maxX - minX;
-        double height = maxY - minY;
-        double padding = Math.max(width, height) * 0.1;
-        
-        minX -= padding;
-        minY -= padding;
-        width += 2 * padding;
-        height += 2 * padding;
-        
-        svgRoot.setAttribute("viewBox", String.format("%.2f %.2f %.2f %.2f", minX, minY, width, height));
-        svgRoot.setAttribute("width", String.format("%.2f", width));
-        svgRoot.setAttribute("height", String.format("%.2f", height));
-        doc.appendChild(svgRoot);
-
-        // Create layers
-        Element panelsLayer = doc.createElementNS(SVG_NAMESPACE, "g");
-        panelsLayer.setAttribute("id", "panels");
-        svgRoot.appendChild(panelsLayer);
-
-        Element allowancesLayer = doc.createElementNS(SVG_NAMESPACE, "g");
-        allowancesLayer.setAttribute("id", "allowances");
-        svgRoot.appendChild(allowancesLayer);
-
-        // Export each panel's curves
-        for (PanelCurves panel : panels) {
-            exportPanelCurves(doc, panelsLayer, panel);
-            exportPanelAllowances(doc, allowancesLayer, panel, allowanceDistance);
-        }
-
-        // Write to file
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
-        Transformer transformer = transformerFactory.newTransformer();
-        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-        transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-
-        DOMSource source = new DOMSource(doc);
-        StreamResult result = new StreamResult(outputFile);
-        transformer.transform(source, result);
+        writeAllowances(ExportGeometry.compute(panels, allowanceDistance), outputFile, encoder, NO_PROGRESS);
     }
 
     /**
-     * Export all curves of a panel to the panels layer.
+     * Stream the panels and their precomputed allowances.
+     *
+     * @param progress receives the written fraction, 0..1
      */
-    private static void exportPanelCurves(Document doc, Element layer, PanelCurves panel) {
-        // Export main curves
-        if (panel.getTop() != null) {
-            appendPath(doc, layer, panel.getTop(), "black", 2.0);
-        }
-        if (panel.getBottom() != null) {
-            appendPath(doc, layer, panel.getBottom(), "black", 2.0);
-        }
-        if (panel.getWaist() != null) {
-            appendPath(doc, layer, panel.getWaist(), "black", 3.0);
-        }
+    static void writeAllowances(ExportGeometry geometry, File outputFile, PathDataEncoder encoder,
+            DoubleConsumer progress) throws Exception {
+        List<PanelCurves> panels = geometry.getPanels();
+        double steps = 2 * panels.size() + 1;
+        int done = 0;
+
+        try (SvgStreamWriter out = new SvgStreamWriter(outputFile, encoder)) {
+            startPaddedSvg(out, panels);
+
+            out.startGroup("panels");
+            for (PanelCurves panel : panels) {
+                writePanelCurves(out, panel);
+                progress.accept(++done / steps);
+            }
+            out.endGroup();
 
-        // Export seam curves
-        if (panel.getSeamToPrevUp() != null) {
-            appendPath(doc, layer, panel.getSeamToPrevUp(), "black", 1.5);
-        }
-        if (panel.getSeamToPrevDown() != null) {
-            appendPath(doc, layer, panel.getSeamToPrevDown(), "black", 1.5);
-        }
-        if (panel.getSeamToNextUp() != null) {
-            appendPath(doc, layer, panel.getSeamToNextUp(), "black", 1.5);
-        }
-        if (panel.getSeamToNextDown() != null) {
-            appendPath(doc, layer, panel.getSeamToNextDown(), "black", 1.5);
+            out.startGroup("allowances");
+            for (int i = 0; i < panels.size(); i++) {
+                writeAllowances(out, geometry.getAllowances(i));
+                progress.accept(++done / steps);
+            }
+            out.endGroup();
         }
+        progress.accept(1.0);
     }
 
     /**
-     * Export allowance offset curves for internal seams only.
+     * Open the root element with a viewBox around all panels plus 10% padding.
      */
-    private static void exportPanelAllowances(Document doc, Element layer, PanelCurves panel, double allowanceDistance) {
-        exportSeamAllowance(doc, layer, panel.getSeamToPrevUp(), panel, allowanceDistance);
-        exportSeamAllowance(doc, layer, panel.getSeamToPrevDown(), panel, allowanceDistance);
-        exportSeamAllowance(doc, layer, panel.getSeamToNextUp(), panel, allowanceDistance);
-        exportSeamAllowance(doc, layer, panel.getSeamToNextDown(), panel, allowanceDistance);
+    private static void startPaddedSvg(SvgStreamWriter out, List<PanelCurves> panels) throws XMLStreamException {
+        Bounds2D bounds = computePanelBounds(panels);
+        double width = bounds.getWidth();
+        double height = bounds.getHeight();
+        double padding = Math.max(width, height) * 0.1;
+
+        out.startSvg(bounds.getMinX() - padding, bounds.getMinY() - padding,
+                width + 2 * padding, height + 2 * padding);
     }
 
     /**
-     * Export allowance for a single seam if it should have one.
+     * Write all curves of a panel.
      */
-    private static void exportSeamAllowance(Document doc, Element layer, Curve2D seamCurve, PanelCurves panel, double allowanceDistance) {
-        if (seamCurve == null) {
-            return;
-        }
-
-        String seamId = seamCurve.getId();
-        if (!SeamAllowanceComputer.shouldGenerateAllowance(seamId)) {
-            return;
-        }
-
-        // Compute offset curve
-        List<Pt> offsetPoints = SeamAllowanceComputer.computeOffsetCurve(seamCurve, panel, allowanceDistance);
-        if (offsetPoints == null || offsetPoints.size() < 2) {
-            return;
-        }
-
-        // Create path element for allowance
-        Element path = doc.createElementNS(SVG_NAMESPACE, "path");
-        path.setAttribute("id", seamId + "_ALLOW");
-        path.setAttribute("d", pointsToPathData(offsetPoints));
-        path.setAttribute("stroke", "green");
-        path.setAttribute("stroke-width", "1");
-        path.setAttribute("fill", "none");
-        layer.appendChild(path);
+    private static void writePanelCurves(SvgStreamWriter out, PanelCurves panel) throws XMLStreamException {
+        // Main curves
+        writeCurve(out, panel.getTop(), "2.0");
+        writeCurve(out, panel.getBottom(), "2.0");
+        writeCurve(out, panel.getWaist(), "3.0");
+
+        // Seam curves
+        writeCurve(out, panel.getSeamToPrevUp(), "1.5");
+        writeCurve(out, panel.getSeamToPrevDown(), "1.5");
+        writeCurve(out, panel.getSeamToNextUp(), "1.5");
+        writeCurve(out, panel.getSeamToNextDown(), "1.5");
     }
 
-    /**
-     * Append a path element for a curve.
-     */
-    private static void appendPath(Document doc, Element layer, Curve2D curve, String stroke, double strokeWidth) {
+    private static void writeCurve(SvgStreamWriter out, Curve2D curve, String strokeWidth) throws XMLStreamException {
         if (curve == null || curve.getPoints() == null || curve.getPoints().size() < 2) {
             return;
         }
-
-        Element path = doc.createElementNS(SVG_NAMESPACE, "path");
-        path.setAttribute("id", curve.getId());
-        path.setAttribute("d", pointsToPathData(curve.getPoints()));
-        path.setAttribute("stroke", stroke);
-        path.setAttribute("stroke-width", String.valueOf(strokeWidth));
-        path.setAttribute("fill", "none");
-        layer.appendChild(path);
+        out.path(curve.getId(), curve.getPoints(), "black", strokeWidth);
     }
 
     /**
-     * Convert a list of points to SVG path data (M x y L x y L x y ...).
+     * Write allowance offset curves (internal seams only) of one panel.
      */
-    private static String pointsToPathData(List<Pt> points) {
-        if (points == null || points.isEmpty()) {
-            return "";
+    private static void writeAllowances(SvgStreamWriter out, Map<String, List<Pt>> allowances) throws XMLStreamException {
+        for (Map.Entry<String, List<Pt>> e : allowances.entrySet()) {
+            out.path(e.getKey() + "_ALLOW", e.getValue(), "green", "1");
         }
+    }
 
-        StringBuilder sb = new StringBuilder();
-        Pt first = points.get(0);
-        if (first != null) {
-            sb.append("M ").append(first.getX()).append(" ").append(first.getY());
+    private static void writeNotches(SvgStreamWriter out, PanelNotches panelNotches) throws XMLStreamException {
+        if (panelNotches == null || panelNotches.getNotches() == null) {
+            return;
         }
-
-        for (int i = 1; i < points.size(); i++) {
-            Pt p = points.get(i);
-            if (p != null) {
-                sb.append(" L ").append(p.getX()).append(" ").append(p.getY());
-            }
+        for (Notch notch : panelNotches.getNotches()) {
+            out.line(notch.getId(), notch.getStart(), notch.getEnd(), "black", "0.5");
         }
-
-        return sb.toString();
     }
 
     /**
-     * Compute bounds [minX, minY, maxX, maxY] from all panels.
+     * Bounds of all panel curves (from the cached curve bounds).
      */
-    private static double[] computePanelBounds(List<PanelCurves> panels) {
-        double minX = Double.POSITIVE_INFINITY;
-        double minY = Double.POSITIVE_INFINITY;
-        double maxX = Double.NEGATIVE_INFINITY;
-        double maxY = Double.NEGATIVE_INFINITY;
-
+    private static Bounds2D computePanelBounds(List<PanelCurves> panels) {
+        Bounds2D bounds = Bounds2D.EMPTY;
         for (PanelCurves panel : panels) {
-            // Check all curves in the panel
-            for (Curve2D curve : new Curve2D[]{
-                panel.getTop(), panel.getBottom(), panel.getWaist(),
-                panel.getSeamToPrevUp(), panel.getSeamToPrevDown(),
-                panel.getSeamToNextUp(), panel.getSeamToNextDown()
-            }) {
-                if (curve == null || curve.getPoints() == null) {
-                    continue;
-                }
-                for (Pt p : curve.getPoints()) {
-                    if (p != null && Double.isFinite(p.getX()) && Double.isFinite(p.getY())) {
-                        minX = Math.min(minX, p.getX());
-                        minY = Math.min(minY, p.getY());
-                        maxX = Math.max(maxX, p.getX());
-                        maxY = Math.max(maxY, p.getY());
-                    }
-                }
-            }
+            bounds = bounds.union(panel.getBounds(0.0, 0.0, 0.0, 0.0, 0.0));
         }
 
         // Fallback if no valid bounds found
-        if (!Double.isFinite(minX) || !Double.isFinite(minY) || 
-            !Double.isFinite(maxX) || !Double.isFinite(maxY)) {
-            return new double[]{0, 0, DEFAULT_VIEWPORT_WIDTH, DEFAULT_VIEWPORT_HEIGHT};
+        if (bounds.isEmpty()) {
+            return new Bounds2D(0, 0, DEFAULT_VIEWPORT_WIDTH, DEFAULT_VIEWPORT_HEIGHT);
         }
-
-        return new double[]{minX, minY, maxX, maxY};
+        return bounds;
     }
 
     /**
      * Export panels with notches and allowances to SVG file.
      * Creates a structured SVG with panel groups, each containing allowances and notches subgroups.
+     * Paths are streamed to the file as they are generated (no DOM).
      * 
      * @param svgDocument Original SVG document (used for reference)
      * @param panels List of panels to export
@@ -281,152 +201,128 @@ public final class SvgExporter {
             int notchCount,
             double notchLengthMm,
             double allowanceDistance) throws Exception {
+        exportWithNotches(svgDocument, panels, outputFile, notchCount, notchLengthMm, allowanceDistance,
+                PathDataEncoder.POLYLINE);
+    }
+
+    /**
+     * Export panels with notches and allowances to SVG file.
+     *
+     * @param svgDocument Original SVG document (used for reference)
+     * @param panels List of panels to export
+     * @param outputFile Output SVG file
+     * @param notchCount Number of notches per seam
+     * @param notchLengthMm Length of each notch tick in mm
+     * @param allowanceDistance Allowance distance in mm
+     * @param encoder path data format for curves and allowances
+     * @throws Exception if export fails
+     */
+    public static void exportWithNotches(
+            SvgDocument svgDocument,
+            List<PanelCurves> panels,
+            File outputFile,
+            int notchCount,
+            double notchLengthMm,
+            double allowanceDistance,
+            PathDataEncoder encoder) throws Exception {
         
         if (panels == null || panels.isEmpty()) {
             throw new IllegalArgumentException("No panels to export");
         }
+        writePanelGroups(ExportGeometry.compute(panels, allowanceDistance, notchCount, notchLengthMm),
+                outputFile, encoder, NO_PROGRESS);
+    }
 
-        // Generate notches for all panels
-        List<PanelNotches> allNotches = NotchGenerator.generateAllNotches(panels, notchCount, notchLengthMm);
-
-        // Create new SVG document
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        Document doc = builder.newDocument();
+    /**
+     * Stream each panel in its own group with subgroups for its precomputed
+     * allowances and notches.
+     *
+     * @param progress receives the written fraction, 0..1
+     */
+    static void writePanelGroups(ExportGeometry geometry, File outputFile, PathDataEncoder encoder,
+            DoubleConsumer progress) throws Exception {
+        List<PanelCurves> panels = geometry.getPanels();
+        double steps = panels.size() + 1;
 
-        // Create root SVG element
-        Element svgRoot = doc.createElementNS(SVG_NAMESPACE, "svg");
-        svgRoot.setAttribute("version", "1.1");
-        svgRoot.setAttribute("xmlns", SVG_NAMESPACE);
-        
-        // Compute bounds from panels to set appropriate viewBox
-        double[] bounds = computePanelBounds(panels);
-        double minX = bounds[0];
-        double minY = bounds[1];
-        double maxX = bounds[2];
-        double maxY = bounds[3];
-        
-        // Add some padding (10% on each side)
-        double width = maxX - minX;
-        double height = maxY - minY;
-        double padding = Math.max(width, height) * 0.1;
-        
-        minX -= padding;
-        minY -= padding;
-        width += 2 * padding;
-        height += 2 * padding;
-        
-        svgRoot.setAttribute("viewBox", String.format("%.2f %.2f %.2f %.2f", minX, minY, width, height));
-        svgRoot.setAttribute("width", String.format("%.2f", width));
-        svgRoot.setAttribute("height", String.format("%.2f", height));
-        doc.appendChild(svgRoot);
+        try (SvgStreamWriter out = new SvgStreamWriter(outputFile, encoder)) {
+            startPaddedSvg(out, panels);
 
-        // Export each panel in its own group with subgroups for allowances and notches
-        for (int i = 0; i < panels.size(); i++) {
-            PanelCurves panel = panels.get(i);
-            PanelNotches panelNotches = allNotches.get(i);
-            
-            // Create panel group
-            Element panelGroup = doc.createElementNS(SVG_NAMESPACE, "g");
-            panelGroup.setAttribute("id", panel.getPanelId().name() + "_PANEL");
-            svgRoot.appendChild(panelGroup);
-            
-            // Export panel curves
-            exportPanelCurvesToGroup(doc, panelGroup, panel);
-            
-            // Create and populate allowances subgroup
-            Element allowancesGroup = doc.createElementNS(SVG_NAMESPACE, "g");
-            allowancesGroup.setAttribute("id", panel.getPanelId().name() + "_ALLOWANCES");
-            panelGroup.appendChild(allowancesGroup);
-            exportPanelAllowancesToGroup(doc, allowancesGroup, panel, allowanceDistance);
-            
-            // Create and populate notches subgroup
-            Element notchesGroup = doc.createElementNS(SVG_NAMESPACE, "g");
-            notchesGroup.setAttribute("id", panel.getPanelId().name() + "_NOTCHES");
-            panelGroup.appendChild(notchesGroup);
-            exportNotchesToGroup(doc, notchesGroup, panelNotches);
-        }
+            for (int i = 0; i < panels.size(); i++) {
+                PanelCurves panel = panels.get(i);
+                String panelName = panel.getPanelId().name();
 
-        // Write to file
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
-        Transformer transformer = transformerFactory.newTransformer();
-        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-        transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+                out.startGroup(panelName + "_PANEL");
+                writePanelCurves(out, panel);
 
-        DOMSource source = new DOMSource(doc);
-        StreamResult result = new StreamResult(outputFile);
-        transformer.transform(source, result);
-    }
+                out.startGroup(panelName + "_ALLOWANCES");
+                writeAllowances(out, geometry.getAllowances(i));
+                out.endGroup();
 
-    /**
-     * Export all curves of a panel to a specific group.
-     */
-    private static void exportPanelCurvesToGroup(Document doc, Element group, PanelCurves panel) {
-        // Export main curves
-        if (panel.getTop() != null) {
-            appendPath(doc, group, panel.getTop(), "black", 2.0);
-        }
-        if (panel.getBottom() != null) {
-            appendPath(doc, group, panel.getBottom(), "black", 2.0);
-        }
-        if (panel.getWaist() != null) {
-            appendPath(doc, group, panel.getWaist(), "black", 3.0);
-        }
+                out.startGroup(panelName + "_NOTCHES");
+                writeNotches(out, geometry.getNotches(i));
+                out.endGroup();
 
-        // Export seam curves
-        if (panel.getSeamToPrevUp() != null) {
-            appendPath(doc, group, panel.getSeamToPrevUp(), "black", 1.5);
-        }
-        if (panel.getSeamToPrevDown() != null) {
-            appendPath(doc, group, panel.getSeamToPrevDown(), "black", 1.5);
-        }
-        if (panel.getSeamToNextUp() != null) {
-            appendPath(doc, group, panel.getSeamToNextUp(), "black", 1.5);
-        }
-        if (panel.getSeamToNextDown() != null) {
-            appendPath(doc, group, panel.getSeamToNextDown(), "black", 1.5);
+                out.endGroup();
+                progress.accept((i + 1) / steps);
+            }
         }
+        progress.accept(1.0);
     }
 
     /**
-     * Export allowance offset curves for internal seams to a specific group.
-     */
-    private static void exportPanelAllowancesToGroup(Document doc, Element group, PanelCurves panel, double allowanceDistance) {
-        exportSeamAllowanceToGroup(doc, group, panel.getSeamToPrevUp(), panel, allowanceDistance);
-        exportSeamAllowanceToGroup(doc, group, panel.getSeamToPrevDown(), panel, allowanceDistance);
-        exportSeamAllowanceToGroup(doc, group, panel.getSeamToNextUp(), panel, allowanceDistance);
-        exportSeamAllowanceToGroup(doc, group, panel.getSeamToNextDown(), panel, allowanceDistance);
-    }
-
-    /**
-     * Export allowance for a single seam to a specific group if it should have one.
+     * Run export tasks on a small pool of daemon workers and wait for all.
+     *
+     * @throws Exception the first failure; later failures are attached as
+     * suppressed
      */
-    private static void exportSeamAllowanceToGroup(Document doc, Element group, Curve2D seamCurve, PanelCurves panel, double allowanceDistance) {
-        if (seamCurve == null) {
+    static void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        if (tasks.isEmpty()) {
             return;
         }
-
-        String seamId = seamCurve.getId();
-        if (!SeamAllowanceComputer.shouldGenerateAllowance(seamId)) {
-            return;
+        int threads = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "svg-export-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<Void>> jobs = pool.invokeAll(tasks);
+
+            Exception failure = null;
+            for (Future<Void> job : jobs) {
+                try {
+                    job.get();
+                } catch (ExecutionException e) {
+                    Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    if (failure == null) {
+                        failure = cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            pool.shutdownNow();
         }
+    }
 
-        // Compute offset curve
-        List<Pt> offsetPoints = SeamAllowanceComputer.computeOffsetCurve(seamCurve, panel, allowanceDistance);
-        if (offsetPoints == null || offsetPoints.size() < 2) {
-            return;
+    /**
+     * Export allowance offset curves (internal seams only) to a specific group.
+     */
+    private static void exportAllowancesToGroup(Document doc, Element group, Map<String, List<Pt>> allowances,
+            PathDataEncoder encoder) {
+        for (Map.Entry<String, List<Pt>> e : allowances.entrySet()) {
+            Element path = doc.createElementNS(SVG_NAMESPACE, "path");
+            path.setAttribute("id", e.getKey() + "_ALLOW");
+            path.setAttribute("d", encoder.encode(e.getValue()));
+            path.setAttribute("stroke", "green");
+            path.setAttribute("stroke-width", "1");
+            path.setAttribute("fill", "none");
+            group.appendChild(path);
         }
-
-        // Create path element for allowance
-        Element path = doc.createElementNS(SVG_NAMESPACE, "path");
-        path.setAttribute("id", seamId + "_ALLOW");
-        path.setAttribute("d", pointsToPathData(offsetPoints));
-        path.setAttribute("stroke", "green");
-        path.setAttribute("stroke-width", "1");
-        path.setAttribute("fill", "none");
-        group.appendChild(path);
     }
 
     /**
@@ -473,6 +369,30 @@ public final class SvgExporter {
             int notchCount,
             double notchLengthMm,
             double allowanceDistance) throws Exception {
+        exportWithAllowancesAndNotches(svgDocument, panels, outputFile, notchCount, notchLengthMm, allowanceDistance,
+                PathDataEncoder.POLYLINE);
+    }
+
+    /**
+     * Export panels with allowances and notches to SVG by modifying the original SVG document.
+     *
+     * @param svgDocument Original SVG document
+     * @param panels List of panels to export
+     * @param outputFile Output SVG file
+     * @param notchCount Number of notches per seam
+     * @param notchLengthMm Length of each notch tick in mm
+     * @param allowanceDistance Allowance distance in mm
+     * @param encoder path data format for the added allowance paths
+     * @throws Exception if export fails
+     */
+    public static void exportWithAllowancesAndNotches(
+            SvgDocument svgDocument,
+            List<PanelCurves> panels,
+            File outputFile,
+            int notchCount,
+            double notchLengthMm,
+            double allowanceDistance,
+            PathDataEncoder encoder) throws Exception {
         
         if (svgDocument == null) {
             throw new IllegalArgumentException("SVG document is required");
@@ -483,33 +403,47 @@ public final class SvgExporter {
 
         // Clone the original document to avoid modifying it
         Document doc = (Document) svgDocument.getDocument().cloneNode(true);
-        
-        // Generate notches for all panels
-        List<PanelNotches> allNotches = NotchGenerator.generateAllNotches(panels, notchCount, notchLengthMm);
+
+        writeIntoDocument(doc, ExportGeometry.compute(panels, allowanceDistance, notchCount, notchLengthMm),
+                outputFile, encoder, NO_PROGRESS);
+    }
+
+    /**
+     * Add the precomputed allowances and notches to each panel's container in
+     * {@code doc} (a private copy of the source document) and write it.
+     *
+     * @param progress receives the written fraction, 0..1
+     */
+    static void writeIntoDocument(Document doc, ExportGeometry geometry, File outputFile,
+            PathDataEncoder encoder, DoubleConsumer progress) throws Exception {
+        List<PanelCurves> panels = geometry.getPanels();
+        double steps = panels.size() + 1;
+
+        // One walk over the copy; container lookups below are map hits
+        Map<String, Element> elementsById = indexElementsById(doc);
 
         // For each panel, find or create container and add allowances/notches groups
         for (int i = 0; i < panels.size(); i++) {
             PanelCurves panel = panels.get(i);
-            PanelNotches panelNotches = allNotches.get(i);
+            PanelNotches panelNotches = geometry.getNotches(i);
             String panelName = panel.getPanelId().name();
             
             // Find container element for this panel
-            Element container = findPanelContainer(doc, svgDocument, panelName);
+            Element container = findPanelContainer(elementsById, panelName);
             
-            if (container == null) {
-                // Skip this panel if we can't find a container
-                continue;
+            if (container != null) {
+                // Create or update allowances group
+                Element allowancesGroup = findOrCreateGroup(doc, container, panelName + "_ALLOWANCES");
+                clearElement(allowancesGroup);
+                exportAllowancesToGroup(doc, allowancesGroup, geometry.getAllowances(i), encoder);
+
+                // Create or update notches group
+                Element notchesGroup = findOrCreateGroup(doc, container, panelName + "_NOTCHES");
+                clearElement(notchesGroup);
+                exportNotchesToGroup(doc, notchesGroup, panelNotches);
             }
-            
-            // Create or update allowances group
-            Element allowancesGroup = findOrCreateGroup(doc, container, panelName + "_ALLOWANCES");
-            clearElement(allowancesGroup);
-            exportPanelAllowancesToGroup(doc, allowancesGroup, panel, allowanceDistance);
-            
-            // Create or update notches group
-            Element notchesGroup = findOrCreateGroup(doc, container, panelName + "_NOTCHES");
-            clearElement(notchesGroup);
-            exportNotchesToGroup(doc, notchesGroup, panelNotches);
+            // else: skip this panel if we can't find a container
+            progress.accept((i + 1) / steps);
         }
 
         // Write to file
@@ -522,6 +456,7 @@ public final class SvgExporter {
         DOMSource source = new DOMSource(doc);
         StreamResult result = new StreamResult(outputFile);
         transformer.transform(source, result);
+        progress.accept(1.0);
     }
 
     /**
@@ -529,64 +464,58 @@ public final class SvgExporter {
      * First tries to find <PANEL>_PANEL group.
      * Falls back to finding <PANEL>_WAIST element and using its parent.
      */
-    private static Element findPanelContainer(Document doc, SvgDocument svgDocument, String panelName) {
+    private static Element findPanelContainer(Map<String, Element> elementsById, String panelName) {
         // Try to find <PANEL>_PANEL group in the cloned document
-        Element panelGroup = findElementByIdInDocument(doc, panelName + "_PANEL");
+        Element panelGroup = elementsById.get(panelName + "_PANEL");
         if (panelGroup != null) {
             return panelGroup;
         }
-        
-        // Fallback: find <PANEL>_WAIST and use its parent
-        Element waistElement = findElementByIdInDocument(doc, panelName + "_WAIST");
-        if (waistElement != null && waistElement.getParentNode() instanceof Element) {
-            return (Element) waistElement.getParentNode();
-        }
-        
-        // Try other required elements as fallback
+
+        // Fallback: find <PANEL>_WAIST and use its parent, then other required elements
         String[] fallbackIds = {
+            panelName + "_WAIST",
             panelName + "_TOP",
             panelName + "_BOTTOM",
             panelName + "A_UP",
             panelName + "A_DOWN"
         };
-        
+
         for (String fallbackId : fallbackIds) {
-            Element element = findElementByIdInDocument(doc, fallbackId);
+            Element element = elementsById.get(fallbackId);
             if (element != null && element.getParentNode() instanceof Element) {
                 return (Element) element.getParentNode();
             }
         }
-        
-        return null;
-    }
 
-    /**
-     * Find element by ID in a document by traversing all elements.
-     */
-    private static Element findElementByIdInDocument(Document doc, String id) {
-        return findElementByIdRecursive(doc.getDocumentElement(), id);
+        return null;
     }
 
     /**
-     * Recursively search for element with given ID.
+     * Map every id in the document to its element, in one pre-order walk.
+     * When an id repeats, the first element in document order wins.
      */
-    private static Element findElementByIdRecursive(Element root, String id) {
-        if (root.hasAttribute("id") && id.equals(root.getAttribute("id"))) {
-            return root;
-        }
-        
-        NodeList children = root.getChildNodes();
-        for (int i = 0; i < children.getLength(); i++) {
-            Node child = children.item(i);
-            if (child instanceof Element) {
-                Element found = findElementByIdRecursive((Element) child, id);
-                if (found != null) {
-                    return found;
+    private static Map<String, Element> indexElementsById(Document doc) {
+        Map<String, Element> index = new HashMap<>();
+        Element root = doc.getDocumentElement();
+        if (root == null) {
+            return index;
+        }
+        Deque<Element> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Element element = stack.pop();
+            String id = element.getAttribute("id");
+            if (!id.isEmpty()) {
+                index.putIfAbsent(id, element);
+            }
+            // push children last-to-first so they pop in document order
+            for (Node child = element.getLastChild(); child != null; child = child.getPreviousSibling()) {
+                if (child instanceof Element) {
+                    stack.push((Element) child);
                 }
             }
         }
-        
-        return null;
+        return index;
     }
 
     /**
@@ -651,9 +580,15 @@ public final class SvgExporter {
         // Read original SVG file as UTF-8 text
         String originalSvgText = Files.readString(svgPath, StandardCharsets.UTF_8);
 
-        // Build map of changed paths
+        writeCurvesOnly(originalSvgText, collectChangedPaths(svgDocument, effectivePanels), outputFile);
+    }
+
+    /**
+     * New d attribute of every curve that differs from the source document.
+     */
+    static Map<String, String> collectChangedPaths(SvgDocument svgDocument, List<PanelCurves> effectivePanels) {
         Map<String, String> changedPaths = new HashMap<>();
-        
+
         for (PanelCurves panel : effectivePanels) {
             // Check all curves in the panel
             checkAndAddChangedCurve(changedPaths, svgDocument, panel.getTop());
@@ -664,7 +599,14 @@ public final class SvgExporter {
             checkAndAddChangedCurve(changedPaths, svgDocument, panel.getSeamToNextUp());
             checkAndAddChangedCurve(changedPaths, svgDocument, panel.getSeamToNextDown());
         }
+        return changedPaths;
+    }
 
+    /**
+     * Write the source text with the changed d attributes replaced.
+     */
+    static void writeCurvesOnly(String originalSvgText, Map<String, String> changedPaths, File outputFile)
+            throws Exception {
         // Apply replacements to original text
         String modifiedSvgText = SvgTextDReplacer.replaceMany(originalSvgText, changedPaths);
 
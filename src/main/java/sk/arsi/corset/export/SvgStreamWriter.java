@@ -0,0 +1,172 @@
+package sk.arsi.corset.export;
+
+import sk.arsi.corset.model.Pt;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming SVG writer: groups and paths go straight to a buffered file
+ * through {@link XMLStreamWriter}, without building a DOM or running a
+ * Transformer. Memory use does not grow with the number of paths. Output is
+ * indented by two spaces per level.
+ */
+public final class SvgStreamWriter implements AutoCloseable {
+
+    public static final String SVG_NAMESPACE = "http://www.w3.org/2000/svg";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer out;
+    private final XMLStreamWriter xml;
+    private final PathDataEncoder encoder;
+    private final StringBuilder pathData;
+    private int depth;
+    private boolean closed;
+
+    public SvgStreamWriter(File file) throws IOException, XMLStreamException {
+        this(file, PathDataEncoder.POLYLINE);
+    }
+
+    /**
+     * @param file output file
+     * @param encoder path data format for {@link #path}
+     */
+    public SvgStreamWriter(File file, PathDataEncoder encoder) throws IOException, XMLStreamException {
+        this.encoder = encoder;
+        this.out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file.toPath()),
+                StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.xml = XMLOutputFactory.newFactory().createXMLStreamWriter(out);
+        this.pathData = new StringBuilder(1024);
+        xml.writeStartDocument("UTF-8", "1.0");
+    }
+
+    /**
+     * Open the root element with a viewBox in mm and matching width/height.
+     */
+    public void startSvg(double minX, double minY, double width, double height) throws XMLStreamException {
+        newline();
+        xml.writeStartElement("svg");
+        xml.writeDefaultNamespace(SVG_NAMESPACE);
+        xml.writeAttribute("version", "1.1");
+        xml.writeAttribute("viewBox", String.format(Locale.ROOT, "%.2f %.2f %.2f %.2f", minX, minY, width, height));
+        xml.writeAttribute("width", String.format(Locale.ROOT, "%.2f", width));
+        xml.writeAttribute("height", String.format(Locale.ROOT, "%.2f", height));
+        depth++;
+    }
+
+    public void startGroup(String id) throws XMLStreamException {
+        newline();
+        xml.writeStartElement("g");
+        xml.writeAttribute("id", id);
+        depth++;
+    }
+
+    /**
+     * Close the innermost open group (or the root).
+     */
+    public void endGroup() throws XMLStreamException {
+        depth--;
+        newline();
+        xml.writeEndElement();
+    }
+
+    /**
+     * Path through the points, encoded by the writer's
+     * {@link PathDataEncoder}; null points are skipped.
+     */
+    public void path(String id, List<Pt> points, String stroke, String strokeWidth) throws XMLStreamException {
+        pathData.setLength(0);
+        encoder.encode(pathData, points);
+        writePath(id, stroke, strokeWidth);
+    }
+
+    /**
+     * Single straight segment.
+     */
+    public void line(String id, Pt start, Pt end, String stroke, String strokeWidth) throws XMLStreamException {
+        pathData.setLength(0);
+        encoder.encodeLine(pathData, start, end);
+        writePath(id, stroke, strokeWidth);
+    }
+
+    /**
+     * Unfilled rectangle.
+     */
+    public void rect(String id, double x, double y, double width, double height, String stroke, String strokeWidth)
+            throws XMLStreamException {
+        newline();
+        xml.writeEmptyElement("rect");
+        xml.writeAttribute("id", id);
+        xml.writeAttribute("x", Double.toString(x));
+        xml.writeAttribute("y", Double.toString(y));
+        xml.writeAttribute("width", Double.toString(width));
+        xml.writeAttribute("height", Double.toString(height));
+        xml.writeAttribute("stroke", stroke);
+        xml.writeAttribute("stroke-width", strokeWidth);
+        xml.writeAttribute("fill", "none");
+    }
+
+    /**
+     * Text label with its baseline starting at (x, y).
+     */
+    public void text(String id, double x, double y, double fontSize, String content) throws XMLStreamException {
+        newline();
+        xml.writeStartElement("text");
+        xml.writeAttribute("id", id);
+        xml.writeAttribute("x", Double.toString(x));
+        xml.writeAttribute("y", Double.toString(y));
+        xml.writeAttribute("font-size", Double.toString(fontSize));
+        xml.writeAttribute("font-family", "sans-serif");
+        xml.writeCharacters(content);
+        xml.writeEndElement();
+    }
+
+    private void writePath(String id, String stroke, String strokeWidth) throws XMLStreamException {
+        newline();
+        xml.writeEmptyElement("path");
+        xml.writeAttribute("id", id);
+        xml.writeAttribute("d", pathData.toString());
+        xml.writeAttribute("stroke", stroke);
+        xml.writeAttribute("stroke-width", strokeWidth);
+        xml.writeAttribute("fill", "none");
+    }
+
+    private void newline() throws XMLStreamException {
+        xml.writeCharacters("\n");
+        for (int i = 0; i < depth; i++) {
+            xml.writeCharacters("  ");
+        }
+    }
+
+    /**
+     * Close any open elements, end the document and close the file.
+     */
+    @Override
+    public void close() throws IOException, XMLStreamException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            while (depth > 0) {
+                endGroup();
+            }
+            xml.writeEndDocument();
+            xml.writeCharacters("\n");
+            xml.close();
+        } finally {
+            out.close();
+        }
+    }
+}
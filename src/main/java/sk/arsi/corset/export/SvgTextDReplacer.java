@@ -1,22 +1,28 @@
 package sk.arsi.corset.export;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 /**
  * Helper class for text-based replacement of d attributes in SVG path elements.
  * Preserves original file formatting, whitespace, attribute order, and metadata.
+ *
+ * All replacements are done in one forward scan over the text, so the cost is
+ * linear in the file size regardless of how many ids change.
  */
 public final class SvgTextDReplacer {
 
+    private static final String PATH_TAG = "<path";
+
     private SvgTextDReplacer() {
         // utility class
     }
 
     /**
      * Replace the d attribute for a single path element by id.
-     * 
+     *
      * @param svgText Original SVG text
      * @param id Path element id
      * @param newD New d attribute value
@@ -27,44 +33,13 @@ public final class SvgTextDReplacer {
         if (svgText == null || id == null || newD == null) {
             throw new IllegalArgumentException("svgText, id, and newD must not be null");
         }
-
-        // Pattern to match the entire <path> start tag containing the given id
-        // Uses DOTALL to match across newlines
-        // Matches: <path ...any attributes... > where one attribute is id="ID"
-        String idPattern = Pattern.quote(id);
-        Pattern pathPattern = Pattern.compile(
-            "<path\\s+[^>]*?id\\s*=\\s*\"" + idPattern + "\"[^>]*?>",
-            Pattern.DOTALL
-        );
-
-        Matcher matcher = pathPattern.matcher(svgText);
-        if (!matcher.find()) {
-            throw new IllegalArgumentException("Path element with id=\"" + id + "\" not found in SVG text");
-        }
-
-        // Extract the full matched start tag
-        String fullMatch = matcher.group(0);
-        int matchStart = matcher.start();
-        int matchEnd = matcher.end();
-
-        // Check if d attribute exists in the matched tag
-        Pattern dPattern = Pattern.compile("\\s+d\\s*=\\s*\"([^\"]*)\"", Pattern.DOTALL);
-        Matcher dMatcher = dPattern.matcher(fullMatch);
-        
-        if (!dMatcher.find()) {
-            throw new IllegalArgumentException("Path element with id=\"" + id + "\" has no d attribute");
-        }
-
-        // Replace the d attribute value in the matched tag
-        String modifiedTag = dMatcher.replaceFirst(" d=\"" + Matcher.quoteReplacement(newD) + "\"");
-
-        // Replace the original tag with the modified tag
-        return svgText.substring(0, matchStart) + modifiedTag + svgText.substring(matchEnd);
+        return replaceMany(svgText, Collections.singletonMap(id, newD));
     }
 
     /**
-     * Replace d attributes for multiple path elements.
-     * 
+     * Replace d attributes for multiple path elements. Only the first
+     * {@code <path>} with a given id is changed.
+     *
      * @param svgText Original SVG text
      * @param newDById Map from path id to new d attribute value
      * @return Modified SVG text with all d attributes replaced
@@ -74,11 +49,123 @@ public final class SvgTextDReplacer {
         if (svgText == null || newDById == null) {
             throw new IllegalArgumentException("svgText and newDById must not be null");
         }
+        if (newDById.isEmpty()) {
+            return svgText;
+        }
+
+        int len = svgText.length();
+        StringBuilder out = new StringBuilder(len + 64 * newDById.size());
+        Set<String> replaced = new HashSet<>();
+        int copied = 0;
+        int from = 0;
+
+        while (replaced.size() < newDById.size()) {
+            int tag = svgText.indexOf(PATH_TAG, from);
+            if (tag < 0) {
+                break;
+            }
+            int pos = tag + PATH_TAG.length();
+            from = pos;
+            if (pos >= len || !Character.isWhitespace(svgText.charAt(pos))) {
+                // <pathFoo ...> or similar
+                continue;
+            }
+
+            // Walk the attributes of this start tag
+            String id = null;
+            int dStart = -1;
+            int dEnd = -1;
+            while (pos < len) {
+                pos = skipWhitespace(svgText, pos);
+                if (pos >= len) {
+                    break;
+                }
+                char c = svgText.charAt(pos);
+                if (c == '>') {
+                    break;
+                }
+                if (c == '/') {
+                    pos++;
+                    continue;
+                }
+
+                int nameStart = pos;
+                while (pos < len && !isNameEnd(svgText.charAt(pos))) {
+                    pos++;
+                }
+                int nameEnd = pos;
+
+                pos = skipWhitespace(svgText, pos);
+                if (pos >= len || svgText.charAt(pos) != '=') {
+                    // attribute without value
+                    continue;
+                }
+                pos = skipWhitespace(svgText, pos + 1);
+                if (pos >= len) {
+                    break;
+                }
 
-        String result = svgText;
-        for (Map.Entry<String, String> entry : newDById.entrySet()) {
-            result = replacePathDById(result, entry.getKey(), entry.getValue());
+                int valueStart;
+                int valueEnd;
+                char quote = svgText.charAt(pos);
+                if (quote == '"' || quote == '\'') {
+                    valueStart = pos + 1;
+                    valueEnd = svgText.indexOf(quote, valueStart);
+                    if (valueEnd < 0) {
+                        // unterminated value; nothing more to parse
+                        pos = len;
+                        break;
+                    }
+                    pos = valueEnd + 1;
+                } else {
+                    valueStart = pos;
+                    while (pos < len && !Character.isWhitespace(svgText.charAt(pos)) && svgText.charAt(pos) != '>') {
+                        pos++;
+                    }
+                    valueEnd = pos;
+                }
+
+                if (isName(svgText, nameStart, nameEnd, "id")) {
+                    id = svgText.substring(valueStart, valueEnd);
+                } else if (isName(svgText, nameStart, nameEnd, "d")) {
+                    dStart = valueStart;
+                    dEnd = valueEnd;
+                }
+            }
+            from = pos;
+
+            if (id == null || !newDById.containsKey(id) || !replaced.add(id)) {
+                continue;
+            }
+            if (dStart < 0) {
+                throw new IllegalArgumentException("Path element with id=\"" + id + "\" has no d attribute");
+            }
+            out.append(svgText, copied, dStart).append(newDById.get(id));
+            copied = dEnd;
+        }
+
+        for (String id : newDById.keySet()) {
+            if (!replaced.contains(id)) {
+                throw new IllegalArgumentException("Path element with id=\"" + id + "\" not found in SVG text");
+            }
+        }
+
+        out.append(svgText, copied, len);
+        return out.toString();
+    }
+
+    private static int skipWhitespace(String s, int pos) {
+        while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) {
+            pos++;
         }
-        return result;
+        return pos;
+    }
+
+    private static boolean isNameEnd(char c) {
+        return Character.isWhitespace(c) || c == '=' || c == '>' || c == '/';
+    }
+
+    private static boolean isName(String s, int start, int end, String name) {
+        return end - start == name.length() && s.regionMatches(start, name, 0, name.length());
     }
 }
@@ -0,0 +1,179 @@
+package sk.arsi.corset.layout;
+
+import sk.arsi.corset.layout.ChainLayoutEngine.LayoutResult;
+import sk.arsi.corset.layout.ChainLayoutEngine.Transform2D;
+import sk.arsi.corset.model.Bounds2D;
+import sk.arsi.corset.model.Curve2D;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.Pt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the flat side-by-side panel layout of the 2D view. Shared by the
+ * interactive view and the headless exporters so both place panels the same
+ * way.
+ */
+public final class FlatLayoutEngine {
+
+    public enum Mode {
+        TOP,
+        WAIST,
+        BOTTOM
+    }
+
+    public static final double DEFAULT_WAIST_GAP_MM = 30.0;
+
+    // spacing used when a panel has no usable anchor curve
+    private static final double FALLBACK_ENDPOINT_SPACING_MM = 150.0;
+    private static final double FALLBACK_WAIST_WIDTH_MM = 200.0;
+
+    /**
+     * @param panels panels in order
+     * @param mode TOP/BOTTOM: panels touch by the endpoints of that edge;
+     * WAIST: waists rotated horizontal on y=0 and spaced by the gap
+     * @param waistGapMm gap between panels in WAIST mode
+     * @return one transform per panel, in input order
+     */
+    public List<LayoutResult> computeLayout(List<PanelCurves> panels, Mode mode, double waistGapMm) {
+        List<LayoutResult> results = new ArrayList<>();
+        if (panels == null || panels.isEmpty()) {
+            return results;
+        }
+
+        if (mode == Mode.WAIST) {
+            buildWaistLayout(panels, waistGapMm, results);
+        } else {
+            buildEndpointLayout(panels, mode == Mode.TOP, results);
+        }
+        return results;
+    }
+
+    /**
+     * TOP or BOTTOM mode: panels touch by endpoints of TOP (or BOTTOM) curve.
+     * No rotation; only translation so that next.leftEndpoint lands on
+     * prev.rightEndpoint.
+     */
+    private void buildEndpointLayout(List<PanelCurves> panels, boolean top, List<LayoutResult> out) {
+        double curX = 0.0;
+        double curY = 0.0;
+
+        Pt prevRight = null;
+
+        for (int i = 0; i < panels.size(); i++) {
+            PanelCurves p = panels.get(i);
+            Curve2D edge = top ? p.getTop() : p.getBottom();
+
+            Pt left = extremeByX(edge, true);
+            Pt right = extremeByX(edge, false);
+
+            // fallback if missing
+            if (left == null || right == null) {
+                out.add(new LayoutResult(p, new Transform2D(0.0, 0.0, 0.0, curX, curY)));
+                curX = curX + FALLBACK_ENDPOINT_SPACING_MM;
+                prevRight = null;
+                continue;
+            }
+
+            double tx;
+            double ty;
+
+            if (prevRight == null) {
+                tx = curX - left.getX();
+                ty = curY - left.getY();
+            } else {
+                tx = prevRight.getX() - left.getX();
+                ty = prevRight.getY() - left.getY();
+            }
+
+            Transform2D t = new Transform2D(0.0, 0.0, 0.0, tx, ty);
+            out.add(new LayoutResult(p, t));
+
+            prevRight = t.apply(right);
+        }
+    }
+
+    /**
+     * WAIST mode: rotate each panel so its waist is horizontal, align waist to
+     * y=0, and space panels with a gap.
+     */
+    private void buildWaistLayout(List<PanelCurves> panels, double waistGapMm, List<LayoutResult> out) {
+        double curX = 0.0;
+
+        for (int i = 0; i < panels.size(); i++) {
+            PanelCurves p = panels.get(i);
+
+            Curve2D waist = p.getWaist();
+            Pt wLeft = extremeByX(waist, true);
+            Pt wRight = extremeByX(waist, false);
+
+            if (wLeft == null || wRight == null) {
+                out.add(new LayoutResult(p, new Transform2D(0.0, 0.0, 0.0, curX, 0.0)));
+                curX = curX + FALLBACK_WAIST_WIDTH_MM + waistGapMm;
+                continue;
+            }
+
+            double dx = wRight.getX() - wLeft.getX();
+            double dy = wRight.getY() - wLeft.getY();
+            double angle = Math.atan2(dy, dx);
+
+            double angleRad = -angle;
+            double pivotX = wLeft.getX();
+            double pivotY = wLeft.getY();
+
+            Transform2D t0 = new Transform2D(angleRad, pivotX, pivotY, -pivotX, -pivotY);
+            Bounds2D b0 = computePanelBounds(p, t0);
+
+            double tx = (-pivotX) + (curX - b0.getMinX());
+            double ty = (-pivotY);
+
+            Transform2D t = new Transform2D(angleRad, pivotX, pivotY, tx, ty);
+            out.add(new LayoutResult(p, t));
+
+            Bounds2D b = computePanelBounds(p, t);
+            double width = Math.max(1.0, b.getWidth());
+
+            curX = curX + width + waistGapMm;
+        }
+    }
+
+    /**
+     * World bounds of all panel curves under the transform (from the cached
+     * curve hulls); a 200 mm square at the origin if nothing is finite.
+     */
+    private static Bounds2D computePanelBounds(PanelCurves p, Transform2D t) {
+        Bounds2D b = p.getBounds(t.getAngleRad(), t.getPivotX(), t.getPivotY(), t.getTx(), t.getTy());
+        return b.isEmpty() ? new Bounds2D(0.0, 0.0, 200.0, 200.0) : b;
+    }
+
+    private static Pt extremeByX(Curve2D c, boolean left) {
+        if (c == null) {
+            return null;
+        }
+        List<Pt> pts = c.getPoints();
+        if (pts == null || pts.isEmpty()) {
+            return null;
+        }
+
+        Pt best = null;
+        double bestX = left ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < pts.size(); i++) {
+            Pt p = pts.get(i);
+            if (p == null) {
+                continue;
+            }
+            double x = p.getX();
+            if (!Double.isFinite(x)) {
+                continue;
+            }
+
+            if (left ? x < bestX : x > bestX) {
+                bestX = x;
+                best = p;
+            }
+        }
+        return best;
+    }
+}
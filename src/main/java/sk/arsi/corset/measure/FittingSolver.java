@@ -0,0 +1,327 @@
+package sk.arsi.corset.measure;
+
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.resize.PanelResizer;
+import sk.arsi.corset.resize.ResizeMode;
+import sk.arsi.corset.resize.ResizeSpec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Made-to-measure fitting: chooses per-zone resize deltas that minimize the
+ * weighted squared error between the pattern circumference and a client's
+ * measurement table (bust, underbust, waist, high hip, hip at known heights
+ * from the waist).
+ *
+ * The model is {@link PanelResizer} + {@link MeasurementUtils#computeFullCircumference}.
+ * The Jacobian comes from {@link ResizeSensitivity} and is reused across
+ * iterations (chord Gauss-Newton): every iteration does one exact composite
+ * resize to measure the true residual, then a small weighted least-squares
+ * solve for the correction. Because the Jacobian is not updated a step can
+ * overshoot; the solver returns the iterate with the smallest weighted
+ * residual and stops as soon as a step makes it worse.
+ */
+public final class FittingSolver {
+
+    public static final int DEFAULT_MAX_ITERATIONS = 4;
+    public static final double DEFAULT_TOLERANCE_MM = 0.2;
+
+    // relative Tikhonov term, keeps zones that no measurement sees at 0
+    private static final double RIDGE = 1e-6;
+
+    /**
+     * One row of the client's measurement table.
+     */
+    public static final class FitTarget {
+
+        private final String name;
+        private final double dyMm;
+        private final double circumferenceMm;
+        private final double weight;
+
+        /**
+         * @param name label (e.g. "Bust")
+         * @param dyMm height from waist (+ up, - down)
+         * @param circumferenceMm wanted full circumference
+         * @param weight relative importance (> 0)
+         */
+        public FitTarget(String name, double dyMm, double circumferenceMm, double weight) {
+            if (weight <= 0.0) {
+                throw new IllegalArgumentException("weight must be > 0: " + name);
+            }
+            this.name = name;
+            this.dyMm = dyMm;
+            this.circumferenceMm = circumferenceMm;
+            this.weight = weight;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getDyMm() {
+            return dyMm;
+        }
+
+        public double getCircumferenceMm() {
+            return circumferenceMm;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+    }
+
+    /**
+     * Solver output: chosen deltas, resized panels and per-target residuals.
+     */
+    public static final class FitResult {
+
+        private final ResizeSpec spec;
+        private final List<PanelCurves> panels;
+        private final List<FitTarget> targets;
+        private final double[] achievedMm;
+        private final int iterations;
+
+        private FitResult(ResizeSpec spec, List<PanelCurves> panels, List<FitTarget> targets,
+                double[] achievedMm, int iterations) {
+            this.spec = spec;
+            this.panels = panels;
+            this.targets = targets;
+            this.achievedMm = achievedMm;
+            this.iterations = iterations;
+        }
+
+        public ResizeSpec getSpec() {
+            return spec;
+        }
+
+        /**
+         * Panels resized with {@link #getSpec()} (exact, not estimated).
+         */
+        public List<PanelCurves> getPanels() {
+            return panels;
+        }
+
+        public List<FitTarget> getTargets() {
+            return targets;
+        }
+
+        public double getAchievedMm(int index) {
+            return achievedMm[index];
+        }
+
+        /**
+         * Target minus achieved circumference (mm) for one measurement.
+         */
+        public double getResidualMm(int index) {
+            return targets.get(index).getCircumferenceMm() - achievedMm[index];
+        }
+
+        public double getMaxAbsResidualMm() {
+            double m = 0.0;
+            for (int i = 0; i < achievedMm.length; i++) {
+                m = Math.max(m, Math.abs(getResidualMm(i)));
+            }
+            return m;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+    }
+
+    private final PanelResizer resizer;
+    private final int maxIterations;
+    private final double toleranceMm;
+
+    public FittingSolver(PanelResizer resizer) {
+        this(resizer, DEFAULT_MAX_ITERATIONS, DEFAULT_TOLERANCE_MM);
+    }
+
+    public FittingSolver(PanelResizer resizer, int maxIterations, double toleranceMm) {
+        this.resizer = resizer;
+        this.maxIterations = Math.max(1, maxIterations);
+        this.toleranceMm = toleranceMm;
+    }
+
+    /**
+     * Fit with a fresh sensitivity model of {@code basePanels}.
+     */
+    public FitResult solve(List<PanelCurves> basePanels, List<FitTarget> targets, List<ResizeMode> zones) {
+        return solve(new ResizeSensitivity(basePanels, resizer), targets, zones);
+    }
+
+    /**
+     * Fit reusing an existing sensitivity model (its base panels are the
+     * starting geometry).
+     *
+     * @param sensitivity linear model of the base panels
+     * @param targets measurement table
+     * @param zones resize zones the solver may change
+     */
+    public FitResult solve(ResizeSensitivity sensitivity, List<FitTarget> targets, List<ResizeMode> zones) {
+        List<PanelCurves> base = sensitivity.getBasePanels();
+        List<FitTarget> rows = targets != null ? new ArrayList<>(targets) : new ArrayList<>();
+        List<ResizeMode> cols = new ArrayList<>();
+        if (zones != null) {
+            for (ResizeMode z : zones) {
+                if (z != null && z != ResizeMode.DISABLED && !cols.contains(z)) {
+                    cols.add(z);
+                }
+            }
+        }
+
+        int m = rows.size();
+        int n = cols.size();
+
+        double[] achieved = new double[m];
+        for (int i = 0; i < m; i++) {
+            achieved[i] = sensitivity.getBaseCircumference(rows.get(i).getDyMm());
+        }
+        if (m == 0 || n == 0 || base == null || base.isEmpty()) {
+            return new FitResult(ResizeSpec.empty(), base, Collections.unmodifiableList(rows), achieved, 0);
+        }
+
+        // Jacobian d(circumference_i)/d(delta_j), computed once
+        double[][] jac = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                jac[i][j] = sensitivity.getCircumferenceSlope(cols.get(j), rows.get(i).getDyMm());
+            }
+        }
+
+        // best iterate so far (the start counts): a chord step can overshoot
+        double[] delta = new double[n];
+        ResizeSpec spec = ResizeSpec.empty();
+        List<PanelCurves> panels = base;
+        double cost = weightedCost(rows, achieved);
+        int iterations = 0;
+
+        while (iterations < maxIterations) {
+            double[] r = new double[m];
+            double maxAbs = 0.0;
+            for (int i = 0; i < m; i++) {
+                r[i] = rows.get(i).getCircumferenceMm() - achieved[i];
+                maxAbs = Math.max(maxAbs, Math.abs(r[i]));
+            }
+            if (maxAbs <= toleranceMm) {
+                break;
+            }
+
+            double[] step = solveWeightedLeastSquares(jac, r, rows);
+            if (step == null) {
+                break;
+            }
+            double[] nextDelta = new double[n];
+            ResizeSpec nextSpec = ResizeSpec.empty();
+            for (int j = 0; j < n; j++) {
+                nextDelta[j] = delta[j] + step[j];
+                nextSpec = nextSpec.with(cols.get(j), nextDelta[j]);
+            }
+            List<PanelCurves> nextPanels = resizer.resize(base, nextSpec);
+            double[] nextAchieved = new double[m];
+            for (int i = 0; i < m; i++) {
+                nextAchieved[i] = MeasurementUtils.computeFullCircumference(nextPanels, rows.get(i).getDyMm());
+            }
+            iterations++;
+
+            double nextCost = weightedCost(rows, nextAchieved);
+            if (!(nextCost < cost)) {
+                // the reused Jacobian no longer points downhill; keep the best iterate
+                break;
+            }
+            delta = nextDelta;
+            spec = nextSpec;
+            panels = nextPanels;
+            achieved = nextAchieved;
+            cost = nextCost;
+        }
+
+        return new FitResult(spec, panels, Collections.unmodifiableList(rows), achieved, iterations);
+    }
+
+    /**
+     * Weighted sum of squared residuals.
+     */
+    private static double weightedCost(List<FitTarget> rows, double[] achieved) {
+        double sum = 0.0;
+        for (int i = 0; i < achieved.length; i++) {
+            double r = rows.get(i).getCircumferenceMm() - achieved[i];
+            sum += rows.get(i).getWeight() * r * r;
+        }
+        return sum;
+    }
+
+    /**
+     * Solve (J^T W J + ridge) x = J^T W r.
+     */
+    private static double[] solveWeightedLeastSquares(double[][] jac, double[] r, List<FitTarget> rows) {
+        int m = jac.length;
+        int n = jac[0].length;
+        double[][] a = new double[n][n + 1];
+        for (int i = 0; i < m; i++) {
+            double w = rows.get(i).getWeight();
+            for (int p = 0; p < n; p++) {
+                double wjp = w * jac[i][p];
+                for (int q = 0; q < n; q++) {
+                    a[p][q] += wjp * jac[i][q];
+                }
+                a[p][n] += wjp * r[i];
+            }
+        }
+
+        double maxDiag = 0.0;
+        for (int p = 0; p < n; p++) {
+            maxDiag = Math.max(maxDiag, a[p][p]);
+        }
+        if (maxDiag <= 0.0) {
+            return null; // no zone influences any measurement
+        }
+        double ridge = RIDGE * maxDiag;
+        for (int p = 0; p < n; p++) {
+            a[p][p] += ridge;
+        }
+        return gaussSolve(a);
+    }
+
+    /**
+     * Gaussian elimination with partial pivoting on an augmented n x (n+1)
+     * matrix.
+     */
+    private static double[] gaussSolve(double[][] a) {
+        int n = a.length;
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < n; row++) {
+                if (Math.abs(a[row][col]) > Math.abs(a[pivot][col])) {
+                    pivot = row;
+                }
+            }
+            if (Math.abs(a[pivot][col]) < 1e-15) {
+                return null;
+            }
+            double[] tmp = a[col];
+            a[col] = a[pivot];
+            a[pivot] = tmp;
+
+            for (int row = col + 1; row < n; row++) {
+                double f = a[row][col] / a[col][col];
+                for (int k = col; k <= n; k++) {
+                    a[row][k] -= f * a[col][k];
+                }
+            }
+        }
+        double[] x = new double[n];
+        for (int row = n - 1; row >= 0; row--) {
+            double sum = a[row][n];
+            for (int k = row + 1; k < n; k++) {
+                sum -= a[row][k] * x[k];
+            }
+            x[row] = sum / a[row][row];
+        }
+        return x;
+    }
+}
@@ -98,19 +98,7 @@ public final class MeasurementUtils {
         if (curve.getPoints() == null || curve.getPoints().size() < 2) {
             return 0.0;
         }
-        double sum = 0.0;
-        List<Pt> pts = curve.getPoints();
-        for (int i = 0; i < pts.size() - 1; ++i) {
-            Pt a = pts.get(i);
-            Pt b = pts.get(i + 1);
-            if (a == null || b == null) {
-                continue;
-            }
-            double dx = b.getX() - a.getX();
-            double dy = b.getY() - a.getY();
-            sum += Math.hypot(dx, dy);
-        }
-        return sum;
+        return curve.getArcLengthTable().getTotalLength();
     }
 
     // -------------------- Curve length portion --------------------
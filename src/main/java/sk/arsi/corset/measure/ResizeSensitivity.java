@@ -0,0 +1,232 @@
+package sk.arsi.corset.measure;
+
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.resize.PanelResizer;
+import sk.arsi.corset.resize.ResizeMode;
+import sk.arsi.corset.resize.ResizeSpec;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Linearized resize model for instant what-if estimates.
+ *
+ * Endpoint shifts in {@link PanelResizer} are linear in the delta, so
+ * circumference at a given dy and the seam measurements change (almost)
+ * linearly too. For each {@link ResizeMode} this class runs two
+ * finite-difference resizes (+step / -step) once and derives the slopes
+ * (Jacobian columns) from them:
+ *
+ * - d(circumference at dy) / d(delta), evaluated on demand per dy and cached,
+ * - d(seam measurement field) / d(delta) for every seam pair.
+ *
+ * Predictions for any {@link ResizeSpec} are then plain arithmetic. An instance
+ * is bound to one base panel list (pattern version); use {@link #isFor(List)}
+ * to decide when to rebuild it.
+ */
+public final class ResizeSensitivity {
+
+    /**
+     * Finite-difference step (mm of full circumference).
+     */
+    public static final double DEFAULT_STEP_MM = 4.0;
+
+    // SeamMeasurementData numeric fields, in constructor order
+    private static final int SEAM_FIELDS = 12;
+
+    // dy values are cached with 0.01 mm resolution
+    private static final double DY_KEY_SCALE = 100.0;
+
+    private final List<PanelCurves> basePanels;
+    private final PanelResizer resizer;
+    private final double stepMm;
+
+    private final List<SeamMeasurementData> baseSeams;
+    private final Map<ResizeMode, ModeSensitivity> modes;
+    private final Map<Long, Double> baseCircumference;
+
+    /**
+     * Finite-difference data for one resize mode.
+     */
+    private static final class ModeSensitivity {
+
+        final List<PanelCurves> plus;
+        final List<PanelCurves> minus;
+        final double[][] seamSlopes; // [pair][field]
+        final Map<Long, Double> circumferenceSlopes;
+
+        ModeSensitivity(List<PanelCurves> plus, List<PanelCurves> minus, double[][] seamSlopes) {
+            this.plus = plus;
+            this.minus = minus;
+            this.seamSlopes = seamSlopes;
+            this.circumferenceSlopes = new HashMap<>();
+        }
+    }
+
+    public ResizeSensitivity(List<PanelCurves> basePanels, PanelResizer resizer) {
+        this(basePanels, resizer, DEFAULT_STEP_MM);
+    }
+
+    public ResizeSensitivity(List<PanelCurves> basePanels, PanelResizer resizer, double stepMm) {
+        if (stepMm <= 0.0) {
+            throw new IllegalArgumentException("stepMm must be > 0");
+        }
+        this.basePanels = basePanels;
+        this.resizer = resizer;
+        this.stepMm = stepMm;
+        this.baseSeams = SeamMeasurementService.computeAllSeamMeasurements(basePanels);
+        this.modes = new EnumMap<>(ResizeMode.class);
+        this.baseCircumference = new HashMap<>();
+    }
+
+    /**
+     * True if this model was built for exactly this panel list instance.
+     */
+    public boolean isFor(List<PanelCurves> panels) {
+        return panels == basePanels;
+    }
+
+    public List<PanelCurves> getBasePanels() {
+        return basePanels;
+    }
+
+    public synchronized double getBaseCircumference(double dyMm) {
+        return baseCircumference.computeIfAbsent(dyKey(dyMm),
+                k -> MeasurementUtils.computeFullCircumference(basePanels, dyMm));
+    }
+
+    /**
+     * d(full circumference at dy) / d(delta) for one mode.
+     */
+    public synchronized double getCircumferenceSlope(ResizeMode mode, double dyMm) {
+        ModeSensitivity ms = mode(mode);
+        if (ms == null) {
+            return 0.0;
+        }
+        return ms.circumferenceSlopes.computeIfAbsent(dyKey(dyMm), k -> {
+            double cp = MeasurementUtils.computeFullCircumference(ms.plus, dyMm);
+            double cm = MeasurementUtils.computeFullCircumference(ms.minus, dyMm);
+            return (cp - cm) / (2.0 * stepMm);
+        });
+    }
+
+    /**
+     * Predicted full circumference at dy after applying {@code spec}.
+     */
+    public synchronized double predictCircumference(ResizeSpec spec, double dyMm) {
+        double c = getBaseCircumference(dyMm);
+        if (spec == null) {
+            return c;
+        }
+        for (Map.Entry<ResizeMode, Double> e : spec.asMap().entrySet()) {
+            c += getCircumferenceSlope(e.getKey(), dyMm) * e.getValue();
+        }
+        return c;
+    }
+
+    /**
+     * Predicted seam measurements (all lengths and differences) after
+     * applying {@code spec}.
+     */
+    public synchronized List<SeamMeasurementData> predictSeamMeasurements(ResizeSpec spec) {
+        List<SeamMeasurementData> out = new ArrayList<>(baseSeams.size());
+        for (int i = 0; i < baseSeams.size(); i++) {
+            SeamMeasurementData base = baseSeams.get(i);
+            double[] v = toArray(base);
+            if (spec != null) {
+                for (Map.Entry<ResizeMode, Double> e : spec.asMap().entrySet()) {
+                    ModeSensitivity ms = mode(e.getKey());
+                    if (ms == null || i >= ms.seamSlopes.length) {
+                        continue;
+                    }
+                    double[] slope = ms.seamSlopes[i];
+                    for (int f = 0; f < SEAM_FIELDS; f++) {
+                        v[f] += slope[f] * e.getValue();
+                    }
+                }
+            }
+            out.add(fromArray(base, v));
+        }
+        return out;
+    }
+
+    /**
+     * Seam measurement slopes for one mode: [pair][field] where fields follow
+     * the {@link SeamMeasurementData} constructor order (leftUpTop, rightUpTop,
+     * diffUpTop, ..., diffDownBottom).
+     */
+    public synchronized double[][] getSeamSlopes(ResizeMode mode) {
+        ModeSensitivity ms = mode(mode);
+        if (ms == null) {
+            return new double[0][SEAM_FIELDS];
+        }
+        double[][] copy = new double[ms.seamSlopes.length][];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = ms.seamSlopes[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Run the finite-difference resizes for the given modes up front (e.g. on a
+     * background thread) so later queries do not pay for them.
+     */
+    public synchronized void precompute(ResizeMode... toCompute) {
+        for (ResizeMode m : toCompute) {
+            mode(m);
+        }
+    }
+
+    private ModeSensitivity mode(ResizeMode mode) {
+        if (mode == null || mode == ResizeMode.DISABLED || basePanels == null || basePanels.isEmpty()) {
+            return null;
+        }
+        ModeSensitivity ms = modes.get(mode);
+        if (ms == null) {
+            List<PanelCurves> plus = resizer.resize(basePanels, mode, stepMm);
+            List<PanelCurves> minus = resizer.resize(basePanels, mode, -stepMm);
+
+            List<SeamMeasurementData> sp = SeamMeasurementService.computeAllSeamMeasurements(plus);
+            List<SeamMeasurementData> sm = SeamMeasurementService.computeAllSeamMeasurements(minus);
+            int pairs = Math.min(baseSeams.size(), Math.min(sp.size(), sm.size()));
+            double[][] seamSlopes = new double[pairs][SEAM_FIELDS];
+            for (int i = 0; i < pairs; i++) {
+                double[] a = toArray(sp.get(i));
+                double[] b = toArray(sm.get(i));
+                for (int f = 0; f < SEAM_FIELDS; f++) {
+                    seamSlopes[i][f] = (a[f] - b[f]) / (2.0 * stepMm);
+                }
+            }
+
+            ms = new ModeSensitivity(plus, minus, seamSlopes);
+            modes.put(mode, ms);
+        }
+        return ms;
+    }
+
+    private static long dyKey(double dyMm) {
+        return Math.round(dyMm * DY_KEY_SCALE);
+    }
+
+    private static double[] toArray(SeamMeasurementData d) {
+        return new double[]{
+            d.getLeftUpTop(), d.getRightUpTop(), d.getDiffUpTop(),
+            d.getLeftDownTop(), d.getRightDownTop(), d.getDiffDownTop(),
+            d.getLeftUpBottom(), d.getRightUpBottom(), d.getDiffUpBottom(),
+            d.getLeftDownBottom(), d.getRightDownBottom(), d.getDiffDownBottom()
+        };
+    }
+
+    private static SeamMeasurementData fromArray(SeamMeasurementData base, double[] v) {
+        return new SeamMeasurementData(
+                base.getSeamName(), base.getLeftPanel(), base.getRightPanel(),
+                v[0], v[1], v[2],
+                v[3], v[4], v[5],
+                v[6], v[7], v[8],
+                v[9], v[10], v[11]
+        );
+    }
+}
@@ -0,0 +1,299 @@
+package sk.arsi.corset.measure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sk.arsi.corset.model.Curve2D;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.resize.PanelResizer;
+import sk.arsi.corset.resize.ResizeMode;
+import sk.arsi.corset.resize.ResizeSpec;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Precomputed resize sweep for scrubbing the resize delta.
+ *
+ * For one base geometry, one fixed set of zone deltas and one
+ * {@link ResizeMode}, a background job resizes the panels on a grid of deltas
+ * (e.g. every 1 mm over +-40 mm), nearest to the current delta first, and
+ * stores the resized panels together with their seam measurements and valid dy
+ * range. Scrubbing within the grid is then a lookup; off-grid deltas are
+ * computed on demand and cached too.
+ *
+ * The cache is LRU-bounded by the total number of sampled points it holds.
+ */
+public final class ResizeSweepCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResizeSweepCache.class);
+
+    /**
+     * Default memory budget: total sampled points kept across all entries.
+     */
+    public static final long DEFAULT_MAX_POINTS = 4_000_000L;
+
+    // delta keys are quantized to 1 um
+    private static final double KEY_SCALE = 1000.0;
+
+    /**
+     * Resize result for one delta.
+     */
+    public static final class Entry {
+
+        private final double deltaMm;
+        private final List<PanelCurves> panels;
+        private final List<SeamMeasurementData> seamMeasurements;
+        private final MeasurementUtils.DyRange dyRange;
+        private final long pointCount;
+        private final Map<Long, Double> circumferences;
+
+        private Entry(double deltaMm, List<PanelCurves> panels, List<SeamMeasurementData> seamMeasurements,
+                MeasurementUtils.DyRange dyRange) {
+            this.deltaMm = deltaMm;
+            this.panels = panels;
+            this.seamMeasurements = seamMeasurements;
+            this.dyRange = dyRange;
+            this.pointCount = countPoints(panels);
+            this.circumferences = new HashMap<>();
+        }
+
+        public double getDeltaMm() {
+            return deltaMm;
+        }
+
+        public List<PanelCurves> getPanels() {
+            return panels;
+        }
+
+        public List<SeamMeasurementData> getSeamMeasurements() {
+            return seamMeasurements;
+        }
+
+        public MeasurementUtils.DyRange getDyRange() {
+            return dyRange;
+        }
+
+        /**
+         * Full circumference at dy, memoized per entry (0.01 mm dy
+         * resolution).
+         */
+        public synchronized double getCircumference(double dyMm) {
+            return circumferences.computeIfAbsent(Math.round(dyMm * 100.0),
+                    k -> MeasurementUtils.computeFullCircumference(panels, dyMm));
+        }
+    }
+
+    private final PanelResizer resizer;
+    private final long maxPoints;
+    private final ExecutorService worker;
+
+    // current sweep identity
+    private List<PanelCurves> base;
+    private ResizeSpec fixedSpec;
+    private ResizeMode mode;
+    private int generation;
+
+    private final LinkedHashMap<Long, Entry> entries;
+    private long totalPoints;
+
+    public ResizeSweepCache(PanelResizer resizer) {
+        this(resizer, DEFAULT_MAX_POINTS);
+    }
+
+    public ResizeSweepCache(PanelResizer resizer, long maxPoints) {
+        this.resizer = resizer;
+        this.maxPoints = Math.max(1L, maxPoints);
+        this.entries = new LinkedHashMap<>(64, 0.75f, true);
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "resize-sweep-worker");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /**
+     * Start (or restart) the background sweep. A running sweep for a
+     * different base, zone set or mode is abandoned and the cache cleared;
+     * the same sweep keeps its cached entries.
+     *
+     * @param basePanels geometry the deltas apply to
+     * @param fixedSpec zone deltas applied together with the swept mode
+     * @param sweepMode mode whose delta is swept
+     * @param centerMm current delta (grid is filled outwards from here)
+     * @param rangeMm half width of the grid
+     * @param stepMm grid step
+     */
+    public void start(List<PanelCurves> basePanels, ResizeSpec fixedSpec, ResizeMode sweepMode,
+            double centerMm, double rangeMm, double stepMm) {
+        if (basePanels == null || basePanels.isEmpty() || sweepMode == null
+                || sweepMode == ResizeMode.DISABLED || stepMm <= 0.0) {
+            cancel();
+            return;
+        }
+        ResizeSpec spec = fixedSpec != null ? fixedSpec : ResizeSpec.empty();
+
+        final int gen;
+        synchronized (this) {
+            if (!matches(basePanels, spec, sweepMode)) {
+                base = basePanels;
+                this.fixedSpec = spec;
+                mode = sweepMode;
+                entries.clear();
+                totalPoints = 0L;
+            }
+            gen = ++generation;
+        }
+
+        // Fixed grid -range..+range, visited nearest-to-current first
+        int steps = (int) Math.floor(rangeMm / stepMm);
+        List<Double> grid = new ArrayList<>(2 * steps + 1);
+        for (int k = -steps; k <= steps; k++) {
+            grid.add(k * stepMm);
+        }
+        grid.sort(Comparator.comparingDouble(d -> Math.abs(d - centerMm)));
+
+        worker.submit(() -> {
+            long t0 = System.nanoTime();
+            int computed = 0;
+            for (double delta : grid) {
+                synchronized (this) {
+                    if (gen != generation) {
+                        return; // superseded
+                    }
+                    if (entries.containsKey(key(delta))) {
+                        continue;
+                    }
+                }
+                Entry e = compute(basePanels, spec, sweepMode, delta);
+                if (!store(basePanels, spec, sweepMode, e)) {
+                    return;
+                }
+                computed++;
+            }
+            log.debug("Resize sweep {} computed {} entries in {} ms", sweepMode, computed,
+                    (System.nanoTime() - t0) / 1_000_000L);
+        });
+    }
+
+    /**
+     * True if the current sweep was started for exactly this base panel list
+     * instance, zone set and mode.
+     */
+    public synchronized boolean isFor(List<PanelCurves> basePanels, ResizeSpec fixedSpec, ResizeMode sweepMode) {
+        return matches(basePanels, fixedSpec != null ? fixedSpec : ResizeSpec.empty(), sweepMode);
+    }
+
+    /**
+     * Cached entry for the delta, or null if not (yet) computed.
+     */
+    public synchronized Entry lookup(List<PanelCurves> basePanels, ResizeSpec fixedSpec, ResizeMode sweepMode,
+            double deltaMm) {
+        if (!matches(basePanels, fixedSpec != null ? fixedSpec : ResizeSpec.empty(), sweepMode)) {
+            return null;
+        }
+        return entries.get(key(deltaMm));
+    }
+
+    /**
+     * Cached entry, or an exact resize computed now on the calling thread (and
+     * cached if it belongs to the current sweep).
+     */
+    public Entry getOrCompute(List<PanelCurves> basePanels, ResizeSpec fixedSpec, ResizeMode sweepMode,
+            double deltaMm) {
+        ResizeSpec spec = fixedSpec != null ? fixedSpec : ResizeSpec.empty();
+        Entry e = lookup(basePanels, spec, sweepMode, deltaMm);
+        if (e != null) {
+            return e;
+        }
+        e = compute(basePanels, spec, sweepMode, deltaMm);
+        store(basePanels, spec, sweepMode, e);
+        return e;
+    }
+
+    /**
+     * Stop the background sweep and drop all entries.
+     */
+    public synchronized void cancel() {
+        generation++;
+        base = null;
+        fixedSpec = null;
+        mode = null;
+        entries.clear();
+        totalPoints = 0L;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Stop the worker thread (the cache cannot be used afterwards).
+     */
+    public void shutdown() {
+        cancel();
+        worker.shutdownNow();
+    }
+
+    private Entry compute(List<PanelCurves> basePanels, ResizeSpec spec, ResizeMode sweepMode, double deltaMm) {
+        List<PanelCurves> panels = resizer.resize(basePanels, spec.plus(sweepMode, deltaMm));
+        List<SeamMeasurementData> seams = SeamMeasurementService.computeAllSeamMeasurements(panels);
+        MeasurementUtils.DyRange range = MeasurementUtils.computeValidDyRange(panels);
+        return new Entry(deltaMm, panels, seams, range);
+    }
+
+    private synchronized boolean store(List<PanelCurves> basePanels, ResizeSpec spec, ResizeMode sweepMode, Entry e) {
+        if (!matches(basePanels, spec, sweepMode)) {
+            return false;
+        }
+        Entry old = entries.put(key(e.deltaMm), e);
+        if (old != null) {
+            totalPoints -= old.pointCount;
+        }
+        totalPoints += e.pointCount;
+
+        // Evict least recently used entries over budget (keep the newest)
+        Iterator<Entry> it = entries.values().iterator();
+        while (totalPoints > maxPoints && entries.size() > 1 && it.hasNext()) {
+            Entry victim = it.next();
+            if (victim == e) {
+                continue;
+            }
+            totalPoints -= victim.pointCount;
+            it.remove();
+        }
+        return true;
+    }
+
+    private boolean matches(List<PanelCurves> basePanels, ResizeSpec spec, ResizeMode sweepMode) {
+        return base == basePanels && mode == sweepMode && spec.equals(fixedSpec);
+    }
+
+    private static long key(double deltaMm) {
+        return Math.round(deltaMm * KEY_SCALE);
+    }
+
+    private static long countPoints(List<PanelCurves> panels) {
+        long n = 0L;
+        if (panels == null) {
+            return n;
+        }
+        for (PanelCurves p : panels) {
+            n += points(p.getTop()) + points(p.getBottom()) + points(p.getWaist())
+                    + points(p.getSeamToPrevUp()) + points(p.getSeamToPrevDown())
+                    + points(p.getSeamToNextUp()) + points(p.getSeamToNextDown());
+        }
+        return n;
+    }
+
+    private static long points(Curve2D c) {
+        return c == null || c.getPoints() == null ? 0L : c.getPoints().size();
+    }
+}
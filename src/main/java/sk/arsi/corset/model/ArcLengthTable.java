@@ -0,0 +1,164 @@
+package sk.arsi.corset.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Arc-length parameterization of a polyline: cumulative length at every
+ * vertex, so a point or tangent at a given length is a binary search away.
+ * Segments with a null end contribute no length and are never interpolated.
+ */
+public final class ArcLengthTable {
+
+    private final List<Pt> points;
+    // cumulative[i] = length from the first point to point i
+    private final double[] cumulative;
+
+    private ArcLengthTable(List<Pt> points, double[] cumulative) {
+        this.points = points;
+        this.cumulative = cumulative;
+    }
+
+    /**
+     * Table over the points (the list is copied).
+     */
+    public static ArcLengthTable of(List<Pt> points) {
+        List<Pt> pts = points != null ? Collections.unmodifiableList(new ArrayList<>(points)) : Collections.emptyList();
+        return new ArcLengthTable(pts, prefixLengths(pts));
+    }
+
+    /**
+     * Table over points that are known not to change.
+     */
+    static ArcLengthTable ofImmutable(List<Pt> points) {
+        return new ArcLengthTable(points, prefixLengths(points));
+    }
+
+    private static double[] prefixLengths(List<Pt> pts) {
+        double[] cum = new double[pts.size()];
+        double length = 0.0;
+        for (int i = 1; i < pts.size(); i++) {
+            Pt p0 = pts.get(i - 1);
+            Pt p1 = pts.get(i);
+            if (p0 != null && p1 != null) {
+                double dx = p1.getX() - p0.getX();
+                double dy = p1.getY() - p0.getY();
+                length += Math.sqrt(dx * dx + dy * dy);
+            }
+            cum[i] = length;
+        }
+        return cum;
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+
+    public double getTotalLength() {
+        return cumulative.length > 0 ? cumulative[cumulative.length - 1] : 0.0;
+    }
+
+    /**
+     * Length from the first point to the point at {@code index}.
+     */
+    public double getLengthAt(int index) {
+        return cumulative[index];
+    }
+
+    /**
+     * Index of the first segment (from point i to i + 1) of positive length
+     * that ends at or beyond {@code length}, or -1 if there is none.
+     */
+    public int segmentAt(double length) {
+        int n = cumulative.length;
+        if (n < 2) {
+            return -1;
+        }
+        // smallest end index j in [1, n-1] with cumulative[j] >= length
+        int lo = 1;
+        int hi = n - 1;
+        if (!(cumulative[hi] >= length)) {
+            return -1;
+        }
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] >= length) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        // skip zero-length segments (only possible when length is at or below 0)
+        int j = lo;
+        while (j < n && cumulative[j] <= cumulative[j - 1]) {
+            j++;
+        }
+        return j < n ? j - 1 : -1;
+    }
+
+    /**
+     * Point at {@code length} from the start, or null if the polyline has no
+     * length or {@code length} is outside 0..total.
+     */
+    public Pt pointAt(double length) {
+        double total = getTotalLength();
+        if (total <= 0.0 || length < 0.0 || length > total) {
+            return null;
+        }
+        int i = segmentAt(length);
+        if (i < 0) {
+            return points.get(points.size() - 1);
+        }
+        Pt p0 = points.get(i);
+        Pt p1 = points.get(i + 1);
+        double dx = p1.getX() - p0.getX();
+        double dy = p1.getY() - p0.getY();
+        double t = (length - cumulative[i]) / Math.sqrt(dx * dx + dy * dy);
+        return new Pt(p0.getX() + t * dx, p0.getY() + t * dy);
+    }
+
+    /**
+     * Unit tangent of the segment containing {@code length}, or null if the
+     * polyline has no length or {@code length} is outside 0..total.
+     */
+    public Pt tangentAt(double length) {
+        double total = getTotalLength();
+        if (total <= 0.0 || length < 0.0 || length > total) {
+            return null;
+        }
+        int i = segmentAt(length);
+        if (i < 0) {
+            i = points.size() - 2;
+        }
+        Pt p0 = points.get(i);
+        Pt p1 = points.get(i + 1);
+        if (p0 == null || p1 == null) {
+            return null;
+        }
+        double dx = p1.getX() - p0.getX();
+        double dy = p1.getY() - p0.getY();
+        double segment = Math.sqrt(dx * dx + dy * dy);
+        return segment > 0.0 ? new Pt(dx / segment, dy / segment) : null;
+    }
+
+    /**
+     * {@link #pointAt} for a fraction (0..1) of the total length.
+     */
+    public Pt pointAtFraction(double fraction) {
+        if (fraction < 0.0 || fraction > 1.0) {
+            return null;
+        }
+        return pointAt(getTotalLength() * fraction);
+    }
+
+    /**
+     * {@link #tangentAt} for a fraction (0..1) of the total length.
+     */
+    public Pt tangentAtFraction(double fraction) {
+        if (fraction < 0.0 || fraction > 1.0) {
+            return null;
+        }
+        return tangentAt(getTotalLength() * fraction);
+    }
+}
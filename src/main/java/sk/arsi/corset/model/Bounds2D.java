@@ -0,0 +1,91 @@
+package sk.arsi.corset.model;
+
+/**
+ * Immutable axis-aligned bounding box. {@link #EMPTY} contains nothing and is
+ * the identity for {@link #union(Bounds2D)}.
+ */
+public final class Bounds2D {
+
+    public static final Bounds2D EMPTY = new Bounds2D(
+            Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    public Bounds2D(double minX, double minY, double maxX, double maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+    public double getWidth() {
+        return isEmpty() ? 0.0 : maxX - minX;
+    }
+
+    public double getHeight() {
+        return isEmpty() ? 0.0 : maxY - minY;
+    }
+
+    public boolean isEmpty() {
+        return !(minX <= maxX && minY <= maxY);
+    }
+
+    public Bounds2D union(Bounds2D o) {
+        if (o == null || o.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return o;
+        }
+        return new Bounds2D(Math.min(minX, o.minX), Math.min(minY, o.minY),
+                Math.max(maxX, o.maxX), Math.max(maxY, o.maxY));
+    }
+
+    public Bounds2D translate(double dx, double dy) {
+        return isEmpty() ? this : new Bounds2D(minX + dx, minY + dy, maxX + dx, maxY + dy);
+    }
+
+    /**
+     * Grown by {@code margin} on every side.
+     */
+    public Bounds2D expand(double margin) {
+        return isEmpty() ? this : new Bounds2D(minX - margin, minY - margin, maxX + margin, maxY + margin);
+    }
+
+    public boolean intersects(double oMinX, double oMinY, double oMaxX, double oMaxY) {
+        return !isEmpty() && minX <= oMaxX && oMinX <= maxX && minY <= oMaxY && oMinY <= maxY;
+    }
+
+    public boolean intersects(Bounds2D o) {
+        return o != null && intersects(o.minX, o.minY, o.maxX, o.maxY);
+    }
+
+    public boolean contains(double x, double y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    @Override
+    public String toString() {
+        return "Bounds2D[" + minX + ", " + minY + " .. " + maxX + ", " + maxY + "]";
+    }
+}
@@ -1,5 +1,6 @@
 package sk.arsi.corset.model;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -9,6 +10,11 @@ public final class Curve2D {
     private final String d; // original SVG path data
     private final List<Pt> points;
 
+    // Derived from the immutable points on first use (a racing recompute is harmless)
+    private volatile Bounds2D bounds;
+    private volatile List<Pt> hull;
+    private volatile ArcLengthTable arcLengths;
+
     public Curve2D(String id, String d, List<Pt> points) {
         if (id == null || id.trim().isEmpty()) {
             throw new IllegalArgumentException("Curve id is required.");
@@ -46,4 +52,130 @@ public final class Curve2D {
         return points.get(points.size() - 1);
     }
 
+    /**
+     * Local axis-aligned bounds of the finite points (cached).
+     */
+    public Bounds2D getBounds() {
+        Bounds2D b = bounds;
+        if (b == null) {
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (Pt p : points) {
+                if (!isFinite(p)) {
+                    continue;
+                }
+                minX = Math.min(minX, p.getX());
+                minY = Math.min(minY, p.getY());
+                maxX = Math.max(maxX, p.getX());
+                maxY = Math.max(maxY, p.getY());
+            }
+            b = minX <= maxX ? new Bounds2D(minX, minY, maxX, maxY) : Bounds2D.EMPTY;
+            bounds = b;
+        }
+        return b;
+    }
+
+    /**
+     * Convex hull of the finite points, counter-clockwise (cached). Extremes
+     * of the curve in any direction lie on the hull, so bounds under a rigid
+     * transform need only these vertices.
+     */
+    public List<Pt> getHull() {
+        List<Pt> h = hull;
+        if (h == null) {
+            h = Collections.unmodifiableList(computeHull());
+            hull = h;
+        }
+        return h;
+    }
+
+    /**
+     * Cumulative arc length along the points (cached), shared by notch
+     * placement and length measurement.
+     */
+    public ArcLengthTable getArcLengthTable() {
+        ArcLengthTable t = arcLengths;
+        if (t == null) {
+            t = ArcLengthTable.ofImmutable(points);
+            arcLengths = t;
+        }
+        return t;
+    }
+
+    /**
+     * Bounds after rotating by {@code angleRad} around the pivot and then
+     * translating; computed from the hull vertices only.
+     */
+    public Bounds2D getBounds(double angleRad, double pivotX, double pivotY, double tx, double ty) {
+        if (angleRad == 0.0) {
+            return getBounds().translate(tx, ty);
+        }
+        double cos = Math.cos(angleRad);
+        double sin = Math.sin(angleRad);
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (Pt p : getHull()) {
+            double dx = p.getX() - pivotX;
+            double dy = p.getY() - pivotY;
+            double x = pivotX + cos * dx - sin * dy + tx;
+            double y = pivotY + sin * dx + cos * dy + ty;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        return minX <= maxX ? new Bounds2D(minX, minY, maxX, maxY) : Bounds2D.EMPTY;
+    }
+
+    /**
+     * Andrew's monotone chain.
+     */
+    private List<Pt> computeHull() {
+        List<Pt> pts = new ArrayList<>(points.size());
+        for (Pt p : points) {
+            if (isFinite(p)) {
+                pts.add(p);
+            }
+        }
+        if (pts.size() < 3) {
+            return pts;
+        }
+        pts.sort((a, b) -> a.getX() != b.getX()
+                ? Double.compare(a.getX(), b.getX())
+                : Double.compare(a.getY(), b.getY()));
+
+        int n = pts.size();
+        Pt[] h = new Pt[2 * n];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            while (k >= 2 && cross(h[k - 2], h[k - 1], pts.get(i)) <= 0.0) {
+                k--;
+            }
+            h[k++] = pts.get(i);
+        }
+        for (int i = n - 2, lower = k + 1; i >= 0; i--) {
+            while (k >= lower && cross(h[k - 2], h[k - 1], pts.get(i)) <= 0.0) {
+                k--;
+            }
+            h[k++] = pts.get(i);
+        }
+
+        List<Pt> out = new ArrayList<>(k - 1);
+        for (int i = 0; i < k - 1; i++) {
+            out.add(h[i]);
+        }
+        return out;
+    }
+
+    private static double cross(Pt o, Pt a, Pt b) {
+        return (a.getX() - o.getX()) * (b.getY() - o.getY()) - (a.getY() - o.getY()) * (b.getX() - o.getX());
+    }
+
+    private static boolean isFinite(Pt p) {
+        return p != null && Double.isFinite(p.getX()) && Double.isFinite(p.getY());
+    }
 }
@@ -64,4 +64,18 @@ public final class PanelCurves {
     public Curve2D getSeamToNextDown() {
         return seamToNextDown;
     }
+
+    /**
+     * Bounds of all panel curves after rotating by {@code angleRad} around the
+     * pivot and translating (from the cached curve hulls).
+     */
+    public Bounds2D getBounds(double angleRad, double pivotX, double pivotY, double tx, double ty) {
+        Bounds2D b = Bounds2D.EMPTY;
+        for (Curve2D c : new Curve2D[]{top, bottom, waist, seamToPrevUp, seamToPrevDown, seamToNextUp, seamToNextDown}) {
+            if (c != null) {
+                b = b.union(c.getBounds(angleRad, pivotX, pivotY, tx, ty));
+            }
+        }
+        return b;
+    }
 }
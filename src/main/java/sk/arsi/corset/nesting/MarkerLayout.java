@@ -0,0 +1,92 @@
+package sk.arsi.corset.nesting;
+
+import org.locationtech.jts.geom.Geometry;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of nesting: parts placed on a fabric strip. Marker coordinates are
+ * in mm; X runs along the fabric length from 0, Y across the width from 0 to
+ * {@link #getFabricWidthMm()}.
+ */
+public final class MarkerLayout {
+
+    /**
+     * One placed part.
+     */
+    public static final class Placement {
+
+        private final NestingPart part;
+        private final int rotationDeg;
+        private final Geometry placed;
+
+        public Placement(NestingPart part, int rotationDeg, Geometry placed) {
+            this.part = part;
+            this.rotationDeg = rotationDeg;
+            this.placed = placed;
+        }
+
+        public NestingPart getPart() {
+            return part;
+        }
+
+        /**
+         * Rotation applied to the source outline, in degrees; positive
+         * angles turn +X towards +Y.
+         */
+        public int getRotationDeg() {
+            return rotationDeg;
+        }
+
+        /**
+         * Outline in marker coordinates.
+         */
+        public Geometry getPlaced() {
+            return placed;
+        }
+    }
+
+    private final List<Placement> placements;
+    private final double fabricWidthMm;
+    private final double lengthMm;
+    private final double partsAreaMm2;
+
+    public MarkerLayout(List<Placement> placements, double fabricWidthMm, double lengthMm) {
+        this.placements = Collections.unmodifiableList(placements);
+        this.fabricWidthMm = fabricWidthMm;
+        this.lengthMm = lengthMm;
+        double area = 0.0;
+        for (Placement p : placements) {
+            area += p.getPart().getArea();
+        }
+        this.partsAreaMm2 = area;
+    }
+
+    public List<Placement> getPlacements() {
+        return placements;
+    }
+
+    public double getFabricWidthMm() {
+        return fabricWidthMm;
+    }
+
+    /**
+     * Marker length: the right edge of the rightmost part.
+     */
+    public double getLengthMm() {
+        return lengthMm;
+    }
+
+    public double getPartsAreaMm2() {
+        return partsAreaMm2;
+    }
+
+    /**
+     * Fabric used by parts, 0..1 (parts area / marker area).
+     */
+    public double getUtilization() {
+        double marker = lengthMm * fabricWidthMm;
+        return marker > 0.0 ? partsAreaMm2 / marker : 0.0;
+    }
+}
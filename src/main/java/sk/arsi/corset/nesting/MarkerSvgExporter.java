@@ -0,0 +1,81 @@
+package sk.arsi.corset.nesting;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import sk.arsi.corset.export.PathDataEncoder;
+import sk.arsi.corset.export.SvgStreamWriter;
+import sk.arsi.corset.model.Pt;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes a nested marker as SVG: the fabric strip, every placed outline with
+ * its part id, and a line with length and utilization.
+ */
+public final class MarkerSvgExporter {
+
+    private static final double MARGIN_MM = 20.0;
+    private static final double LABEL_SIZE_MM = 12.0;
+    private static final double STATS_SIZE_MM = 10.0;
+
+    private MarkerSvgExporter() {
+        // utility class
+    }
+
+    /**
+     * @param layout nested marker
+     * @param outputFile output SVG file
+     * @throws Exception if export fails
+     */
+    public static void export(MarkerLayout layout, File outputFile) throws Exception {
+        double length = layout.getLengthMm();
+        double width = layout.getFabricWidthMm();
+
+        try (SvgStreamWriter out = new SvgStreamWriter(outputFile, PathDataEncoder.bezier(0.05, 3))) {
+            out.startSvg(-MARGIN_MM, -MARGIN_MM, length + 2 * MARGIN_MM, width + 3 * MARGIN_MM);
+
+            out.startGroup("fabric");
+            out.rect("fabric_used", 0.0, 0.0, length, width, "blue", "0.5");
+            out.endGroup();
+
+            out.startGroup("parts");
+            for (MarkerLayout.Placement p : layout.getPlacements()) {
+                String id = p.getPart().getId();
+                Geometry g = p.getPlaced();
+                int n = 0;
+                for (int i = 0; i < g.getNumGeometries(); i++) {
+                    if (!(g.getGeometryN(i) instanceof Polygon)) {
+                        continue;
+                    }
+                    Polygon poly = (Polygon) g.getGeometryN(i);
+                    out.path(n == 0 ? id : id + "_" + n, ringPoints(poly.getExteriorRing()), "black", "0.5");
+                    n++;
+                }
+                Point c = g.getInteriorPoint();
+                out.text(id + "_LABEL", c.getX(), c.getY(), LABEL_SIZE_MM, id);
+            }
+            out.endGroup();
+
+            out.startGroup("stats");
+            out.text("stats_text", 0.0, width + MARGIN_MM, STATS_SIZE_MM, String.format(Locale.ROOT,
+                    "%d parts, length %.1f mm, fabric width %.1f mm, utilization %.1f %%",
+                    layout.getPlacements().size(), length, width, layout.getUtilization() * 100.0));
+            out.endGroup();
+        }
+    }
+
+    private static List<Pt> ringPoints(LineString ring) {
+        Coordinate[] coords = ring.getCoordinates();
+        List<Pt> pts = new ArrayList<>(coords.length);
+        for (Coordinate c : coords) {
+            pts.add(new Pt(c.x, c.y));
+        }
+        return pts;
+    }
+}
@@ -0,0 +1,427 @@
+package sk.arsi.corset.nesting;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.util.AffineTransformation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Marker making: packs parts onto a fabric strip of fixed width so the used
+ * length is as short as possible.
+ *
+ * Each trial places the parts one by one in some order with a
+ * bottom-left-fill rule: for every allowed rotation and every row the part is
+ * pushed towards X = 0 until it no longer overlaps anything, and the position
+ * with the smallest right edge (then the lowest row) wins. Trials with
+ * different orderings run in parallel and the shortest marker is kept; the
+ * result is deterministic for a given seed.
+ *
+ * Overlap tests run on a conservative raster of the JTS outlines (each part
+ * dilated by half the spacing plus half a cell diagonal), one {@link BitSet}
+ * per fabric row, so a free raster position guarantees the outlines are at
+ * least the spacing apart.
+ */
+public final class NestingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(NestingEngine.class);
+
+    /**
+     * Allowed orientations relative to the grain. Panels are drafted with the
+     * grain vertical; the fabric length runs along marker X.
+     */
+    public enum Grain {
+        /**
+         * Grain along the fabric length, one way only (napped fabric).
+         */
+        LENGTHWISE_ONE_WAY(90),
+        /**
+         * Grain along the fabric length, either way.
+         */
+        LENGTHWISE(90, 270),
+        /**
+         * Grain across the fabric.
+         */
+        CROSSWISE(0, 180),
+        /**
+         * Any quarter turn.
+         */
+        ANY(0, 90, 180, 270);
+
+        private final int[] rotations;
+
+        Grain(int... rotations) {
+            this.rotations = rotations;
+        }
+
+        public int[] getRotations() {
+            return rotations.clone();
+        }
+    }
+
+    /**
+     * Immutable nesting options.
+     */
+    public static final class Options {
+
+        private final double fabricWidthMm;
+        private final double spacingMm;
+        private final double resolutionMm;
+        private final Grain grain;
+        private final int trials;
+        private final long seed;
+
+        private Options(double fabricWidthMm, double spacingMm, double resolutionMm, Grain grain, int trials, long seed) {
+            this.fabricWidthMm = fabricWidthMm;
+            this.spacingMm = spacingMm;
+            this.resolutionMm = resolutionMm;
+            this.grain = grain;
+            this.trials = trials;
+            this.seed = seed;
+        }
+
+        /**
+         * 1400 mm fabric, 2 mm spacing, 1 mm raster, lengthwise grain, 64
+         * trials.
+         */
+        public static Options defaults() {
+            return new Options(1400.0, 2.0, 1.0, Grain.LENGTHWISE, 64, 1L);
+        }
+
+        public Options withFabricWidthMm(double fabricWidthMm) {
+            if (!(fabricWidthMm > 0.0)) {
+                throw new IllegalArgumentException("Fabric width must be positive: " + fabricWidthMm);
+            }
+            return new Options(fabricWidthMm, spacingMm, resolutionMm, grain, trials, seed);
+        }
+
+        public Options withSpacingMm(double spacingMm) {
+            return new Options(fabricWidthMm, Math.max(0.0, spacingMm), resolutionMm, grain, trials, seed);
+        }
+
+        public Options withResolutionMm(double resolutionMm) {
+            if (!(resolutionMm > 0.0)) {
+                throw new IllegalArgumentException("Resolution must be positive: " + resolutionMm);
+            }
+            return new Options(fabricWidthMm, spacingMm, resolutionMm, grain, trials, seed);
+        }
+
+        public Options withGrain(Grain grain) {
+            return new Options(fabricWidthMm, spacingMm, resolutionMm, grain, trials, seed);
+        }
+
+        public Options withTrials(int trials) {
+            return new Options(fabricWidthMm, spacingMm, resolutionMm, grain, Math.max(1, trials), seed);
+        }
+
+        public Options withSeed(long seed) {
+            return new Options(fabricWidthMm, spacingMm, resolutionMm, grain, trials, seed);
+        }
+
+        public double getFabricWidthMm() {
+            return fabricWidthMm;
+        }
+
+        public double getSpacingMm() {
+            return spacingMm;
+        }
+
+        public Grain getGrain() {
+            return grain;
+        }
+    }
+
+    /**
+     * A part in one orientation: outline moved so its dilated envelope starts
+     * at (0, 0), and the per-row cell spans of the dilated outline.
+     */
+    private static final class Raster {
+
+        private final int rotationDeg;
+        private final Geometry outline;
+        private final int width;
+        private final int height;
+        // per row: start,end cell pairs (inclusive)
+        private final int[][] spans;
+
+        private Raster(int rotationDeg, Geometry outline, int width, int height, int[][] spans) {
+            this.rotationDeg = rotationDeg;
+            this.outline = outline;
+            this.width = width;
+            this.height = height;
+            this.spans = spans;
+        }
+    }
+
+    /**
+     * Outcome of one trial.
+     */
+    private static final class Trial {
+
+        private final int index;
+        private final MarkerLayout layout;
+
+        private Trial(int index, MarkerLayout layout) {
+            this.index = index;
+            this.layout = layout;
+        }
+    }
+
+    private NestingEngine() {
+        // utility class
+    }
+
+    /**
+     * Nest the parts.
+     *
+     * @param parts parts to place
+     * @param options fabric and search options
+     * @return the shortest marker found
+     * @throws IllegalArgumentException if there are no parts or a part does
+     * not fit the fabric width in any allowed orientation
+     */
+    public static MarkerLayout nest(List<NestingPart> parts, Options options) {
+        if (parts == null || parts.isEmpty()) {
+            throw new IllegalArgumentException("No parts to nest");
+        }
+
+        double r = options.resolutionMm;
+        int rows = (int) Math.floor(options.fabricWidthMm / r);
+
+        // Rasterize every part in every allowed orientation once; shared by all trials
+        List<Raster[]> rasters = new ArrayList<>(parts.size());
+        for (NestingPart part : parts) {
+            List<Raster> fitting = new ArrayList<>();
+            for (int rot : options.grain.rotations) {
+                Raster raster = rasterize(part.getOutline(), rot, options.spacingMm, r);
+                if (raster.height <= rows) {
+                    fitting.add(raster);
+                }
+            }
+            if (fitting.isEmpty()) {
+                throw new IllegalArgumentException("Part " + part.getId() + " does not fit the fabric width of "
+                        + options.fabricWidthMm + " mm with grain " + options.grain);
+            }
+            rasters.add(fitting.toArray(new Raster[0]));
+        }
+
+        long t0 = System.nanoTime();
+        Trial best = IntStream.range(0, options.trials)
+                .parallel()
+                .mapToObj(i -> new Trial(i, place(parts, rasters, ordering(parts, i, options.seed), rows, options)))
+                .min(Comparator.<Trial>comparingDouble(t -> t.layout.getLengthMm()).thenComparingInt(t -> t.index))
+                .orElseThrow();
+
+        if (log.isInfoEnabled()) {
+            log.info("Nested {} parts in {} trials ({} ms): length {} mm, utilization {} %", parts.size(),
+                    options.trials, (System.nanoTime() - t0) / 1_000_000,
+                    String.format(Locale.ROOT, "%.1f", best.layout.getLengthMm()),
+                    String.format(Locale.ROOT, "%.1f", best.layout.getUtilization() * 100.0));
+        }
+        return best.layout;
+    }
+
+    /**
+     * Part order of a trial: the first three are area, long side and short
+     * side descending; the rest perturb the area order with random swaps.
+     */
+    private static int[] ordering(List<NestingPart> parts, int trial, long seed) {
+        Integer[] idx = new Integer[parts.size()];
+        for (int i = 0; i < idx.length; i++) {
+            idx[i] = i;
+        }
+
+        Comparator<Integer> byArea = Comparator.comparingDouble(i -> -parts.get(i).getArea());
+        switch (trial) {
+            case 1:
+                Arrays.sort(idx, Comparator.<Integer>comparingDouble(i -> -longSide(parts.get(i))).thenComparing(byArea));
+                break;
+            case 2:
+                Arrays.sort(idx, Comparator.<Integer>comparingDouble(i -> -shortSide(parts.get(i))).thenComparing(byArea));
+                break;
+            default:
+                Arrays.sort(idx, byArea);
+                break;
+        }
+
+        int[] order = new int[idx.length];
+        for (int i = 0; i < idx.length; i++) {
+            order[i] = idx[i];
+        }
+        if (trial >= 3 && order.length > 1) {
+            Random rnd = new Random(seed * 1_000_003L + trial);
+            int swaps = 1 + rnd.nextInt(order.length);
+            for (int s = 0; s < swaps; s++) {
+                int a = rnd.nextInt(order.length);
+                int b = rnd.nextInt(order.length);
+                int tmp = order[a];
+                order[a] = order[b];
+                order[b] = tmp;
+            }
+        }
+        return order;
+    }
+
+    private static double longSide(NestingPart part) {
+        Envelope e = part.getOutline().getEnvelopeInternal();
+        return Math.max(e.getWidth(), e.getHeight());
+    }
+
+    private static double shortSide(NestingPart part) {
+        Envelope e = part.getOutline().getEnvelopeInternal();
+        return Math.min(e.getWidth(), e.getHeight());
+    }
+
+    /**
+     * Bottom-left fill of the parts in the given order.
+     */
+    private static MarkerLayout place(List<NestingPart> parts, List<Raster[]> rasters, int[] order, int rows, Options options) {
+        double r = options.resolutionMm;
+        BitSet[] grid = new BitSet[rows];
+        for (int i = 0; i < rows; i++) {
+            grid[i] = new BitSet();
+        }
+
+        List<MarkerLayout.Placement> placements = new ArrayList<>(order.length);
+        double length = 0.0;
+        for (int k : order) {
+            Raster bestRaster = null;
+            int bestDx = 0;
+            int bestDy = 0;
+            int bestRight = Integer.MAX_VALUE;
+
+            for (Raster raster : rasters.get(k)) {
+                for (int dy = 0; dy + raster.height <= rows; dy++) {
+                    // only positions whose right edge beats the best so far are of interest
+                    int limit = bestRight == Integer.MAX_VALUE ? Integer.MAX_VALUE : bestRight - raster.width - 1;
+                    int dx = leftmostFit(grid, raster, dy, limit);
+                    if (dx >= 0) {
+                        bestRaster = raster;
+                        bestDx = dx;
+                        bestDy = dy;
+                        bestRight = dx + raster.width;
+                    }
+                }
+            }
+
+            mark(grid, bestRaster, bestDx, bestDy);
+            Geometry placed = AffineTransformation.translationInstance(bestDx * r, bestDy * r).transform(bestRaster.outline);
+            placements.add(new MarkerLayout.Placement(parts.get(k), bestRaster.rotationDeg, placed));
+            length = Math.max(length, placed.getEnvelopeInternal().getMaxX());
+        }
+        return new MarkerLayout(placements, options.fabricWidthMm, length);
+    }
+
+    /**
+     * Smallest column offset at which the raster placed at row {@code dy}
+     * hits no occupied cell, or -1 if it is above {@code limit}. Each
+     * collision moves the part just past the occupied run it hit.
+     */
+    private static int leftmostFit(BitSet[] grid, Raster raster, int dy, int limit) {
+        int dx = 0;
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            for (int i = 0; i < raster.height; i++) {
+                BitSet row = grid[dy + i];
+                int[] spans = raster.spans[i];
+                for (int s = 0; s < spans.length; s += 2) {
+                    int from = dx + spans[s];
+                    int hit = row.nextSetBit(from);
+                    if (hit >= 0 && hit <= dx + spans[s + 1]) {
+                        dx = row.nextClearBit(hit) - spans[s];
+                        if (dx > limit) {
+                            return -1;
+                        }
+                        moved = true;
+                    }
+                }
+            }
+        }
+        return dx;
+    }
+
+    private static void mark(BitSet[] grid, Raster raster, int dx, int dy) {
+        for (int i = 0; i < raster.height; i++) {
+            int[] spans = raster.spans[i];
+            for (int s = 0; s < spans.length; s += 2) {
+                grid[dy + i].set(dx + spans[s], dx + spans[s + 1] + 1);
+            }
+        }
+    }
+
+    /**
+     * Rotate the outline, dilate it and scan-convert the dilated shape at
+     * cell centres.
+     */
+    private static Raster rasterize(Geometry outline, int rotationDeg, double spacingMm, double r) {
+        Geometry rotated = AffineTransformation.rotationInstance(Math.toRadians(rotationDeg)).transform(outline);
+        Geometry dilated = rotated.buffer(spacingMm / 2.0 + r * Math.sqrt(0.5));
+
+        Envelope env = dilated.getEnvelopeInternal();
+        AffineTransformation toOrigin = AffineTransformation.translationInstance(-env.getMinX(), -env.getMinY());
+        Geometry localOutline = toOrigin.transform(rotated);
+        Geometry localDilated = toOrigin.transform(dilated);
+
+        int width = (int) Math.ceil(env.getWidth() / r);
+        int height = (int) Math.ceil(env.getHeight() / r);
+
+        List<LineString> rings = new ArrayList<>();
+        for (int g = 0; g < localDilated.getNumGeometries(); g++) {
+            Geometry part = localDilated.getGeometryN(g);
+            if (part instanceof Polygon) {
+                Polygon poly = (Polygon) part;
+                rings.add(poly.getExteriorRing());
+                for (int h = 0; h < poly.getNumInteriorRing(); h++) {
+                    rings.add(poly.getInteriorRingN(h));
+                }
+            }
+        }
+
+        int[][] spans = new int[height][];
+        double[] xs = new double[16];
+        for (int j = 0; j < height; j++) {
+            double yc = (j + 0.5) * r;
+            int n = 0;
+            for (LineString ring : rings) {
+                Coordinate[] c = ring.getCoordinates();
+                for (int i = 1; i < c.length; i++) {
+                    double y1 = c[i - 1].y;
+                    double y2 = c[i].y;
+                    if ((y1 <= yc) != (y2 <= yc)) {
+                        if (n == xs.length) {
+                            xs = Arrays.copyOf(xs, n * 2);
+                        }
+                        xs[n++] = c[i - 1].x + (yc - y1) / (y2 - y1) * (c[i].x - c[i - 1].x);
+                    }
+                }
+            }
+            Arrays.sort(xs, 0, n);
+
+            int[] row = new int[n];
+            int m = 0;
+            for (int i = 0; i + 1 < n; i += 2) {
+                int a = (int) Math.ceil(xs[i] / r - 0.5);
+                int b = (int) Math.floor(xs[i + 1] / r - 0.5);
+                if (a <= b) {
+                    row[m++] = Math.max(0, a);
+                    row[m++] = b;
+                }
+            }
+            spans[j] = Arrays.copyOf(row, m);
+        }
+        return new Raster(rotationDeg, localOutline, width, height, spans);
+    }
+}
@@ -0,0 +1,124 @@
+package sk.arsi.corset.nesting;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.util.AffineTransformation;
+import sk.arsi.corset.export.CutPath;
+import sk.arsi.corset.export.CutterExporter;
+import sk.arsi.corset.model.Curve2D;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.Pt;
+import sk.arsi.corset.util.SeamAllowanceComputer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One piece to lay on the fabric: the cut outline of a panel including its
+ * seam allowances, as a JTS polygon in source (mm) coordinates.
+ */
+public final class NestingPart {
+
+    private static final GeometryFactory GF = new GeometryFactory();
+
+    private final String id;
+    private final Geometry outline;
+    private final double area;
+
+    public NestingPart(String id, Geometry outline) {
+        this.id = id;
+        this.outline = outline;
+        this.area = outline.getArea();
+    }
+
+    /**
+     * Parts for the panels: the closed cut contour united with the band
+     * between each internal seam and its allowance line.
+     *
+     * @param panels panels
+     * @param allowanceMm seam allowance; 0 for bare contours
+     * @param pairs also add a mirrored copy of every panel (the other half of
+     * the corset); its id gets a {@code _M} suffix
+     */
+    public static List<NestingPart> fromPanels(List<PanelCurves> panels, double allowanceMm, boolean pairs) {
+        List<NestingPart> parts = new ArrayList<>();
+        for (PanelCurves panel : panels) {
+            CutPath contour = CutterExporter.buildContour(panel);
+            if (contour == null || contour.getPoints().size() < 3) {
+                continue;
+            }
+
+            List<Geometry> pieces = new ArrayList<>();
+            pieces.add(polygon(contour.getPoints()));
+            if (allowanceMm > 0.0) {
+                addAllowanceBands(panel, allowanceMm, pieces);
+            }
+            Geometry outline = GF.buildGeometry(pieces).union();
+
+            String id = panel.getPanelId().name();
+            parts.add(new NestingPart(id, outline));
+            if (pairs) {
+                Geometry mirrored = AffineTransformation.reflectionInstance(0.0, 0.0, 0.0, 1.0).transform(outline);
+                parts.add(new NestingPart(id + "_M", mirrored));
+            }
+        }
+        return parts;
+    }
+
+    private static void addAllowanceBands(PanelCurves panel, double allowanceMm, List<Geometry> out) {
+        for (Curve2D seam : Arrays.asList(panel.getSeamToPrevUp(), panel.getSeamToPrevDown(),
+                panel.getSeamToNextUp(), panel.getSeamToNextDown())) {
+            if (seam == null || seam.getPoints() == null || !SeamAllowanceComputer.shouldGenerateAllowance(seam.getId())) {
+                continue;
+            }
+            List<Pt> offset = SeamAllowanceComputer.getOffsetCurve(seam, panel, allowanceMm);
+            if (offset == null || offset.size() < 2) {
+                continue;
+            }
+            // seam forward, allowance line backward
+            List<Pt> band = new ArrayList<>(seam.getPoints());
+            for (int i = offset.size() - 1; i >= 0; i--) {
+                band.add(offset.get(i));
+            }
+            out.add(polygon(band));
+        }
+    }
+
+    /**
+     * Valid polygon from a ring that may self-touch at corners.
+     */
+    private static Geometry polygon(List<Pt> pts) {
+        List<Coordinate> coords = new ArrayList<>(pts.size() + 1);
+        for (Pt p : pts) {
+            if (p != null && Double.isFinite(p.getX()) && Double.isFinite(p.getY())) {
+                coords.add(new Coordinate(p.getX(), p.getY()));
+            }
+        }
+        if (coords.size() < 3) {
+            return GF.createPolygon();
+        }
+        coords.add(new Coordinate(coords.get(0)));
+        LinearRing ring = GF.createLinearRing(coords.toArray(new Coordinate[0]));
+        Polygon poly = GF.createPolygon(ring);
+        return poly.isValid() ? poly : poly.buffer(0.0);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Outline in source coordinates (polygon or multipolygon).
+     */
+    public Geometry getOutline() {
+        return outline;
+    }
+
+    public double getArea() {
+        return area;
+    }
+}
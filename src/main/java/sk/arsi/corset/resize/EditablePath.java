@@ -0,0 +1,504 @@
+package sk.arsi.corset.resize;
+
+import sk.arsi.corset.model.Pt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Mutable, parsed form of SVG path data. The path is parsed once into absolute
+ * segments (M, L, Q, C, Z) held as doubles; endpoints can then be located and
+ * moved any number of times and the result is serialized back to a 'd' string
+ * once, with controlled precision.
+ *
+ * Supported input commands: M/m, L/l, H/h, V/v, C/c, S/s, Q/q, T/t, Z/z.
+ * H/V are converted to L, S/T are expanded to C/Q with reflected control
+ * points. Arcs (A/a) are not supported.
+ */
+public final class EditablePath {
+
+    /**
+     * Default number of decimals used when serializing edited paths (0.1 um
+     * for mm coordinates).
+     */
+    public static final int DEFAULT_PRECISION = 4;
+
+    /**
+     * Pass as precision to serialize coordinates without rounding.
+     */
+    public static final int FULL_PRECISION = -1;
+
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9
+    };
+
+    /**
+     * One absolute path segment.
+     */
+    private static final class Segment {
+
+        final char type; // M, L, Q, C, Z
+        final double[] coords;
+
+        Segment(char type, double[] coords) {
+            this.type = type;
+            this.coords = coords;
+        }
+    }
+
+    /**
+     * Handle to a segment end point (the target point of M, L, Q or C).
+     * Control points are not affected by endpoint edits.
+     */
+    public final class Endpoint {
+
+        private final int index;
+        private final Segment segment;
+
+        private Endpoint(int index, Segment segment) {
+            this.index = index;
+            this.segment = segment;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public double getX() {
+            return segment.coords[segment.coords.length - 2];
+        }
+
+        public double getY() {
+            return segment.coords[segment.coords.length - 1];
+        }
+
+        public void translate(double dx, double dy) {
+            if (dx == 0.0 && dy == 0.0) {
+                return;
+            }
+            segment.coords[segment.coords.length - 2] += dx;
+            segment.coords[segment.coords.length - 1] += dy;
+            modified = true;
+        }
+    }
+
+    private final List<Segment> segments;
+    private final List<Endpoint> endpoints;
+    private boolean modified;
+
+    private EditablePath() {
+        this.segments = new ArrayList<>();
+        this.endpoints = new ArrayList<>();
+        this.modified = false;
+    }
+
+    /**
+     * Parse SVG path data.
+     *
+     * @throws IllegalArgumentException on empty or malformed data
+     */
+    public static EditablePath parse(String d) {
+        if (d == null || d.trim().isEmpty()) {
+            throw new IllegalArgumentException("Empty path data");
+        }
+        EditablePath path = new EditablePath();
+        new Parser(d, path).run();
+        return path;
+    }
+
+    public int getEndpointCount() {
+        return endpoints.size();
+    }
+
+    public Endpoint getEndpoint(int index) {
+        return endpoints.get(index);
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return Collections.unmodifiableList(endpoints);
+    }
+
+    /**
+     * Snapshot of the current endpoint positions.
+     */
+    public List<Pt> getEndpointPoints() {
+        List<Pt> out = new ArrayList<>(endpoints.size());
+        for (Endpoint e : endpoints) {
+            out.add(new Pt(e.getX(), e.getY()));
+        }
+        return out;
+    }
+
+    public void translateEndpoint(int index, double dx, double dy) {
+        endpoints.get(index).translate(dx, dy);
+    }
+
+    /**
+     * True if any endpoint was moved since parsing.
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Index of the endpoint with minimum Y, or -1 if there are none.
+     */
+    public int findMinYEndpoint() {
+        int best = -1;
+        double bestY = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < endpoints.size(); i++) {
+            double y = endpoints.get(i).getY();
+            if (best < 0 || y < bestY) {
+                bestY = y;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Index of the endpoint with maximum Y, or -1 if there are none.
+     */
+    public int findMaxYEndpoint() {
+        int best = -1;
+        double bestY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < endpoints.size(); i++) {
+            double y = endpoints.get(i).getY();
+            if (best < 0 || y > bestY) {
+                bestY = y;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Indices of leftmost and rightmost endpoints (by X). Returns [left, right]
+     * or [-1, -1].
+     */
+    public int[] findLeftRightEndpoints() {
+        if (endpoints.isEmpty()) {
+            return new int[]{-1, -1};
+        }
+        int leftIndex = 0;
+        int rightIndex = 0;
+        double minX = endpoints.get(0).getX();
+        double maxX = minX;
+        for (int i = 1; i < endpoints.size(); i++) {
+            double x = endpoints.get(i).getX();
+            if (x < minX) {
+                minX = x;
+                leftIndex = i;
+            }
+            if (x > maxX) {
+                maxX = x;
+                rightIndex = i;
+            }
+        }
+        return new int[]{leftIndex, rightIndex};
+    }
+
+    /**
+     * Among all endpoints lying on the minimum Y, indices of the leftmost and
+     * rightmost. Returns [left, right] or [-1, -1].
+     */
+    public int[] findTopEdgeEndpoints() {
+        int minIndex = findMinYEndpoint();
+        if (minIndex < 0) {
+            return new int[]{-1, -1};
+        }
+        double minY = endpoints.get(minIndex).getY();
+
+        int leftIndex = -1;
+        int rightIndex = -1;
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < endpoints.size(); i++) {
+            Endpoint e = endpoints.get(i);
+            if (Math.abs(e.getY() - minY) < 1e-6) {
+                double x = e.getX();
+                if (x < minX) {
+                    minX = x;
+                    leftIndex = i;
+                }
+                if (x > maxX) {
+                    maxX = x;
+                    rightIndex = i;
+                }
+            }
+        }
+        return new int[]{leftIndex, rightIndex};
+    }
+
+    /**
+     * Serialize with {@link #DEFAULT_PRECISION} decimals.
+     */
+    public String toPathData() {
+        return toPathData(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Serialize as absolute path data ("M x y L x y C ... Z").
+     *
+     * @param decimals max number of decimals (trailing zeros are dropped), or
+     * {@link #FULL_PRECISION} for lossless output
+     */
+    public String toPathData(int decimals) {
+        StringBuilder sb = new StringBuilder(segments.size() * 24);
+        for (Segment s : segments) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(s.type);
+            for (double v : s.coords) {
+                sb.append(' ');
+                appendNumber(sb, v, decimals);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Append a coordinate rounded to at most {@code decimals} decimals without
+     * going through String.format. Negative decimals append the value as-is.
+     */
+    public static void appendNumber(StringBuilder sb, double v, int decimals) {
+        if (decimals < 0 || decimals >= POW10.length || !Double.isFinite(v)) {
+            sb.append(v);
+            return;
+        }
+        double scale = POW10[decimals];
+        double scaled = Math.abs(v) * scale;
+        if (scaled >= 1e15) {
+            sb.append(v);
+            return;
+        }
+        long r = Math.round(scaled);
+        if (r == 0) {
+            sb.append('0');
+            return;
+        }
+        if (v < 0) {
+            sb.append('-');
+        }
+        long unit = (long) scale;
+        sb.append(r / unit);
+        long frac = r % unit;
+        if (frac != 0) {
+            int digits = decimals;
+            while (frac % 10 == 0) {
+                frac /= 10;
+                digits--;
+            }
+            sb.append('.');
+            String f = Long.toString(frac);
+            for (int i = f.length(); i < digits; i++) {
+                sb.append('0');
+            }
+            sb.append(f);
+        }
+    }
+
+    private void add(char type, double... coords) {
+        Segment s = new Segment(type, coords);
+        segments.add(s);
+        if (type != 'Z') {
+            endpoints.add(new Endpoint(endpoints.size(), s));
+        }
+    }
+
+    /**
+     * Single-pass tokenizer converting every command to absolute segments.
+     */
+    private static final class Parser {
+
+        private final String d;
+        private final EditablePath out;
+        private int pos;
+
+        private double curX;
+        private double curY;
+        private double startX;
+        private double startY;
+        // last control point for S/T reflection
+        private double ctrlX;
+        private double ctrlY;
+        private char lastType;
+
+        Parser(String d, EditablePath out) {
+            this.d = d;
+            this.out = out;
+        }
+
+        void run() {
+            char cmd = 0;
+            while (true) {
+                skipSeparators();
+                if (pos >= d.length()) {
+                    break;
+                }
+                char c = d.charAt(pos);
+                if (Character.isLetter(c) && c != 'e' && c != 'E') {
+                    cmd = c;
+                    pos++;
+                    if (cmd == 'Z' || cmd == 'z') {
+                        closePath();
+                        continue;
+                    }
+                } else if (cmd == 0) {
+                    throw new IllegalArgumentException("Path data must start with a command: " + d);
+                } else if (cmd == 'M') {
+                    cmd = 'L'; // implicit lineto after moveto
+                } else if (cmd == 'm') {
+                    cmd = 'l';
+                } else if (cmd == 'Z' || cmd == 'z') {
+                    throw new IllegalArgumentException("Unexpected number after closepath: " + d);
+                }
+                command(cmd);
+            }
+        }
+
+        private void command(char cmd) {
+            boolean rel = Character.isLowerCase(cmd);
+            double bx = rel ? curX : 0.0;
+            double by = rel ? curY : 0.0;
+            switch (Character.toUpperCase(cmd)) {
+                case 'M': {
+                    curX = bx + number();
+                    curY = by + number();
+                    startX = curX;
+                    startY = curY;
+                    out.add('M', curX, curY);
+                    lastType = 'M';
+                    break;
+                }
+                case 'L': {
+                    curX = bx + number();
+                    curY = by + number();
+                    out.add('L', curX, curY);
+                    lastType = 'L';
+                    break;
+                }
+                case 'H': {
+                    curX = bx + number();
+                    out.add('L', curX, curY);
+                    lastType = 'L';
+                    break;
+                }
+                case 'V': {
+                    curY = by + number();
+                    out.add('L', curX, curY);
+                    lastType = 'L';
+                    break;
+                }
+                case 'C': {
+                    double x1 = bx + number();
+                    double y1 = by + number();
+                    cubic(x1, y1, bx, by);
+                    break;
+                }
+                case 'S': {
+                    double x1 = lastType == 'C' ? 2 * curX - ctrlX : curX;
+                    double y1 = lastType == 'C' ? 2 * curY - ctrlY : curY;
+                    cubic(x1, y1, bx, by);
+                    break;
+                }
+                case 'Q': {
+                    double x1 = bx + number();
+                    double y1 = by + number();
+                    quad(x1, y1, bx, by);
+                    break;
+                }
+                case 'T': {
+                    double x1 = lastType == 'Q' ? 2 * curX - ctrlX : curX;
+                    double y1 = lastType == 'Q' ? 2 * curY - ctrlY : curY;
+                    quad(x1, y1, bx, by);
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("Unsupported path command '" + cmd + "'");
+            }
+        }
+
+        private void cubic(double x1, double y1, double bx, double by) {
+            double x2 = bx + number();
+            double y2 = by + number();
+            double x = bx + number();
+            double y = by + number();
+            out.add('C', x1, y1, x2, y2, x, y);
+            ctrlX = x2;
+            ctrlY = y2;
+            curX = x;
+            curY = y;
+            lastType = 'C';
+        }
+
+        private void quad(double x1, double y1, double bx, double by) {
+            double x = bx + number();
+            double y = by + number();
+            out.add('Q', x1, y1, x, y);
+            ctrlX = x1;
+            ctrlY = y1;
+            curX = x;
+            curY = y;
+            lastType = 'Q';
+        }
+
+        private void closePath() {
+            out.add('Z');
+            curX = startX;
+            curY = startY;
+            lastType = 'Z';
+        }
+
+        private void skipSeparators() {
+            while (pos < d.length()) {
+                char c = d.charAt(pos);
+                if (c == ',' || Character.isWhitespace(c)) {
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+        }
+
+        private double number() {
+            skipSeparators();
+            int start = pos;
+            int n = d.length();
+            if (pos < n && (d.charAt(pos) == '-' || d.charAt(pos) == '+')) {
+                pos++;
+            }
+            boolean dot = false;
+            while (pos < n) {
+                char c = d.charAt(pos);
+                if (c >= '0' && c <= '9') {
+                    pos++;
+                } else if (c == '.' && !dot) {
+                    dot = true;
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            if (pos < n && (d.charAt(pos) == 'e' || d.charAt(pos) == 'E')) {
+                pos++;
+                if (pos < n && (d.charAt(pos) == '-' || d.charAt(pos) == '+')) {
+                    pos++;
+                }
+                while (pos < n && d.charAt(pos) >= '0' && d.charAt(pos) <= '9') {
+                    pos++;
+                }
+            }
+            if (start == pos) {
+                throw new IllegalArgumentException("Expected number at index " + start + " in path data: " + d);
+            }
+            try {
+                return Double.parseDouble(d.substring(start, pos));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid number at index " + start + " in path data: " + d, ex);
+            }
+        }
+    }
+}
@@ -7,12 +7,30 @@ import sk.arsi.corset.svg.PathSampler;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Resizes panels by editing original SVG path data and re-sampling.
+ * Resizes panels by editing original SVG path data and re-sampling. Each curve
+ * is parsed once into an {@link EditablePath}, edited in place by every zone of
+ * the {@link ResizeSpec} and serialized once before sampling.
  */
 public final class PanelResizer {
 
+    /**
+     * Decimals used when serializing edited path data.
+     */
+    private static final int PATH_PRECISION = EditablePath.DEFAULT_PRECISION;
+
+    // curve slots of PanelEdit
+    private static final int TOP = 0;
+    private static final int BOTTOM = 1;
+    private static final int WAIST = 2;
+    private static final int PREV_UP = 3;
+    private static final int PREV_DOWN = 4;
+    private static final int NEXT_UP = 5;
+    private static final int NEXT_DOWN = 6;
+    private static final int SLOT_COUNT = 7;
+
     private final PathSampler sampler;
     private final double flatnessMm;
     private final double resampleStepMm;
@@ -32,353 +50,283 @@ public final class PanelResizer {
      * @return resized panels (or originals if mode is DISABLED or delta is 0)
      */
     public List<PanelCurves> resize(List<PanelCurves> originalPanels, ResizeMode mode, double deltaMm) {
-        if (mode == ResizeMode.DISABLED || Math.abs(deltaMm) < 1e-9) {
+        return resize(originalPanels, ResizeSpec.of(mode, deltaMm));
+    }
+
+    /**
+     * Apply a composite resize: every zone of {@code spec} edits the same
+     * parsed paths, then each modified curve is re-sampled once.
+     *
+     * @param originalPanels the original panels (unmodified)
+     * @param spec per-zone deltas in mm
+     * @return resized panels (or originals if spec is empty)
+     */
+    public List<PanelCurves> resize(List<PanelCurves> originalPanels, ResizeSpec spec) {
+        if (originalPanels == null || originalPanels.isEmpty() || spec == null || spec.isEmpty()) {
             // Return original panels unchanged
             return originalPanels;
         }
 
         int panelCount = originalPanels.size();
-        double sideShiftMm = deltaMm / (4.0 * panelCount);
 
         List<PanelCurves> resized = new ArrayList<>();
 
         for (PanelCurves panel : originalPanels) {
-            PanelCurves resizedPanel;
-
-            if (null == mode) {
-                resizedPanel = panel; // Should not happen
-            } else {
-                switch (mode) {
-                    case TOP:
-                        resizedPanel = resizeTopMode(panel, sideShiftMm);
-                        break;
-                    case BOTTOM:
-                        resizedPanel = resizeBottomMode(panel, sideShiftMm);
-                        break;
-                    case GLOBAL:
-                        resizedPanel = resizeGlobalMode(panel, sideShiftMm);
-                        break;
-                    case HIP:
-                        resizedPanel = resizeHipMode(panel, sideShiftMm);
-                        break;
-                    case HIP1:
-                        resizedPanel = resizeHipMode1(panel, sideShiftMm);
-                        break;
-                    case RIB:
-                        resizedPanel = resizeRibMode(panel, sideShiftMm);
-                        break;
-                    case RIB1:
-                        resizedPanel = resizeRibMode1(panel, sideShiftMm);
-                        break;
-                    case WAIST:
-                        resizedPanel = resizeWaistMode(panel, sideShiftMm);
-                        break;
-                    default:
-                        resizedPanel = panel; // Should not happen
-                        break;
-                }
+            PanelEdit edit = new PanelEdit(panel);
+
+            for (Map.Entry<ResizeMode, Double> zone : spec.asMap().entrySet()) {
+                double sideShiftMm = zone.getValue() / (4.0 * panelCount);
+                applyZone(edit, zone.getKey(), sideShiftMm);
             }
 
-            resized.add(resizedPanel);
+            resized.add(edit.build());
         }
 
         return resized;
     }
 
+    private void applyZone(PanelEdit edit, ResizeMode mode, double sideShiftMm) {
+        switch (mode) {
+            case TOP:
+                resizeTopMode(edit, sideShiftMm);
+                break;
+            case BOTTOM:
+                resizeBottomMode(edit, sideShiftMm);
+                break;
+            case GLOBAL:
+                resizeGlobalMode(edit, sideShiftMm);
+                break;
+            case HIP:
+                resizeHipMode(edit, sideShiftMm);
+                break;
+            case HIP1:
+                resizeHipMode1(edit, sideShiftMm);
+                break;
+            case RIB:
+                resizeRibMode(edit, sideShiftMm);
+                break;
+            case RIB1:
+                resizeRibMode1(edit, sideShiftMm);
+                break;
+            case WAIST:
+                resizeWaistMode(edit, sideShiftMm);
+                break;
+            default:
+                break; // DISABLED: nothing to do
+        }
+    }
+
     /**
      * TOP mode: only resize top edge and UP seams. Leave waist, bottom, and
      * DOWN seams unchanged.
      */
-    private PanelCurves resizeTopMode(PanelCurves panel, double sideShiftMm) {
+    private void resizeTopMode(PanelEdit e, double sideShiftMm) {
         // Resize top edge: shift left endpoint by -sideShiftMm, right endpoint by +sideShiftMm
-        Curve2D top = resizeHorizontalEdge(panel.getTop(), sideShiftMm);
+        shiftHorizontalEdge(e.path(TOP), sideShiftMm, true, true);
 
         // Resize UP seams: shift minY endpoint
-        Curve2D seamToPrevUp = resizeSeamUp(panel.getSeamToPrevUp(), -sideShiftMm);
-        Curve2D seamToNextUp = resizeSeamUp(panel.getSeamToNextUp(), sideShiftMm);
-
-        // Keep waist, bottom, and DOWN seams unchanged
-        return new PanelCurves(
-                panel.getPanelId(),
-                top,
-                panel.getBottom(),
-                panel.getWaist(),
-                seamToPrevUp,
-                panel.getSeamToPrevDown(),
-                seamToNextUp,
-                panel.getSeamToNextDown()
-        );
+        shiftMinYEndpoint(e.path(PREV_UP), -sideShiftMm);
+        shiftMinYEndpoint(e.path(NEXT_UP), sideShiftMm);
     }
 
     /**
      * GLOBAL mode: resize all edges and seams.
      */
-    private PanelCurves resizeGlobalMode(PanelCurves panel, double sideShiftMm) {
+    private void resizeGlobalMode(PanelEdit e, double sideShiftMm) {
         // Resize horizontal edges (top, bottom, waist): shift left/right endpoints
-        Curve2D top = resizeHorizontalEdge(panel.getTop(), sideShiftMm);
-        Curve2D bottom = resizeHorizontalEdge(panel.getBottom(), sideShiftMm);
-        Curve2D waist = resizeHorizontalEdge(panel.getWaist(), sideShiftMm);
-
-        // Resize vertical seams: shift all endpoints
-        Curve2D seamToPrevUp = resizeVerticalSeam(panel.getSeamToPrevUp(), -sideShiftMm);
-        Curve2D seamToPrevDown = resizeVerticalSeam(panel.getSeamToPrevDown(), -sideShiftMm);
-        Curve2D seamToNextUp = resizeVerticalSeam(panel.getSeamToNextUp(), sideShiftMm);
-        Curve2D seamToNextDown = resizeVerticalSeam(panel.getSeamToNextDown(), sideShiftMm);
-
-        return new PanelCurves(
-                panel.getPanelId(),
-                top,
-                bottom,
-                waist,
-                seamToPrevUp,
-                seamToPrevDown,
-                seamToNextUp,
-                seamToNextDown
-        );
+        shiftHorizontalEdge(e.path(TOP), sideShiftMm, true, true);
+        shiftHorizontalEdge(e.path(BOTTOM), sideShiftMm, true, true);
+        shiftHorizontalEdge(e.path(WAIST), sideShiftMm, true, true);
+
+        // Resize vertical seams: shift top and bottom endpoints
+        shiftVerticalSeam(e.path(PREV_UP), -sideShiftMm);
+        shiftVerticalSeam(e.path(PREV_DOWN), -sideShiftMm);
+        shiftVerticalSeam(e.path(NEXT_UP), sideShiftMm);
+        shiftVerticalSeam(e.path(NEXT_DOWN), sideShiftMm);
     }
 
-    private PanelCurves resizeWaistMode(PanelCurves panel, double sideShiftMm) {
-        // Resize horizontal edges (top, bottom, waist): shift left/right endpoints
-        Curve2D waist = resizeHorizontalEdge(panel.getWaist(), sideShiftMm);
+    private void resizeWaistMode(PanelEdit e, double sideShiftMm) {
+        shiftHorizontalEdge(e.path(WAIST), sideShiftMm, true, true);
 
-        // Resize vertical seams: shift all endpoints
-        Curve2D seamToPrevUp = resizeSeamDown(panel.getSeamToPrevUp(), -sideShiftMm);
-        Curve2D seamToPrevDown = resizeSeamUp(panel.getSeamToPrevDown(), -sideShiftMm);
-        Curve2D seamToNextUp = resizeSeamDown(panel.getSeamToNextUp(), sideShiftMm);
-        Curve2D seamToNextDown = resizeSeamUp(panel.getSeamToNextDown(), sideShiftMm);
-
-        return new PanelCurves(
-                panel.getPanelId(),
-                panel.getTop(),
-                panel.getBottom(),
-                waist,
-                seamToPrevUp,
-                seamToPrevDown,
-                seamToNextUp,
-                seamToNextDown
-        );
+        // Resize seams at the waist end: bottom end of UP seams, top end of DOWN seams
+        shiftMaxYEndpoint(e.path(PREV_UP), -sideShiftMm);
+        shiftMinYEndpoint(e.path(PREV_DOWN), -sideShiftMm);
+        shiftMaxYEndpoint(e.path(NEXT_UP), sideShiftMm);
+        shiftMinYEndpoint(e.path(NEXT_DOWN), sideShiftMm);
     }
 
-    /**
-     * Resize top edge curve: find two endpoints with minY (or
-     * leftmost/rightmost among minY), shift left by -shift and right by +shift.
-     */
-    private Curve2D resizeTopEdge(Curve2D curve, double shift) {
-        String d = curve.getD();
-        if (d == null || d.trim().isEmpty()) {
-            return curve; // No SVG path data, return unchanged
-        }
+    private void resizeBottomMode(PanelEdit e, double sideShiftMm) {
+        shiftHorizontalEdge(e.path(BOTTOM), sideShiftMm, true, true);
 
-        int[] indices = SvgPathEditor.findTopEdgeEndpoints(d);
-        int leftIndex = indices[0];
-        int rightIndex = indices[1];
-
-        if (leftIndex < 0 || rightIndex < 0) {
-            return curve; // No endpoints found
-        }
+        // Resize DOWN seams: shift maxY endpoint
+        shiftMaxYEndpoint(e.path(PREV_DOWN), -sideShiftMm);
+        shiftMaxYEndpoint(e.path(NEXT_DOWN), sideShiftMm);
+    }
 
-        // Apply shifts
-        String modified = d;
+    private void resizeHipMode(PanelEdit e, double sideShiftMm) {
+        char id = e.letter();
 
-        // If same index, only shift once
-        if (leftIndex == rightIndex) {
-            // Edge case: only one top endpoint, don't shift
-            return curve;
+        if (id == 'C') {
+            shiftHorizontalEdge(e.path(BOTTOM), sideShiftMm, false, true);
+            shiftMaxYEndpoint(e.path(NEXT_DOWN), sideShiftMm);
+        } else if (id == 'D') {
+            shiftHorizontalEdge(e.path(BOTTOM), sideShiftMm, true, false);
+            shiftMaxYEndpoint(e.path(PREV_DOWN), -sideShiftMm);
         }
+    }
 
-        // Shift left endpoint first (if leftIndex < rightIndex)
-        // Need to be careful about index changes when modifying
-        if (leftIndex < rightIndex) {
-            modified = SvgPathEditor.modifyEndpoint(modified, leftIndex, -shift, 0.0);
-            modified = SvgPathEditor.modifyEndpoint(modified, rightIndex, shift, 0.0);
-        } else {
-            modified = SvgPathEditor.modifyEndpoint(modified, rightIndex, shift, 0.0);
-            modified = SvgPathEditor.modifyEndpoint(modified, leftIndex, -shift, 0.0);
-        }
+    private void resizeHipMode1(PanelEdit e, double sideShiftMm) {
+        char id = e.letter();
 
-        return resampleCurve(curve, modified);
+        if (id == 'C' || id == 'D') {
+            shiftHorizontalEdge(e.path(BOTTOM), sideShiftMm, true, true);
+            shiftMaxYEndpoint(e.path(NEXT_DOWN), sideShiftMm);
+            shiftMaxYEndpoint(e.path(PREV_DOWN), -sideShiftMm);
+        } else if (id == 'E') {
+            shiftHorizontalEdge(e.path(BOTTOM), sideShiftMm, true, false);
+            shiftMaxYEndpoint(e.path(PREV_DOWN), -sideShiftMm);
+        } else if (id == 'B') {
+            shiftHorizontalEdge(e.path(BOTTOM), sideShiftMm, false, true);
+            shiftMaxYEndpoint(e.path(NEXT_DOWN), sideShiftMm);
+        }
     }
 
-    /**
-     * Resize UP seam: find endpoint with minY and shift its X coordinate.
-     */
-    private Curve2D resizeSeamUp(Curve2D curve, double shiftX) {
-        String d = curve.getD();
-        if (d == null || d.trim().isEmpty()) {
-            return curve;
-        }
+    private void resizeRibMode(PanelEdit e, double sideShiftMm) {
+        char id = e.letter();
 
-        int minYIndex = SvgPathEditor.findMinYEndpoint(d);
-        if (minYIndex < 0) {
-            return curve;
+        if (id == 'C') {
+            shiftHorizontalEdge(e.path(TOP), sideShiftMm, false, true);
+            shiftMinYEndpoint(e.path(NEXT_UP), sideShiftMm);
+        } else if (id == 'D') {
+            shiftHorizontalEdge(e.path(TOP), sideShiftMm, true, false);
+            shiftMinYEndpoint(e.path(PREV_UP), -sideShiftMm);
         }
-
-        String modified = SvgPathEditor.modifyEndpoint(d, minYIndex, shiftX, 0.0);
-        return resampleCurve(curve, modified);
     }
 
-    private Curve2D resizeSeamDown(Curve2D curve, double shiftX) {
-        String d = curve.getD();
-        if (d == null || d.trim().isEmpty()) {
-            return curve;
-        }
+    private void resizeRibMode1(PanelEdit e, double sideShiftMm) {
+        char id = e.letter();
 
-        int maxYIndex = SvgPathEditor.findMaxYEndpoint(d);
-        if (maxYIndex < 0) {
-            return curve;
+        if (id == 'C' || id == 'D') {
+            shiftHorizontalEdge(e.path(TOP), sideShiftMm, true, true);
+            shiftMinYEndpoint(e.path(NEXT_UP), sideShiftMm);
+            shiftMinYEndpoint(e.path(PREV_UP), -sideShiftMm);
+        } else if (id == 'E') {
+            shiftHorizontalEdge(e.path(TOP), sideShiftMm, true, false);
+            shiftMinYEndpoint(e.path(PREV_UP), -sideShiftMm);
+        } else if (id == 'B') {
+            shiftHorizontalEdge(e.path(TOP), sideShiftMm, false, true);
+            shiftMinYEndpoint(e.path(NEXT_UP), sideShiftMm);
         }
-
-        String modified = SvgPathEditor.modifyEndpoint(d, maxYIndex, shiftX, 0.0);
-        return resampleCurve(curve, modified);
     }
 
+    // ---- endpoint edits on a parsed path (no re-parsing between edits) ----
     /**
-     * Resize horizontal edge (top, bottom, waist): shift leftmost and rightmost
-     * endpoints.
+     * Horizontal edge (top, bottom, waist): shift leftmost endpoint by -shift
+     * and/or rightmost by +shift.
      */
-    private Curve2D resizeHorizontalEdge(Curve2D curve, double shift) {
-        String d = curve.getD();
-        if (d == null || d.trim().isEmpty()) {
-            return curve;
+    private static void shiftHorizontalEdge(EditablePath path, double shift, boolean left, boolean right) {
+        if (path == null) {
+            return;
         }
-
-        int[] indices = SvgPathEditor.findLeftRightEndpoints(d);
+        int[] indices = path.findLeftRightEndpoints();
         int leftIndex = indices[0];
         int rightIndex = indices[1];
 
-        if (leftIndex < 0 || rightIndex < 0) {
-            return curve;
+        // No or only one endpoint
+        if (leftIndex < 0 || rightIndex < 0 || leftIndex == rightIndex) {
+            return;
         }
-
-        String modified = d;
-
-        if (leftIndex == rightIndex) {
-            // Only one endpoint
-            return curve;
+        if (left) {
+            path.translateEndpoint(leftIndex, -shift, 0.0);
         }
-
-        if (leftIndex < rightIndex) {
-            modified = SvgPathEditor.modifyEndpoint(modified, leftIndex, -shift, 0.0);
-            modified = SvgPathEditor.modifyEndpoint(modified, rightIndex, shift, 0.0);
-        } else {
-            modified = SvgPathEditor.modifyEndpoint(modified, rightIndex, shift, 0.0);
-            modified = SvgPathEditor.modifyEndpoint(modified, leftIndex, -shift, 0.0);
+        if (right) {
+            path.translateEndpoint(rightIndex, shift, 0.0);
         }
-
-        return resampleCurve(curve, modified);
     }
 
-    private Curve2D resizeHorizontalEdgeMin(Curve2D curve, double shift) {
-        String d = curve.getD();
-        if (d == null || d.trim().isEmpty()) {
-            return curve;
-        }
-
-        int[] indices = SvgPathEditor.findLeftRightEndpoints(d);
-        int leftIndex = indices[0];
-        int rightIndex = indices[1];
-
-        if (leftIndex < 0 || rightIndex < 0) {
-            return curve;
+    /**
+     * UP seam end: shift the X of the endpoint with minY.
+     */
+    private static void shiftMinYEndpoint(EditablePath path, double shiftX) {
+        if (path == null) {
+            return;
         }
-
-        String modified = d;
-
-        if (leftIndex == rightIndex) {
-            // Only one endpoint
-            return curve;
+        int minYIndex = path.findMinYEndpoint();
+        if (minYIndex >= 0) {
+            path.translateEndpoint(minYIndex, shiftX, 0.0);
         }
-
-        // shift only left endpoint
-        modified = SvgPathEditor.modifyEndpoint(modified, leftIndex, -shift, 0.0);
-
-        return resampleCurve(curve, modified);
     }
 
-    private Curve2D resizeHorizontalEdgeMax(Curve2D curve, double shift) {
-        String d = curve.getD();
-        if (d == null || d.trim().isEmpty()) {
-            return curve;
+    private static void shiftMaxYEndpoint(EditablePath path, double shiftX) {
+        if (path == null) {
+            return;
         }
-
-        int[] indices = SvgPathEditor.findLeftRightEndpoints(d);
-        int leftIndex = indices[0];
-        int rightIndex = indices[1];
-
-        if (leftIndex < 0 || rightIndex < 0) {
-            return curve;
-        }
-
-        String modified = d;
-
-        if (leftIndex == rightIndex) {
-            // Only one endpoint
-            return curve;
+        int maxYIndex = path.findMaxYEndpoint();
+        if (maxYIndex >= 0) {
+            path.translateEndpoint(maxYIndex, shiftX, 0.0);
         }
-
-        // shift only right endpoint
-        modified = SvgPathEditor.modifyEndpoint(modified, rightIndex, shift, 0.0);
-
-        return resampleCurve(curve, modified);
     }
 
     /**
-     * Resize vertical seam: shift both top and bottom endpoints horizontally.
-     * This provides a simple, predictable widening/narrowing of the seam.
+     * Vertical seam: shift both top and bottom endpoints horizontally. This
+     * provides a simple, predictable widening/narrowing of the seam.
      */
-    private Curve2D resizeVerticalSeam(Curve2D curve, double shiftX) {
-        String d = curve.getD();
-        if (d == null || d.trim().isEmpty()) {
-            return curve;
+    private static void shiftVerticalSeam(EditablePath path, double shiftX) {
+        if (path == null) {
+            return;
         }
-
-        // For vertical seams in GLOBAL mode, shift both the topmost (minY)
-        // and bottommost (maxY) endpoints by shiftX to widen/narrow the panel
-        int minYIndex = SvgPathEditor.findMinYEndpoint(d);
-        int maxYIndex = SvgPathEditor.findMaxYEndpoint(d);
-
+        int minYIndex = path.findMinYEndpoint();
+        int maxYIndex = path.findMaxYEndpoint();
         if (minYIndex < 0 || maxYIndex < 0) {
-            return curve;
+            return;
         }
-
-        String modified = d;
-
-        // Shift top endpoint
-        modified = SvgPathEditor.modifyEndpoint(modified, minYIndex, shiftX, 0.0);
-
+        path.translateEndpoint(minYIndex, shiftX, 0.0);
         // Shift bottom endpoint (if different from top)
         if (maxYIndex != minYIndex) {
-            modified = SvgPathEditor.modifyEndpoint(modified, maxYIndex, shiftX, 0.0);
+            path.translateEndpoint(maxYIndex, shiftX, 0.0);
         }
+    }
 
-        return resampleCurve(curve, modified);
+    /**
+     * Parse the curve's original path data once. Returns null when the curve
+     * has no 'd' or it cannot be parsed, in which case the curve is left
+     * unchanged.
+     */
+    private static EditablePath parsePath(Curve2D curve) {
+        if (curve == null) {
+            return null;
+        }
+        String d = curve.getD();
+        if (d == null || d.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return EditablePath.parse(d);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
     }
 
     /**
-     * Re-sample modified path data to create new Curve2D.
+     * Serialize the edited path once and re-sample it to create new Curve2D.
      *
      * This variant accepts the original Curve2D so that on failure it can
      * return the original curve (avoiding exceptions when sampler returns < 2
      * points).
      */
-    private Curve2D resampleCurve(Curve2D original, String d) {
+    private Curve2D resampleCurve(Curve2D original, EditablePath path) {
         if (original == null) {
             return null;
         }
-        if (d == null || d.trim().isEmpty()) {
+        if (path == null || !path.isModified()) {
             return original;
         }
 
-        // Normalize path before sampling to stabilize input
-        String normalized = d;
-        try {
-            normalized = SvgPathEditor.normalizePath(d);
-        } catch (Throwable ignored) {
-            // ignore normalization failure; still try to sample original d
-        }
+        // Serialized output is already absolute and normalized
+        String d = path.toPathData(PATH_PRECISION);
 
         try {
-            Curve2D sampled = sampler.samplePath(original.getId(), normalized, flatnessMm, resampleStepMm);
+            Curve2D sampled = sampler.samplePath(original.getId(), d, flatnessMm, resampleStepMm);
             if (sampled == null || sampled.getPoints() == null || sampled.getPoints().size() < 2) {
                 // Sampler produced an invalid curve — keep original to avoid crashing UI
                 return original;
@@ -390,212 +338,64 @@ public final class PanelResizer {
         }
     }
 
-    private PanelCurves resizeBottomMode(PanelCurves panel, double sideShiftMm) {
-        Curve2D bottom = resizeHorizontalEdge(panel.getBottom(), sideShiftMm);
+    /**
+     * Edit state of one panel: curves are parsed lazily on first touch and
+     * shared by all zones, then re-sampled once in {@link #build()}.
+     */
+    private final class PanelEdit {
 
-        // Resize DOWN seams: shift maxY endpoint
-        Curve2D seamToPrevDown = resizeSeamDown(panel.getSeamToPrevDown(), -sideShiftMm);
-        Curve2D seamToNextDown = resizeSeamDown(panel.getSeamToNextDown(), sideShiftMm);
+        private final PanelCurves panel;
+        private final Curve2D[] curves;
+        private final EditablePath[] paths;
+        private final boolean[] parsed;
 
-        return new PanelCurves(
-                panel.getPanelId(),
+        PanelEdit(PanelCurves panel) {
+            this.panel = panel;
+            this.curves = new Curve2D[]{
                 panel.getTop(),
-                bottom,
+                panel.getBottom(),
                 panel.getWaist(),
                 panel.getSeamToPrevUp(),
-                seamToPrevDown,
+                panel.getSeamToPrevDown(),
                 panel.getSeamToNextUp(),
-                seamToNextDown
-        );
-    }
-
-    private PanelCurves resizeHipMode(PanelCurves panel, double sideShiftMm) {
-        PanelId idObj = panel.getPanelId();
-        if (idObj == null) {
-            return panel;
-        }
-        char id = idObj.letter();
-
-        if (id != 'C' && id != 'D') {
-            return panel;
-        }
-        if (id == 'C') {
-            Curve2D bottom = resizeHorizontalEdgeMax(panel.getBottom(), sideShiftMm);
-            Curve2D seamToNextDown = resizeSeamDown(panel.getSeamToNextDown(), sideShiftMm);
-            return new PanelCurves(
-                    panel.getPanelId(),
-                    panel.getTop(),
-                    bottom,
-                    panel.getWaist(),
-                    panel.getSeamToPrevUp(),
-                    panel.getSeamToPrevDown(),
-                    panel.getSeamToNextUp(),
-                    seamToNextDown
-            );
-        } else {
-            // panel D
-            Curve2D bottom = resizeHorizontalEdgeMin(panel.getBottom(), sideShiftMm);
-            Curve2D seamToPrevDown = resizeSeamDown(panel.getSeamToPrevDown(), -sideShiftMm);
-            return new PanelCurves(
-                    panel.getPanelId(),
-                    panel.getTop(),
-                    bottom,
-                    panel.getWaist(),
-                    panel.getSeamToPrevUp(),
-                    seamToPrevDown,
-                    panel.getSeamToNextUp(),
-                    panel.getSeamToNextDown()
-            );
-        }
-    }
-
-    private PanelCurves resizeHipMode1(PanelCurves panel, double sideShiftMm) {
-        PanelId idObj = panel.getPanelId();
-        if (idObj == null) {
-            return panel;
-        }
-        char id = idObj.letter();
-
-        if (id != 'B' && id != 'C' && id != 'D' && id != 'E') {
-            return panel;
-        }
-
-        if (id == 'C' || id == 'D') {
-            Curve2D bottom = resizeHorizontalEdge(panel.getBottom(), sideShiftMm);
-            Curve2D seamToNextDown = resizeSeamDown(panel.getSeamToNextDown(), sideShiftMm);
-            Curve2D seamToPrevDown = resizeSeamDown(panel.getSeamToPrevDown(), -sideShiftMm);
-            return new PanelCurves(
-                    panel.getPanelId(),
-                    panel.getTop(),
-                    bottom,
-                    panel.getWaist(),
-                    panel.getSeamToPrevUp(),
-                    seamToPrevDown,
-                    panel.getSeamToNextUp(),
-                    seamToNextDown
-            );
-        } else if (id == 'E') {
-            Curve2D bottom = resizeHorizontalEdgeMin(panel.getBottom(), sideShiftMm);
-            Curve2D seamToPrevDown = resizeSeamDown(panel.getSeamToPrevDown(), -sideShiftMm);
-            return new PanelCurves(
-                    panel.getPanelId(),
-                    panel.getTop(),
-                    bottom,
-                    panel.getWaist(),
-                    panel.getSeamToPrevUp(),
-                    seamToPrevDown,
-                    panel.getSeamToNextUp(),
-                    panel.getSeamToNextDown()
-            );
-        } else {
-            // panel B
-            Curve2D bottom = resizeHorizontalEdgeMax(panel.getBottom(), sideShiftMm);
-            Curve2D seamToNextDown = resizeSeamDown(panel.getSeamToNextDown(), sideShiftMm);
-            return new PanelCurves(
-                    panel.getPanelId(),
-                    panel.getTop(),
-                    bottom,
-                    panel.getWaist(),
-                    panel.getSeamToPrevUp(),
-                    panel.getSeamToPrevDown(),
-                    panel.getSeamToNextUp(),
-                    seamToNextDown
-            );
-        }
-    }
-
-    private PanelCurves resizeRibMode(PanelCurves panel, double sideShiftMm) {
-        PanelId idObj = panel.getPanelId();
-        if (idObj == null) {
-            return panel;
-        }
-        char id = idObj.letter();
-
-        if (id != 'C' && id != 'D') {
-            return panel;
-        }
-
-        if (id == 'C') {
-            Curve2D top = resizeHorizontalEdgeMax(panel.getTop(), sideShiftMm);
-            Curve2D seamToNextUp = resizeSeamUp(panel.getSeamToNextUp(), sideShiftMm);
-            return new PanelCurves(
-                    panel.getPanelId(),
-                    top,
-                    panel.getBottom(),
-                    panel.getWaist(),
-                    panel.getSeamToPrevUp(),
-                    panel.getSeamToPrevDown(),
-                    seamToNextUp,
-                    panel.getSeamToNextDown()
-            );
-        } else {
-            // panel D
-            Curve2D top = resizeHorizontalEdgeMin(panel.getTop(), sideShiftMm);
-            Curve2D seamToPrevUp = resizeSeamUp(panel.getSeamToPrevUp(), -sideShiftMm);
-            return new PanelCurves(
-                    panel.getPanelId(),
-                    top,
-                    panel.getBottom(),
-                    panel.getWaist(),
-                    seamToPrevUp,
-                    panel.getSeamToPrevDown(),
-                    panel.getSeamToNextUp(),
-                    panel.getSeamToNextDown()
-            );
+                panel.getSeamToNextDown()
+            };
+            this.paths = new EditablePath[SLOT_COUNT];
+            this.parsed = new boolean[SLOT_COUNT];
         }
-    }
 
-    private PanelCurves resizeRibMode1(PanelCurves panel, double sideShiftMm) {
-        PanelId idObj = panel.getPanelId();
-        if (idObj == null) {
-            return panel;
+        char letter() {
+            PanelId id = panel.getPanelId();
+            return id == null ? 0 : id.letter();
         }
-        char id = idObj.letter();
 
-        if (id != 'B' && id != 'C' && id != 'D' && id != 'E') {
-            return panel;
+        EditablePath path(int slot) {
+            if (!parsed[slot]) {
+                paths[slot] = parsePath(curves[slot]);
+                parsed[slot] = true;
+            }
+            return paths[slot];
         }
 
-        if (id == 'C' || id == 'D') {
-            Curve2D top = resizeHorizontalEdge(panel.getTop(), sideShiftMm);
-            Curve2D seamToNextUp = resizeSeamUp(panel.getSeamToNextUp(), sideShiftMm);
-            Curve2D seamToPrevUp = resizeSeamUp(panel.getSeamToPrevUp(), -sideShiftMm);
-            return new PanelCurves(
-                    panel.getPanelId(),
-                    top,
-                    panel.getBottom(),
-                    panel.getWaist(),
-                    seamToPrevUp,
-                    panel.getSeamToPrevDown(),
-                    seamToNextUp,
-                    panel.getSeamToNextDown()
-            );
-        } else if (id == 'E') {
-            Curve2D top = resizeHorizontalEdgeMin(panel.getTop(), sideShiftMm);
-            Curve2D seamToPrevUp = resizeSeamUp(panel.getSeamToPrevUp(), -sideShiftMm);
-            return new PanelCurves(
-                    panel.getPanelId(),
-                    top,
-                    panel.getBottom(),
-                    panel.getWaist(),
-                    seamToPrevUp,
-                    panel.getSeamToPrevDown(),
-                    panel.getSeamToNextUp(),
-                    panel.getSeamToNextDown()
-            );
-        } else {
-            // panel B
-            Curve2D top = resizeHorizontalEdgeMax(panel.getTop(), sideShiftMm);
-            Curve2D seamToNextUp = resizeSeamUp(panel.getSeamToNextUp(), sideShiftMm);
+        PanelCurves build() {
+            boolean changed = false;
+            Curve2D[] out = new Curve2D[SLOT_COUNT];
+            for (int i = 0; i < SLOT_COUNT; i++) {
+                out[i] = resampleCurve(curves[i], paths[i]);
+                changed |= out[i] != curves[i];
+            }
+            if (!changed) {
+                return panel;
+            }
             return new PanelCurves(
                     panel.getPanelId(),
-                    top,
-                    panel.getBottom(),
-                    panel.getWaist(),
-                    panel.getSeamToPrevUp(),
-                    panel.getSeamToPrevDown(),
-                    seamToNextUp,
-                    panel.getSeamToNextDown()
+                    out[TOP],
+                    out[BOTTOM],
+                    out[WAIST],
+                    out[PREV_UP],
+                    out[PREV_DOWN],
+                    out[NEXT_UP],
+                    out[NEXT_DOWN]
             );
         }
     }
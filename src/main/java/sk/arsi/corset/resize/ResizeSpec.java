@@ -0,0 +1,109 @@
+package sk.arsi.corset.resize;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Composite resize: one delta (mm of full circumference) per resize zone.
+ * Zones are applied together in a single edit pass per curve, so a multi-zone
+ * fitting costs one re-sample, the same as a single-zone resize.
+ *
+ * Immutable; {@link #with(ResizeMode, double)} and
+ * {@link #plus(ResizeMode, double)} return new instances.
+ */
+public final class ResizeSpec {
+
+    private static final double EPS = 1e-9;
+
+    private static final ResizeSpec EMPTY = new ResizeSpec(new EnumMap<>(ResizeMode.class));
+
+    private final EnumMap<ResizeMode, Double> deltas;
+
+    private ResizeSpec(EnumMap<ResizeMode, Double> deltas) {
+        this.deltas = deltas;
+    }
+
+    public static ResizeSpec empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Single-zone spec, equivalent to the classic mode + delta resize.
+     */
+    public static ResizeSpec of(ResizeMode mode, double deltaMm) {
+        return EMPTY.with(mode, deltaMm);
+    }
+
+    /**
+     * Copy with the delta of {@code mode} replaced. DISABLED and zero deltas
+     * remove the zone.
+     */
+    public ResizeSpec with(ResizeMode mode, double deltaMm) {
+        EnumMap<ResizeMode, Double> copy = new EnumMap<>(ResizeMode.class);
+        copy.putAll(deltas);
+        if (mode == null || mode == ResizeMode.DISABLED || Math.abs(deltaMm) < EPS) {
+            copy.remove(mode);
+        } else {
+            copy.put(mode, deltaMm);
+        }
+        return new ResizeSpec(copy);
+    }
+
+    /**
+     * Copy with {@code deltaMm} added to the current delta of {@code mode}.
+     */
+    public ResizeSpec plus(ResizeMode mode, double deltaMm) {
+        return with(mode, getDelta(mode) + deltaMm);
+    }
+
+    public double getDelta(ResizeMode mode) {
+        Double d = deltas.get(mode);
+        return d == null ? 0.0 : d;
+    }
+
+    /**
+     * Zones with a non-zero delta, in {@link ResizeMode} declaration order.
+     */
+    public Set<ResizeMode> getModes() {
+        return Collections.unmodifiableSet(deltas.keySet());
+    }
+
+    public Map<ResizeMode, Double> asMap() {
+        return Collections.unmodifiableMap(deltas);
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ResizeSpec)) {
+            return false;
+        }
+        return deltas.equals(((ResizeSpec) o).deltas);
+    }
+
+    @Override
+    public int hashCode() {
+        return deltas.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        if (deltas.isEmpty()) {
+            return "none";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<ResizeMode, Double> e : deltas.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(e.getKey().name()).append(' ').append(String.format(Locale.ROOT, "%+.1f", e.getValue()));
+        }
+        return sb.toString();
+    }
+}
@@ -4,8 +4,12 @@ import sk.arsi.corset.model.Curve2D;
 import sk.arsi.corset.model.PanelCurves;
 import sk.arsi.corset.model.Pt;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import sk.arsi.corset.app.FxApp;
 
 /**
@@ -24,6 +28,26 @@ public final class SeamAllowanceComputer {
     // Majority test count for sign detection (odd number)
     private static final int SIGN_TEST_SAMPLES = 7;
 
+    // Last offset curve per seam curve, shared by the view overlay and the
+    // exporters. Curves are immutable and compared by identity; weak keys
+    // let entries of resized-away geometry go.
+    private static final Map<Curve2D, CachedOffset> OFFSET_CACHE
+            = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final class CachedOffset {
+
+        // weak: the panel references the key curve
+        private final WeakReference<PanelCurves> panel;
+        private final double offsetDistance;
+        private final List<Pt> points;
+
+        private CachedOffset(PanelCurves panel, double offsetDistance, List<Pt> points) {
+            this.panel = new WeakReference<>(panel);
+            this.offsetDistance = offsetDistance;
+            this.points = points;
+        }
+    }
+
     private SeamAllowanceComputer() {
         // utility class
     }
@@ -79,6 +103,29 @@ public final class SeamAllowanceComputer {
         return generateOffsetPolyline(points, offsetDistance * offsetSign);
     }
 
+    /**
+     * Cached {@link #computeOffsetCurve}: the result for a (seam curve, panel,
+     * distance) is computed once and reused until the seam curve is replaced
+     * (resize, reload) or a different distance is requested.
+     *
+     * @return unmodifiable offset curve points, or null if computation fails
+     */
+    public static List<Pt> getOffsetCurve(Curve2D seamCurve, PanelCurves panel, double offsetDistance) {
+        if (seamCurve == null || panel == null) {
+            return null;
+        }
+        CachedOffset cached = OFFSET_CACHE.get(seamCurve);
+        if (cached != null && cached.panel.get() == panel
+                && Double.compare(cached.offsetDistance, offsetDistance) == 0) {
+            return cached.points;
+        }
+
+        List<Pt> points = computeOffsetCurve(seamCurve, panel, offsetDistance);
+        List<Pt> shared = points != null ? Collections.unmodifiableList(points) : null;
+        OFFSET_CACHE.put(seamCurve, new CachedOffset(panel, offsetDistance, shared));
+        return shared;
+    }
+
     /**
      * Compute panel interior reference point as centroid of waist curve.
      */
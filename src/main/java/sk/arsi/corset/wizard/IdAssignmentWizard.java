@@ -10,8 +10,11 @@ import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
 import sk.arsi.corset.model.Pt;
 
 import java.util.List;
@@ -21,8 +24,35 @@ import java.util.List;
  */
 public final class IdAssignmentWizard extends Dialog<Boolean> {
 
+    private static final double HOVER_THRESHOLD = 10.0;
+
+    /**
+     * Polyline segment in screen coordinates, indexed for hit testing.
+     */
+    private static final class Segment {
+
+        final SvgPathCandidate candidate;
+        final int order; // candidate position, breaks distance ties like a linear scan
+        final double x1;
+        final double y1;
+        final double x2;
+        final double y2;
+
+        Segment(SvgPathCandidate candidate, int order, double x1, double y1, double x2, double y2) {
+            this.candidate = candidate;
+            this.order = order;
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+        }
+    }
+
     private final IdWizardSession session;
+    // all paths in their base colors; repainted only when the view or assignments change
     private final Canvas canvas;
+    // hovered and selected paths drawn over the background
+    private final Canvas overlay;
     private final Label stepLabel;
     private final Button nextButton;
 
@@ -34,6 +64,9 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
     private double viewOffsetX;
     private double viewOffsetY;
 
+    // screen-space segment index, rebuilt with the view transform
+    private STRtree segmentIndex;
+
     public IdAssignmentWizard(IdWizardSession session) {
         this.session = session;
 
@@ -42,8 +75,9 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
 
         // Canvas for rendering
         canvas = new Canvas(800, 600);
-        canvas.setOnMouseMoved(this::handleMouseMoved);
-        canvas.setOnMouseClicked(this::handleMouseClicked);
+        overlay = new Canvas(800, 600);
+        overlay.setOnMouseMoved(this::handleMouseMoved);
+        overlay.setOnMouseClicked(this::handleMouseClicked);
 
         // Step label
         stepLabel = new Label();
@@ -68,7 +102,7 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
 
         BorderPane root = new BorderPane();
         root.setTop(top);
-        root.setCenter(canvas);
+        root.setCenter(new StackPane(canvas, overlay));
         root.setBottom(bottom);
 
         getDialogPane().setContent(root);
@@ -79,7 +113,8 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
         computeViewTransform();
 
         // Initial render
-        render();
+        renderBackground();
+        renderOverlay();
 
         setResizable(true);
     }
@@ -100,11 +135,11 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
         double mouseX = e.getX();
         double mouseY = e.getY();
 
-        SvgPathCandidate nearest = findNearestCandidate(mouseX, mouseY, 10.0);
+        SvgPathCandidate nearest = findNearestCandidate(mouseX, mouseY, HOVER_THRESHOLD);
 
         if (nearest != hoveredCandidate) {
             hoveredCandidate = nearest;
-            render();
+            renderOverlay();
         }
     }
 
@@ -112,12 +147,12 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
         double mouseX = e.getX();
         double mouseY = e.getY();
 
-        SvgPathCandidate nearest = findNearestCandidate(mouseX, mouseY, 10.0);
+        SvgPathCandidate nearest = findNearestCandidate(mouseX, mouseY, HOVER_THRESHOLD);
 
         if (nearest != null && !nearest.isGreen()) {
             selectedCandidate = nearest;
             nextButton.setDisable(false);
-            render();
+            renderOverlay();
         }
     }
 
@@ -134,7 +169,9 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
                 close();
             } else {
                 updateStepLabel();
-                render();
+                // the assigned path turned green
+                renderBackground();
+                renderOverlay();
             }
         }
     }
@@ -146,13 +183,39 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
 
     /**
      * Find the nearest candidate to the mouse position within the given
-     * threshold.
+     * threshold. Only segments whose bounding box intersects the threshold
+     * square around the mouse are tested.
      */
     private SvgPathCandidate findNearestCandidate(double mouseX, double mouseY, double threshold) {
         SvgPathCandidate nearest = null;
+        int nearestOrder = Integer.MAX_VALUE;
         double minDistance = threshold;
 
-        for (SvgPathCandidate candidate : session.getCandidates()) {
+        Envelope query = new Envelope(mouseX - threshold, mouseX + threshold,
+                mouseY - threshold, mouseY + threshold);
+        for (Object item : segmentIndex.query(query)) {
+            Segment s = (Segment) item;
+            double dist = distanceToSegment(mouseX, mouseY, s.x1, s.y1, s.x2, s.y2);
+
+            if (dist < minDistance || (dist == minDistance && nearest != null && s.order < nearestOrder)) {
+                minDistance = dist;
+                nearest = s.candidate;
+                nearestOrder = s.order;
+            }
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Index all candidate segments in screen coordinates for the current
+     * view transform.
+     */
+    private void rebuildSegmentIndex() {
+        STRtree index = new STRtree();
+        List<SvgPathCandidate> candidates = session.getCandidates();
+        for (int c = 0; c < candidates.size(); c++) {
+            SvgPathCandidate candidate = candidates.get(c);
             List<Pt> polyline = candidate.getPolyline();
 
             for (int i = 0; i < polyline.size() - 1; i++) {
@@ -164,16 +227,11 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
                 double x2 = transformX(p2.getX());
                 double y2 = transformY(p2.getY());
 
-                double dist = distanceToSegment(mouseX, mouseY, x1, y1, x2, y2);
-
-                if (dist < minDistance) {
-                    minDistance = dist;
-                    nearest = candidate;
-                }
+                index.insert(new Envelope(x1, x2, y1, y2), new Segment(candidate, c, x1, y1, x2, y2));
             }
         }
-
-        return nearest;
+        index.build();
+        segmentIndex = index;
     }
 
     /**
@@ -197,7 +255,8 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
     }
 
     /**
-     * Compute view transform to fit all paths in the canvas.
+     * Compute view transform to fit all paths in the canvas and rebuild the
+     * hit-test index for it.
      */
     private void computeViewTransform() {
         double minX = Double.POSITIVE_INFINITY;
@@ -222,6 +281,7 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
             viewScaleY = 1.0;
             viewOffsetX = 0.0;
             viewOffsetY = 0.0;
+            rebuildSegmentIndex();
             return;
         }
 
@@ -236,6 +296,7 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
         viewScaleY = scale;
         viewOffsetX = padding + (canvasWidth - 2 * padding - svgWidth * scale) / 2 - minX * scale;
         viewOffsetY = padding + (canvasHeight - 2 * padding - svgHeight * scale) / 2 - minY * scale;
+        rebuildSegmentIndex();
     }
 
     private double transformX(double x) {
@@ -247,9 +308,9 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
     }
 
     /**
-     * Render all paths on the canvas.
+     * Render all paths in their base colors on the background canvas.
      */
-    private void render() {
+    private void renderBackground() {
         GraphicsContext gc = canvas.getGraphicsContext2D();
 
         // Clear
@@ -258,38 +319,43 @@ public final class IdAssignmentWizard extends Dialog<Boolean> {
 
         // Draw all paths
         for (SvgPathCandidate candidate : session.getCandidates()) {
-            Color color;
-            double lineWidth;
-
-            if (candidate == selectedCandidate) {
-                color = Color.RED;
-                lineWidth = 2.5;
-            } else if (candidate == hoveredCandidate && !candidate.isGreen()) {
-                color = Color.BLUE;
-                lineWidth = 2.0;
-            } else if (candidate.isGreen()) {
-                color = Color.GREEN;
-                lineWidth = 1.5;
+            if (candidate.isGreen()) {
+                strokeCandidate(gc, candidate, Color.GREEN, 1.5);
             } else {
-                color = Color.BLACK;
-                lineWidth = 1.0;
+                strokeCandidate(gc, candidate, Color.BLACK, 1.0);
             }
+        }
+    }
 
-            gc.setStroke(color);
-            gc.setLineWidth(lineWidth);
+    /**
+     * Redraw only the hovered and selected paths over the cached background.
+     */
+    private void renderOverlay() {
+        GraphicsContext gc = overlay.getGraphicsContext2D();
+        gc.clearRect(0, 0, overlay.getWidth(), overlay.getHeight());
 
-            List<Pt> polyline = candidate.getPolyline();
-            for (int i = 0; i < polyline.size() - 1; i++) {
-                Pt p1 = polyline.get(i);
-                Pt p2 = polyline.get(i + 1);
+        if (hoveredCandidate != null && hoveredCandidate != selectedCandidate && !hoveredCandidate.isGreen()) {
+            strokeCandidate(gc, hoveredCandidate, Color.BLUE, 2.0);
+        }
+        if (selectedCandidate != null) {
+            strokeCandidate(gc, selectedCandidate, Color.RED, 2.5);
+        }
+    }
 
-                double x1 = transformX(p1.getX());
-                double y1 = transformY(p1.getY());
-                double x2 = transformX(p2.getX());
-                double y2 = transformY(p2.getY());
+    private void strokeCandidate(GraphicsContext gc, SvgPathCandidate candidate, Color color, double lineWidth) {
+        List<Pt> polyline = candidate.getPolyline();
+        if (polyline.size() < 2) {
+            return;
+        }
 
-                gc.strokeLine(x1, y1, x2, y2);
-            }
+        gc.setStroke(color);
+        gc.setLineWidth(lineWidth);
+        gc.beginPath();
+        gc.moveTo(transformX(polyline.get(0).getX()), transformY(polyline.get(0).getY()));
+        for (int i = 1; i < polyline.size(); i++) {
+            Pt p = polyline.get(i);
+            gc.lineTo(transformX(p.getX()), transformY(p.getY()));
         }
+        gc.stroke();
     }
 }
@@ -95,6 +95,7 @@ public final class IdWizardSession {
 
             SvgPathCandidate candidate = new SvgPathCandidate(
                     index++,
+                    i,
                     id,
                     d,
                     isRequired,
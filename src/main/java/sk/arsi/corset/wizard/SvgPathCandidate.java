@@ -10,6 +10,7 @@ import java.util.List;
 public final class SvgPathCandidate {
     
     private final int index;
+    private final int elementIndex;
     private final String originalId;
     private final String dAttribute;
     private final boolean originallyRequiredId;
@@ -17,9 +18,15 @@ public final class SvgPathCandidate {
     
     private RequiredPath assignedRequired;
 
-    public SvgPathCandidate(int index, String originalId, String dAttribute, 
+    /**
+     * @param index candidate number (skips unusable paths)
+     * @param elementIndex position of the element among all {@code <path>}
+     * elements in document order
+     */
+    public SvgPathCandidate(int index, int elementIndex, String originalId, String dAttribute,
                            boolean originallyRequiredId, List<Pt> polyline) {
         this.index = index;
+        this.elementIndex = elementIndex;
         this.originalId = originalId;
         this.dAttribute = dAttribute;
         this.originallyRequiredId = originallyRequiredId;
@@ -30,6 +37,10 @@ public final class SvgPathCandidate {
         return index;
     }
 
+    public int getElementIndex() {
+        return elementIndex;
+    }
+
     public String getOriginalId() {
         return originalId;
     }
@@ -6,8 +6,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -15,9 +15,15 @@ import java.util.regex.Pattern;
  * Text-based SVG editor that preserves Inkscape formatting.
  */
 public final class SvgTextEditor {
+
+    private static final String PATH_TAG = "<path";
     
     /**
      * Update the SVG file with new ID assignments.
+     *
+     * All assignments are applied in one forward pass over the text: path
+     * elements are counted in document order and matched to candidates by
+     * {@link SvgPathCandidate#getElementIndex()}.
      * 
      * @param sourcePath Original SVG file path
      * @param targetPath Target SVG file path (can be same as source)
@@ -27,18 +33,16 @@ public final class SvgTextEditor {
     public void saveWithAssignments(Path sourcePath, Path targetPath, IdWizardSession session) throws IOException {
         String content = Files.readString(sourcePath, StandardCharsets.UTF_8);
         
-        // Get all candidates that need ID updates
-        List<SvgPathCandidate> toUpdate = new ArrayList<>();
+        // Get all candidates that need ID updates, keyed by element position
+        Map<Integer, SvgPathCandidate> toUpdate = new HashMap<>();
         for (SvgPathCandidate candidate : session.getCandidates()) {
             if (candidate.getAssignedRequired() != null && !candidate.isOriginallyRequiredId()) {
-                toUpdate.add(candidate);
+                toUpdate.put(candidate.getElementIndex(), candidate);
             }
         }
         
-        // Update each candidate
-        for (SvgPathCandidate candidate : toUpdate) {
-            String newId = candidate.getAssignedRequired().svgId();
-            content = updatePathId(content, candidate, newId);
+        if (!toUpdate.isEmpty()) {
+            content = updatePathIds(content, toUpdate);
         }
         
         // Write to target file
@@ -46,65 +50,168 @@ public final class SvgTextEditor {
     }
 
     /**
-     * Update a single path element's ID attribute.
+     * Rewrite or insert the id attribute of the given path elements in a
+     * single scan. Comments and CDATA sections are skipped so the element
+     * count matches the DOM.
      */
-    private String updatePathId(String content, SvgPathCandidate candidate, String newId) {
-        String dAttr = candidate.getDAttribute();
-        String originalId = candidate.getOriginalId();
-        
-        // Escape special regex characters in d attribute
-        String escapedD = Pattern.quote(dAttr);
-        
-        // Build pattern to find the path element
-        // We need to be careful to match the exact path
-        String pattern;
-        
-        if (originalId != null && !originalId.isEmpty()) {
-            // Path has an existing id attribute - replace it
-            // Match: <path ... id="originalId" ... d="dAttr" ... >
-            // OR:    <path ... d="dAttr" ... id="originalId" ... >
-            
-            String escapedOriginalId = Pattern.quote(originalId);
-            
-            // Try to find and replace the id attribute value
-            // Pattern: id="originalId" where the path also has d="dAttr"
-            Pattern p = Pattern.compile(
-                "(<path[^>]*?\\bd=\"" + escapedD + "\"[^>]*?\\bid=\\\")(" + escapedOriginalId + ")(\\\"[^>]*?>)" +
-                "|(<path[^>]*?\\bid=\")(" + escapedOriginalId + ")(\\\"[^>]*?\\bd=\"" + escapedD + "\"[^>]*?>)",
-                Pattern.DOTALL
-            );
-            
-            Matcher m = p.matcher(content);
-            if (m.find()) {
-                if (m.group(1) != null) {
-                    // First alternative matched (d before id)
-                    return m.replaceFirst(m.group(1) + newId + m.group(3));
-                } else {
-                    // Second alternative matched (id before d)
-                    return m.replaceFirst(m.group(4) + newId + m.group(6));
-                }
-            }
-            
-            // Fallback: couldn't find the exact match
-            throw new IllegalStateException("Could not uniquely identify path element with id=" + originalId + " and d=" + dAttr.substring(0, Math.min(50, dAttr.length())) + "...");
-        } else {
-            // Path has no id attribute - insert one
-            // Match: <path ... d="dAttr" ... >
-            // Insert id attribute after <path
-            
-            Pattern p = Pattern.compile(
-                "(<path)(\\s[^>]*?\\bd=\"" + escapedD + "\"[^>]*?>)",
-                Pattern.DOTALL
-            );
-            
-            Matcher m = p.matcher(content);
-            if (m.find()) {
-                return m.replaceFirst(m.group(1) + " id=\"" + newId + "\"" + m.group(2));
-            }
-            
-            // Fallback: couldn't find the path
-            throw new IllegalStateException("Could not find path element with d=" + dAttr.substring(0, Math.min(50, dAttr.length())) + "...");
+    private String updatePathIds(String content, Map<Integer, SvgPathCandidate> toUpdate) {
+        int len = content.length();
+        StringBuilder out = new StringBuilder(len + 32 * toUpdate.size());
+        int copied = 0;
+        int pos = 0;
+        int elementIndex = 0;
+        int remaining = toUpdate.size();
+
+        while (remaining > 0) {
+            int lt = content.indexOf('<', pos);
+            if (lt < 0) {
+                break;
+            }
+            if (content.startsWith("<!--", lt)) {
+                pos = skipPast(content, lt + 4, "-->");
+                continue;
+            }
+            if (content.startsWith("<![CDATA[", lt)) {
+                pos = skipPast(content, lt + 9, "]]>");
+                continue;
+            }
+            pos = lt + 1;
+            if (!content.startsWith(PATH_TAG, lt) || !isTagNameEnd(content, lt + PATH_TAG.length())) {
+                continue;
+            }
+
+            SvgPathCandidate candidate = toUpdate.get(elementIndex++);
+            if (candidate == null) {
+                continue;
+            }
+            remaining--;
+
+            int[] id = new int[]{-1, -1};
+            int[] d = new int[]{-1, -1};
+            pos = scanAttributes(content, lt + PATH_TAG.length(), id, d);
+            checkSameElement(content, d, candidate);
+
+            String newId = candidate.getAssignedRequired().svgId();
+            if (id[0] >= 0) {
+                // Existing id attribute - replace its value
+                out.append(content, copied, id[0]).append(newId);
+                copied = id[1];
+            } else {
+                // No id attribute - insert one after <path
+                int insertAt = lt + PATH_TAG.length();
+                out.append(content, copied, insertAt).append(" id=\"").append(newId).append('"');
+                copied = insertAt;
+            }
+        }
+
+        if (remaining > 0) {
+            throw new IllegalStateException("Could not find " + remaining + " of " + toUpdate.size()
+                    + " assigned path elements in SVG text");
+        }
+
+        out.append(content, copied, len);
+        return out.toString();
+    }
+
+    /**
+     * Walk the attributes of a start tag, recording the value spans of id and
+     * d.
+     *
+     * @return index just past the tag
+     */
+    private static int scanAttributes(String s, int pos, int[] id, int[] d) {
+        int len = s.length();
+        while (pos < len) {
+            char c = s.charAt(pos);
+            if (c == '>') {
+                return pos + 1;
+            }
+            if (Character.isWhitespace(c) || c == '/') {
+                pos++;
+                continue;
+            }
+
+            int nameStart = pos;
+            while (pos < len && !isAttrNameEnd(s.charAt(pos))) {
+                pos++;
+            }
+            int nameEnd = pos;
+            while (pos < len && Character.isWhitespace(s.charAt(pos))) {
+                pos++;
+            }
+            if (pos >= len || s.charAt(pos) != '=') {
+                continue;
+            }
+            pos++;
+            while (pos < len && Character.isWhitespace(s.charAt(pos))) {
+                pos++;
+            }
+            if (pos >= len) {
+                break;
+            }
+            char quote = s.charAt(pos);
+            if (quote != '"' && quote != '\'') {
+                continue;
+            }
+            int valueStart = pos + 1;
+            int valueEnd = s.indexOf(quote, valueStart);
+            if (valueEnd < 0) {
+                return len;
+            }
+            pos = valueEnd + 1;
+
+            int nameLen = nameEnd - nameStart;
+            if (nameLen == 2 && s.startsWith("id", nameStart)) {
+                id[0] = valueStart;
+                id[1] = valueEnd;
+            } else if (nameLen == 1 && s.charAt(nameStart) == 'd') {
+                d[0] = valueStart;
+                d[1] = valueEnd;
+            }
         }
+        return len;
+    }
+
+    /**
+     * Guard against the text and the DOM disagreeing on element order: the d
+     * attribute at this position must be the candidate's.
+     */
+    private static void checkSameElement(String content, int[] d, SvgPathCandidate candidate) {
+        String expected = candidate.getDAttribute();
+        if (d[0] >= 0) {
+            String raw = content.substring(d[0], d[1]);
+            // entity references are resolved in the DOM; skip the check then
+            if (raw.indexOf('&') >= 0 || normalizeWhitespace(raw).equals(normalizeWhitespace(expected))) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Could not uniquely identify path element with id=" + candidate.getOriginalId()
+                + " and d=" + expected.substring(0, Math.min(50, expected.length())) + "...");
+    }
+
+    /**
+     * Attribute value as the XML parser reports it: line ends are folded to
+     * one character first, then every whitespace character becomes a space.
+     */
+    private static String normalizeWhitespace(String s) {
+        return s.replace("\r\n", "\n").replace('\n', ' ').replace('\r', ' ').replace('\t', ' ');
+    }
+
+    private static int skipPast(String s, int from, String end) {
+        int i = s.indexOf(end, from);
+        return i < 0 ? s.length() : i + end.length();
+    }
+
+    private static boolean isTagNameEnd(String s, int pos) {
+        if (pos >= s.length()) {
+            return false;
+        }
+        char c = s.charAt(pos);
+        return Character.isWhitespace(c) || c == '>' || c == '/';
+    }
+
+    private static boolean isAttrNameEnd(char c) {
+        return Character.isWhitespace(c) || c == '=' || c == '>' || c == '/';
     }
     
     /**
@@ -0,0 +1,98 @@
+package sk.arsi.corset.export;
+
+import org.junit.jupiter.api.Test;
+import sk.arsi.corset.model.Pt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the cubic Bézier fitting of polylines.
+ */
+class BezierFitterTest {
+
+    private static final double TOLERANCE = 0.05;
+
+    private static List<Pt> arc(double radius, int samples) {
+        List<Pt> pts = new ArrayList<>();
+        for (int i = 0; i <= samples; i++) {
+            double a = Math.PI / 2.0 * i / samples;
+            pts.add(new Pt(radius * Math.cos(a), radius * Math.sin(a)));
+        }
+        return pts;
+    }
+
+    /**
+     * Distance from {@code p} to the closest of densely sampled points on the
+     * cubics (an upper bound of the true distance).
+     */
+    private static double distanceToCurve(Pt p, List<BezierFitter.Cubic> cubics) {
+        double best = Double.POSITIVE_INFINITY;
+        for (BezierFitter.Cubic c : cubics) {
+            for (int k = 0; k <= 2000; k++) {
+                Pt q = c.pointAt(k / 2000.0);
+                best = Math.min(best, Math.hypot(p.getX() - q.getX(), p.getY() - q.getY()));
+            }
+        }
+        return best;
+    }
+
+    private static void assertConnected(List<Pt> pts, List<BezierFitter.Cubic> cubics) {
+        assertFalse(cubics.isEmpty());
+        assertEquals(pts.get(0), cubics.get(0).getP0());
+        assertEquals(pts.get(pts.size() - 1), cubics.get(cubics.size() - 1).getP3());
+        for (int i = 1; i < cubics.size(); i++) {
+            assertSame(cubics.get(i - 1).getP3(), cubics.get(i).getP0());
+        }
+    }
+
+    @Test
+    void testSampledArcIsFitWithinTolerance() {
+        List<Pt> pts = arc(50.0, 400);
+        List<BezierFitter.Cubic> cubics = BezierFitter.fit(pts, TOLERANCE);
+
+        assertConnected(pts, cubics);
+        assertTrue(cubics.size() < 10, "quarter circle needs only a few cubics, got " + cubics.size());
+        for (Pt p : pts) {
+            assertTrue(distanceToCurve(p, cubics) <= TOLERANCE + 1e-3, "point " + p + " off the curve");
+        }
+    }
+
+    @Test
+    void testCornerIsKeptAsSegmentJoin() {
+        // right angle at (50, 0), sampled every 1 mm
+        List<Pt> pts = new ArrayList<>();
+        for (int i = 0; i <= 50; i++) {
+            pts.add(new Pt(i, 0.0));
+        }
+        Pt corner = pts.get(pts.size() - 1);
+        for (int i = 1; i <= 50; i++) {
+            pts.add(new Pt(50.0, i));
+        }
+        List<BezierFitter.Cubic> cubics = BezierFitter.fit(pts, TOLERANCE);
+
+        assertConnected(pts, cubics);
+        boolean join = false;
+        for (int i = 0; i < cubics.size() - 1; i++) {
+            join |= cubics.get(i).getP3() == corner;
+        }
+        assertTrue(join, "corner must end a segment");
+        for (Pt p : pts) {
+            assertTrue(distanceToCurve(p, cubics) <= TOLERANCE + 1e-3, "point " + p + " off the curve");
+        }
+    }
+
+    @Test
+    void testNullAndRepeatedPointsAreDropped() {
+        List<Pt> pts = new ArrayList<>();
+        pts.add(new Pt(0.0, 0.0));
+        pts.add(null);
+        pts.add(new Pt(0.0, 0.0));
+        pts.add(new Pt(10.0, 0.0));
+        List<BezierFitter.Cubic> cubics = BezierFitter.fit(pts, TOLERANCE);
+        assertEquals(1, cubics.size());
+        assertTrue(BezierFitter.fit(List.of(new Pt(1.0, 1.0)), TOLERANCE).isEmpty());
+    }
+}
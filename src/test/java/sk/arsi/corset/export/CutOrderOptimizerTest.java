@@ -0,0 +1,108 @@
+package sk.arsi.corset.export;
+
+import org.junit.jupiter.api.Test;
+import sk.arsi.corset.model.Pt;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the cut order optimization.
+ */
+class CutOrderOptimizerTest {
+
+    private static final Pt ORIGIN = new Pt(0.0, 0.0);
+
+    /**
+     * Open path along the X axis from {@code x0} to {@code x1}.
+     */
+    private static CutPath segment(String id, double x0, double x1) {
+        return new CutPath(id, CutPath.Kind.ALLOWANCE, List.of(new Pt(x0, 0.0), new Pt(x1, 0.0)), false);
+    }
+
+    private static List<String> ids(List<CutPath> paths) {
+        List<String> out = new ArrayList<>();
+        for (CutPath p : paths) {
+            out.add(p.getId());
+        }
+        return out;
+    }
+
+    private static List<CutPath> randomPaths(Random rnd, int count) {
+        List<CutPath> paths = new ArrayList<>();
+        for (int n = 0; n < count; n++) {
+            double cx = rnd.nextDouble() * 500.0;
+            double cy = rnd.nextDouble() * 500.0;
+            List<Pt> pts = new ArrayList<>();
+            int size = 2 + rnd.nextInt(6);
+            for (int k = 0; k < size; k++) {
+                pts.add(new Pt(cx + rnd.nextDouble() * 40.0, cy + rnd.nextDouble() * 40.0));
+            }
+            boolean closed = rnd.nextBoolean() && size >= 3;
+            paths.add(new CutPath("P" + n, closed ? CutPath.Kind.CONTOUR : CutPath.Kind.ALLOWANCE, pts, closed));
+        }
+        return paths;
+    }
+
+    @Test
+    void testOptimizeNeverLengthensTravel() {
+        Random rnd = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<CutPath> paths = randomPaths(rnd, 1 + rnd.nextInt(25));
+            Pt head = new Pt(rnd.nextDouble() * 500.0, rnd.nextDouble() * 500.0);
+
+            List<CutPath> ordered = CutOrderOptimizer.optimize(paths, head);
+
+            assertTrue(CutOrderOptimizer.travel(ordered, head) <= CutOrderOptimizer.travel(paths, head) + 1e-9,
+                    "round " + round);
+            assertEquals(paths.size(), ordered.size());
+            assertEquals(new HashSet<>(ids(paths)), new HashSet<>(ids(ordered)));
+            for (CutPath p : ordered) {
+                CutPath source = paths.get(Integer.parseInt(p.getId().substring(1)));
+                assertEquals(source.isClosed(), p.isClosed());
+                Set<Pt> expected = new HashSet<>(source.getPoints());
+                assertEquals(expected, new HashSet<>(p.getPoints()));
+            }
+        }
+    }
+
+    @Test
+    void testOptimizeKeepsAnAlreadyOptimalOrder() {
+        List<CutPath> paths = List.of(segment("a", 1, 2), segment("b", 3, 4), segment("c", 5, 6));
+        assertEquals(List.of("a", "b", "c"), ids(CutOrderOptimizer.optimize(paths, ORIGIN)));
+        assertEquals(3.0, CutOrderOptimizer.travel(CutOrderOptimizer.optimize(paths, ORIGIN), ORIGIN), 1e-9);
+    }
+
+    @Test
+    void testOrOptMovesRunForwardPastItself() {
+        // "a" is far out and must go last: the insertion index shifts by the run length
+        List<CutPath> tour = new ArrayList<>(List.of(segment("a", 10, 11), segment("b", 1, 2),
+                segment("c", 3, 4), segment("d", 5, 6)));
+        assertEquals(22.0, CutOrderOptimizer.travel(tour, ORIGIN), 1e-9);
+
+        assertTrue(CutOrderOptimizer.orOpt(tour, ORIGIN));
+        assertEquals(List.of("b", "c", "d", "a"), ids(tour));
+        assertEquals(7.0, CutOrderOptimizer.travel(tour, ORIGIN), 1e-9);
+    }
+
+    @Test
+    void testOrOptMovesRunBackward() {
+        List<CutPath> tour = new ArrayList<>(List.of(segment("c", 3, 4), segment("d", 5, 6), segment("b", 1, 2)));
+
+        assertTrue(CutOrderOptimizer.orOpt(tour, ORIGIN));
+        assertEquals(List.of("b", "c", "d"), ids(tour));
+        assertEquals(3.0, CutOrderOptimizer.travel(tour, ORIGIN), 1e-9);
+    }
+
+    @Test
+    void testOrOptReportsNoChangeOnOptimalTour() {
+        List<CutPath> tour = new ArrayList<>(List.of(segment("a", 1, 2), segment("b", 3, 4)));
+        assertFalse(CutOrderOptimizer.orOpt(tour, ORIGIN));
+        assertEquals(List.of("a", "b"), ids(tour));
+    }
+}
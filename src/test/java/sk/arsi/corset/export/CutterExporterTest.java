@@ -0,0 +1,146 @@
+package sk.arsi.corset.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sk.arsi.corset.model.Curve2D;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.PanelId;
+import sk.arsi.corset.model.Pt;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for cut contours and the HPGL/DXF writers.
+ */
+class CutterExporterTest {
+
+    @TempDir
+    Path dir;
+
+    private static Curve2D line(String id, double x0, double y0, double x1, double y1) {
+        List<Pt> pts = new ArrayList<>();
+        for (int i = 0; i <= 4; i++) {
+            pts.add(new Pt(x0 + (x1 - x0) * i / 4.0, y0 + (y1 - y0) * i / 4.0));
+        }
+        return new Curve2D(id, pts);
+    }
+
+    /**
+     * 100 x 200 mm rectangle in source (Y-down) coordinates with its edges
+     * drawn in mixed directions.
+     */
+    private static PanelCurves rectanglePanel() {
+        return new PanelCurves(
+                PanelId.of('A'),
+                line("A_TOP", 100, 0, 0, 0),
+                line("A_BOTTOM", 0, 200, 100, 200),
+                line("A_WAIST", 0, 100, 100, 100),
+                line("AA_UP", 0, 0, 0, 100),
+                line("AA_DOWN", 0, 200, 0, 100),
+                line("AB_UP", 100, 100, 100, 0),
+                line("AB_DOWN", 100, 100, 100, 200));
+    }
+
+    private static double perimeter(List<Pt> closed) {
+        double sum = 0.0;
+        for (int i = 0; i < closed.size(); i++) {
+            Pt a = closed.get(i);
+            Pt b = closed.get((i + 1) % closed.size());
+            sum += Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+        }
+        return sum;
+    }
+
+    @Test
+    void testContourJoinsReversedEdges() {
+        CutPath contour = CutterExporter.buildContour(rectanglePanel());
+
+        assertNotNull(contour);
+        assertTrue(contour.isClosed());
+        assertEquals(CutPath.Kind.CONTOUR, contour.getKind());
+        // 6 edges of 5 points, shared corners once, the closing point not repeated
+        assertEquals(24, contour.getPoints().size());
+        assertEquals(600.0, perimeter(contour.getPoints()), 1e-9);
+    }
+
+    @Test
+    void testHpglIsYUpAndClosesAtStart() throws Exception {
+        File file = dir.resolve("cut.plt").toFile();
+        CutterExporter.export(List.of(rectanglePanel()), 0.0, CutterExporter.Format.HPGL, file);
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.US_ASCII);
+
+        assertEquals("IN;SP1;PA;", lines.get(0));
+        assertEquals("PU0,0;SP0;", lines.get(lines.size() - 1));
+        assertEquals(3, lines.size());
+
+        String cut = lines.get(1);
+        assertTrue(cut.startsWith("PU") && cut.endsWith(";"), cut);
+        String[] parts = cut.substring(0, cut.length() - 1).split(";");
+        String start = parts[0].substring(2);
+        String[] down = parts[1].substring(2).split(",");
+        assertEquals(start, down[down.length - 2] + "," + down[down.length - 1]);
+
+        List<String> pairs = new ArrayList<>();
+        for (int i = 0; i < down.length; i += 2) {
+            pairs.add(down[i] + "," + down[i + 1]);
+        }
+        // 40 units per mm; source top (y = 0) is at the far Y end
+        assertTrue(pairs.contains("0,8000"));
+        assertTrue(pairs.contains("4000,8000"));
+        assertTrue(pairs.contains("4000,0"));
+        assertTrue(pairs.contains("0,0"));
+    }
+
+    @Test
+    void testDxfIsWellFormed() throws Exception {
+        File file = dir.resolve("cut.dxf").toFile();
+        CutterExporter.export(List.of(rectanglePanel()), 0.0, CutterExporter.Format.DXF, file);
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.US_ASCII);
+
+        assertEquals(0, lines.size() % 2, "group code / value pairs");
+        List<String> entities = new ArrayList<>();
+        int sections = 0;
+        int open = 0;
+        for (int i = 0; i < lines.size(); i += 2) {
+            int code = Integer.parseInt(lines.get(i).trim());
+            String value = lines.get(i + 1);
+            if (code != 0) {
+                continue;
+            }
+            if (value.equals("SECTION")) {
+                sections++;
+                open++;
+            } else if (value.equals("ENDSEC")) {
+                open--;
+            }
+            entities.add(value);
+        }
+        assertEquals(3, sections);
+        assertEquals(0, open);
+        assertEquals("EOF", entities.get(entities.size() - 1));
+
+        int polyline = entities.indexOf("POLYLINE");
+        int seqend = entities.indexOf("SEQEND");
+        assertTrue(polyline >= 0 && seqend > polyline);
+        assertEquals(24, seqend - polyline - 1, "one VERTEX per contour point");
+        for (int i = polyline + 1; i < seqend; i++) {
+            assertEquals("VERTEX", entities.get(i));
+        }
+
+        // closed flag (70) of the POLYLINE
+        int flag = -1;
+        for (int i = lines.indexOf("POLYLINE") + 1; !lines.get(i).trim().equals("0"); i += 2) {
+            if (lines.get(i).trim().equals("70")) {
+                flag = Integer.parseInt(lines.get(i + 1).trim());
+            }
+        }
+        assertEquals(1, flag);
+    }
+}
@@ -0,0 +1,170 @@
+package sk.arsi.corset.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import sk.arsi.corset.model.Curve2D;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.PanelId;
+import sk.arsi.corset.model.Pt;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExportJob: several artifacts from one shared geometry.
+ */
+class ExportJobTest {
+
+    @TempDir
+    Path dir;
+
+    private static Curve2D line(String id, double x0, double y0, double x1, double y1) {
+        List<Pt> pts = new ArrayList<>();
+        for (int i = 0; i <= 4; i++) {
+            pts.add(new Pt(x0 + (x1 - x0) * i / 4.0, y0 + (y1 - y0) * i / 4.0));
+        }
+        return new Curve2D(id, pts);
+    }
+
+    private static PanelCurves rectanglePanel(char letter, double x) {
+        String n = String.valueOf(letter);
+        String prev = n + (letter == 'A' ? 'A' : (char) (letter - 1));
+        String next = n + (char) (letter + 1);
+        return new PanelCurves(
+                PanelId.of(letter),
+                line(n + "_TOP", x, 0.0, x + 100.0, 0.0),
+                line(n + "_BOTTOM", x, 200.0, x + 100.0, 200.0),
+                line(n + "_WAIST", x, 100.0, x + 100.0, 100.0),
+                line(prev + "_UP", x, 0.0, x, 100.0),
+                line(prev + "_DOWN", x, 100.0, x, 200.0),
+                line(next + "_UP", x + 100.0, 0.0, x + 100.0, 100.0),
+                line(next + "_DOWN", x + 100.0, 100.0, x + 100.0, 200.0));
+    }
+
+    private static List<PanelCurves> panels() {
+        return Arrays.asList(rectanglePanel('A', 0.0), rectanglePanel('B', 150.0), rectanglePanel('C', 300.0));
+    }
+
+    /**
+     * Parse the file and return the d attribute of every path by id.
+     */
+    private static Map<String, String> pathData(File file) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document doc = factory.newDocumentBuilder().parse(file);
+        assertEquals("svg", doc.getDocumentElement().getLocalName());
+
+        Map<String, String> result = new HashMap<>();
+        NodeList paths = doc.getElementsByTagNameNS(SvgStreamWriter.SVG_NAMESPACE, "path");
+        for (int i = 0; i < paths.getLength(); i++) {
+            Element path = (Element) paths.item(i);
+            assertNull(result.put(path.getAttribute("id"), path.getAttribute("d")), path.getAttribute("id"));
+        }
+        return result;
+    }
+
+    @Test
+    void testAllowancesAndNotchesShareOneGeometry() throws Exception {
+        List<PanelCurves> panels = panels();
+        File allowancesFile = dir.resolve("allowances.svg").toFile();
+        File notchesFile = dir.resolve("notches.svg").toFile();
+        ExportJob job = ExportJob.of(null, null, panels)
+                .withNotches(2, 4.0)
+                .withOutput(ExportJob.Artifact.ALLOWANCES, allowancesFile)
+                .withOutput(ExportJob.Artifact.NOTCHES, notchesFile);
+        ExportGeometry geometry = ExportGeometry.compute(panels, 10.0, 2, 4.0);
+
+        job.run(null, geometry);
+
+        Map<String, String> allowances = pathData(allowancesFile);
+        Map<String, String> notches = pathData(notchesFile);
+        int seams = 0;
+        for (int i = 0; i < panels.size(); i++) {
+            Map<String, List<Pt>> shared = geometry.getAllowances(i);
+            assertSame(shared, geometry.getAllowances(i));
+            for (Map.Entry<String, List<Pt>> e : shared.entrySet()) {
+                String expected = PathDataEncoder.POLYLINE.encode(e.getValue());
+                assertEquals(expected, allowances.get(e.getKey() + "_ALLOW"));
+                assertEquals(expected, notches.get(e.getKey() + "_ALLOW"));
+                seams++;
+            }
+            for (Notch n : geometry.getNotches(i).getNotches()) {
+                assertTrue(notches.containsKey(n.getId()), n.getId());
+            }
+        }
+        // only the AA_ outer edge of panel A gets no allowance
+        assertEquals(10, seams);
+    }
+
+    @Test
+    void testRunWritesParseableArtifacts() throws Exception {
+        List<PanelCurves> panels = panels();
+        File allowancesFile = dir.resolve("allowances.svg").toFile();
+        File notchesFile = dir.resolve("notches.svg").toFile();
+
+        ExportJob.of(null, null, panels)
+                .withOutput(ExportJob.Artifact.ALLOWANCES, allowancesFile)
+                .withOutput(ExportJob.Artifact.NOTCHES, notchesFile)
+                .run(null);
+
+        Map<String, String> allowances = pathData(allowancesFile);
+        Map<String, String> notches = pathData(notchesFile);
+        assertTrue(allowances.containsKey("AB_UP_ALLOW"));
+        for (Map.Entry<String, String> e : allowances.entrySet()) {
+            assertEquals(e.getValue(), notches.get(e.getKey()), e.getKey());
+        }
+        assertTrue(notches.size() > allowances.size());
+    }
+
+    @Test
+    void testProgressStartsAtZeroAndEndsAtOne() throws Exception {
+        List<PanelCurves> panels = panels();
+        Map<ExportJob.Artifact, List<Double>> reported = new ConcurrentHashMap<>();
+
+        ExportJob.of(null, null, panels)
+                .withOutput(ExportJob.Artifact.ALLOWANCES, dir.resolve("allowances.svg").toFile())
+                .withOutput(ExportJob.Artifact.NOTCHES, dir.resolve("notches.svg").toFile())
+                .run((artifact, fraction) -> reported
+                .computeIfAbsent(artifact, a -> Collections.synchronizedList(new ArrayList<>()))
+                .add(fraction));
+
+        assertEquals(2, reported.size());
+        for (Map.Entry<ExportJob.Artifact, List<Double>> e : reported.entrySet()) {
+            List<Double> fractions = e.getValue();
+            assertTrue(fractions.size() >= 2, e.getKey().toString());
+            assertEquals(0.0, fractions.get(0), 0.0, e.getKey().toString());
+            assertEquals(1.0, fractions.get(fractions.size() - 1), 0.0, e.getKey().toString());
+            for (int i = 1; i < fractions.size(); i++) {
+                assertTrue(fractions.get(i) >= fractions.get(i - 1), e.getKey() + " " + fractions);
+            }
+        }
+    }
+
+    @Test
+    void testCurvesOnlyRequiresSvgPath() {
+        ExportJob job = ExportJob.of(null, null, panels())
+                .withOutput(ExportJob.Artifact.CURVES_ONLY, dir.resolve("curves.svg").toFile());
+
+        assertThrows(IllegalArgumentException.class, () -> job.run(null));
+    }
+
+    @Test
+    void testNoOutputsIsRejected() {
+        ExportJob job = ExportJob.of(null, null, panels());
+
+        assertThrows(IllegalArgumentException.class, () -> job.run(null));
+    }
+}
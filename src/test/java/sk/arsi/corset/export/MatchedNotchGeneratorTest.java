@@ -0,0 +1,190 @@
+package sk.arsi.corset.export;
+
+import org.junit.jupiter.api.Test;
+import sk.arsi.corset.model.Curve2D;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.PanelId;
+import sk.arsi.corset.model.Pt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MatchedNotchGenerator and the seam join it relies on.
+ */
+class MatchedNotchGeneratorTest {
+
+    private static final double EPS = 1e-6;
+
+    /**
+     * A straight seam through the waist point (x, 0) with the given lengths
+     * above and below the waist, slanted by {@code slant} mm in X per mm in Y.
+     * Index 0 is the UP curve (top to waist), index 1 the DOWN curve (waist
+     * to bottom).
+     */
+    private static Curve2D[] createSeam(String id, double x, double above, double below, double slant) {
+        double k = Math.sqrt(1.0 + slant * slant);
+        double yTop = -above / k;
+        double yBottom = below / k;
+        Curve2D up = new Curve2D(id + "_UP", new ArrayList<>(Arrays.asList(
+                new Pt(x + slant * yTop, yTop), new Pt(x, 0))));
+        Curve2D down = new Curve2D(id + "_DOWN", new ArrayList<>(Arrays.asList(
+                new Pt(x, 0), new Pt(x + slant * yBottom, yBottom))));
+        return new Curve2D[]{up, down};
+    }
+
+    /**
+     * A panel 100 mm wide with its waist on y = 0 and straight side seams of
+     * the given lengths above and below the waist.
+     */
+    private static PanelCurves createTestPanel(char letter, double prevAbove, double prevBelow, double prevSlant,
+            double nextAbove, double nextBelow, double nextSlant) {
+        String n = String.valueOf(letter);
+        Curve2D[] prev = createSeam(n + "_PREV", 0, prevAbove, prevBelow, prevSlant);
+        Curve2D[] next = createSeam(n + "_NEXT", 100, nextAbove, nextBelow, nextSlant);
+        Curve2D waist = new Curve2D(n + "_WAIST", new ArrayList<>(Arrays.asList(new Pt(0, 0), new Pt(100, 0))));
+        Curve2D top = new Curve2D(n + "_TOP", new ArrayList<>(Arrays.asList(new Pt(0, -150), new Pt(100, -150))));
+        Curve2D bottom = new Curve2D(n + "_BOTTOM", new ArrayList<>(Arrays.asList(new Pt(0, 150), new Pt(100, 150))));
+        return new PanelCurves(PanelId.of(letter), top, bottom, waist, prev[0], prev[1], next[0], next[1]);
+    }
+
+    private static PanelCurves createTestPanel(char letter) {
+        return createTestPanel(letter, 100, 80, 0, 100, 80, 0);
+    }
+
+    private static Notch notch(List<PanelNotches> all, String id) {
+        for (PanelNotches panel : all) {
+            for (Notch n : panel.getNotches()) {
+                if (n.getId().equals(id)) {
+                    return n;
+                }
+            }
+        }
+        fail("Missing notch " + id);
+        return null;
+    }
+
+    private static double distanceFromWaist(Notch n, double waistX) {
+        return Math.hypot(n.getStart().getX() - waistX, n.getStart().getY());
+    }
+
+    @Test
+    void testNotchesAtEqualDistancesFromWaist() {
+        // A's right seam is 100/80 mm, B's slanted left seam 120/70 mm
+        List<PanelCurves> panels = Arrays.asList(
+                createTestPanel('A', 100, 80, 0, 100, 80, 0),
+                createTestPanel('B', 120, 70, 0.3, 100, 80, 0));
+
+        List<PanelNotches> all = MatchedNotchGenerator.generateAllNotches(panels, 3, 4.0);
+
+        for (String segment : Arrays.asList("UP", "DOWN")) {
+            for (int percent : new int[]{25, 50, 75}) {
+                Notch a = notch(all, "A_NOTCH_B_" + segment + "_" + percent);
+                Notch b = notch(all, "B_NOTCH_A_" + segment + "_" + percent);
+                double da = distanceFromWaist(a, 100);
+                double db = distanceFromWaist(b, 0);
+                assertEquals(da, db, 1e-3, segment + " " + percent);
+                // spread over the shorter side: 100 mm above, 70 mm below
+                double span = segment.equals("UP") ? 100 : 70;
+                assertEquals(span * percent / 100.0, da, 1e-3, segment + " " + percent);
+                assertEquals(segment.equals("UP"), a.getStart().getY() < 0);
+                assertEquals(segment.equals("UP"), b.getStart().getY() < 0);
+            }
+        }
+    }
+
+    @Test
+    void testMismatchIsReported() {
+        List<PanelCurves> panels = Arrays.asList(
+                createTestPanel('A', 100, 80, 0, 100, 80, 0),
+                createTestPanel('B', 120, 70, 0.3, 100, 80, 0));
+
+        List<NotchPair> pairs = MatchedNotchGenerator.matchAllPairs(panels, 3, 4.0);
+
+        assertEquals(1, pairs.size());
+        NotchPair ab = pairs.get(0);
+        assertEquals("AB", ab.getName());
+        assertEquals(PanelId.of('A'), ab.getLeftId());
+        assertEquals(PanelId.of('B'), ab.getRightId());
+        assertEquals(100.0, ab.getLeftAbove(), 1e-3);
+        assertEquals(120.0, ab.getRightAbove(), 1e-3);
+        assertEquals(80.0, ab.getLeftBelow(), 1e-3);
+        assertEquals(70.0, ab.getRightBelow(), 1e-3);
+        assertEquals(-20.0, ab.getAboveMismatchMm(), 1e-3);
+        assertEquals(10.0, ab.getBelowMismatchMm(), 1e-3);
+        assertEquals(6, ab.getLeftNotches().size());
+        assertEquals(6, ab.getRightNotches().size());
+    }
+
+    @Test
+    void testMissingMiddlePanelHasNoPair() {
+        List<PanelCurves> panels = Arrays.asList(
+                createTestPanel('A'), createTestPanel('C'), createTestPanel('D'));
+
+        List<NotchPair> pairs = MatchedNotchGenerator.matchAllPairs(panels, 2, 4.0);
+
+        assertEquals(1, pairs.size());
+        assertEquals("CD", pairs.get(0).getName());
+    }
+
+    @Test
+    void testPairsAreIndependentOfInputOrder() {
+        List<PanelCurves> panels = Arrays.asList(
+                createTestPanel('C'), createTestPanel('A'), createTestPanel('B'));
+
+        List<NotchPair> pairs = MatchedNotchGenerator.matchAllPairs(panels, 2, 4.0);
+
+        assertEquals(2, pairs.size());
+        assertEquals("AB", pairs.get(0).getName());
+        assertEquals("BC", pairs.get(1).getName());
+    }
+
+    @Test
+    void testCombineCurvesTopToBottom() {
+        Curve2D[] seam = createSeam("S", 0, 10, 20, 0);
+
+        List<Pt> pts = GeometryUtils.combineCurves(seam[0], seam[1]);
+
+        assertEquals(3, pts.size(), "shared waist point is kept once");
+        assertEquals(-10.0, pts.get(0).getY(), EPS);
+        assertEquals(0.0, pts.get(1).getY(), EPS);
+        assertEquals(20.0, pts.get(2).getY(), EPS);
+    }
+
+    @Test
+    void testCombineCurvesDrawnInReverse() {
+        Curve2D[] seam = createSeam("S", 0, 10, 20, 0);
+        List<Pt> upPts = new ArrayList<>(seam[0].getPoints());
+        List<Pt> downPts = new ArrayList<>(seam[1].getPoints());
+        Collections.reverse(upPts);
+        Collections.reverse(downPts);
+
+        // each curve reversed, and UP/DOWN swapped
+        for (Curve2D[] pair : Arrays.asList(
+                new Curve2D[]{new Curve2D("U", upPts), new Curve2D("D", downPts)},
+                new Curve2D[]{new Curve2D("D", downPts), new Curve2D("U", upPts)},
+                new Curve2D[]{seam[1], seam[0]})) {
+            List<Pt> pts = GeometryUtils.combineCurves(pair[0], pair[1]);
+            assertEquals(3, pts.size());
+            assertEquals(-10.0, pts.get(0).getY(), EPS);
+            assertEquals(0.0, pts.get(1).getY(), EPS);
+            assertEquals(20.0, pts.get(2).getY(), EPS);
+        }
+    }
+
+    @Test
+    void testCombineCurvesSkipsNullAndNonFinitePoints() {
+        Curve2D up = new Curve2D("U", new ArrayList<>(Arrays.asList(
+                new Pt(0, -10), new Pt(Double.NaN, -5), new Pt(0, 0))));
+
+        List<Pt> pts = GeometryUtils.combineCurves(up, null);
+
+        assertEquals(2, pts.size());
+        assertEquals(-10.0, pts.get(0).getY(), EPS);
+        assertEquals(0.0, pts.get(1).getY(), EPS);
+    }
+}
@@ -0,0 +1,54 @@
+package sk.arsi.corset.export;
+
+import org.junit.jupiter.api.Test;
+import sk.arsi.corset.model.Pt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SVG path data formats.
+ */
+class PathDataEncoderTest {
+
+    /**
+     * The export format before the encoder existed: every point as M/L with
+     * {@code StringBuilder.append(double)}.
+     */
+    private static String legacyPathData(List<Pt> points) {
+        StringBuilder sb = new StringBuilder();
+        Pt first = points.get(0);
+        sb.append("M ").append(first.getX()).append(" ").append(first.getY());
+        for (int i = 1; i < points.size(); i++) {
+            Pt p = points.get(i);
+            sb.append(" L ").append(p.getX()).append(" ").append(p.getY());
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void testPolylineMatchesLegacyFormat() {
+        List<Pt> pts = new ArrayList<>();
+        pts.add(new Pt(0.0, 0.0));
+        pts.add(new Pt(1.0 / 3.0, -2.5));
+        pts.add(new Pt(1e-7, 123456789.125));
+        pts.add(new Pt(-0.0, 42.0));
+        assertEquals(legacyPathData(pts), PathDataEncoder.POLYLINE.encode(pts));
+    }
+
+    @Test
+    void testBezierUsesBoundedPrecision() {
+        List<Pt> pts = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            pts.add(new Pt(i / 3.0, 0.0));
+        }
+        assertEquals("M 0 0 C 11.111 0 22.222 0 33.333 0", PathDataEncoder.compact().encode(pts));
+    }
+
+    @Test
+    void testNonPositiveToleranceIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PathDataEncoder.bezier(0.0, 3));
+    }
+}
@@ -0,0 +1,212 @@
+package sk.arsi.corset.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import sk.arsi.corset.model.Curve2D;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.PanelId;
+import sk.arsi.corset.model.Pt;
+import sk.arsi.corset.util.SeamAllowanceComputer;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests pinning the streamed SVG exports to the element structure, ids,
+ * attributes and number formatting of the former DOM exporter.
+ */
+class SvgExporterTest {
+
+    @TempDir
+    Path dir;
+
+    private static Curve2D line(String id, double x0, double y0, double x1, double y1) {
+        List<Pt> pts = new ArrayList<>();
+        for (int i = 0; i <= 4; i++) {
+            pts.add(new Pt(x0 + (x1 - x0) * i / 4.0, y0 + (y1 - y0) * i / 4.0));
+        }
+        return new Curve2D(id, pts);
+    }
+
+    /**
+     * 100.5 x 200.3 mm rectangle at {@code x} (fractional sizes so the full
+     * precision number format shows).
+     */
+    private static PanelCurves rectanglePanel(char letter, double x) {
+        String n = String.valueOf(letter);
+        String prev = n + (letter == 'A' ? 'A' : (char) (letter - 1));
+        String next = n + (char) (letter + 1);
+        return new PanelCurves(
+                PanelId.of(letter),
+                line(n + "_TOP", x, 0.1, x + 100.5, 0.1),
+                line(n + "_BOTTOM", x, 200.3, x + 100.5, 200.3),
+                line(n + "_WAIST", x, 100.2, x + 100.5, 100.2),
+                line(prev + "_UP", x, 0.1, x, 100.2),
+                line(prev + "_DOWN", x, 100.2, x, 200.3),
+                line(next + "_UP", x + 100.5, 0.1, x + 100.5, 100.2),
+                line(next + "_DOWN", x + 100.5, 100.2, x + 100.5, 200.3));
+    }
+
+    private static List<PanelCurves> panels() {
+        return Arrays.asList(rectanglePanel('A', 0.0), rectanglePanel('B', 150.0));
+    }
+
+    /**
+     * Path data as the DOM exporter wrote it: M/L with
+     * {@link Double#toString(double)} coordinates.
+     */
+    private static String legacyPathData(List<Pt> points) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("M ").append(points.get(0).getX()).append(" ").append(points.get(0).getY());
+        for (int i = 1; i < points.size(); i++) {
+            sb.append(" L ").append(points.get(i).getX()).append(" ").append(points.get(i).getY());
+        }
+        return sb.toString();
+    }
+
+    private static Document parse(File file) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(file);
+    }
+
+    private static List<Element> children(Element parent) {
+        List<Element> out = new ArrayList<>();
+        for (Node n = parent.getFirstChild(); n != null; n = n.getNextSibling()) {
+            if (n instanceof Element) {
+                out.add((Element) n);
+            }
+        }
+        return out;
+    }
+
+    private static void assertRoot(Element root) {
+        assertEquals("svg", root.getLocalName());
+        assertEquals(SvgStreamWriter.SVG_NAMESPACE, root.getNamespaceURI());
+        assertEquals("1.1", root.getAttribute("version"));
+        // bounds 0.0..250.5 x 0.1..200.3 plus 10% of the larger side
+        double pad = 25.05;
+        assertEquals(String.format(Locale.ROOT, "%.2f %.2f %.2f %.2f", -pad, 0.1 - pad, 250.5 + 2 * pad, 200.2 + 2 * pad),
+                root.getAttribute("viewBox"));
+        assertEquals(String.format(Locale.ROOT, "%.2f", 250.5 + 2 * pad), root.getAttribute("width"));
+        assertEquals(String.format(Locale.ROOT, "%.2f", 200.2 + 2 * pad), root.getAttribute("height"));
+    }
+
+    private static void assertPath(Element path, String id, List<Pt> points, String stroke, String strokeWidth) {
+        assertEquals("path", path.getLocalName());
+        assertEquals(id, path.getAttribute("id"));
+        assertEquals(legacyPathData(points), path.getAttribute("d"), id);
+        assertEquals(stroke, path.getAttribute("stroke"));
+        assertEquals(strokeWidth, path.getAttribute("stroke-width"));
+        assertEquals("none", path.getAttribute("fill"));
+    }
+
+    /**
+     * Assert the seven curve paths of a panel starting at {@code from}.
+     */
+    private static void assertPanelCurves(List<Element> paths, int from, PanelCurves p) {
+        assertPath(paths.get(from), p.getTop().getId(), p.getTop().getPoints(), "black", "2.0");
+        assertPath(paths.get(from + 1), p.getBottom().getId(), p.getBottom().getPoints(), "black", "2.0");
+        assertPath(paths.get(from + 2), p.getWaist().getId(), p.getWaist().getPoints(), "black", "3.0");
+        Curve2D[] seams = {p.getSeamToPrevUp(), p.getSeamToPrevDown(), p.getSeamToNextUp(), p.getSeamToNextDown()};
+        for (int i = 0; i < seams.length; i++) {
+            assertPath(paths.get(from + 3 + i), seams[i].getId(), seams[i].getPoints(), "black", "1.5");
+        }
+    }
+
+    /**
+     * Assert the allowance paths of a panel starting at {@code from}; returns
+     * the index after them.
+     */
+    private static int assertAllowances(List<Element> paths, int from, PanelCurves p, double allowance) {
+        int i = from;
+        for (Curve2D seam : Arrays.asList(p.getSeamToPrevUp(), p.getSeamToPrevDown(),
+                p.getSeamToNextUp(), p.getSeamToNextDown())) {
+            if (!SeamAllowanceComputer.shouldGenerateAllowance(seam.getId())) {
+                continue;
+            }
+            List<Pt> offset = SeamAllowanceComputer.getOffsetCurve(seam, p, allowance);
+            assertPath(paths.get(i++), seam.getId() + "_ALLOW", offset, "green", "1");
+        }
+        return i;
+    }
+
+    @Test
+    void testAllowancesExportStructure() throws Exception {
+        List<PanelCurves> panels = panels();
+        File file = dir.resolve("allowances.svg").toFile();
+
+        SvgExporter.exportWithAllowances(panels, 10.0, file);
+
+        Element root = parse(file).getDocumentElement();
+        assertRoot(root);
+        List<Element> layers = children(root);
+        assertEquals(2, layers.size());
+        assertEquals("panels", layers.get(0).getAttribute("id"));
+        assertEquals("allowances", layers.get(1).getAttribute("id"));
+
+        List<Element> curves = children(layers.get(0));
+        assertEquals(14, curves.size());
+        assertPanelCurves(curves, 0, panels.get(0));
+        assertPanelCurves(curves, 7, panels.get(1));
+
+        List<Element> allowances = children(layers.get(1));
+        int end = assertAllowances(allowances, 0, panels.get(0), 10.0);
+        end = assertAllowances(allowances, end, panels.get(1), 10.0);
+        // AA_ is the outer edge: 2 + 4 allowances
+        assertEquals(6, end);
+        assertEquals(end, allowances.size());
+    }
+
+    @Test
+    void testNotchesExportStructure() throws Exception {
+        List<PanelCurves> panels = panels();
+        File file = dir.resolve("notches.svg").toFile();
+
+        SvgExporter.exportWithNotches(null, panels, file, 2, 4.0, 10.0);
+
+        Element root = parse(file).getDocumentElement();
+        assertRoot(root);
+        List<Element> groups = children(root);
+        assertEquals(2, groups.size());
+        List<PanelNotches> notches = NotchGenerator.generateAllNotches(panels, 2, 4.0);
+
+        for (int k = 0; k < panels.size(); k++) {
+            PanelCurves p = panels.get(k);
+            String name = p.getPanelId().name();
+            Element group = groups.get(k);
+            assertEquals(name + "_PANEL", group.getAttribute("id"));
+
+            List<Element> items = children(group);
+            assertEquals(9, items.size());
+            assertPanelCurves(items, 0, p);
+
+            Element allowances = items.get(7);
+            assertEquals("g", allowances.getLocalName());
+            assertEquals(name + "_ALLOWANCES", allowances.getAttribute("id"));
+            List<Element> allowancePaths = children(allowances);
+            assertEquals(allowancePaths.size(), assertAllowances(allowancePaths, 0, p, 10.0));
+
+            Element notchGroup = items.get(8);
+            assertEquals(name + "_NOTCHES", notchGroup.getAttribute("id"));
+            List<Element> notchPaths = children(notchGroup);
+            List<Notch> expected = notches.get(k).getNotches();
+            assertFalse(expected.isEmpty());
+            assertEquals(expected.size(), notchPaths.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Notch n = expected.get(i);
+                assertPath(notchPaths.get(i), n.getId(), Arrays.asList(n.getStart(), n.getEnd()), "black", "0.5");
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package sk.arsi.corset.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the single-scan d attribute replacement.
+ */
+class SvgTextDReplacerTest {
+
+    @Test
+    void testReplacesOnlyTheDValueAndKeepsFormatting() {
+        String svg = "<svg>\n  <path  id=\"A_TOP\"\n        d=\"M 0 0 L 1 1\" style=\"stroke:red\"/>\n</svg>";
+        String out = SvgTextDReplacer.replacePathDById(svg, "A_TOP", "M 5 5 L 6 6");
+        assertEquals("<svg>\n  <path  id=\"A_TOP\"\n        d=\"M 5 5 L 6 6\" style=\"stroke:red\"/>\n</svg>", out);
+    }
+
+    @Test
+    void testSimilarTagNamesAreSkipped() {
+        String svg = "<pathology id=\"A\" d=\"x\"/><path id=\"A\" d=\"M 0 0\"/>";
+        assertEquals("<pathology id=\"A\" d=\"x\"/><path id=\"A\" d=\"M 1 1\"/>",
+                SvgTextDReplacer.replacePathDById(svg, "A", "M 1 1"));
+    }
+
+    @Test
+    void testSingleQuotedAndUnquotedValues() {
+        assertEquals("<path id='A' d='M 1 1'/>",
+                SvgTextDReplacer.replacePathDById("<path id='A' d='M 0 0'/>", "A", "M 1 1"));
+        assertEquals("<path id=A d=M1,1 />",
+                SvgTextDReplacer.replacePathDById("<path id=A d=M0,0 />", "A", "M1,1"));
+    }
+
+    @Test
+    void testGreaterThanInsideQuotedValue() {
+        String svg = "<path title=\"a > b\" id=\"A\" d=\"M 0 0\"/>";
+        assertEquals("<path title=\"a > b\" id=\"A\" d=\"M 1 1\"/>",
+                SvgTextDReplacer.replacePathDById(svg, "A", "M 1 1"));
+    }
+
+    @Test
+    void testDBeforeAndAfterId() {
+        String svg = "<path d=\"M 0 0\" id=\"A\"/><path id=\"B\" d=\"M 2 2\"/>";
+        Map<String, String> newD = new LinkedHashMap<>();
+        newD.put("B", "M 3 3");
+        newD.put("A", "M 1 1");
+        assertEquals("<path d=\"M 1 1\" id=\"A\"/><path id=\"B\" d=\"M 3 3\"/>",
+                SvgTextDReplacer.replaceMany(svg, newD));
+    }
+
+    @Test
+    void testMissingIdIsRejected() {
+        String svg = "<path id=\"A\" d=\"M 0 0\"/>";
+        assertThrows(IllegalArgumentException.class, () -> SvgTextDReplacer.replacePathDById(svg, "B", "M 1 1"));
+    }
+
+    @Test
+    void testMissingDIsRejected() {
+        String svg = "<path id=\"A\" style=\"stroke:red\"/>";
+        assertThrows(IllegalArgumentException.class, () -> SvgTextDReplacer.replacePathDById(svg, "A", "M 1 1"));
+    }
+
+    @Test
+    void testOnlyFirstDuplicateIdIsReplaced() {
+        String svg = "<path id=\"A\" d=\"M 0 0\"/><path id=\"A\" d=\"M 9 9\"/>";
+        assertEquals("<path id=\"A\" d=\"M 1 1\"/><path id=\"A\" d=\"M 9 9\"/>",
+                SvgTextDReplacer.replacePathDById(svg, "A", "M 1 1"));
+    }
+
+    @Test
+    void testEmptyMapReturnsInput() {
+        String svg = "<path id=\"A\" d=\"M 0 0\"/>";
+        assertSame(svg, SvgTextDReplacer.replaceMany(svg, Collections.emptyMap()));
+    }
+}
@@ -0,0 +1,139 @@
+package sk.arsi.corset.measure;
+
+import org.junit.jupiter.api.Test;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.PanelId;
+import sk.arsi.corset.resize.PanelResizer;
+import sk.arsi.corset.resize.ResizeMode;
+import sk.arsi.corset.svg.PathSampler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FittingSolver on a synthetic panel set.
+ */
+class FittingSolverTest {
+
+    private static final PathSampler SAMPLER = new PathSampler();
+
+    private static PanelResizer createResizer() {
+        return new PanelResizer(SAMPLER, 0.2, 0.0);
+    }
+
+    private static String d(String format, Object... args) {
+        return String.format(Locale.ROOT, format, args);
+    }
+
+    /**
+     * A panel with its waist on y = 0, top at y = -150 and bottom at y = 150;
+     * curved side seams run from the top width through the waist width to the
+     * bottom width. All curves carry path data so they can be resized.
+     */
+    private static PanelCurves createTestPanel(char letter, double x, double top, double waist, double bottom) {
+        String n = String.valueOf(letter);
+        double xt = x + (waist - top) / 2.0;
+        double xb = x + (waist - bottom) / 2.0;
+        double xw = x;
+        return new PanelCurves(
+                PanelId.of(letter),
+                SAMPLER.samplePath(n + "_TOP", d("M %f -150 L %f -150", xt, xt + top), 0.2),
+                SAMPLER.samplePath(n + "_BOTTOM", d("M %f 150 L %f 150", xb, xb + bottom), 0.2),
+                SAMPLER.samplePath(n + "_WAIST", d("M %f 0 L %f 0", xw, xw + waist), 0.2),
+                SAMPLER.samplePath(n + "_PREV_UP", d("M %f -150 C %f -75 %f -75 %f 0", xt, xt, xw, xw), 0.2),
+                SAMPLER.samplePath(n + "_PREV_DOWN", d("M %f 0 C %f 75 %f 75 %f 150", xw, xw, xb, xb), 0.2),
+                SAMPLER.samplePath(n + "_NEXT_UP",
+                        d("M %f -150 C %f -75 %f -75 %f 0", xt + top, xt + top, xw + waist, xw + waist), 0.2),
+                SAMPLER.samplePath(n + "_NEXT_DOWN",
+                        d("M %f 0 C %f 75 %f 75 %f 150", xw + waist, xw + waist, xb + bottom, xb + bottom), 0.2));
+    }
+
+    private static List<PanelCurves> createTestPanels() {
+        List<PanelCurves> panels = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            panels.add(createTestPanel((char) ('A' + i), i * 200.0, 90.0, 60.0, 100.0));
+        }
+        return panels;
+    }
+
+    @Test
+    void testOneTargetOneZoneConverges() {
+        List<PanelCurves> base = createTestPanels();
+        double dy = 100.0;
+        double wanted = MeasurementUtils.computeFullCircumference(base, dy) + 24.0;
+        List<FittingSolver.FitTarget> targets = Arrays.asList(
+                new FittingSolver.FitTarget("Bust", dy, wanted, 1.0));
+
+        FittingSolver.FitResult result = new FittingSolver(createResizer())
+                .solve(base, targets, Arrays.asList(ResizeMode.TOP));
+
+        assertTrue(result.getMaxAbsResidualMm() <= FittingSolver.DEFAULT_TOLERANCE_MM,
+                "residual " + result.getMaxAbsResidualMm());
+        assertTrue(result.getSpec().getDelta(ResizeMode.TOP) > 0.0);
+        // the reported circumference is measured on the returned panels
+        assertEquals(MeasurementUtils.computeFullCircumference(result.getPanels(), dy), result.getAchievedMm(0), 1e-9);
+    }
+
+    @Test
+    void testZoneNoTargetSeesStaysAtZero() {
+        List<PanelCurves> base = createTestPanels();
+        double dy = 100.0;
+        double wanted = MeasurementUtils.computeFullCircumference(base, dy) - 16.0;
+        List<FittingSolver.FitTarget> targets = Arrays.asList(
+                new FittingSolver.FitTarget("Bust", dy, wanted, 1.0));
+
+        // BOTTOM only moves the lower seams, so a target above the waist cannot see it
+        FittingSolver.FitResult result = new FittingSolver(createResizer())
+                .solve(base, targets, Arrays.asList(ResizeMode.TOP, ResizeMode.BOTTOM));
+
+        assertTrue(result.getMaxAbsResidualMm() <= FittingSolver.DEFAULT_TOLERANCE_MM,
+                "residual " + result.getMaxAbsResidualMm());
+        assertEquals(0.0, result.getSpec().getDelta(ResizeMode.BOTTOM), 1e-9);
+        assertTrue(result.getSpec().getDelta(ResizeMode.TOP) < 0.0);
+    }
+
+    @Test
+    void testOvershootingStepIsNotReturned() {
+        // narrow tops: the -step resize of a far too large finite-difference
+        // step folds the panels over, so the reused slope is too small and
+        // every chord step overshoots
+        List<PanelCurves> base = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            base.add(createTestPanel((char) ('A' + i), i * 200.0, 20.0, 60.0, 100.0));
+        }
+        double dy = 140.0;
+        double start = MeasurementUtils.computeFullCircumference(base, dy);
+        List<FittingSolver.FitTarget> targets = Arrays.asList(
+                new FittingSolver.FitTarget("Bust", dy, start + 30.0, 1.0));
+
+        ResizeSensitivity coarse = new ResizeSensitivity(base, createResizer(), 400.0);
+        FittingSolver.FitResult result = new FittingSolver(createResizer(), 8, 0.01)
+                .solve(coarse, targets, Arrays.asList(ResizeMode.TOP));
+
+        assertTrue(Math.abs(result.getResidualMm(0)) <= 30.0 + 1e-9, "residual " + result.getResidualMm(0));
+        assertEquals(MeasurementUtils.computeFullCircumference(result.getPanels(), dy), result.getAchievedMm(0), 1e-9);
+    }
+
+    @Test
+    void testNoZonesReturnsBase() {
+        List<PanelCurves> base = createTestPanels();
+        List<FittingSolver.FitTarget> targets = Arrays.asList(
+                new FittingSolver.FitTarget("Waist", 0.0, 500.0, 1.0));
+
+        FittingSolver.FitResult result = new FittingSolver(createResizer())
+                .solve(base, targets, Arrays.asList(ResizeMode.DISABLED));
+
+        assertSame(base, result.getPanels());
+        assertTrue(result.getSpec().isEmpty());
+        assertEquals(0, result.getIterations());
+    }
+
+    @Test
+    void testNonPositiveWeightIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new FittingSolver.FitTarget("Hip", -150.0, 900.0, 0.0));
+    }
+}
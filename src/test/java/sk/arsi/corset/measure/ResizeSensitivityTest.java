@@ -0,0 +1,117 @@
+package sk.arsi.corset.measure;
+
+import org.junit.jupiter.api.Test;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.PanelId;
+import sk.arsi.corset.resize.PanelResizer;
+import sk.arsi.corset.resize.ResizeMode;
+import sk.arsi.corset.resize.ResizeSpec;
+import sk.arsi.corset.svg.PathSampler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the linearized resize model against exact resizes.
+ */
+class ResizeSensitivityTest {
+
+    private static final PathSampler SAMPLER = new PathSampler();
+    private static final PanelResizer RESIZER = new PanelResizer(SAMPLER, 0.2, 0.0);
+
+    private static String d(String format, Object... args) {
+        return String.format(Locale.ROOT, format, args);
+    }
+
+    /**
+     * A panel with its waist on y = 0, top at y = -150 and bottom at y = 150
+     * and curved side seams; all curves carry path data.
+     */
+    private static PanelCurves createTestPanel(char letter, double x, double top, double waist, double bottom) {
+        String n = String.valueOf(letter);
+        double xt = x + (waist - top) / 2.0;
+        double xb = x + (waist - bottom) / 2.0;
+        return new PanelCurves(
+                PanelId.of(letter),
+                SAMPLER.samplePath(n + "_TOP", d("M %f -150 L %f -150", xt, xt + top), 0.2),
+                SAMPLER.samplePath(n + "_BOTTOM", d("M %f 150 L %f 150", xb, xb + bottom), 0.2),
+                SAMPLER.samplePath(n + "_WAIST", d("M %f 0 L %f 0", x, x + waist), 0.2),
+                SAMPLER.samplePath(n + "_PREV_UP", d("M %f -150 C %f -75 %f -75 %f 0", xt, xt, x, x), 0.2),
+                SAMPLER.samplePath(n + "_PREV_DOWN", d("M %f 0 C %f 75 %f 75 %f 150", x, x, xb, xb), 0.2),
+                SAMPLER.samplePath(n + "_NEXT_UP",
+                        d("M %f -150 C %f -75 %f -75 %f 0", xt + top, xt + top, x + waist, x + waist), 0.2),
+                SAMPLER.samplePath(n + "_NEXT_DOWN",
+                        d("M %f 0 C %f 75 %f 75 %f 150", x + waist, x + waist, xb + bottom, xb + bottom), 0.2));
+    }
+
+    private static List<PanelCurves> createTestPanels() {
+        List<PanelCurves> panels = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            panels.add(createTestPanel((char) ('A' + i), i * 200.0, 90.0 + 5.0 * i, 60.0, 100.0));
+        }
+        return panels;
+    }
+
+    /**
+     * Central difference of exact resizes.
+     */
+    private static double exactSlope(List<PanelCurves> base, ResizeMode mode, double dy) {
+        double h = 1.0;
+        double plus = MeasurementUtils.computeFullCircumference(RESIZER.resize(base, mode, h), dy);
+        double minus = MeasurementUtils.computeFullCircumference(RESIZER.resize(base, mode, -h), dy);
+        return (plus - minus) / (2.0 * h);
+    }
+
+    @Test
+    void testCircumferenceSlopeMatchesExactResizes() {
+        List<PanelCurves> base = createTestPanels();
+        ResizeSensitivity sensitivity = new ResizeSensitivity(base, RESIZER);
+
+        for (ResizeMode mode : new ResizeMode[]{ResizeMode.GLOBAL, ResizeMode.TOP, ResizeMode.BOTTOM, ResizeMode.WAIST}) {
+            for (double dy : new double[]{100.0, 0.0, -100.0}) {
+                double expected = exactSlope(base, mode, dy);
+                assertEquals(expected, sensitivity.getCircumferenceSlope(mode, dy), 1e-3, mode + " at " + dy);
+            }
+        }
+        // GLOBAL moves both waist line ends: the waist grows by the full delta
+        assertEquals(1.0, sensitivity.getCircumferenceSlope(ResizeMode.GLOBAL, 0.0), 1e-3);
+        assertTrue(sensitivity.getCircumferenceSlope(ResizeMode.TOP, 100.0) > 0.1);
+        // a zone that does not reach the measured height has no slope
+        assertEquals(0.0, sensitivity.getCircumferenceSlope(ResizeMode.TOP, -100.0), 1e-9);
+        assertEquals(0.0, sensitivity.getCircumferenceSlope(ResizeMode.DISABLED, 0.0), 0.0);
+    }
+
+    @Test
+    void testPredictionMatchesCompositeResize() {
+        List<PanelCurves> base = createTestPanels();
+        ResizeSensitivity sensitivity = new ResizeSensitivity(base, RESIZER);
+        ResizeSpec spec = ResizeSpec.of(ResizeMode.TOP, 12.0).with(ResizeMode.WAIST, -8.0);
+        List<PanelCurves> resized = RESIZER.resize(base, spec);
+
+        for (double dy : new double[]{120.0, 50.0, 0.0, -80.0}) {
+            assertEquals(MeasurementUtils.computeFullCircumference(resized, dy),
+                    sensitivity.predictCircumference(spec, dy), 1e-3, "at " + dy);
+        }
+        assertEquals(sensitivity.getBaseCircumference(50.0), sensitivity.predictCircumference(null, 50.0), 0.0);
+    }
+
+    @Test
+    void testIsForOnlyTheBasePanels() {
+        List<PanelCurves> base = createTestPanels();
+        ResizeSensitivity sensitivity = new ResizeSensitivity(base, RESIZER);
+
+        assertTrue(sensitivity.isFor(base));
+        assertFalse(sensitivity.isFor(RESIZER.resize(base, ResizeMode.GLOBAL, 10.0)));
+        assertFalse(sensitivity.isFor(new ArrayList<>(base)));
+        assertFalse(sensitivity.isFor(null));
+    }
+
+    @Test
+    void testNonPositiveStepIsRejected() {
+        List<PanelCurves> base = createTestPanels();
+        assertThrows(IllegalArgumentException.class, () -> new ResizeSensitivity(base, RESIZER, 0.0));
+    }
+}
@@ -0,0 +1,154 @@
+package sk.arsi.corset.measure;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.PanelId;
+import sk.arsi.corset.resize.PanelResizer;
+import sk.arsi.corset.resize.ResizeMode;
+import sk.arsi.corset.resize.ResizeSpec;
+import sk.arsi.corset.svg.PathSampler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the resize sweep cache: on-demand entries and the LRU point
+ * budget.
+ */
+class ResizeSweepCacheTest {
+
+    private static final PathSampler SAMPLER = new PathSampler();
+    private static final PanelResizer RESIZER = new PanelResizer(SAMPLER, 0.2, 0.0);
+
+    // straight curves sample to 2 points each: 7 curves x 2 panels
+    private static final long ENTRY_POINTS = 28L;
+
+    private ResizeSweepCache cache;
+
+    @AfterEach
+    void shutdown() {
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+    private static String d(String format, Object... args) {
+        return String.format(Locale.ROOT, format, args);
+    }
+
+    /**
+     * A panel of straight lines with its waist on y = 0, so every resize
+     * keeps the same number of sampled points.
+     */
+    private static PanelCurves createTestPanel(char letter, double x) {
+        String n = String.valueOf(letter);
+        return new PanelCurves(
+                PanelId.of(letter),
+                SAMPLER.samplePath(n + "_TOP", d("M %f -150 L %f -150", x - 10, x + 110), 0.2),
+                SAMPLER.samplePath(n + "_BOTTOM", d("M %f 150 L %f 150", x - 20, x + 120), 0.2),
+                SAMPLER.samplePath(n + "_WAIST", d("M %f 0 L %f 0", x, x + 100), 0.2),
+                SAMPLER.samplePath(n + "_PREV_UP", d("M %f -150 L %f 0", x - 10, x), 0.2),
+                SAMPLER.samplePath(n + "_PREV_DOWN", d("M %f 0 L %f 150", x, x - 20), 0.2),
+                SAMPLER.samplePath(n + "_NEXT_UP", d("M %f -150 L %f 0", x + 110, x + 100), 0.2),
+                SAMPLER.samplePath(n + "_NEXT_DOWN", d("M %f 0 L %f 150", x + 100, x + 120), 0.2));
+    }
+
+    private static List<PanelCurves> createTestPanels() {
+        List<PanelCurves> panels = new ArrayList<>();
+        panels.add(createTestPanel('A', 0.0));
+        panels.add(createTestPanel('B', 200.0));
+        return panels;
+    }
+
+    /**
+     * Start a sweep whose grid is only the current delta 0 and wait until the
+     * background job has stored it.
+     */
+    private void startAndWait(List<PanelCurves> base, ResizeMode mode) throws InterruptedException {
+        cache.start(base, ResizeSpec.empty(), mode, 0.0, 0.0, 1.0);
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (cache.lookup(base, ResizeSpec.empty(), mode, 0.0) == null) {
+            assertTrue(System.currentTimeMillis() < deadline, "sweep did not finish");
+            Thread.sleep(5L);
+        }
+    }
+
+    @Test
+    void testOffGridDeltaIsComputedAndCached() throws Exception {
+        cache = new ResizeSweepCache(RESIZER);
+        List<PanelCurves> base = createTestPanels();
+        startAndWait(base, ResizeMode.GLOBAL);
+
+        assertNull(cache.lookup(base, null, ResizeMode.GLOBAL, 2.5));
+        ResizeSweepCache.Entry e = cache.getOrCompute(base, null, ResizeMode.GLOBAL, 2.5);
+
+        assertEquals(2.5, e.getDeltaMm(), 0.0);
+        assertEquals(MeasurementUtils.computeFullCircumference(RESIZER.resize(base, ResizeMode.GLOBAL, 2.5), 0.0),
+                e.getCircumference(0.0), 1e-9);
+        assertSame(e, cache.lookup(base, null, ResizeMode.GLOBAL, 2.5));
+        assertSame(e.getPanels(), cache.getOrCompute(base, ResizeSpec.empty(), ResizeMode.GLOBAL, 2.5).getPanels());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvictedOverBudget() throws Exception {
+        cache = new ResizeSweepCache(RESIZER, 3 * ENTRY_POINTS);
+        List<PanelCurves> base = createTestPanels();
+        startAndWait(base, ResizeMode.GLOBAL);
+
+        cache.getOrCompute(base, null, ResizeMode.GLOBAL, 1.0);
+        cache.getOrCompute(base, null, ResizeMode.GLOBAL, 2.0);
+        assertEquals(3, cache.size());
+
+        // touch 0 so that 1 is now the least recently used
+        ResizeSweepCache.Entry zero = cache.getOrCompute(base, null, ResizeMode.GLOBAL, 0.0);
+        cache.getOrCompute(base, null, ResizeMode.GLOBAL, 3.0);
+
+        assertEquals(3, cache.size());
+        assertNull(cache.lookup(base, null, ResizeMode.GLOBAL, 1.0));
+        assertSame(zero, cache.lookup(base, null, ResizeMode.GLOBAL, 0.0));
+        assertNotNull(cache.lookup(base, null, ResizeMode.GLOBAL, 2.0));
+        assertNotNull(cache.lookup(base, null, ResizeMode.GLOBAL, 3.0));
+
+        // lookups count as use too: 0, 2, 3 were read in that order
+        cache.getOrCompute(base, null, ResizeMode.GLOBAL, 4.0);
+        assertNull(cache.lookup(base, null, ResizeMode.GLOBAL, 0.0));
+        assertNotNull(cache.lookup(base, null, ResizeMode.GLOBAL, 2.0));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testBudgetBelowOneEntryKeepsTheNewest() throws Exception {
+        cache = new ResizeSweepCache(RESIZER, 1L);
+        List<PanelCurves> base = createTestPanels();
+        startAndWait(base, ResizeMode.GLOBAL);
+
+        ResizeSweepCache.Entry e = cache.getOrCompute(base, null, ResizeMode.GLOBAL, 5.0);
+
+        assertEquals(1, cache.size());
+        assertSame(e, cache.lookup(base, null, ResizeMode.GLOBAL, 5.0));
+    }
+
+    @Test
+    void testOtherSweepIsComputedButNotCached() throws Exception {
+        cache = new ResizeSweepCache(RESIZER);
+        List<PanelCurves> base = createTestPanels();
+        startAndWait(base, ResizeMode.GLOBAL);
+
+        ResizeSweepCache.Entry e = cache.getOrCompute(base, null, ResizeMode.WAIST, 3.0);
+
+        assertNotNull(e);
+        assertEquals(1, cache.size());
+        assertNull(cache.lookup(base, null, ResizeMode.WAIST, 3.0));
+        assertFalse(cache.isFor(new ArrayList<>(base), null, ResizeMode.GLOBAL));
+        assertTrue(cache.isFor(base, ResizeSpec.empty(), ResizeMode.GLOBAL));
+
+        cache.cancel();
+        assertEquals(0, cache.size());
+        assertFalse(cache.isFor(base, null, ResizeMode.GLOBAL));
+    }
+}
@@ -0,0 +1,147 @@
+package sk.arsi.corset.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the cumulative arc-length table.
+ */
+class ArcLengthTableTest {
+
+    /**
+     * Linear walk used before the table existed (GeometryUtils.pointAtArcLength).
+     */
+    private static Pt walkPoint(List<Pt> points, double fraction) {
+        double total = 0.0;
+        for (int i = 0; i < points.size() - 1; i++) {
+            Pt p0 = points.get(i);
+            Pt p1 = points.get(i + 1);
+            if (p0 != null && p1 != null) {
+                total += Math.hypot(p1.getX() - p0.getX(), p1.getY() - p0.getY());
+            }
+        }
+        if (total <= 0.0) {
+            return null;
+        }
+        double target = total * fraction;
+        double current = 0.0;
+        for (int i = 0; i < points.size() - 1; i++) {
+            Pt p0 = points.get(i);
+            Pt p1 = points.get(i + 1);
+            if (p0 == null || p1 == null) {
+                continue;
+            }
+            double dx = p1.getX() - p0.getX();
+            double dy = p1.getY() - p0.getY();
+            double segment = Math.sqrt(dx * dx + dy * dy);
+            if (segment <= 0.0) {
+                continue;
+            }
+            if (current + segment >= target) {
+                double t = (target - current) / segment;
+                return new Pt(p0.getX() + t * dx, p0.getY() + t * dy);
+            }
+            current += segment;
+        }
+        return points.get(points.size() - 1);
+    }
+
+    private static void assertPt(double x, double y, Pt p) {
+        assertNotNull(p);
+        assertEquals(x, p.getX(), 1e-9);
+        assertEquals(y, p.getY(), 1e-9);
+    }
+
+    @Test
+    void testFractionEndsAreFirstAndLastPoint() {
+        ArcLengthTable table = ArcLengthTable.of(Arrays.asList(new Pt(0, 0), new Pt(3, 4), new Pt(3, 10)));
+
+        assertEquals(11.0, table.getTotalLength(), 1e-12);
+        assertPt(0, 0, table.pointAtFraction(0.0));
+        assertPt(3, 10, table.pointAtFraction(1.0));
+        assertPt(0.6, 0.8, table.tangentAtFraction(0.0));
+        assertPt(0, 1, table.tangentAtFraction(1.0));
+        assertNull(table.pointAtFraction(-0.01));
+        assertNull(table.pointAtFraction(1.01));
+    }
+
+    @Test
+    void testRepeatedPointsAreSkipped() {
+        ArcLengthTable table = ArcLengthTable.of(Arrays.asList(new Pt(0, 0), new Pt(0, 0), new Pt(10, 0),
+                new Pt(10, 0), new Pt(10, 0), new Pt(10, 10)));
+
+        assertEquals(20.0, table.getTotalLength(), 1e-12);
+        assertEquals(1, table.segmentAt(0.0));
+        assertEquals(1, table.segmentAt(10.0));
+        assertEquals(4, table.segmentAt(10.5));
+        assertPt(1, 0, table.tangentAt(0.0));
+        assertPt(1, 0, table.tangentAt(10.0));
+        assertPt(0, 1, table.tangentAt(10.5));
+        assertPt(10, 5, table.pointAtFraction(0.75));
+    }
+
+    @Test
+    void testNullPointContributesNoLength() {
+        ArcLengthTable table = ArcLengthTable.of(Arrays.asList(new Pt(0, 0), new Pt(10, 0), null,
+                new Pt(50, 50), new Pt(50, 60)));
+
+        // segments touching the null point are ignored
+        assertEquals(20.0, table.getTotalLength(), 1e-12);
+        assertEquals(10.0, table.getLengthAt(2), 1e-12);
+        assertEquals(10.0, table.getLengthAt(3), 1e-12);
+        assertPt(10, 0, table.pointAt(10.0));
+        assertPt(50, 55, table.pointAt(15.0));
+        assertPt(0, 1, table.tangentAt(15.0));
+    }
+
+    @Test
+    void testEmptyAndDegenerateTables() {
+        assertEquals(0, ArcLengthTable.of(null).size());
+        assertNull(ArcLengthTable.of(null).pointAtFraction(0.5));
+        ArcLengthTable single = ArcLengthTable.of(List.of(new Pt(1, 1), new Pt(1, 1)));
+        assertEquals(0.0, single.getTotalLength());
+        assertNull(single.pointAtFraction(0.0));
+        assertNull(single.tangentAtFraction(0.0));
+    }
+
+    @Test
+    void testMatchesLinearWalk() {
+        Random rnd = new Random(7);
+        for (int round = 0; round < 100; round++) {
+            List<Pt> pts = new ArrayList<>();
+            pts.add(new Pt(0, 0));
+            double x = 0.0;
+            double y = 0.0;
+            int n = 2 + rnd.nextInt(40);
+            for (int i = 1; i < n; i++) {
+                int kind = rnd.nextInt(10);
+                if (kind == 0 && pts.get(pts.size() - 1) != null) {
+                    pts.add(pts.get(pts.size() - 1)); // repeated
+                } else if (kind == 1 && i < n - 1) {
+                    pts.add(null);
+                } else {
+                    x += rnd.nextDouble() * 10.0 - 3.0;
+                    y += rnd.nextDouble() * 10.0 - 3.0;
+                    pts.add(new Pt(x, y));
+                }
+            }
+            ArcLengthTable table = ArcLengthTable.of(pts);
+            for (int k = 0; k <= 200; k++) {
+                double f = k / 200.0;
+                Pt expected = walkPoint(pts, f);
+                Pt actual = table.pointAtFraction(f);
+                if (expected == null) {
+                    assertNull(actual);
+                } else {
+                    assertPt(expected.getX(), expected.getY(), actual);
+                }
+            }
+        }
+    }
+}
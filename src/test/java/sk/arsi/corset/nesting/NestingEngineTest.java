@@ -0,0 +1,168 @@
+package sk.arsi.corset.nesting;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import sk.arsi.corset.model.Curve2D;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.PanelId;
+import sk.arsi.corset.model.Pt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for marker nesting: overlap, spacing, fabric width and
+ * determinism.
+ */
+class NestingEngineTest {
+
+    private static final GeometryFactory GF = new GeometryFactory();
+    private static final double EPS = 1e-6;
+
+    private static Curve2D line(String id, double x0, double y0, double x1, double y1) {
+        List<Pt> pts = new ArrayList<>();
+        for (int i = 0; i <= 4; i++) {
+            pts.add(new Pt(x0 + (x1 - x0) * i / 4.0, y0 + (y1 - y0) * i / 4.0));
+        }
+        return new Curve2D(id, pts);
+    }
+
+    /**
+     * Tapered panel 300 mm tall, waist at y = 150, in source (Y-down)
+     * coordinates.
+     */
+    private static PanelCurves taperedPanel(char letter, double top, double waist, double bottom) {
+        String n = String.valueOf(letter);
+        String prev = n + (char) (letter - 1);
+        String next = n + (char) (letter + 1);
+        double xt = (waist - top) / 2.0;
+        double xb = (waist - bottom) / 2.0;
+        return new PanelCurves(
+                PanelId.of(letter),
+                line(n + "_TOP", xt, 0, xt + top, 0),
+                line(n + "_BOTTOM", xb, 300, xb + bottom, 300),
+                line(n + "_WAIST", 0, 150, waist, 150),
+                line(prev + "_UP", xt, 0, 0, 150),
+                line(prev + "_DOWN", 0, 150, xb, 300),
+                line(next + "_UP", xt + top, 0, waist, 150),
+                line(next + "_DOWN", waist, 150, xb + bottom, 300));
+    }
+
+    private static List<NestingPart> panelParts() {
+        List<PanelCurves> panels = List.of(
+                taperedPanel('B', 90, 60, 100),
+                taperedPanel('C', 110, 70, 120),
+                taperedPanel('D', 80, 50, 90));
+        return NestingPart.fromPanels(panels, 15.0, true);
+    }
+
+    /**
+     * L-shaped part {@code size} mm across with a {@code size / 2} notch, so
+     * parts can interlock.
+     */
+    private static NestingPart lShape(String id, double size) {
+        double h = size / 2.0;
+        Coordinate[] c = {
+            new Coordinate(0, 0), new Coordinate(size, 0), new Coordinate(size, h),
+            new Coordinate(h, h), new Coordinate(h, size), new Coordinate(0, size), new Coordinate(0, 0)
+        };
+        return new NestingPart(id, GF.createPolygon(c));
+    }
+
+    private static void assertValidLayout(MarkerLayout layout, int partCount, double spacing) {
+        List<MarkerLayout.Placement> placements = layout.getPlacements();
+        assertEquals(partCount, placements.size());
+        for (int i = 0; i < placements.size(); i++) {
+            Geometry a = placements.get(i).getPlaced();
+            Envelope e = a.getEnvelopeInternal();
+            assertTrue(e.getMinX() >= -EPS, "part starts before the marker: " + e);
+            assertTrue(e.getMinY() >= -EPS, "part below the fabric edge: " + e);
+            assertTrue(e.getMaxY() <= layout.getFabricWidthMm() + EPS, "part beyond the fabric width: " + e);
+            assertTrue(e.getMaxX() <= layout.getLengthMm() + EPS, "part beyond the marker length: " + e);
+            assertEquals(placements.get(i).getPart().getArea(), a.getArea(), 1e-6, "placement keeps the area");
+            for (int j = i + 1; j < placements.size(); j++) {
+                Geometry b = placements.get(j).getPlaced();
+                assertEquals(0.0, a.intersection(b).getArea(), 0.0,
+                        placements.get(i).getPart().getId() + " overlaps " + placements.get(j).getPart().getId());
+                assertTrue(a.distance(b) >= spacing - EPS,
+                        placements.get(i).getPart().getId() + " is closer than the spacing to "
+                        + placements.get(j).getPart().getId() + ": " + a.distance(b));
+            }
+        }
+    }
+
+    @Test
+    void testPanelPairsDoNotOverlapAndKeepSpacing() {
+        List<NestingPart> parts = panelParts();
+        NestingEngine.Options options = NestingEngine.Options.defaults()
+                .withFabricWidthMm(500.0)
+                .withSpacingMm(3.0)
+                .withTrials(8);
+
+        MarkerLayout layout = NestingEngine.nest(parts, options);
+
+        assertEquals(6, parts.size());
+        assertValidLayout(layout, parts.size(), 3.0);
+        assertTrue(layout.getUtilization() > 0.0 && layout.getUtilization() <= 1.0);
+    }
+
+    @Test
+    void testInterlockingPartsWithAnyRotation() {
+        List<NestingPart> parts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            parts.add(lShape("L" + i, 80.0 + 10.0 * (i % 3)));
+        }
+        NestingEngine.Options options = NestingEngine.Options.defaults()
+                .withFabricWidthMm(250.0)
+                .withSpacingMm(2.0)
+                .withGrain(NestingEngine.Grain.ANY)
+                .withTrials(8);
+
+        MarkerLayout layout = NestingEngine.nest(parts, options);
+
+        assertValidLayout(layout, parts.size(), 2.0);
+    }
+
+    @Test
+    void testSameSeedGivesSamePlacements() {
+        List<NestingPart> parts = panelParts();
+        NestingEngine.Options options = NestingEngine.Options.defaults()
+                .withFabricWidthMm(500.0)
+                .withTrials(12)
+                .withSeed(42L);
+
+        MarkerLayout first = NestingEngine.nest(parts, options);
+        MarkerLayout second = NestingEngine.nest(parts, options);
+
+        assertEquals(first.getLengthMm(), second.getLengthMm(), 0.0);
+        assertEquals(first.getPlacements().size(), second.getPlacements().size());
+        for (int i = 0; i < first.getPlacements().size(); i++) {
+            MarkerLayout.Placement a = first.getPlacements().get(i);
+            MarkerLayout.Placement b = second.getPlacements().get(i);
+            assertSame(a.getPart(), b.getPart());
+            assertEquals(a.getRotationDeg(), b.getRotationDeg());
+            assertTrue(a.getPlaced().equalsExact(b.getPlaced()), a.getPart().getId());
+        }
+    }
+
+    @Test
+    void testPartWiderThanFabricIsRejected() {
+        List<NestingPart> parts = List.of(lShape("L", 80.0), lShape("BIG", 600.0));
+        NestingEngine.Options options = NestingEngine.Options.defaults()
+                .withFabricWidthMm(500.0)
+                .withGrain(NestingEngine.Grain.ANY);
+
+        assertThrows(IllegalArgumentException.class, () -> NestingEngine.nest(parts, options));
+    }
+
+    @Test
+    void testNoPartsIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> NestingEngine.nest(new ArrayList<>(), NestingEngine.Options.defaults()));
+    }
+}
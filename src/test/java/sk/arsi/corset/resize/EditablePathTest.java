@@ -0,0 +1,63 @@
+package sk.arsi.corset.resize;
+
+import org.junit.jupiter.api.Test;
+import sk.arsi.corset.model.Pt;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EditablePath parsing, endpoint edits and serialization.
+ */
+class EditablePathTest {
+
+    @Test
+    void testRelativeAndImplicitCommandsBecomeAbsolute() {
+        EditablePath path = EditablePath.parse("m 10,20 5,0 h 5 v -10 c 1,1 2,2 3,3 z");
+
+        List<Pt> endpoints = path.getEndpointPoints();
+        assertEquals(5, endpoints.size());
+        assertEquals(15.0, endpoints.get(1).getX(), 1e-9);
+        assertEquals(20.0, endpoints.get(2).getX(), 1e-9);
+        assertEquals(10.0, endpoints.get(3).getY(), 1e-9);
+        assertEquals(23.0, endpoints.get(4).getX(), 1e-9);
+        assertEquals(13.0, endpoints.get(4).getY(), 1e-9);
+
+        assertEquals("M 10 20 L 15 20 L 20 20 L 20 10 C 21 11 22 12 23 13 Z", path.toPathData());
+    }
+
+    @Test
+    void testCompactNumberSyntax() {
+        EditablePath path = EditablePath.parse("M.5.5L-1-2e1");
+        assertEquals(2, path.getEndpointCount());
+        assertEquals(0.5, path.getEndpoint(0).getY(), 1e-9);
+        assertEquals(-20.0, path.getEndpoint(1).getY(), 1e-9);
+    }
+
+    @Test
+    void testEndpointEditsKeepControlPoints() {
+        EditablePath path = EditablePath.parse("M 0 0 C 0 10 10 10 10 0 L 20 0");
+        assertFalse(path.isModified());
+
+        int[] lr = path.findLeftRightEndpoints();
+        path.translateEndpoint(lr[0], -1.0, 0.0);
+        path.translateEndpoint(lr[1], 1.0, 0.0);
+
+        assertTrue(path.isModified());
+        assertEquals("M -1 0 C 0 10 10 10 10 0 L 21 0", path.toPathData());
+    }
+
+    @Test
+    void testPrecisionIsBounded() {
+        EditablePath path = EditablePath.parse("M 0.123456789 -0.000001 L 1 2");
+        assertEquals("M 0.1235 0 L 1 2", path.toPathData(4));
+        assertEquals("M 0.123456789 -1.0E-6 L 1.0 2.0", path.toPathData(EditablePath.FULL_PRECISION));
+    }
+
+    @Test
+    void testUnsupportedCommandIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> EditablePath.parse("M 0 0 A 5 5 0 0 1 10 0"));
+        assertThrows(IllegalArgumentException.class, () -> EditablePath.parse("  "));
+    }
+}
@@ -0,0 +1,222 @@
+package sk.arsi.corset.resize;
+
+import org.junit.jupiter.api.Test;
+import sk.arsi.corset.model.Curve2D;
+import sk.arsi.corset.model.PanelCurves;
+import sk.arsi.corset.model.PanelId;
+import sk.arsi.corset.model.Pt;
+import sk.arsi.corset.svg.PathSampler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PanelResizer: a single-zone {@link ResizeSpec} must give the
+ * same curves as the classic one-mode resize, which edited the path string
+ * once per endpoint.
+ */
+class PanelResizerTest {
+
+    private static final double FLATNESS = 0.2;
+    private static final double STEP = 1.0;
+    private static final PathSampler SAMPLER = new PathSampler();
+    private static final PanelResizer RESIZER = new PanelResizer(SAMPLER, FLATNESS, STEP);
+
+    private static String d(String format, Object... args) {
+        return String.format(Locale.ROOT, format, args);
+    }
+
+    private static Curve2D curve(String id, String d) {
+        return SAMPLER.samplePath(id, d, FLATNESS, STEP);
+    }
+
+    /**
+     * A panel with its waist on y = 0; seams are two cubic segments each and
+     * the horizontal edges have a middle node, so endpoint indices matter.
+     */
+    private static PanelCurves createTestPanel(char letter, double x) {
+        String n = String.valueOf(letter);
+        return new PanelCurves(
+                PanelId.of(letter),
+                curve(n + "_TOP", d("M %f -150 L %f -152 L %f -150", x - 10, x + 50, x + 110)),
+                curve(n + "_BOTTOM", d("M %f 150 L %f 153 L %f 150", x - 20, x + 50, x + 120)),
+                curve(n + "_WAIST", d("M %f 0 L %f 0", x, x + 100)),
+                curve(n + "_PREV_UP", d("M %f -150 C %f -120 %f -100 %f -75 C %f -50 %f -20 %f 0",
+                        x - 10, x - 9, x - 4, x - 3, x - 2, x, x)),
+                curve(n + "_PREV_DOWN", d("M %f 0 C %f 20 %f 50 %f 75 C %f 100 %f 130 %f 150",
+                        x, x, x - 5, x - 8, x - 11, x - 18, x - 20)),
+                curve(n + "_NEXT_UP", d("M %f -150 C %f -120 %f -100 %f -75 C %f -50 %f -20 %f 0",
+                        x + 110, x + 109, x + 104, x + 103, x + 102, x + 100, x + 100)),
+                curve(n + "_NEXT_DOWN", d("M %f 0 C %f 20 %f 50 %f 75 C %f 100 %f 130 %f 150",
+                        x + 100, x + 100, x + 105, x + 108, x + 111, x + 118, x + 120)));
+    }
+
+    private static List<PanelCurves> createTestPanels() {
+        List<PanelCurves> panels = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            panels.add(createTestPanel((char) ('A' + i), i * 200.0));
+        }
+        return panels;
+    }
+
+    // ---- reference: the classic per-endpoint string edits ----
+    private static Curve2D legacyResample(Curve2D original, String d) {
+        return SAMPLER.samplePath(original.getId(), SvgPathEditor.normalizePath(d), FLATNESS, STEP);
+    }
+
+    private static Curve2D legacyHorizontalEdge(Curve2D c, double shift, boolean left, boolean right) {
+        int[] lr = SvgPathEditor.findLeftRightEndpoints(c.getD());
+        String d = c.getD();
+        if (left) {
+            d = SvgPathEditor.modifyEndpoint(d, lr[0], -shift, 0.0);
+        }
+        if (right) {
+            d = SvgPathEditor.modifyEndpoint(d, lr[1], shift, 0.0);
+        }
+        return legacyResample(c, d);
+    }
+
+    private static Curve2D legacyMinY(Curve2D c, double shift) {
+        return legacyResample(c, SvgPathEditor.modifyEndpoint(c.getD(), SvgPathEditor.findMinYEndpoint(c.getD()),
+                shift, 0.0));
+    }
+
+    private static Curve2D legacyMaxY(Curve2D c, double shift) {
+        return legacyResample(c, SvgPathEditor.modifyEndpoint(c.getD(), SvgPathEditor.findMaxYEndpoint(c.getD()),
+                shift, 0.0));
+    }
+
+    private static Curve2D legacyVertical(Curve2D c, double shift) {
+        String d = SvgPathEditor.modifyEndpoint(c.getD(), SvgPathEditor.findMinYEndpoint(c.getD()), shift, 0.0);
+        d = SvgPathEditor.modifyEndpoint(d, SvgPathEditor.findMaxYEndpoint(c.getD()), shift, 0.0);
+        return legacyResample(c, d);
+    }
+
+    private static PanelCurves legacyResize(PanelCurves p, ResizeMode mode, double s) {
+        Curve2D top = p.getTop();
+        Curve2D bottom = p.getBottom();
+        Curve2D waist = p.getWaist();
+        Curve2D prevUp = p.getSeamToPrevUp();
+        Curve2D prevDown = p.getSeamToPrevDown();
+        Curve2D nextUp = p.getSeamToNextUp();
+        Curve2D nextDown = p.getSeamToNextDown();
+        char id = p.getPanelId().letter();
+        switch (mode) {
+            case TOP:
+                top = legacyHorizontalEdge(top, s, true, true);
+                prevUp = legacyMinY(prevUp, -s);
+                nextUp = legacyMinY(nextUp, s);
+                break;
+            case BOTTOM:
+                bottom = legacyHorizontalEdge(bottom, s, true, true);
+                prevDown = legacyMaxY(prevDown, -s);
+                nextDown = legacyMaxY(nextDown, s);
+                break;
+            case GLOBAL:
+                top = legacyHorizontalEdge(top, s, true, true);
+                bottom = legacyHorizontalEdge(bottom, s, true, true);
+                waist = legacyHorizontalEdge(waist, s, true, true);
+                prevUp = legacyVertical(prevUp, -s);
+                prevDown = legacyVertical(prevDown, -s);
+                nextUp = legacyVertical(nextUp, s);
+                nextDown = legacyVertical(nextDown, s);
+                break;
+            case WAIST:
+                waist = legacyHorizontalEdge(waist, s, true, true);
+                prevUp = legacyMaxY(prevUp, -s);
+                prevDown = legacyMinY(prevDown, -s);
+                nextUp = legacyMaxY(nextUp, s);
+                nextDown = legacyMinY(nextDown, s);
+                break;
+            case HIP:
+                if (id == 'C') {
+                    bottom = legacyHorizontalEdge(bottom, s, false, true);
+                    nextDown = legacyMaxY(nextDown, s);
+                } else if (id == 'D') {
+                    bottom = legacyHorizontalEdge(bottom, s, true, false);
+                    prevDown = legacyMaxY(prevDown, -s);
+                }
+                break;
+            default:
+                fail("No reference for " + mode);
+        }
+        return new PanelCurves(p.getPanelId(), top, bottom, waist, prevUp, prevDown, nextUp, nextDown);
+    }
+
+    private static void assertSameCurve(Curve2D expected, Curve2D actual) {
+        assertEquals(expected.getId(), actual.getId());
+        List<Pt> e = expected.getPoints();
+        List<Pt> a = actual.getPoints();
+        assertEquals(e.size(), a.size(), expected.getId());
+        for (int i = 0; i < e.size(); i++) {
+            // the one-pass edit serializes with 4 decimals, the classic one at full precision
+            assertEquals(e.get(i).getX(), a.get(i).getX(), 1e-3, expected.getId() + " point " + i);
+            assertEquals(e.get(i).getY(), a.get(i).getY(), 1e-3, expected.getId() + " point " + i);
+        }
+    }
+
+    private static void assertSamePanel(PanelCurves expected, PanelCurves actual) {
+        assertEquals(expected.getPanelId(), actual.getPanelId());
+        assertSameCurve(expected.getTop(), actual.getTop());
+        assertSameCurve(expected.getBottom(), actual.getBottom());
+        assertSameCurve(expected.getWaist(), actual.getWaist());
+        assertSameCurve(expected.getSeamToPrevUp(), actual.getSeamToPrevUp());
+        assertSameCurve(expected.getSeamToPrevDown(), actual.getSeamToPrevDown());
+        assertSameCurve(expected.getSeamToNextUp(), actual.getSeamToNextUp());
+        assertSameCurve(expected.getSeamToNextDown(), actual.getSeamToNextDown());
+    }
+
+    @Test
+    void testSingleZoneSpecMatchesClassicResize() {
+        List<PanelCurves> base = createTestPanels();
+        for (ResizeMode mode : new ResizeMode[]{ResizeMode.TOP, ResizeMode.BOTTOM, ResizeMode.GLOBAL,
+            ResizeMode.WAIST, ResizeMode.HIP}) {
+            for (double delta : new double[]{24.0, -13.5}) {
+                List<PanelCurves> resized = RESIZER.resize(base, ResizeSpec.of(mode, delta));
+                double s = delta / (4.0 * base.size());
+
+                assertEquals(base.size(), resized.size());
+                for (int i = 0; i < base.size(); i++) {
+                    assertSamePanel(legacyResize(base.get(i), mode, s), resized.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testModeOverloadIsTheSingleZoneSpec() {
+        List<PanelCurves> base = createTestPanels();
+
+        List<PanelCurves> byMode = RESIZER.resize(base, ResizeMode.WAIST, 10.0);
+        List<PanelCurves> bySpec = RESIZER.resize(base, ResizeSpec.of(ResizeMode.WAIST, 10.0));
+
+        for (int i = 0; i < base.size(); i++) {
+            assertSamePanel(bySpec.get(i), byMode.get(i));
+        }
+    }
+
+    @Test
+    void testEmptySpecReturnsOriginals() {
+        List<PanelCurves> base = createTestPanels();
+
+        assertSame(base, RESIZER.resize(base, ResizeSpec.empty()));
+        assertSame(base, RESIZER.resize(base, ResizeMode.DISABLED, 10.0));
+        assertSame(base, RESIZER.resize(base, ResizeMode.GLOBAL, 0.0));
+    }
+
+    @Test
+    void testUntouchedCurvesAndPanelsAreKept() {
+        List<PanelCurves> base = createTestPanels();
+
+        List<PanelCurves> resized = RESIZER.resize(base, ResizeSpec.of(ResizeMode.HIP, 8.0));
+
+        // HIP only edits panels C and D
+        assertSame(base.get(0), resized.get(0));
+        assertSame(base.get(1), resized.get(1));
+        assertSame(base.get(2).getTop(), resized.get(2).getTop());
+        assertNotSame(base.get(2).getBottom(), resized.get(2).getBottom());
+    }
+}
@@ -0,0 +1,94 @@
+package sk.arsi.corset.wizard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for applying wizard id assignments to the SVG text.
+ */
+class SvgTextEditorTest {
+
+    @TempDir
+    Path dir;
+
+    private static Document parse(String svg) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(svg.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Assign the wizard steps to the candidates in order, save and return the
+     * saved text followed by the assigned ids.
+     */
+    private List<String> assignAndSave(String svgForDom, String svgOnDisk, int count) throws Exception {
+        IdWizardSession session = new IdWizardSession(parse(svgForDom));
+        List<String> result = new ArrayList<>();
+        result.add(null);
+        for (int i = 0; i < count; i++) {
+            result.add(session.currentStep().svgId());
+            session.assignCurrent(session.getCandidates().get(i));
+        }
+        Path source = dir.resolve("in.svg");
+        Path target = dir.resolve("out.svg");
+        Files.writeString(source, svgOnDisk, StandardCharsets.UTF_8);
+        new SvgTextEditor().saveWithAssignments(source, target, session);
+        result.set(0, Files.readString(target, StandardCharsets.UTF_8));
+        return result;
+    }
+
+    @Test
+    void testIdIsInsertedAndReplaced() throws Exception {
+        String svg = "<svg>\n"
+                + "  <path d=\"M 0 0 L 10 0\"/>\n"
+                + "  <path id=\"path12\" style=\"stroke:red\" d=\"M 0 5 L 10 5\"/>\n"
+                + "</svg>";
+        List<String> r = assignAndSave(svg, svg, 2);
+        assertEquals("<svg>\n"
+                + "  <path id=\"" + r.get(1) + "\" d=\"M 0 0 L 10 0\"/>\n"
+                + "  <path id=\"" + r.get(2) + "\" style=\"stroke:red\" d=\"M 0 5 L 10 5\"/>\n"
+                + "</svg>", r.get(0));
+    }
+
+    @Test
+    void testPathInCommentAndCdataIsNotCounted() throws Exception {
+        String svg = "<svg>\n"
+                + "  <!-- <path id=\"old\" d=\"M 0 0 L 1 1\"/> -->\n"
+                + "  <style><![CDATA[ <path d=\"M 0 0 L 1 1\"/> ]]></style>\n"
+                + "  <path id=\"p1\" d=\"M 0 0 L 10 0\"/>\n"
+                + "</svg>";
+        List<String> r = assignAndSave(svg, svg, 1);
+        assertEquals(svg.replace("id=\"p1\"", "id=\"" + r.get(1) + "\""), r.get(0));
+    }
+
+    @Test
+    void testMultiLineDMatchesDom() throws Exception {
+        String svg = "<svg><path id=\"p1\" d=\"M 0 0\n     L 10 0\r\n     L 10 10\"/></svg>";
+        List<String> r = assignAndSave(svg, svg, 1);
+        assertEquals(svg.replace("id=\"p1\"", "id=\"" + r.get(1) + "\""), r.get(0));
+    }
+
+    @Test
+    void testDWithEntityReference() throws Exception {
+        String svg = "<svg><path id=\"p1\" d=\"M&#32;0 0 L 10 0\" title=\"a &amp; b\"/></svg>";
+        List<String> r = assignAndSave(svg, svg, 1);
+        assertEquals(svg.replace("id=\"p1\"", "id=\"" + r.get(1) + "\""), r.get(0));
+    }
+
+    @Test
+    void testTextThatDisagreesWithDomIsRejected() {
+        String dom = "<svg><path id=\"p1\" d=\"M 0 0 L 10 0\"/><path id=\"p2\" d=\"M 0 5 L 10 5\"/></svg>";
+        String disk = "<svg><path id=\"p2\" d=\"M 0 5 L 10 5\"/><path id=\"p1\" d=\"M 0 0 L 10 0\"/></svg>";
+        assertThrows(IllegalStateException.class, () -> assignAndSave(dom, disk, 1));
+    }
+}